@@ -9,32 +9,41 @@ package com.powsybl.metrix.commons.data.datatable;
 
 import com.powsybl.metrix.commons.exception.DataTableException;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Marianne Funfrock {@literal <marianne.funfrock at rte-france.com>}
  */
 public class DataTableStore {
 
-    private final Map<String, DataTable> tables = new HashMap<>();
+    /**
+     * Concurrent, as scripts running at the same time may read and add tables: null names and tables are not stored
+     */
+    private final Map<String, DataTable> tables = new ConcurrentHashMap<>();
 
     public Set<String> names() {
         return tables.keySet();
     }
 
     public boolean exists(String dataTableName) {
-        return names().contains(dataTableName);
+        return dataTableName != null && tables.containsKey(dataTableName);
     }
 
     public void addTable(String name, DataTable table) {
+        if (name == null) {
+            throw new DataTableException("A data table name cannot be null");
+        }
+        if (table == null) {
+            throw new DataTableException(String.format("The data table '%s' cannot be null", name));
+        }
         if (tables.putIfAbsent(name, table) != null) {
             throw new DataTableException(String.format("A data table with the name '%s' is already loaded", name));
         }
     }
 
     public DataTable get(String name) {
-        return tables.get(name);
+        return name != null ? tables.get(name) : null;
     }
 }
@@ -19,6 +19,12 @@ import java.util.stream.Collectors;
  */
 public class CalculatedTimeSeriesStore implements ReadOnlyTimeSeriesStore {
 
+    /**
+     * Number of versions whose resolver is kept, so that the values kept by the resolvers, bounded by version, are also
+     * bounded for the store
+     */
+    private static final int MAX_RESOLVER_COUNT = 2;
+
     private final Map<String, NodeCalc> nodes;
     private final Map<String, Map<String, String>> tags;
     private final Set<TimeSeriesIndex> indexSet = new HashSet<>();
@@ -26,6 +32,15 @@ public class CalculatedTimeSeriesStore implements ReadOnlyTimeSeriesStore {
 
     private final ReadOnlyTimeSeriesStore store;
 
+    private NodeCalcDag nodeCalcDag;
+
+    private final Map<Integer, TimeSeriesNameResolver> resolversByVersion = new LinkedHashMap<>(4, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, TimeSeriesNameResolver> eldest) {
+            return size() > MAX_RESOLVER_COUNT;
+        }
+    };
+
     public CalculatedTimeSeriesStore(Map<String, NodeCalc> nodes, Map<String, Map<String, String>> tags, ReadOnlyTimeSeriesStore store) {
         this.nodes = Objects.requireNonNull(nodes);
         this.tags = Objects.requireNonNull(tags);
@@ -118,34 +133,57 @@ public class CalculatedTimeSeriesStore implements ReadOnlyTimeSeriesStore {
             .toList();
     }
 
-    private CalculatedTimeSeries createCalculatedTimeSeries(String timeSeriesName, NodeCalc nodeCalc, int version) {
-        CalculatedTimeSeries calculatedTimeSeries = new CalculatedTimeSeries(timeSeriesName, nodeCalc);
-        calculatedTimeSeries.setTimeSeriesNameResolver(new FromStoreTimeSeriesNameResolver(store, version));
+    /**
+     * Graph of the time series nodes, compiled on first evaluation: nodes must not be changed afterward
+     */
+    private synchronized NodeCalcDag getNodeCalcDag() {
+        if (nodeCalcDag == null) {
+            nodeCalcDag = new NodeCalcDag(nodes);
+        }
+        return nodeCalcDag;
+    }
+
+    /**
+     * Resolver of the time series of a version, kept so that the subexpressions shared by the time series are evaluated
+     * once, even when they are requested one by one: the stored time series must not be changed afterward.
+     * Only the resolvers of the last versions read are kept, the time series already created keeping their own.
+     */
+    private TimeSeriesNameResolver getResolver(int version) {
+        NodeCalcDag dag = getNodeCalcDag();
+        synchronized (resolversByVersion) {
+            return resolversByVersion.computeIfAbsent(version, v -> dag.createResolver(new FromStoreTimeSeriesNameResolver(store, v)));
+        }
+    }
+
+    private CalculatedTimeSeries createCalculatedTimeSeries(String timeSeriesName, TimeSeriesNameResolver resolver) {
+        CalculatedTimeSeries calculatedTimeSeries = new CalculatedTimeSeries(timeSeriesName, getNodeCalcDag().getNodeCalc(timeSeriesName));
+        calculatedTimeSeries.setTimeSeriesNameResolver(resolver);
         return calculatedTimeSeries;
     }
 
     @Override
     public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version) {
         Objects.requireNonNull(timeSeriesName);
-        NodeCalc node = nodes.get(timeSeriesName);
-        if (node == null) {
+        if (!nodes.containsKey(timeSeriesName)) {
             return Optional.empty();
         }
-        return Optional.of(createCalculatedTimeSeries(timeSeriesName, node, version));
+        return Optional.of(createCalculatedTimeSeries(timeSeriesName, getResolver(version)));
     }
 
     @Override
     public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
-        return timeSeriesNames.stream().map(timeSeriesName -> getDoubleTimeSeries(timeSeriesName, version))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
+        TimeSeriesNameResolver resolver = getResolver(version);
+        return timeSeriesNames.stream()
+            .filter(nodes::containsKey)
+            .map(timeSeriesName -> createCalculatedTimeSeries(timeSeriesName, resolver))
             .collect(Collectors.toList());
     }
 
     @Override
     public List<DoubleTimeSeries> getDoubleTimeSeries(int version) {
-        return nodes.entrySet().stream()
-            .map(e -> createCalculatedTimeSeries(e.getKey(), e.getValue(), version))
+        TimeSeriesNameResolver resolver = getResolver(version);
+        return nodes.keySet().stream()
+            .map(timeSeriesName -> createCalculatedTimeSeries(timeSeriesName, resolver))
             .collect(Collectors.toList());
     }
 
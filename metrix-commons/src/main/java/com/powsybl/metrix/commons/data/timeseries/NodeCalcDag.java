@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.commons.data.timeseries;
+
+import com.powsybl.timeseries.*;
+import com.powsybl.timeseries.ast.BinaryOperation;
+import com.powsybl.timeseries.ast.NodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNames;
+import com.powsybl.timeseries.ast.UnaryOperation;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the trees of a set of calculated time series into a directed acyclic graph, so that subexpressions repeated
+ * in several trees (or several times in the same tree) are evaluated once.
+ * <p>Structurally equal subtrees are merged. Each merged subtree depending on time series and used more than once is
+ * replaced in the compiled trees by a reference to a shared time series, named with {@link #SHARED_NODE_PREFIX}, which
+ * is served by the resolvers created with {@link #createResolver(TimeSeriesNameResolver)}. A resolver evaluates each
+ * shared time series on first use and keeps the values in a bounded cache, the least recently used being evicted.
+ * Resolvers may be used concurrently, a shared time series being evaluated by the first thread requesting it while the
+ * other ones wait for it.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class NodeCalcDag {
+
+    public static final String SHARED_NODE_PREFIX = "__shared_node_";
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private record BinaryKey(BinaryOperation.Operator operator, int left, int right) {
+    }
+
+    private record UnaryKey(UnaryOperation.Operator operator, int child) {
+    }
+
+    private static final class DagNode {
+
+        private final NodeCalc node;
+
+        private final int[] children;
+
+        private final boolean dependsOnTimeSeries;
+
+        private int referenceCount;
+
+        /**
+         * Node to use in place of this one in the compiled trees
+         */
+        private NodeCalc reference;
+
+        private DagNode(NodeCalc node, int[] children, boolean dependsOnTimeSeries) {
+            this.node = node;
+            this.children = children;
+            this.dependsOnTimeSeries = dependsOnTimeSeries;
+        }
+    }
+
+    /**
+     * Shared subexpression: the original tree, used to compute its index and versions, and the compiled one, used to
+     * evaluate it
+     */
+    private record SharedNode(String name, NodeCalc node, NodeCalc compiledNode) {
+    }
+
+    private final List<DagNode> dagNodes = new ArrayList<>();
+
+    private final Map<Object, Integer> numsByKey = new HashMap<>();
+
+    private final Map<NodeCalc, Integer> numsByNode = new IdentityHashMap<>();
+
+    private final Map<String, NodeCalc> compiledNodes = new HashMap<>();
+
+    private final Map<String, SharedNode> sharedNodes = new HashMap<>();
+
+    private final int cacheSize;
+
+    public NodeCalcDag(Map<String, NodeCalc> nodes) {
+        this(nodes, DEFAULT_CACHE_SIZE);
+    }
+
+    public NodeCalcDag(Map<String, NodeCalc> nodes, int cacheSize) {
+        Objects.requireNonNull(nodes);
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+
+        Map<String, Integer> rootNums = new HashMap<>();
+        nodes.forEach((timeSeriesName, node) -> {
+            int num = intern(Objects.requireNonNull(node));
+            dagNodes.get(num).referenceCount++;
+            rootNums.put(timeSeriesName, num);
+        });
+
+        // nodes are numbered after their children, so references are built bottom up
+        for (DagNode dagNode : dagNodes) {
+            NodeCalc compiledNode = compile(dagNode);
+            if (dagNode.children.length > 0 && dagNode.referenceCount > 1 && dagNode.dependsOnTimeSeries) {
+                String name = SHARED_NODE_PREFIX + sharedNodes.size();
+                sharedNodes.put(name, new SharedNode(name, dagNode.node, compiledNode));
+                dagNode.reference = new TimeSeriesNameNodeCalc(name);
+            } else {
+                dagNode.reference = compiledNode;
+            }
+        }
+        rootNums.forEach((timeSeriesName, num) -> compiledNodes.put(timeSeriesName, dagNodes.get(num).reference));
+
+        // only needed while compiling
+        numsByKey.clear();
+        numsByNode.clear();
+    }
+
+    private static List<NodeCalc> getChildren(NodeCalc node) {
+        return switch (node) {
+            case BinaryOperation binaryOperation -> List.of(binaryOperation.getLeft(), binaryOperation.getRight());
+            case UnaryOperation unaryOperation -> List.of(unaryOperation.getChild());
+            default -> List.of();
+        };
+    }
+
+    /**
+     * Number the node and its subtrees, structurally equal subtrees getting the same number. Trees are walked without
+     * recursion as sums over many equipments may be very deep.
+     */
+    private int intern(NodeCalc root) {
+        Deque<NodeCalc> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            NodeCalc node = stack.peek();
+            if (numsByNode.containsKey(node)) {
+                stack.pop();
+                continue;
+            }
+            List<NodeCalc> children = getChildren(node);
+            boolean childrenInterned = true;
+            for (NodeCalc child : children) {
+                if (!numsByNode.containsKey(child)) {
+                    stack.push(child);
+                    childrenInterned = false;
+                }
+            }
+            if (childrenInterned) {
+                stack.pop();
+                numsByNode.put(node, internNode(node, children));
+            }
+        }
+        return numsByNode.get(root);
+    }
+
+    private int internNode(NodeCalc node, List<NodeCalc> children) {
+        int[] childNums = children.stream().mapToInt(numsByNode::get).toArray();
+        Object key = switch (node) {
+            case BinaryOperation binaryOperation -> new BinaryKey(binaryOperation.getOperator(), childNums[0], childNums[1]);
+            case UnaryOperation unaryOperation -> new UnaryKey(unaryOperation.getOperator(), childNums[0]);
+            // leaves and other operations are compared as a whole
+            default -> node;
+        };
+        Integer num = numsByKey.get(key);
+        if (num == null) {
+            boolean dependsOnTimeSeries = childNums.length == 0
+                ? !TimeSeriesNames.list(node).isEmpty()
+                : Arrays.stream(childNums).anyMatch(childNum -> dagNodes.get(childNum).dependsOnTimeSeries);
+            for (int childNum : childNums) {
+                dagNodes.get(childNum).referenceCount++;
+            }
+            num = dagNodes.size();
+            dagNodes.add(new DagNode(node, childNums, dependsOnTimeSeries));
+            numsByKey.put(key, num);
+        }
+        return num;
+    }
+
+    private NodeCalc compile(DagNode dagNode) {
+        NodeCalc[] references = new NodeCalc[dagNode.children.length];
+        boolean changed = false;
+        for (int i = 0; i < references.length; i++) {
+            DagNode child = dagNodes.get(dagNode.children[i]);
+            references[i] = child.reference;
+            changed |= child.reference != child.node;
+        }
+        if (!changed) {
+            return dagNode.node;
+        }
+        return switch (dagNode.node) {
+            case BinaryOperation binaryOperation -> new BinaryOperation(references[0], references[1], binaryOperation.getOperator());
+            case UnaryOperation unaryOperation -> new UnaryOperation(references[0], unaryOperation.getOperator());
+            default -> throw new IllegalStateException("Unexpected node with children " + dagNode.node.getClass());
+        };
+    }
+
+    /**
+     * Compiled tree of a time series, referencing shared time series which have to be resolved by a resolver created by
+     * this graph, or null if the time series is unknown
+     */
+    public NodeCalc getNodeCalc(String timeSeriesName) {
+        return compiledNodes.get(Objects.requireNonNull(timeSeriesName));
+    }
+
+    public int getSharedNodeCount() {
+        return sharedNodes.size();
+    }
+
+    /**
+     * Resolver of the shared time series, the other ones being resolved by the given resolver. The values of the
+     * shared time series are kept by the created resolver, which should not be used anymore once the time series it
+     * depends on have changed.
+     */
+    public TimeSeriesNameResolver createResolver(TimeSeriesNameResolver resolver) {
+        return new SharedNodeResolver(Objects.requireNonNull(resolver));
+    }
+
+    private final class SharedNodeResolver implements TimeSeriesNameResolver {
+
+        private final TimeSeriesNameResolver resolver;
+
+        private final Map<String, TimeSeriesMetadata> metadataByName = new ConcurrentHashMap<>();
+
+        /**
+         * Shared time series evaluated or being evaluated, only accessed under its lock so that the wrapped resolver
+         * is called without holding it
+         */
+        private final Map<String, CompletableFuture<DoubleTimeSeries>> timeSeriesByName = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<DoubleTimeSeries>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        private SharedNodeResolver(TimeSeriesNameResolver resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public List<TimeSeriesMetadata> getTimeSeriesMetadata(Set<String> timeSeriesNames) {
+            List<TimeSeriesMetadata> metadataList = new ArrayList<>(timeSeriesNames.size());
+            Set<String> otherTimeSeriesNames = new HashSet<>();
+            for (String timeSeriesName : timeSeriesNames) {
+                SharedNode sharedNode = sharedNodes.get(timeSeriesName);
+                if (sharedNode != null) {
+                    metadataList.add(getMetadata(sharedNode));
+                } else {
+                    otherTimeSeriesNames.add(timeSeriesName);
+                }
+            }
+            if (!otherTimeSeriesNames.isEmpty()) {
+                metadataList.addAll(resolver.getTimeSeriesMetadata(otherTimeSeriesNames));
+            }
+            return metadataList;
+        }
+
+        @Override
+        public Set<Integer> getTimeSeriesDataVersions(String timeSeriesName) {
+            SharedNode sharedNode = sharedNodes.get(timeSeriesName);
+            if (sharedNode != null) {
+                return CalculatedTimeSeries.computeVersions(sharedNode.node(), resolver);
+            }
+            return resolver.getTimeSeriesDataVersions(timeSeriesName);
+        }
+
+        @Override
+        public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames) {
+            List<DoubleTimeSeries> timeSeriesList = new ArrayList<>(timeSeriesNames.size());
+            Set<String> otherTimeSeriesNames = new HashSet<>();
+            for (String timeSeriesName : timeSeriesNames) {
+                SharedNode sharedNode = sharedNodes.get(timeSeriesName);
+                if (sharedNode != null) {
+                    timeSeriesList.add(getTimeSeries(sharedNode));
+                } else {
+                    otherTimeSeriesNames.add(timeSeriesName);
+                }
+            }
+            if (!otherTimeSeriesNames.isEmpty()) {
+                timeSeriesList.addAll(resolver.getDoubleTimeSeries(otherTimeSeriesNames));
+            }
+            return timeSeriesList;
+        }
+
+        private TimeSeriesMetadata getMetadata(SharedNode sharedNode) {
+            TimeSeriesMetadata metadata = metadataByName.get(sharedNode.name());
+            if (metadata == null) {
+                // computed outside of the map, concurrent computations of the same index giving the same metadata
+                TimeSeriesIndex index = CalculatedTimeSeries.computeIndex(sharedNode.node(), resolver);
+                metadata = new TimeSeriesMetadata(sharedNode.name(), TimeSeriesDataType.DOUBLE, index);
+                TimeSeriesMetadata otherMetadata = metadataByName.putIfAbsent(sharedNode.name(), metadata);
+                if (otherMetadata != null) {
+                    metadata = otherMetadata;
+                }
+            }
+            return metadata;
+        }
+
+        /**
+         * Evaluating a shared node may resolve nested shared nodes, so it is done without holding the lock of the cache.
+         * As the graph is acyclic, a thread evaluating a shared node never waits for a node it is evaluating itself.
+         */
+        private DoubleTimeSeries getTimeSeries(SharedNode sharedNode) {
+            String name = sharedNode.name();
+            CompletableFuture<DoubleTimeSeries> entry;
+            boolean owner = false;
+            synchronized (timeSeriesByName) {
+                entry = timeSeriesByName.get(name);
+                if (entry == null) {
+                    entry = new CompletableFuture<>();
+                    timeSeriesByName.put(name, entry);
+                    owner = true;
+                }
+            }
+            if (owner) {
+                boolean evaluated = false;
+                try {
+                    entry.complete(evaluate(sharedNode));
+                    evaluated = true;
+                } finally {
+                    // whatever the failure, the waiting threads are released and the following uses evaluate again
+                    if (!evaluated) {
+                        synchronized (timeSeriesByName) {
+                            timeSeriesByName.remove(name, entry);
+                        }
+                        entry.completeExceptionally(new IllegalStateException("Evaluation of shared time series '" + name + "' failed"));
+                    }
+                }
+            }
+            try {
+                return entry.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+
+        private DoubleTimeSeries evaluate(SharedNode sharedNode) {
+            CalculatedTimeSeries calculatedTimeSeries = new CalculatedTimeSeries(sharedNode.name(), sharedNode.compiledNode());
+            calculatedTimeSeries.setTimeSeriesNameResolver(this);
+            // compressed, so that the points not loaded, all NaN, are iterated as a single one
+            return new StoredDoubleTimeSeries(getMetadata(sharedNode),
+                new UncompressedDoubleDataChunk(0, calculatedTimeSeries.toArray()).tryToCompress());
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.commons.data.timeseries;
+
+import com.powsybl.timeseries.DoubleTimeSeries;
+import com.powsybl.timeseries.InfiniteTimeSeriesIndex;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.StringTimeSeries;
+import com.powsybl.timeseries.TimeSeriesException;
+import com.powsybl.timeseries.TimeSeriesFilter;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeriesMetadata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Writes time series of a store as CSV without loading all of them in a {@link com.powsybl.timeseries.TimeSeriesTable}.
+ * <p>Versions are exported one by one: time series of the version are read from the store by blocks of columns and
+ * spilled, column by column, to temporary files of the given directory, then rows are written by windows of points
+ * read back from these files. Memory is bounded by the column block and window sizes, temporary disk space by the size
+ * of one version.</p>
+ * <p>The output is the same as {@link TimeSeriesStoreUtil#writeCsv}: rows are grouped by version, double columns
+ * come first then string columns, both sorted by name.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class TimeSeriesCsvStreamWriter {
+
+    private static final int DEFAULT_COLUMN_BLOCK_SIZE = 100;
+
+    private static final int DEFAULT_WINDOW_VALUE_COUNT = 1 << 20;
+
+    private final ReadOnlyTimeSeriesStore store;
+
+    private final char separator;
+
+    private final ZoneId zoneId;
+
+    private final Path tmpDir;
+
+    private int columnBlockSize = DEFAULT_COLUMN_BLOCK_SIZE;
+
+    private int windowValueCount = DEFAULT_WINDOW_VALUE_COUNT;
+
+    /**
+     * @param tmpDir directory of the temporary files, usually the working directory, as they hold a whole version
+     */
+    public TimeSeriesCsvStreamWriter(ReadOnlyTimeSeriesStore store, char separator, ZoneId zoneId, Path tmpDir) {
+        this.store = Objects.requireNonNull(store);
+        this.separator = separator;
+        this.zoneId = Objects.requireNonNull(zoneId);
+        this.tmpDir = Objects.requireNonNull(tmpDir);
+    }
+
+    /**
+     * Number of time series read from the store at once.
+     */
+    public TimeSeriesCsvStreamWriter setColumnBlockSize(int columnBlockSize) {
+        if (columnBlockSize <= 0) {
+            throw new IllegalArgumentException("Invalid column block size " + columnBlockSize);
+        }
+        this.columnBlockSize = columnBlockSize;
+        return this;
+    }
+
+    /**
+     * Maximum number of values (points x columns) held in memory while writing rows.
+     */
+    public TimeSeriesCsvStreamWriter setWindowValueCount(int windowValueCount) {
+        if (windowValueCount <= 0) {
+            throw new IllegalArgumentException("Invalid window value count " + windowValueCount);
+        }
+        this.windowValueCount = windowValueCount;
+        return this;
+    }
+
+    public void write(Writer writer) {
+        write(writer, new TreeSet<>(store.getTimeSeriesDataVersions()), store.getTimeSeriesNames(new TimeSeriesFilter().setIncludeDependencies(false)));
+    }
+
+    public void write(Writer writer, NavigableSet<Integer> versions, Set<String> names) {
+        Objects.requireNonNull(writer);
+        Objects.requireNonNull(versions);
+        Objects.requireNonNull(names);
+
+        if (store.getTimeSeriesNames(new TimeSeriesFilter().setIncludeDependencies(false)).isEmpty()) {
+            throw new IllegalArgumentException("Empty store");
+        }
+
+        List<TimeSeriesMetadata> metadataList = store.getTimeSeriesMetadata(names);
+        List<String> doubleTimeSeriesNames = new ArrayList<>();
+        List<String> stringTimeSeriesNames = new ArrayList<>();
+        for (TimeSeriesMetadata metadata : metadataList) {
+            switch (metadata.getDataType()) {
+                case DOUBLE -> doubleTimeSeriesNames.add(metadata.getName());
+                case STRING -> stringTimeSeriesNames.add(metadata.getName());
+                default -> throw new AssertionError("Unexpected data type " + metadata.getDataType());
+            }
+        }
+        Collections.sort(doubleTimeSeriesNames);
+        Collections.sort(stringTimeSeriesNames);
+
+        // check unique index
+        Set<TimeSeriesIndex> indexes = metadataList.stream()
+                .map(TimeSeriesMetadata::getIndex)
+                .filter(index -> !(index instanceof InfiniteTimeSeriesIndex))
+                .collect(Collectors.toSet());
+        if (indexes.size() != 1) {
+            throw new TimeSeriesException("Impossible to write CSV because index is not unique");
+        }
+        TimeSeriesIndex index = indexes.iterator().next();
+
+        try {
+            writeHeader(writer, doubleTimeSeriesNames, stringTimeSeriesNames);
+            for (int version : versions) {
+                writeVersion(writer, index, version, doubleTimeSeriesNames, stringTimeSeriesNames);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader(Writer writer, List<String> doubleTimeSeriesNames, List<String> stringTimeSeriesNames) throws IOException {
+        writer.write("Time");
+        writer.write(separator);
+        writer.write("Version");
+        for (String name : doubleTimeSeriesNames) {
+            writer.write(separator);
+            writer.write(name);
+        }
+        for (String name : stringTimeSeriesNames) {
+            writer.write(separator);
+            writer.write(name);
+        }
+        writer.write(System.lineSeparator());
+    }
+
+    private void writeVersion(Writer writer, TimeSeriesIndex index, int version, List<String> doubleTimeSeriesNames,
+                              List<String> stringTimeSeriesNames) throws IOException {
+        int pointCount = index.getPointCount();
+        Path tmpFile = Files.createTempFile(tmpDir, "csv_export_", ".tmp");
+        List<Path> stringTmpFiles = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            spillDoubleTimeSeries(channel, version, doubleTimeSeriesNames, pointCount);
+            spillStringTimeSeries(stringTmpFiles, version, stringTimeSeriesNames, pointCount);
+            writeRows(writer, channel, index, version, doubleTimeSeriesNames.size(), stringTmpFiles);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+            for (Path stringTmpFile : stringTmpFiles) {
+                Files.deleteIfExists(stringTmpFile);
+            }
+        }
+    }
+
+    private void spillDoubleTimeSeries(FileChannel channel, int version, List<String> names, int pointCount) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int column = 0; column < names.size(); column++) {
+            columns.put(names.get(column), column);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(pointCount * Double.BYTES);
+        double[] missingValues = null;
+        for (int start = 0; start < names.size(); start += columnBlockSize) {
+            Set<String> blockNames = new HashSet<>(names.subList(start, Math.min(start + columnBlockSize, names.size())));
+            for (DoubleTimeSeries timeSeries : store.getDoubleTimeSeries(blockNames, version)) {
+                String name = timeSeries.getMetadata().getName();
+                if (blockNames.remove(name)) {
+                    double[] values = timeSeries.toArray();
+                    checkPointCount(name, values.length, pointCount);
+                    writeColumn(channel, buffer, columns.get(name), values);
+                }
+            }
+            // time series missing for this version are exported empty, as for the other versions
+            for (String name : blockNames) {
+                if (missingValues == null) {
+                    missingValues = new double[pointCount];
+                    Arrays.fill(missingValues, Double.NaN);
+                }
+                writeColumn(channel, buffer, columns.get(name), missingValues);
+            }
+        }
+    }
+
+    /**
+     * Spill string time series, read by blocks of columns, to one temporary file per column, as their values do not
+     * have a fixed size. Time series missing for this version get no file and are exported empty.
+     */
+    private void spillStringTimeSeries(List<Path> tmpFiles, int version, List<String> names, int pointCount) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int column = 0; column < names.size(); column++) {
+            columns.put(names.get(column), column);
+            tmpFiles.add(null);
+        }
+        for (int start = 0; start < names.size(); start += columnBlockSize) {
+            Set<String> blockNames = new HashSet<>(names.subList(start, Math.min(start + columnBlockSize, names.size())));
+            for (StringTimeSeries timeSeries : store.getStringTimeSeries(blockNames, version)) {
+                String name = timeSeries.getMetadata().getName();
+                if (blockNames.remove(name)) {
+                    String[] values = timeSeries.toArray();
+                    checkPointCount(name, values.length, pointCount);
+                    Path tmpFile = Files.createTempFile(tmpDir, "csv_export_string_", ".tmp");
+                    tmpFiles.set(columns.get(name), tmpFile);
+                    try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                        for (String value : values) {
+                            writeString(os, value);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream os, String value) throws IOException {
+        if (value == null) {
+            os.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            os.writeInt(bytes.length);
+            os.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream is) throws IOException {
+        int length = is.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        is.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void checkPointCount(String name, int actualPointCount, int pointCount) {
+        if (actualPointCount != pointCount) {
+            throw new TimeSeriesException("Time series '" + name + "' has " + actualPointCount + " points, " + pointCount + " expected");
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, int column, double[] values) throws IOException {
+        buffer.clear();
+        buffer.asDoubleBuffer().put(values);
+        long position = (long) column * values.length * Double.BYTES;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readColumn(FileChannel channel, ByteBuffer buffer, int column, int pointCount, int start,
+                                   double[] values, int size) throws IOException {
+        buffer.clear().limit(size * Double.BYTES);
+        long position = ((long) column * pointCount + start) * Double.BYTES;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        buffer.asDoubleBuffer().get(values, 0, size);
+    }
+
+    private void writeRows(Writer writer, FileChannel channel, TimeSeriesIndex index, int version, int doubleColumnCount,
+                           List<Path> stringTmpFiles) throws IOException {
+        int pointCount = index.getPointCount();
+        int columnCount = doubleColumnCount + stringTmpFiles.size();
+        int windowSize = Math.clamp(windowValueCount / Math.max(1, columnCount), 1, Math.max(1, pointCount));
+        double[][] window = new double[doubleColumnCount][windowSize];
+        String[][] stringWindow = new String[stringTmpFiles.size()][windowSize];
+        ByteBuffer buffer = ByteBuffer.allocate(windowSize * Double.BYTES);
+        String versionStr = Integer.toString(version);
+        List<DataInputStream> stringInputs = new ArrayList<>();
+        try {
+            for (Path stringTmpFile : stringTmpFiles) {
+                stringInputs.add(stringTmpFile != null ? new DataInputStream(new BufferedInputStream(Files.newInputStream(stringTmpFile))) : null);
+            }
+            for (int start = 0; start < pointCount; start += windowSize) {
+                int size = Math.min(windowSize, pointCount - start);
+                for (int column = 0; column < doubleColumnCount; column++) {
+                    readColumn(channel, buffer, column, pointCount, start, window[column], size);
+                }
+                for (int column = 0; column < stringInputs.size(); column++) {
+                    DataInputStream stringInput = stringInputs.get(column);
+                    for (int i = 0; i < size; i++) {
+                        stringWindow[column][i] = stringInput != null ? readString(stringInput) : null;
+                    }
+                }
+                for (int i = 0; i < size; i++) {
+                    writer.write(ZonedDateTime.ofInstant(index.getInstantAt(start + i), zoneId).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+                    writer.write(separator);
+                    writer.write(versionStr);
+                    for (int column = 0; column < doubleColumnCount; column++) {
+                        writer.write(separator);
+                        double value = window[column][i];
+                        if (!Double.isNaN(value)) {
+                            writer.write(Double.toString(value));
+                        }
+                    }
+                    for (String[] values : stringWindow) {
+                        writer.write(separator);
+                        if (values[i] != null) {
+                            writer.write(values[i]);
+                        }
+                    }
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } finally {
+            for (DataInputStream stringInput : stringInputs) {
+                if (stringInput != null) {
+                    stringInput.close();
+                }
+            }
+        }
+    }
+}
@@ -34,4 +34,27 @@ public interface TimeSeriesMapperObserver {
     void timeSeriesMappedToEquipment(int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue);
 
     void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance);
+
+    /**
+     * Same as {@link #timeSeriesMappingStart(int, TimeSeriesIndex)} with the version being mapped, to be overridden by
+     * observers which may be notified of several versions at the same time
+     */
+    default void timeSeriesMappingStart(int version, int point, TimeSeriesIndex index) {
+        timeSeriesMappingStart(point, index);
+    }
+
+    /**
+     * Same as {@link #timeSeriesMappedToEquipment(int, String, Identifiable, MappingVariable, double)} with the version
+     * being mapped
+     */
+    default void timeSeriesMappedToEquipment(int version, int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
+        timeSeriesMappedToEquipment(point, timeSeriesName, identifiable, variable, equipmentValue);
+    }
+
+    /**
+     * Same as {@link #timeSeriesMappingEnd(int, TimeSeriesIndex, double)} with the version being mapped
+     */
+    default void timeSeriesMappingEnd(int version, int point, TimeSeriesIndex index, double balance) {
+        timeSeriesMappingEnd(point, index, balance);
+    }
 }
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -299,4 +300,17 @@ class DataTableTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("The datatable testDataTable is not formatted correctly");
     }
+
+    @Test
+    void dataTableStoreNullTest() {
+        DataTableStore store = new DataTableStore();
+        store.addTable("table", dataTable);
+        assertTrue(store.exists("table"));
+        assertFalse(store.exists(null));
+        assertNull(store.get(null));
+        assertThrows(DataTableException.class, () -> store.addTable(null, dataTable));
+        DataTableException e = assertThrows(DataTableException.class, () -> store.addTable("nullTable", null));
+        assertEquals("The data table 'nullTable' cannot be null", e.getMessage());
+        assertFalse(store.exists("nullTable"));
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.commons.data.timeseries;
+
+import com.powsybl.timeseries.CalculatedTimeSeries;
+import com.powsybl.timeseries.DoubleTimeSeries;
+import com.powsybl.timeseries.FromStoreTimeSeriesNameResolver;
+import com.powsybl.timeseries.TimeSeriesNameResolver;
+import com.powsybl.timeseries.ast.BinaryOperation;
+import com.powsybl.timeseries.ast.DoubleNodeCalc;
+import com.powsybl.timeseries.ast.NodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import com.powsybl.timeseries.ast.UnaryOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class NodeCalcDagTest {
+
+    private InMemoryTimeSeriesStore store;
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new InMemoryTimeSeriesStore() {
+            @Override
+            public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
+                loadCount.incrementAndGet();
+                return super.getDoubleTimeSeries(timeSeriesNames, version);
+            }
+        };
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(InMemoryTimeSeriesStore.class.getResourceAsStream("/expected/simpleExport.csv"))))) {
+            store.importTimeSeries(reader);
+        }
+    }
+
+    private static NodeCalc sum() {
+        return BinaryOperation.plus(new TimeSeriesNameNodeCalc("ts1"), new TimeSeriesNameNodeCalc("ts2"));
+    }
+
+    private static Map<String, NodeCalc> createNodes() {
+        Map<String, NodeCalc> nodes = new HashMap<>();
+        nodes.put("sum", sum());
+        nodes.put("margin", BinaryOperation.minus(new DoubleNodeCalc(10d), sum()));
+        nodes.put("overload", BinaryOperation.greaterThan(UnaryOperation.abs(sum()), new DoubleNodeCalc(4d)));
+        nodes.put("square", BinaryOperation.multiply(UnaryOperation.abs(sum()), UnaryOperation.abs(sum())));
+        nodes.put("constant", BinaryOperation.plus(new DoubleNodeCalc(1d), new DoubleNodeCalc(2d)));
+        nodes.put("single", BinaryOperation.minus(new TimeSeriesNameNodeCalc("ts1"), new TimeSeriesNameNodeCalc("ts2")));
+        return nodes;
+    }
+
+    @Test
+    void compileTest() {
+        Map<String, NodeCalc> nodes = createNodes();
+        NodeCalcDag nodeCalcDag = new NodeCalcDag(nodes);
+
+        // ts1 + ts2 and abs(ts1 + ts2) are shared, constants and subexpressions used once are not
+        assertThat(nodeCalcDag.getSharedNodeCount()).isEqualTo(2);
+        assertThat(nodeCalcDag.getNodeCalc("sum")).isInstanceOf(TimeSeriesNameNodeCalc.class);
+        assertThat(nodeCalcDag.getNodeCalc("constant")).isSameAs(nodes.get("constant"));
+        assertThat(nodeCalcDag.getNodeCalc("single")).isSameAs(nodes.get("single"));
+        assertThat(nodeCalcDag.getNodeCalc("unknown")).isNull();
+    }
+
+    @Test
+    void evaluationTest() {
+        Map<String, NodeCalc> nodes = createNodes();
+        CalculatedTimeSeriesStore calculatedStore = new CalculatedTimeSeriesStore(nodes, store);
+
+        Map<String, double[]> expectedValues = Map.of(
+            "sum", new double[] {2d, 5d, 8d},
+            "margin", new double[] {8d, 5d, 2d},
+            "overload", new double[] {0d, 1d, 1d},
+            "square", new double[] {4d, 25d, 64d},
+            "single", new double[] {0d, -1d, -2d});
+        List<DoubleTimeSeries> timeSeriesList = calculatedStore.getDoubleTimeSeries(Set.of("sum", "margin", "overload", "square", "single"), 1);
+        assertThat(timeSeriesList).hasSize(5);
+        for (DoubleTimeSeries timeSeries : timeSeriesList) {
+            assertThat(timeSeries.toArray()).isEqualTo(expectedValues.get(timeSeries.getMetadata().getName()));
+        }
+        assertThat(calculatedStore.getDoubleTimeSeries("square", 1).orElseThrow().toArray()).isEqualTo(expectedValues.get("square"));
+        assertThat(calculatedStore.getDoubleTimeSeries(1)).hasSize(nodes.size());
+    }
+
+    @Test
+    void sharedBetweenSingleTimeSeriesTest() {
+        CalculatedTimeSeriesStore calculatedStore = new CalculatedTimeSeriesStore(createNodes(), store);
+        assertThat(calculatedStore.getDoubleTimeSeries("sum", 1).orElseThrow().toArray()).isEqualTo(new double[] {2d, 5d, 8d});
+        int sumLoadCount = loadCount.get();
+
+        // ts1 + ts2 has been evaluated with the sum and is not loaded again
+        assertThat(calculatedStore.getDoubleTimeSeries("margin", 1).orElseThrow().toArray()).isEqualTo(new double[] {8d, 5d, 2d});
+        assertThat(loadCount.get()).isEqualTo(sumLoadCount);
+    }
+
+    @Test
+    void cacheEvictionTest() {
+        // without cache, shared subexpressions are evaluated again on each use
+        NodeCalcDag nodeCalcDag = new NodeCalcDag(createNodes(), 0);
+        TimeSeriesNameResolver resolver = nodeCalcDag.createResolver(new FromStoreTimeSeriesNameResolver(store, 1));
+        CalculatedTimeSeries timeSeries = new CalculatedTimeSeries("square", nodeCalcDag.getNodeCalc("square"));
+        timeSeries.setTimeSeriesNameResolver(resolver);
+        assertThat(timeSeries.toArray()).isEqualTo(new double[] {4d, 25d, 64d});
+    }
+
+    @Test
+    void lruCacheEvictionTest() {
+        NodeCalc plus = BinaryOperation.plus(new TimeSeriesNameNodeCalc("ts1"), new TimeSeriesNameNodeCalc("ts2"));
+        NodeCalc minus = BinaryOperation.minus(new TimeSeriesNameNodeCalc("ts1"), new TimeSeriesNameNodeCalc("ts2"));
+        NodeCalc multiply = BinaryOperation.multiply(new TimeSeriesNameNodeCalc("ts1"), new TimeSeriesNameNodeCalc("ts2"));
+        Map<String, NodeCalc> nodes = new HashMap<>();
+        for (Map.Entry<String, NodeCalc> entry : Map.of("plus", plus, "minus", minus, "multiply", multiply).entrySet()) {
+            nodes.put(entry.getKey(), entry.getValue());
+            nodes.put(entry.getKey() + "2", BinaryOperation.multiply(entry.getValue(), new DoubleNodeCalc(2d)));
+        }
+        NodeCalcDag nodeCalcDag = new NodeCalcDag(nodes, 2);
+        assertThat(nodeCalcDag.getSharedNodeCount()).isEqualTo(3);
+        TimeSeriesNameResolver resolver = nodeCalcDag.createResolver(new FromStoreTimeSeriesNameResolver(store, 1));
+
+        assertThat(evaluate(nodeCalcDag, resolver, "plus")).isEqualTo(new double[] {2d, 5d, 8d});
+        assertThat(evaluate(nodeCalcDag, resolver, "minus")).isEqualTo(new double[] {0d, -1d, -2d});
+        int loadCountBefore = loadCount.get();
+        // plus is used again, so minus becomes the least recently used
+        assertThat(evaluate(nodeCalcDag, resolver, "plus2")).isEqualTo(new double[] {4d, 10d, 16d});
+        assertThat(loadCount).hasValue(loadCountBefore);
+
+        // the third shared time series evicts minus only
+        assertThat(evaluate(nodeCalcDag, resolver, "multiply")).isEqualTo(new double[] {1d, 6d, 15d});
+        int loadCountAfterEviction = loadCount.get();
+        assertThat(evaluate(nodeCalcDag, resolver, "plus")).isEqualTo(new double[] {2d, 5d, 8d});
+        assertThat(loadCount).hasValue(loadCountAfterEviction);
+        assertThat(evaluate(nodeCalcDag, resolver, "minus2")).isEqualTo(new double[] {0d, -2d, -4d});
+        assertThat(loadCount.get()).isGreaterThan(loadCountAfterEviction);
+    }
+
+    private static double[] evaluate(NodeCalcDag nodeCalcDag, TimeSeriesNameResolver resolver, String timeSeriesName) {
+        CalculatedTimeSeries timeSeries = new CalculatedTimeSeries(timeSeriesName, nodeCalcDag.getNodeCalc(timeSeriesName));
+        timeSeries.setTimeSeriesNameResolver(resolver);
+        return timeSeries.toArray();
+    }
+
+    @Test
+    void severalVersionsTest() {
+        String nl = System.lineSeparator();
+        StringBuilder csv = new StringBuilder("Time;Version;ts1;ts2").append(nl);
+        for (int version = 1; version <= 3; version++) {
+            for (String time : List.of("2000-12-31T23:00:00Z", "2001-01-01T00:00:00Z", "2001-01-01T01:00:00Z")) {
+                csv.append(time).append(';').append(version).append(';').append(version).append(".0;1.0").append(nl);
+            }
+        }
+        store.importTimeSeries(new BufferedReader(new StringReader(csv.toString())));
+        CalculatedTimeSeriesStore calculatedStore = new CalculatedTimeSeriesStore(createNodes(), store);
+
+        for (int version = 1; version <= 3; version++) {
+            assertThat(calculatedStore.getDoubleTimeSeries("sum", version).orElseThrow().toArray()).containsOnly(version + 1d);
+        }
+        int loadCountAfterVersions = loadCount.get();
+
+        // the resolver of the last version read is kept
+        assertThat(calculatedStore.getDoubleTimeSeries("margin", 3).orElseThrow().toArray()).containsOnly(6d);
+        assertThat(loadCount).hasValue(loadCountAfterVersions);
+
+        // while the one of the first version has been dropped, ts1 + ts2 being loaded again
+        assertThat(calculatedStore.getDoubleTimeSeries("margin", 1).orElseThrow().toArray()).containsOnly(8d);
+        assertThat(loadCount.get()).isGreaterThan(loadCountAfterVersions);
+    }
+
+    @Test
+    void deepTreeTest() {
+        NodeCalc deepSum = new TimeSeriesNameNodeCalc("ts1");
+        for (int i = 0; i < 100_000; i++) {
+            deepSum = BinaryOperation.plus(deepSum, new TimeSeriesNameNodeCalc("ts2"));
+        }
+        NodeCalcDag nodeCalcDag = new NodeCalcDag(Map.of("deep1", deepSum, "deep2", BinaryOperation.multiply(deepSum, new DoubleNodeCalc(2d))));
+        assertThat(nodeCalcDag.getSharedNodeCount()).isEqualTo(1);
+        assertThat(nodeCalcDag.getNodeCalc("deep1")).isInstanceOf(TimeSeriesNameNodeCalc.class);
+    }
+}
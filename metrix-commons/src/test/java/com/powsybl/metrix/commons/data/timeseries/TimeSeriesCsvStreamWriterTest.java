@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.commons.data.timeseries;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.timeseries.DoubleTimeSeries;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStoreCache;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.StringTimeSeries;
+import com.powsybl.timeseries.TimeSeries;
+import com.powsybl.timeseries.TimeSeriesCsvConfig;
+import com.powsybl.timeseries.TimeSeriesException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.powsybl.commons.test.ComparisonUtils.assertTxtEquals;
+import static com.powsybl.metrix.commons.data.timeseries.FileSystemTimeSeriesStore.ExistingFilePolicy.APPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class TimeSeriesCsvStreamWriterTest {
+
+    private static final Instant START = Instant.ofEpochMilli(978303600000L);
+
+    private static final RegularTimeSeriesIndex INDEX = RegularTimeSeriesIndex.create(START, START.plus(2, ChronoUnit.HOURS), Duration.ofHours(1));
+
+    private FileSystem fileSystem;
+
+    private Path tmpDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        tmpDir = Files.createDirectory(fileSystem.getPath("/tmp"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    @Test
+    void exportTest() throws IOException {
+        ReadOnlyTimeSeriesStore store = new ReadOnlyTimeSeriesStoreCache(
+                TimeSeries.createDouble("ts2", INDEX, 1d, 3d, 5d),
+                TimeSeries.createDouble("ts1", INDEX, 1d, 2d, 3d));
+
+        StringWriter writer = new StringWriter();
+        new TimeSeriesCsvStreamWriter(store, ';', ZoneOffset.UTC, tmpDir)
+                .write(writer, ImmutableSortedSet.of(1), ImmutableSortedSet.of("ts1", "ts2"));
+
+        try (InputStream expected = Objects.requireNonNull(getClass().getResourceAsStream("/expected/simpleExport.csv"))) {
+            assertTxtEquals(expected, new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    void exportByBlocksTest() throws IOException {
+        FileSystemTimeSeriesStore store = new FileSystemTimeSeriesStore(Files.createDirectory(fileSystem.getPath("/store")));
+        store.importTimeSeries(List.of(
+                TimeSeries.createDouble("a", INDEX, 1d, Double.NaN, 3d),
+                TimeSeries.createDouble("b", INDEX, 4d, 5d, 6d),
+                TimeSeries.createDouble("c", INDEX, 7d, 8d, 9d),
+                TimeSeries.createString("s", INDEX, "x", "y", "z"),
+                TimeSeries.createString("t", INDEX, "é", "", "w"),
+                TimeSeries.createString("u", INDEX, "p", "q", "r")), 1, APPEND);
+        // "b" and "s" missing in version 2
+        store.importTimeSeries(List.of(
+                TimeSeries.createDouble("a", INDEX, 10d, 11d, 12d),
+                TimeSeries.createDouble("c", INDEX, 13d, 14d, 15d),
+                TimeSeries.createString("t", INDEX, "m", "n", "o"),
+                TimeSeries.createString("u", INDEX, "g", "h", "i")), 2, APPEND);
+
+        StringWriter writer = new StringWriter();
+        new TimeSeriesCsvStreamWriter(store, ';', ZoneOffset.UTC, tmpDir)
+                .setColumnBlockSize(2)
+                .setWindowValueCount(5)
+                .write(writer, ImmutableSortedSet.of(1, 2), ImmutableSortedSet.of("a", "b", "c", "s", "t", "u"));
+
+        String nl = System.lineSeparator();
+        assertThat(writer).hasToString(
+                "Time;Version;a;b;c;s;t;u" + nl +
+                "2000-12-31T23:00:00Z;1;1.0;4.0;7.0;x;é;p" + nl +
+                "2001-01-01T00:00:00Z;1;;5.0;8.0;y;;q" + nl +
+                "2001-01-01T01:00:00Z;1;3.0;6.0;9.0;z;w;r" + nl +
+                "2000-12-31T23:00:00Z;2;10.0;;13.0;;m;g" + nl +
+                "2001-01-01T00:00:00Z;2;11.0;;14.0;;n;h" + nl +
+                "2001-01-01T01:00:00Z;2;12.0;;15.0;;o;i" + nl);
+        assertThat(tmpFiles()).isEmpty();
+    }
+
+    @Test
+    void roundTripTest() throws IOException {
+        int pointCount = 50;
+        RegularTimeSeriesIndex index = RegularTimeSeriesIndex.create(START, START.plus(pointCount - 1L, ChronoUnit.HOURS), Duration.ofHours(1));
+        Random random = new Random(0);
+        FileSystemTimeSeriesStore store = new FileSystemTimeSeriesStore(Files.createDirectory(fileSystem.getPath("/store")));
+        for (int version = 1; version <= 3; version++) {
+            List<TimeSeries> timeSeriesList = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                double[] values = random.doubles(pointCount, -1000, 1000).toArray();
+                values[random.nextInt(pointCount)] = Double.NaN;
+                timeSeriesList.add(TimeSeries.createDouble("d" + i, index, values));
+            }
+            for (int i = 0; i < 3; i++) {
+                String[] values = random.ints(pointCount, 0, 100).mapToObj(value -> "v" + value).toArray(String[]::new);
+                timeSeriesList.add(TimeSeries.createString("s" + i, index, values));
+            }
+            store.importTimeSeries(timeSeriesList, version, APPEND);
+        }
+
+        StringWriter writer = new StringWriter();
+        new TimeSeriesCsvStreamWriter(store, ';', ZoneOffset.UTC, tmpDir)
+                .setColumnBlockSize(3)
+                .setWindowValueCount(64)
+                .write(writer);
+        assertThat(tmpFiles()).isEmpty();
+
+        Map<Integer, List<TimeSeries>> parsed = TimeSeries.parseCsv(new BufferedReader(new StringReader(writer.toString())),
+                new TimeSeriesCsvConfig(ZoneOffset.UTC, ';', true, TimeSeries.TimeFormat.DATE_TIME));
+        assertThat(parsed.keySet()).containsExactlyInAnyOrderElementsOf(store.getTimeSeriesDataVersions());
+        for (Map.Entry<Integer, List<TimeSeries>> entry : parsed.entrySet()) {
+            int version = entry.getKey();
+            Map<String, TimeSeries> parsedByName = entry.getValue().stream()
+                    .collect(Collectors.toMap(timeSeries -> timeSeries.getMetadata().getName(), timeSeries -> timeSeries));
+            assertThat(parsedByName).hasSize(10);
+            for (DoubleTimeSeries expected : store.getDoubleTimeSeries(version)) {
+                DoubleTimeSeries actual = (DoubleTimeSeries) parsedByName.get(expected.getMetadata().getName());
+                assertThat(actual.toArray()).containsExactly(expected.toArray());
+            }
+            for (StringTimeSeries expected : store.getStringTimeSeries(new TreeSet<>(List.of("s0", "s1", "s2")), version)) {
+                StringTimeSeries actual = (StringTimeSeries) parsedByName.get(expected.getMetadata().getName());
+                assertThat(actual.toArray()).containsExactly(expected.toArray());
+            }
+        }
+    }
+
+    @Test
+    void notUniqueIndexTest() {
+        RegularTimeSeriesIndex otherIndex = RegularTimeSeriesIndex.create(START, START.plus(1, ChronoUnit.HOURS), Duration.ofMinutes(30));
+        ReadOnlyTimeSeriesStore store = new ReadOnlyTimeSeriesStoreCache(
+                TimeSeries.createDouble("ts1", INDEX, 1d, 2d, 3d),
+                TimeSeries.createDouble("ts2", otherIndex, 1d, 3d, 5d));
+        TimeSeriesCsvStreamWriter csvWriter = new TimeSeriesCsvStreamWriter(store, ';', ZoneOffset.UTC, tmpDir);
+        StringWriter writer = new StringWriter();
+        assertThatThrownBy(() -> csvWriter.write(writer))
+                .isInstanceOf(TimeSeriesException.class)
+                .hasMessage("Impossible to write CSV because index is not unique");
+    }
+
+    private List<Path> tmpFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tmpDir)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.commons.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class ParallelGzipOutputStreamTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static byte[] csvLikeData(int size) {
+        Random random = new Random(size);
+        String chars = "0123456789.;-\n";
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) chars.charAt(random.nextInt(chars.length()));
+        }
+        return data;
+    }
+
+    @Test
+    void roundTripTest() throws IOException {
+        byte[] data = csvLikeData(1_000_000);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream os = new ParallelGzipOutputStream(compressed, executor, 4, 40_000)) {
+            os.write(data, 0, 123_456);
+            os.flush();
+            os.write(data[123_456]);
+            os.write(data, 123_457, data.length - 123_457);
+        }
+        assertThat(gunzip(compressed.toByteArray())).isEqualTo(data);
+    }
+
+    @Test
+    void emptyTest() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(compressed, executor, 2).close();
+        assertThat(gunzip(compressed.toByteArray())).isEmpty();
+    }
+
+    @Test
+    void closedTest() throws IOException {
+        OutputStream os = new ParallelGzipOutputStream(new ByteArrayOutputStream(), executor, 1);
+        os.close();
+        os.close();
+        assertThatThrownBy(() -> os.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void sharedExecutorTest() throws IOException {
+        // the executor is owned by the caller: it is still usable by other streams once a stream is closed
+        for (int size : new int[] {100_000, 300_000}) {
+            byte[] data = csvLikeData(size);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream os = new ParallelGzipOutputStream(compressed, executor, 2, 40_000)) {
+                os.write(data);
+            }
+            assertThat(gunzip(compressed.toByteArray())).isEqualTo(data);
+        }
+        assertThat(executor.isShutdown()).isFalse();
+    }
+}
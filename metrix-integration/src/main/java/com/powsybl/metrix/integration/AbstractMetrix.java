@@ -8,12 +8,12 @@
 package com.powsybl.metrix.integration;
 
 import com.google.common.collect.Range;
-import com.google.common.io.ByteStreams;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.io.WorkingDirectory;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.metrix.integration.analysis.MetrixAnalysisResult;
 import com.powsybl.metrix.integration.chunk.ChunkCutter;
+import com.powsybl.metrix.integration.chunk.TopologyChangeFinder;
 import com.powsybl.metrix.integration.configuration.MetrixConfig;
 import com.powsybl.metrix.integration.configuration.MetrixRunParameters;
 import com.powsybl.metrix.integration.data.generator.MetrixOutputData;
@@ -25,15 +25,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Objects;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import static com.powsybl.metrix.commons.ComputationRange.checkAndSortRanges;
@@ -69,6 +66,8 @@ public abstract class AbstractMetrix {
 
     protected final MetrixAnalysisResult analysisResult;
 
+    private volatile MetrixLogArchiver logArchiver;
+
     protected AbstractMetrix(Reader remedialActionsReader, ReadOnlyTimeSeriesStore store, ReadOnlyTimeSeriesStore resultStore,
                              ZipOutputStream logArchive, ComputationManager computationManager,
                              MetrixAppLogger appLogger, MetrixAnalysisResult analysisResult) {
@@ -111,22 +110,30 @@ public abstract class AbstractMetrix {
         TimeSeriesMappingConfigTableLoader loader = new TimeSeriesMappingConfigTableLoader(analysisResult.mappingConfig(), store);
         TimeSeriesIndex index = loader.checkIndexUnicity();
         loader.checkValues(runParameters.getVersions());
-        ChunkCutter chunkCutter = initChunkCutter(runParameters, metrixConfig.getChunkSize(), index);
+        ChunkCutter chunkCutter = initChunkCutter(runParameters, metrixConfig, index);
 
         LOGGER.info("Running metrix {} on network {}", analysisResult.metrixParameters().getComputationType(), analysisResult.network().getNameOrId());
         appLogger.log("[%s] Running metrix", schemaName);
 
-        try (WorkingDirectory commonWorkingDir = new WorkingDirectory(computationManager.getLocalDir(), "metrix-commons-", metrixConfig.isDebug())) {
-
-            executeMetrixChunks(
-                    runParameters,
-                    listener,
-                    metrixConfig,
-                    commonWorkingDir,
-                    chunkCutter,
-                    schemaName);
+        try (WorkingDirectory commonWorkingDir = new WorkingDirectory(computationManager.getLocalDir(), "metrix-commons-", metrixConfig.isDebug());
+             MetrixLogArchiver archiver = createLogArchiver(runParameters, commonWorkingDir, chunkCutter)) {
 
-            addLogsToArchive(runParameters, commonWorkingDir, chunkCutter.getChunkCount(), chunkCutter.getChunkOffset());
+            logArchiver = archiver;
+            try {
+                executeMetrixChunks(
+                        runParameters,
+                        listener,
+                        metrixConfig,
+                        commonWorkingDir,
+                        chunkCutter,
+                        schemaName);
+
+                if (archiver != null) {
+                    archiver.finish();
+                }
+            } finally {
+                logArchiver = null;
+            }
             listener.onEnd();
 
             MetrixRunResult runResult = new MetrixRunResult();
@@ -140,10 +147,16 @@ public abstract class AbstractMetrix {
         }
     }
 
-    private ChunkCutter initChunkCutter(MetrixRunParameters runParameters, int chunkSizeFromConfig, TimeSeriesIndex index) {
+    private ChunkCutter initChunkCutter(MetrixRunParameters runParameters, MetrixConfig metrixConfig, TimeSeriesIndex index) {
         List<Range<Integer>> ranges = computeRangeVariant(runParameters.getRanges(), index);
-        int chunkSize = computeChunkSize(runParameters, chunkSizeFromConfig, index);
-        return new ChunkCutter(ranges, chunkSize);
+        int chunkSize = computeChunkSize(runParameters, metrixConfig.getChunkSize(), index);
+        if (!metrixConfig.isTopologyAwareChunks() || chunkSize == 1) {
+            return new ChunkCutter(ranges, chunkSize);
+        }
+        NavigableSet<Integer> topologyChanges = new TopologyChangeFinder(analysisResult.mappingConfig(), store)
+                .findTopologyChanges(runParameters.getVersions(), ranges);
+        LOGGER.info("{} topology changes found", topologyChanges.size());
+        return new ChunkCutter(ranges, chunkSize, topologyChanges);
     }
 
     private List<Range<Integer>> computeRangeVariant(List<Range<Integer>> ranges, TimeSeriesIndex index) {
@@ -159,35 +172,24 @@ public abstract class AbstractMetrix {
         return sortedRanges;
     }
 
-    private void addLogsToArchive(
-            MetrixRunParameters runParameters,
-            WorkingDirectory commonWorkingDir,
-            int chunkCount,
-            int chunkOffset
-    ) {
+    private MetrixLogArchiver createLogArchiver(MetrixRunParameters runParameters, WorkingDirectory commonWorkingDir,
+                                                ChunkCutter chunkCutter) {
         if (logArchive == null) {
-            return;
-        }
-        for (int version : runParameters.getVersions()) {
-            addVersionLogsToArchive(commonWorkingDir, chunkCount, chunkOffset, version);
+            return null;
         }
+        return new MetrixLogArchiver(logArchive, commonWorkingDir.toPath(), runParameters.getVersions(), chunkCutter.getChunkOffset(),
+                chunkCutter.getChunkCount(), appLogger);
     }
 
-    private void addVersionLogsToArchive(
-            WorkingDirectory commonWorkingDir,
-            int chunkCount,
-            int chunkOffset,
-            int version
-    ) {
-        for (int chunk = chunkOffset; chunk < chunkCount; chunk++) {
-            try {
-                addLogToArchive(commonWorkingDir.toPath().resolve(getLogFileName(version, chunk)), logArchive);
-                addLogDetailToArchive(commonWorkingDir.toPath(), getLogDetailFileNameFormat(version, chunk), logArchive);
-            } catch (IOException e) {
-                LOGGER.error(e.toString(), e);
-                appLogger.tagged("info")
-                        .log("Log file not found for chunk %d of version %d", chunk, version);
-            }
+    /**
+     * Notify that the logs of the given chunk have been retrieved in the common working directory,
+     * so that they are added to the log archive without waiting for the end of the other chunks.
+     * Chunks not notified are archived once {@link #executeMetrixChunks} returns.
+     */
+    protected void onChunkLogsAvailable(int version, int chunk) {
+        MetrixLogArchiver archiver = logArchiver;
+        if (archiver != null) {
+            archiver.chunkDone(version, chunk);
         }
     }
 
@@ -207,29 +209,4 @@ public abstract class AbstractMetrix {
     protected static String getLogDetailFileNameFormat(int version, int chunk) {
         return LOG_FILE_DETAIL_PREFIX + "%03d" + "_" + version + "_" + chunk + ".log";
     }
-
-    protected static void addLogToArchive(Path logFile, ZipOutputStream logArchive) throws IOException {
-        if (Files.exists(logFile)) {
-            boolean gzipped = logFile.getFileName().toString().endsWith(".gz");
-            String fileName = gzipped ? logFile.getFileName().toString().substring(0, logFile.getFileName().toString().length() - 3)
-                    : logFile.getFileName().toString();
-            ZipEntry zipEntry = new ZipEntry(fileName);
-            logArchive.putNextEntry(zipEntry);
-            try (InputStream is = gzipped ? new GZIPInputStream(Files.newInputStream(logFile))
-                    : Files.newInputStream(logFile)) {
-                ByteStreams.copy(is, logArchive);
-            } finally {
-                logArchive.closeEntry();
-            }
-        }
-    }
-
-    protected static void addLogDetailToArchive(Path workingDir, String logDetailFileNameFormat, ZipOutputStream logArchive) throws IOException {
-        Path path;
-        int i = 0;
-        while (Files.exists(path = workingDir.resolve(String.format(logDetailFileNameFormat, i)))) {
-            addLogToArchive(path, logArchive);
-            i++;
-        }
-    }
 }
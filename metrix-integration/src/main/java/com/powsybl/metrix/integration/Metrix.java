@@ -9,6 +9,7 @@ package com.powsybl.metrix.integration;
 
 import com.google.common.collect.Range;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.commons.io.WorkingDirectory;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.iidm.serde.NetworkSerDe;
@@ -16,12 +17,14 @@ import com.powsybl.metrix.integration.analysis.MetrixAnalysisResult;
 import com.powsybl.metrix.integration.chunk.ChunkCutter;
 import com.powsybl.metrix.integration.chunk.MetrixChunk;
 import com.powsybl.metrix.integration.chunk.MetrixChunkParam;
+import com.powsybl.metrix.integration.chunk.MetrixChunkResultPipeline;
+import com.powsybl.metrix.integration.chunk.MetrixWorkerPool;
 import com.powsybl.metrix.integration.configuration.MetrixConfig;
+import com.powsybl.metrix.integration.configuration.MetrixParameters;
 import com.powsybl.metrix.integration.configuration.MetrixRunParameters;
 import com.powsybl.metrix.integration.io.ResultListener;
 import com.powsybl.metrix.integration.network.MetrixVariantProvider;
 import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
-import com.powsybl.timeseries.TimeSeries;
 import com.powsybl.tools.ToolRunningContext;
 
 import java.io.*;
@@ -30,6 +33,8 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -72,24 +77,56 @@ public class Metrix extends AbstractMetrix {
             }
         }
 
-        List<CompletableFuture<?>> futures = executeVersions(analysisResult, runParameters, listener, metrixConfig, commonWorkingDir, chunkCutter);
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(commonWorkingDir.toPath(), listener,
+                metrixConfig.getResultParsingThreadCount(), metrixConfig.getResultStorageThreadCount(), metrixConfig.getResultQueueSize());
+             MetrixWorkerPool workerPool = createWorkerPool(metrixConfig, commonWorkingDir);
+             ExecutorService propagationExecutor = createPropagationExecutor(metrixConfig, analysisResult.metrixParameters())) {
+            List<CompletableFuture<?>> futures = executeVersions(analysisResult, runParameters, pipeline, workerPool, propagationExecutor, metrixConfig,
+                commonWorkingDir, chunkCutter);
 
-        for (CompletableFuture<?> future : futures) {
-            future.join();
+            for (CompletableFuture<?> future : futures) {
+                future.join();
+            }
+        }
+    }
+
+    /**
+     * Workers running the chunks on the local machine, if enabled
+     */
+    private static MetrixWorkerPool createWorkerPool(MetrixConfig metrixConfig, WorkingDirectory commonWorkingDir) {
+        if (metrixConfig.getWorkerCount() == 0) {
+            return null;
+        }
+        return new MetrixWorkerPool(commonWorkingDir.toPath(), metrixConfig.getHomeDir().resolve("bin"), metrixConfig.getWorkerCount());
+    }
+
+    /**
+     * Pool propagating the branch tripping of the contingencies of the chunks, if enabled
+     */
+    private static ExecutorService createPropagationExecutor(MetrixConfig metrixConfig, MetrixParameters parameters) {
+        if (!parameters.isPropagateBranchTripping()) {
+            return null;
         }
+        return Executors.newFixedThreadPool(metrixConfig.getPropagationThreadCount(), new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("METRIX_PROPAGATION-%d")
+            .build());
     }
 
     private List<CompletableFuture<?>> executeVersions(
             MetrixAnalysisResult analysisResult,
             MetrixRunParameters runParameters,
-            ResultListener listener,
+            MetrixChunkResultPipeline pipeline,
+            MetrixWorkerPool workerPool,
+            ExecutorService propagationExecutor,
             MetrixConfig metrixConfig,
             WorkingDirectory commonWorkingDir,
             ChunkCutter chunkCutter) {
 
         List<CompletableFuture<?>> allFutures = new ArrayList<>();
         for (int version : runParameters.getVersions()) {
-            List<CompletableFuture<?>> versionFutures = executeVersion(analysisResult, runParameters, listener, metrixConfig, commonWorkingDir, chunkCutter, version);
+            List<CompletableFuture<?>> versionFutures = executeVersion(analysisResult, runParameters, pipeline, workerPool, propagationExecutor, metrixConfig,
+                commonWorkingDir, chunkCutter, version);
             allFutures.addAll(versionFutures);
         }
         return allFutures;
@@ -98,7 +135,9 @@ public class Metrix extends AbstractMetrix {
     private List<CompletableFuture<?>> executeVersion(
         MetrixAnalysisResult analysisResult,
         MetrixRunParameters runParameters,
-        ResultListener listener,
+        MetrixChunkResultPipeline pipeline,
+        MetrixWorkerPool workerPool,
+        ExecutorService propagationExecutor,
         MetrixConfig metrixConfig,
         WorkingDirectory commonWorkingDir,
         ChunkCutter chunkCutter,
@@ -106,22 +145,20 @@ public class Metrix extends AbstractMetrix {
 
         List<CompletableFuture<?>> futures = new ArrayList<>();
         for (int chunk = chunkCutter.getChunkOffset(); chunk < chunkCutter.getChunkCount(); chunk++) {
-            final int chunkNum = chunk;
             ContingenciesProvider contingenciesProvider = network -> analysisResult.contingencies();
             MetrixChunkParam metrixChunkParam = new MetrixChunkParam.MetrixChunkParamBuilder().simpleInit(version, runParameters.isIgnoreLimits(),
                     runParameters.isIgnoreEmptyFilter(), contingenciesProvider, null,
                     commonWorkingDir.toPath().resolve(getLogFileName(version, chunk)),
                     commonWorkingDir.toPath().resolve(getLogDetailFileNameFormat(version, chunk)),
                     remedialActionsReader != null ? commonWorkingDir.toPath().resolve(REMEDIAL_ACTIONS_CSV) : null).build();
-            MetrixChunk metrixChunk = new MetrixChunk(NetworkSerDe.copy(analysisResult.network()), computationManager, metrixChunkParam, metrixConfig, null);
+            MetrixChunk metrixChunk = new MetrixChunk(NetworkSerDe.copy(analysisResult.network()), computationManager, metrixChunkParam, metrixConfig, null, workerPool,
+                propagationExecutor);
             Range<Integer> range = chunkCutter.getChunkRange(chunk);
             MetrixVariantProvider variantProvider = new MetrixTimeSeriesVariantProvider(analysisResult.network(), store, analysisResult.mappingParameters(),
                 analysisResult.mappingConfig(), analysisResult.metrixDslData(), metrixChunkParam, range, out);
-            CompletableFuture<List<TimeSeries>> currentFuture = metrixChunk.run(analysisResult.metrixParameters(), analysisResult.metrixDslData(), variantProvider);
-            CompletableFuture<Void> info = currentFuture.thenAccept(timeSeriesList ->
-                    listener.onChunkResult(version, chunkNum, timeSeriesList, null)
-            );
-            futures.add(info);
+            final int chunkNum = chunk;
+            futures.add(metrixChunk.run(analysisResult.metrixParameters(), analysisResult.metrixDslData(), variantProvider, pipeline, chunk)
+                    .whenComplete((ignored, e) -> onChunkLogsAvailable(version, chunkNum)));
         }
         return futures;
     }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the chunk log files into the log archive while the chunks are still running.
+ * <p>Log files of a chunk are copied from the working directory to the archive by a single writer thread as soon as
+ * the chunk and all the previous ones, in version then chunk order, are done, so that the archive content is the same
+ * as the one obtained by archiving the logs once all chunks are done. Logs of the chunks done ahead of their turn stay
+ * on disk until then: only their done flag is kept in memory.</p>
+ * <p>The entries are deflated by the writer thread: {@link ZipOutputStream} cannot write entries deflated
+ * beforehand, and deflating the logs on a pool would mean keeping them in memory until their turn.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class MetrixLogArchiver implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetrixLogArchiver.class);
+
+    private record ChunkKey(int version, int chunk) {
+    }
+
+    private final ZipOutputStream logArchive;
+
+    private final Path logDir;
+
+    private final MetrixAppLogger appLogger;
+
+    private final ExecutorService writingExecutor;
+
+    private final Map<ChunkKey, CompletableFuture<Void>> chunksDone = new LinkedHashMap<>();
+
+    private final CompletableFuture<Void> writing;
+
+    MetrixLogArchiver(ZipOutputStream logArchive, Path logDir, Collection<Integer> versions, int chunkOffset, int chunkCount,
+                      MetrixAppLogger appLogger) {
+        this.logArchive = Objects.requireNonNull(logArchive);
+        this.logDir = Objects.requireNonNull(logDir);
+        this.appLogger = Objects.requireNonNull(appLogger);
+        this.writingExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("METRIX_LOG_WRITING-%d")
+                .build());
+
+        // Chain the writes in the archive order: each chunk is written once it is done and the previous chunk written
+        CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+        for (int version : versions) {
+            for (int chunk = chunkOffset; chunk < chunkCount; chunk++) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                chunksDone.put(new ChunkKey(version, chunk), done);
+                int writtenVersion = version;
+                int writtenChunk = chunk;
+                previous = previous.thenAcceptBothAsync(done, (ignored, ignored2) -> write(writtenVersion, writtenChunk), writingExecutor);
+            }
+        }
+        this.writing = previous;
+    }
+
+    /**
+     * Notify that the given chunk is done and that its log files can be archived.
+     */
+    void chunkDone(int version, int chunk) {
+        CompletableFuture<Void> done = chunksDone.get(new ChunkKey(version, chunk));
+        if (done != null) {
+            done.complete(null);
+        }
+    }
+
+    /**
+     * Archive the logs of the chunks not notified yet and wait for all the logs to be written.
+     */
+    void finish() {
+        chunksDone.values().forEach(done -> done.complete(null));
+        writing.join();
+    }
+
+    private void write(int version, int chunk) {
+        try {
+            addLogToArchive(logDir.resolve(AbstractMetrix.getLogFileName(version, chunk)));
+            String logDetailFileNameFormat = AbstractMetrix.getLogDetailFileNameFormat(version, chunk);
+            int i = 0;
+            while (addLogToArchive(logDir.resolve(String.format(logDetailFileNameFormat, i)))) {
+                i++;
+            }
+        } catch (IOException e) {
+            LOGGER.error(e.toString(), e);
+            appLogger.tagged("info")
+                    .log("Log file not found for chunk %d of version %d", chunk, version);
+        }
+    }
+
+    /**
+     * Copy the log file to the archive.
+     * @return false if it does not exist
+     */
+    private boolean addLogToArchive(Path logFile) throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        logArchive.putNextEntry(new ZipEntry(logFile.getFileName().toString()));
+        try (InputStream is = Files.newInputStream(logFile)) {
+            ByteStreams.copy(is, logArchive);
+        } finally {
+            logArchive.closeEntry();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        writingExecutor.shutdown();
+    }
+}
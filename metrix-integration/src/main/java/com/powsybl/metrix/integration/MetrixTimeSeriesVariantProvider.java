@@ -159,8 +159,8 @@ public class MetrixTimeSeriesVariantProvider implements MetrixVariantProvider {
     private TimeSeriesMapperObserver createBalanceSummary(MetrixVariantReader reader) {
         return new BalanceSummary(err) {
             @Override
-            public void timeSeriesMappingStart(int point, TimeSeriesIndex index) {
-                super.timeSeriesMappingStart(point, index);
+            public void timeSeriesMappingStart(int version, int point, TimeSeriesIndex index) {
+                super.timeSeriesMappingStart(version, point, index);
                 reader.onVariantStart(point);
             }
 
@@ -170,16 +170,16 @@ public class MetrixTimeSeriesVariantProvider implements MetrixVariantProvider {
             }
 
             @Override
-            public void timeSeriesMappedToEquipment(int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
-                super.timeSeriesMappedToEquipment(point, timeSeriesName, identifiable, variable, equipmentValue);
+            public void timeSeriesMappedToEquipment(int version, int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
+                super.timeSeriesMappedToEquipment(version, point, timeSeriesName, identifiable, variable, equipmentValue);
                 if (isMetrixVariable(variable) && !Double.isNaN(equipmentValue)) {
                     reader.onEquipmentVariant(identifiable, variable, equipmentValue);
                 }
             }
 
             @Override
-            public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
-                super.timeSeriesMappingEnd(point, index, balance);
+            public void timeSeriesMappingEnd(int version, int point, TimeSeriesIndex index, double balance) {
+                super.timeSeriesMappingEnd(version, point, index, balance);
                 reader.onVariantEnd(point);
             }
         };
@@ -8,7 +8,9 @@
 package com.powsybl.metrix.integration.analysis;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.io.CharStreams;
 import com.powsybl.contingency.ContingenciesProvider;
+import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.metrix.commons.ComputationRange;
 import com.powsybl.metrix.commons.data.datatable.DataTableStore;
@@ -19,6 +21,7 @@ import com.powsybl.metrix.integration.exceptions.MetrixException;
 import com.powsybl.metrix.integration.exceptions.MetrixScriptLoadingException;
 import com.powsybl.metrix.integration.io.MetrixConfigResult;
 import com.powsybl.metrix.integration.network.NetworkSource;
+import com.powsybl.metrix.integration.remedials.Remedial;
 import com.powsybl.metrix.integration.utils.LocalThreadExecutor;
 import com.powsybl.metrix.mapping.*;
 import com.powsybl.metrix.mapping.config.ScriptLogConfig;
@@ -31,12 +34,19 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -53,6 +63,9 @@ public class MetrixAnalysis {
     public static final String METRIX_DSL_DATA_LOADING = "[%s] Metrix dsl data loaded in %d ms";
     public static final String METRIX_DSL_DATA_LOADING_ERROR = "[%s] Error loading Metrix dsl data after %d ms";
 
+    private record LoadedInputs(List<Contingency> contingencies, List<Remedial> remedials) {
+    }
+
     private final NetworkSource networkSource;
     private final TimeSeriesDslLoader timeSeriesDslLoader;
     private final Reader metrixDslReader;
@@ -69,6 +82,9 @@ public class MetrixAnalysis {
     private Writer inputLogWriter;
     private String schemaName;
     private boolean withTimestamp;
+    private MetrixAnalysisCache analysisCache;
+    private String contingenciesKey;
+    private Executor executor;
 
     public void setUpdateTask(Consumer<Future<?>> updateTask) {
         this.updateTask = updateTask;
@@ -96,6 +112,25 @@ public class MetrixAnalysis {
         }
     }
 
+    /**
+     * Reuse the analysis results of previous runs with the same inputs.
+     *
+     * @param contingenciesKey identifies the contingencies returned by the contingencies provider, e.g. the content of
+     *                         the contingencies script, since the provider itself cannot be part of the cache key
+     */
+    public void setAnalysisCache(MetrixAnalysisCache analysisCache, String contingenciesKey) {
+        this.analysisCache = analysisCache;
+        this.contingenciesKey = contingenciesKey;
+    }
+
+    /**
+     * Executor evaluating the scripts and loading the contingencies and remedial actions. If none is given, a new
+     * thread is started for each task.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     private void initDefaultParameters() {
         this.updateTask = ignore -> {
         };
@@ -128,42 +163,175 @@ public class MetrixAnalysis {
 
         try (BufferedWriter scriptLogBufferedWriter = scriptLogWriter != null ? new BufferedWriter(scriptLogWriter) : null;
              BufferedWriter inputLogBufferedWriter = inputLogWriter != null ? new BufferedWriter(inputLogWriter) : null) {
-            ScriptLogConfig scriptLogConfig = ScriptLogConfig.builder()
-                .maxLogLevel(this.maxLogLevel)
-                .writer(scriptLogBufferedWriter)
-                .withTimestamp(this.withTimestamp)
-                .build();
-            ScriptLogConfig inputLogConfig = ScriptLogConfig.builder()
-                .maxLogLevel(this.maxLogLevel)
-                .writer(inputLogBufferedWriter)
-                .withTimestamp(this.withTimestamp)
-                .build();
-            TimeSeriesMappingConfig mappingConfig = loadMappingConfig(timeSeriesDslLoader, network, mappingParameters, scriptLogConfig, id);
-            Map<String, NodeCalc> timeSeriesNodesAfterMapping = new HashMap<>(mappingConfig.getTimeSeriesNodes());
-            MetrixDslData metrixDslData = null;
-            Map<String, NodeCalc> timeSeriesNodesAfterMetrix = null;
-            if (metrixDslReader != null) {
-                metrixDslData = loadMetrixDslData(metrixDslReader, network, metrixParameters, mappingConfig, scriptLogConfig, id);
-                timeSeriesNodesAfterMetrix = new HashMap<>(mappingConfig.getTimeSeriesNodes());
+            if (analysisCache != null) {
+                return runCachedAnalysis(id, network, metrixParameters, mappingParameters, scriptLogBufferedWriter, inputLogBufferedWriter);
             }
-            MetrixInputAnalysisResult inputs = new MetrixInputAnalysis(remedialActionsReader, contingenciesProvider,
-                network, metrixDslData, dataTableStore, inputLogConfig, scriptLogConfig).runAnalysis();
-            MetrixConfigResult metrixConfigResult = new MetrixConfigResult(timeSeriesNodesAfterMapping, timeSeriesNodesAfterMetrix);
-            return new MetrixAnalysisResult(metrixDslData, mappingConfig, network, metrixParameters, mappingParameters,
-                metrixConfigResult, inputs.contingencies(), inputs.remedials());
+            return runAnalysis(id, network, metrixParameters, mappingParameters, store, metrixDslReader, remedialActionsReader,
+                scriptLogBufferedWriter, inputLogBufferedWriter);
         } catch (IOException e) {
             throw new MetrixException("Metrix analysis failed", e);
         }
     }
 
+    private MetrixAnalysisResult runAnalysis(String id, Network network, MetrixParameters metrixParameters, MappingParameters mappingParameters,
+                                             ReadOnlyTimeSeriesStore analysisStore, Reader metrixDsl, Reader remedialActions, Writer scriptLog,
+                                             Writer inputLog) throws IOException {
+        ScriptLogConfig scriptLogConfig = createLogConfig(scriptLog);
+        ScriptLogConfig inputLogConfig = createLogConfig(inputLog);
+
+        // Contingencies and remedial actions are loaded while the scripts are evaluated, on their own copy of the network
+        // as IIDM networks are not thread safe. Their logs are buffered and written once the scripts are evaluated, so
+        // that they appear in the same order as in a sequential analysis.
+        StringWriter contingenciesScriptLog = scriptLog != null ? new StringWriter() : null;
+        StringWriter contingenciesInputLog = inputLog != null ? new StringWriter() : null;
+        StringWriter remedialsInputLog = inputLog != null ? new StringWriter() : null;
+        CompletableFuture<LoadedInputs> inputsFuture = new LocalThreadExecutor<LoadedInputs>("Inputs_" + id, executor)
+            .supplyAsync(() -> {
+                Network inputsNetwork = networkSource.copy();
+                List<Contingency> contingencies = new MetrixInputAnalysis(null, contingenciesProvider, inputsNetwork, null,
+                    dataTableStore, createLogConfig(contingenciesInputLog), createLogConfig(contingenciesScriptLog)).loadContingencies();
+                List<Remedial> remedials = new MetrixInputAnalysis(remedialActions, contingenciesProvider, inputsNetwork, null,
+                    dataTableStore, createLogConfig(remedialsInputLog)).loadRemedials();
+                return new LoadedInputs(contingencies, remedials);
+            });
+
+        // The metrix dsl uses the time series defined by the mapping script
+        TimeSeriesMappingConfig mappingConfig = loadMappingConfig(timeSeriesDslLoader, network, mappingParameters, analysisStore, scriptLogConfig, id);
+        Map<String, NodeCalc> timeSeriesNodesAfterMapping = new HashMap<>(mappingConfig.getTimeSeriesNodes());
+        MetrixDslData metrixDslData = null;
+        Map<String, NodeCalc> timeSeriesNodesAfterMetrix = null;
+        if (metrixDsl != null) {
+            metrixDslData = loadMetrixDslData(metrixDsl, network, metrixParameters, analysisStore, mappingConfig, scriptLogConfig, id);
+            timeSeriesNodesAfterMetrix = new HashMap<>(mappingConfig.getTimeSeriesNodes());
+        }
+
+        LoadedInputs loadedInputs = getLoadedInputs(inputsFuture);
+        writeLog(scriptLog, contingenciesScriptLog != null ? contingenciesScriptLog.toString() : null);
+        writeLog(inputLog, contingenciesInputLog != null ? contingenciesInputLog.toString() : null);
+        writeLog(inputLog, remedialsInputLog != null ? remedialsInputLog.toString() : null);
+        MetrixInputAnalysisResult inputs = new MetrixInputAnalysis(null, contingenciesProvider, network, metrixDslData,
+            dataTableStore, inputLogConfig, scriptLogConfig).runAnalysis(loadedInputs.contingencies(), loadedInputs.remedials());
+        MetrixConfigResult metrixConfigResult = new MetrixConfigResult(timeSeriesNodesAfterMapping, timeSeriesNodesAfterMetrix);
+        return new MetrixAnalysisResult(metrixDslData, mappingConfig, network, metrixParameters, mappingParameters,
+            metrixConfigResult, inputs.contingencies(), inputs.remedials());
+    }
+
+    private ScriptLogConfig createLogConfig(Writer writer) {
+        return ScriptLogConfig.builder()
+            .maxLogLevel(this.maxLogLevel)
+            .writer(writer)
+            .withTimestamp(this.withTimestamp)
+            .build();
+    }
+
+    private static <T> T getLoadedInputs(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reuse the analysis results of a previous run with the same inputs, or run the analysis and store its results.
+     * Script and input logs are captured during the analysis so that they can be written again on a cache hit.
+     */
+    private MetrixAnalysisResult runCachedAnalysis(String id, Network network, MetrixParameters metrixParameters, MappingParameters mappingParameters,
+                                                   Writer scriptLog, Writer inputLog) throws IOException {
+        String metrixDsl = metrixDslReader != null ? CharStreams.toString(metrixDslReader) : null;
+        String remedialActions = remedialActionsReader != null ? CharStreams.toString(remedialActionsReader) : null;
+        String key = MetrixAnalysisCache.keyBuilder()
+            .putNetwork(networkSource)
+            .put("mappingDslLoader", timeSeriesDslLoader.getClass().getName())
+            .put("mappingScript", timeSeriesDslLoader.getScriptText())
+            .put("metrixDsl", metrixDsl)
+            .put("remedialActions", remedialActions)
+            .put("contingencies", contingenciesKey)
+            .putJson("metrixParameters", metrixParameters)
+            .putMappingParameters(mappingParameters)
+            .putComputationRange(computationRange)
+            .putStore(store)
+            .putDataTables(dataTableStore)
+            .put("scriptLog", scriptLog != null)
+            .put("inputLog", inputLog != null)
+            .put("maxLogLevel", maxLogLevel)
+            .put("withTimestamp", withTimestamp)
+            .build();
+
+        Optional<MetrixAnalysisCache.Entry> cachedEntry = analysisCache.load(key);
+        if (cachedEntry.isPresent()) {
+            appLogger.tagged("info")
+                .log("[%s] Analysis results loaded from cache", schemaName);
+            MetrixAnalysisCache.Entry entry = cachedEntry.get();
+            writeLog(scriptLog, entry.scriptLog());
+            writeLog(inputLog, entry.inputLog());
+            Map<String, NodeCalc> timeSeriesNodes = entry.mappingConfig().getTimeSeriesNodes();
+            MetrixConfigResult metrixConfigResult = new MetrixConfigResult(selectNodes(timeSeriesNodes, entry.mappingTimeSeriesNodeNames()),
+                entry.metrixTimeSeriesNodeNames() != null ? selectNodes(timeSeriesNodes, entry.metrixTimeSeriesNodeNames()) : null);
+            // same loading and checks as without cache, their logs being already part of the cached input log
+            MetrixInputAnalysis inputAnalysis = new MetrixInputAnalysis(remedialActions != null ? new StringReader(remedialActions) : null,
+                contingenciesProvider, network, entry.metrixDslData(), dataTableStore, createLogConfig(null));
+            MetrixInputAnalysisResult inputs = inputAnalysis.runAnalysis(entry.contingencies(), inputAnalysis.loadRemedials());
+            return new MetrixAnalysisResult(entry.metrixDslData(), entry.mappingConfig(), network, entry.metrixParameters(), mappingParameters,
+                metrixConfigResult, inputs.contingencies(), inputs.remedials());
+        }
+
+        StringWriter capturedScriptLog = scriptLog != null ? new StringWriter() : null;
+        StringWriter capturedInputLog = inputLog != null ? new StringWriter() : null;
+        ValueReadTrackingTimeSeriesStore trackingStore = new ValueReadTrackingTimeSeriesStore(store);
+        try {
+            MetrixAnalysisResult result = runAnalysis(id, network, metrixParameters, mappingParameters, trackingStore,
+                metrixDsl != null ? new StringReader(metrixDsl) : null,
+                remedialActions != null ? new StringReader(remedialActions) : null,
+                capturedScriptLog, capturedInputLog);
+            MetrixConfigResult metrixConfigResult = result.metrixConfigResult();
+            if (Thread.currentThread().isInterrupted()) {
+                // Incomplete results
+                return result;
+            }
+            if (trackingStore.isValuesRead()) {
+                // Only the metadata of the time series are part of the key
+                appLogger.tagged("info")
+                    .log("[%s] Analysis results not cached as the scripts read time series values", schemaName);
+                return result;
+            }
+            analysisCache.store(key, new MetrixAnalysisCache.Entry(result.mappingConfig(), result.metrixDslData(), result.metrixParameters(),
+                metrixConfigResult.getMappingTimeSeriesNodes().keySet(),
+                result.metrixDslData() != null ? metrixConfigResult.getMetrixTimeSeriesNodes().keySet() : null,
+                result.contingencies(),
+                capturedScriptLog != null ? capturedScriptLog.toString() : "",
+                capturedInputLog != null ? capturedInputLog.toString() : ""));
+            return result;
+        } finally {
+            writeLog(scriptLog, capturedScriptLog != null ? capturedScriptLog.toString() : null);
+            writeLog(inputLog, capturedInputLog != null ? capturedInputLog.toString() : null);
+        }
+    }
+
+    private static Map<String, NodeCalc> selectNodes(Map<String, NodeCalc> timeSeriesNodes, Set<String> names) {
+        Map<String, NodeCalc> selectedNodes = new HashMap<>();
+        names.forEach(name -> selectedNodes.put(name, timeSeriesNodes.get(name)));
+        return selectedNodes;
+    }
+
+    private static void writeLog(Writer writer, String log) throws IOException {
+        if (writer != null && log != null) {
+            writer.write(log);
+        }
+    }
+
     private TimeSeriesMappingConfig loadMappingConfig(TimeSeriesDslLoader timeSeriesDslLoader, Network network,
-                                                      MappingParameters mappingParameters, ScriptLogConfig scriptLogConfig, String id) {
+                                                      MappingParameters mappingParameters, ReadOnlyTimeSeriesStore store,
+                                                      ScriptLogConfig scriptLogConfig, String id) {
         appLogger.tagged("info")
                 .log("[%s] Loading time series mapping...", schemaName);
         Stopwatch stopwatch = Stopwatch.createStarted();
         boolean inError = false;
         try {
-            CompletableFuture<TimeSeriesMappingConfig> mappingFuture = new LocalThreadExecutor<TimeSeriesMappingConfig>("Script_TS_" + id)
+            CompletableFuture<TimeSeriesMappingConfig> mappingFuture = new LocalThreadExecutor<TimeSeriesMappingConfig>("Script_TS_" + id, executor)
                     .supplyAsync(() -> timeSeriesDslLoader.load(network, mappingParameters, store, dataTableStore, scriptLogConfig, computationRange));
             updateTask.accept(mappingFuture);
             return mappingFuture.get();
@@ -182,13 +350,14 @@ public class MetrixAnalysis {
     }
 
     private MetrixDslData loadMetrixDslData(Reader metrixDslReader, Network network, MetrixParameters metrixParameters,
-                                            TimeSeriesMappingConfig mappingConfig, ScriptLogConfig scriptLogConfig, String id) {
+                                            ReadOnlyTimeSeriesStore store, TimeSeriesMappingConfig mappingConfig,
+                                            ScriptLogConfig scriptLogConfig, String id) {
         appLogger.tagged("info")
                 .log("[%s] Loading metrix dsl...", schemaName);
         Stopwatch stopwatch = Stopwatch.createStarted();
         boolean inError = false;
         try {
-            CompletableFuture<MetrixDslData> metrixFuture = new LocalThreadExecutor<MetrixDslData>("Script_M_" + id)
+            CompletableFuture<MetrixDslData> metrixFuture = new LocalThreadExecutor<MetrixDslData>("Script_M_" + id, executor)
                     .supplyAsync(() -> MetrixDslDataLoader.load(metrixDslReader, network, metrixParameters, store, dataTableStore, mappingConfig, scriptLogConfig));
             updateTask.accept(metrixFuture);
             MetrixDslData metrixDslData = metrixFuture.get();
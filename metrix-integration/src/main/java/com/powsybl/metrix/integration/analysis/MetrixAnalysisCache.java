@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.analysis;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.powsybl.commons.io.FileUtil;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.json.ContingencyJsonModule;
+import com.powsybl.metrix.commons.ComputationRange;
+import com.powsybl.metrix.commons.data.datatable.DataTable;
+import com.powsybl.metrix.commons.data.datatable.DataTableStore;
+import com.powsybl.metrix.integration.MetrixDslData;
+import com.powsybl.metrix.integration.configuration.MetrixParameters;
+import com.powsybl.metrix.integration.network.NetworkSource;
+import com.powsybl.metrix.mapping.MappingParameters;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
+import com.powsybl.metrix.mapping.json.TimeSeriesMappingConfigJson;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.TimeSeriesMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * On-disk cache of the analysis results, keyed by a digest of all the analysis inputs.
+ * <p>Each entry is a directory named after its key, written in a temporary directory then atomically moved, so that
+ * a partially written entry is never read. Unreadable entries are removed and the analysis is run again.</p>
+ * <p>Only the metadata of the input time series are part of the key: the results of an analysis whose scripts read
+ * time series values are not stored.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class MetrixAnalysisCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetrixAnalysisCache.class);
+
+    /**
+     * To be incremented each time the content of an entry or the way the key is computed changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String MAPPING_CONFIG_FILE_NAME = "mappingConfig.json";
+    private static final String METRIX_DSL_DATA_FILE_NAME = "metrixDslData.json";
+    private static final String METRIX_PARAMETERS_FILE_NAME = "metrixParameters.json";
+    private static final String TIME_SERIES_NODES_FILE_NAME = "timeSeriesNodes.json";
+    private static final String CONTINGENCIES_FILE_NAME = "contingencies.json";
+    private static final String SCRIPT_LOG_FILE_NAME = "script.log";
+    private static final String INPUT_LOG_FILE_NAME = "input.log";
+
+    /**
+     * Analysis results stored in the cache.
+     *
+     * @param mappingTimeSeriesNodeNames names of the mapping time series nodes of the {@link com.powsybl.metrix.integration.io.MetrixConfigResult}
+     * @param metrixTimeSeriesNodeNames  names of the metrix time series nodes, {@code null} if there is no metrix dsl
+     */
+    record Entry(TimeSeriesMappingConfig mappingConfig, MetrixDslData metrixDslData, MetrixParameters metrixParameters,
+                 Set<String> mappingTimeSeriesNodeNames, Set<String> metrixTimeSeriesNodeNames,
+                 List<Contingency> contingencies, String scriptLog, String inputLog) {
+    }
+
+    record TimeSeriesNodeNames(Set<String> mapping, Set<String> metrix) {
+    }
+
+    private final Path cacheDir;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final ObjectMapper contingencyMapper = JsonUtil.createObjectMapper().registerModule(new ContingencyJsonModule());
+
+    public MetrixAnalysisCache(Path cacheDir) {
+        this.cacheDir = Objects.requireNonNull(cacheDir);
+    }
+
+    Optional<Entry> load(String key) {
+        Path entryDir = cacheDir.resolve(key);
+        if (!Files.isDirectory(entryDir)) {
+            return Optional.empty();
+        }
+        try {
+            TimeSeriesMappingConfig mappingConfig = Objects.requireNonNull(TimeSeriesMappingConfigJson.parseJson(entryDir.resolve(MAPPING_CONFIG_FILE_NAME)));
+            Path metrixDslDataFile = entryDir.resolve(METRIX_DSL_DATA_FILE_NAME);
+            MetrixDslData metrixDslData = Files.exists(metrixDslDataFile) ? mapper.readValue(Files.readString(metrixDslDataFile), MetrixDslData.class) : null;
+            MetrixParameters metrixParameters = mapper.readValue(Files.readString(entryDir.resolve(METRIX_PARAMETERS_FILE_NAME)), MetrixParameters.class);
+            TimeSeriesNodeNames nodeNames = mapper.readValue(Files.readString(entryDir.resolve(TIME_SERIES_NODES_FILE_NAME)), TimeSeriesNodeNames.class);
+            List<Contingency> contingencies = contingencyMapper.readValue(Files.readString(entryDir.resolve(CONTINGENCIES_FILE_NAME)),
+                    new TypeReference<ArrayList<Contingency>>() {
+                    });
+            String scriptLog = Files.readString(entryDir.resolve(SCRIPT_LOG_FILE_NAME));
+            String inputLog = Files.readString(entryDir.resolve(INPUT_LOG_FILE_NAME));
+            return Optional.of(new Entry(mappingConfig, metrixDslData, metrixParameters, nodeNames.mapping(), nodeNames.metrix(),
+                    contingencies, scriptLog, inputLog));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Invalid analysis cache entry '{}', removing it", entryDir, e);
+            deleteQuietly(entryDir);
+            return Optional.empty();
+        }
+    }
+
+    void store(String key, Entry entry) {
+        Path tmpDir = null;
+        try {
+            Files.createDirectories(cacheDir);
+            tmpDir = Files.createTempDirectory(cacheDir, key + ".tmp");
+            TimeSeriesMappingConfigJson.writeJson(tmpDir.resolve(MAPPING_CONFIG_FILE_NAME), entry.mappingConfig());
+            if (entry.metrixDslData() != null) {
+                Files.writeString(tmpDir.resolve(METRIX_DSL_DATA_FILE_NAME), mapper.writeValueAsString(entry.metrixDslData()));
+            }
+            Files.writeString(tmpDir.resolve(METRIX_PARAMETERS_FILE_NAME), mapper.writeValueAsString(entry.metrixParameters()));
+            Files.writeString(tmpDir.resolve(TIME_SERIES_NODES_FILE_NAME), mapper.writeValueAsString(
+                    new TimeSeriesNodeNames(entry.mappingTimeSeriesNodeNames(), entry.metrixTimeSeriesNodeNames())));
+            Files.writeString(tmpDir.resolve(CONTINGENCIES_FILE_NAME), contingencyMapper.writeValueAsString(entry.contingencies()));
+            Files.writeString(tmpDir.resolve(SCRIPT_LOG_FILE_NAME), entry.scriptLog());
+            Files.writeString(tmpDir.resolve(INPUT_LOG_FILE_NAME), entry.inputLog());
+            Files.move(tmpDir, cacheDir.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+            tmpDir = null;
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Entry stored meanwhile by a concurrent run
+            LOGGER.debug("Analysis cache entry '{}' already exists", key);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to store analysis cache entry '{}'", key, e);
+        } finally {
+            if (tmpDir != null) {
+                deleteQuietly(tmpDir);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            if (Files.exists(dir)) {
+                FileUtil.removeDir(dir);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete analysis cache directory '{}'", dir, e);
+        }
+    }
+
+    static KeyBuilder keyBuilder() {
+        return new KeyBuilder();
+    }
+
+    /**
+     * Digest of the analysis inputs. Each value is prefixed by its name and its length, so that two different
+     * sets of inputs never produce the same sequence of hashed bytes.
+     */
+    static final class KeyBuilder {
+
+        private final Hasher hasher = Hashing.sha256().newHasher().putInt(FORMAT_VERSION);
+
+        private KeyBuilder() {
+        }
+
+        KeyBuilder put(String name, String value) {
+            hasher.putString(name, StandardCharsets.UTF_8);
+            if (value == null) {
+                hasher.putInt(-1);
+            } else {
+                hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+            }
+            return this;
+        }
+
+        KeyBuilder put(String name, Object value) {
+            return put(name, value != null ? value.toString() : null);
+        }
+
+        KeyBuilder putJson(String name, Object value) {
+            try {
+                return put(name, new ObjectMapper().writeValueAsString(value));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        KeyBuilder putNetwork(NetworkSource networkSource) {
+            hasher.putString("network", StandardCharsets.UTF_8);
+            try (OutputStream os = Funnels.asOutputStream(hasher)) {
+                networkSource.write(os);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        KeyBuilder putMappingParameters(MappingParameters mappingParameters) {
+            return put("toleranceThreshold", mappingParameters.getToleranceThreshold())
+                    .put("withTimeSeriesStats", mappingParameters.getWithTimeSeriesStats());
+        }
+
+        KeyBuilder putComputationRange(ComputationRange computationRange) {
+            if (computationRange == null) {
+                return put("computationRange", (String) null);
+            }
+            return put("versions", computationRange.getVersions() != null ? new TreeSet<>(computationRange.getVersions()) : null)
+                    .put("ranges", computationRange.getRanges());
+        }
+
+        KeyBuilder putStore(ReadOnlyTimeSeriesStore store) {
+            Set<String> names = new TreeSet<>(store.getTimeSeriesNames(null));
+            List<TimeSeriesMetadata> metadataList = new ArrayList<>(store.getTimeSeriesMetadata(names));
+            metadataList.sort((m1, m2) -> m1.getName().compareTo(m2.getName()));
+            for (TimeSeriesMetadata metadata : metadataList) {
+                put("timeSeries", JsonUtil.toJson(metadata::writeJson));
+            }
+            return put("dataVersions", new TreeSet<>(store.getTimeSeriesDataVersions()));
+        }
+
+        KeyBuilder putDataTables(DataTableStore dataTableStore) {
+            for (String name : new TreeSet<>(dataTableStore.names())) {
+                DataTable dataTable = dataTableStore.get(name);
+                put("dataTable", name)
+                        .put("columns", dataTable.columnNames())
+                        .put("data", dataTable.data());
+            }
+            return this;
+        }
+
+        String build() {
+            return hasher.hash().toString();
+        }
+    }
+}
@@ -79,8 +79,14 @@ public class MetrixInputAnalysis {
     }
 
     public MetrixInputAnalysisResult runAnalysis() {
-        List<Contingency> contingencies = loadContingencies();
-        List<Remedial> remedials = loadRemedials();
+        return runAnalysis(loadContingencies(), loadRemedials());
+    }
+
+    /**
+     * Check the metrix dsl data and the remedial actions against contingencies and remedial actions already loaded,
+     * with {@link #loadContingencies()} and {@link #loadRemedials()}, possibly by other instances.
+     */
+    MetrixInputAnalysisResult runAnalysis(List<Contingency> contingencies, List<Remedial> remedials) {
         Set<String> contingencyIds = contingencies.stream().map(Contingency::getId).collect(Collectors.toSet());
         runMetrixDslDataAnalysis(contingencyIds);
         runRemedialAnalysis(remedials, contingencyIds);
@@ -131,7 +137,7 @@ public class MetrixInputAnalysis {
      * @return list of contingencies
      */
     @SuppressWarnings("checkstyle:IllegalCatchError")
-    private List<Contingency> loadContingencies() {
+    List<Contingency> loadContingencies() {
         List<Contingency> allContingencies;
         try {
             allContingencies = contingenciesProvider.getContingencies(network, getContextObjects());
@@ -235,25 +241,74 @@ public class MetrixInputAnalysis {
     }
 
     /**
-     * load remedials
+     * load remedials, checking the file syntax while reading it
      * @return list of remedials
      */
-    private List<Remedial> loadRemedials() {
+    List<Remedial> loadRemedials() {
         if (remedialActionsReader == null) {
             return Collections.emptyList();
         }
-        List<Remedial> remedials;
+        List<Remedial> remedials = new ArrayList<>();
         try (BufferedReader bufferedReader = new BufferedReader(remedialActionsReader)) {
-            String fileContent = bufferedReader.lines().collect(Collectors.joining(System.lineSeparator()));
-            checkFile(fileContent);
-            remedials = RemedialReader.parseFile(fileContent);
-            remedials.forEach(this::isValidRemedial);
+            RemedialFileLines lines = new RemedialFileLines(bufferedReader);
+            int lineId = 1;
+            String headerLine = lines.next();
+            boolean isValidHeader = checkHeader(headerLine, lineId);
+            int nbRemedial = isValidHeader ? Integer.parseInt(headerLine.split(RemedialReader.COLUMN_SEPARATOR)[1]) : 0;
+
+            int remedialLineId = 2; // Remedial starts at line 2, lines without action are not counted
+            String line;
+            while ((line = lines.next()) != null) {
+                lineId++;
+                String[] columns = line.split(RemedialReader.COLUMN_SEPARATOR);
+                // lines are only checked below a valid header
+                if (isValidHeader) {
+                    checkLine(line, columns, lineId);
+                    if (lineId - 1 > nbRemedial) {
+                        String message = String.format(RESOURCE_BUNDLE.getString("invalidRemedialNbRemedialLessLines"), nbRemedial);
+                        writeRemedialLog(lineId, message);
+                    }
+                }
+                if (RemedialReader.isRemedialLine(columns)) {
+                    remedials.add(RemedialReader.createRemedial(columns, remedialLineId++));
+                }
+            }
+
+            if (isValidHeader && lineId - 1 < nbRemedial) {
+                String message = String.format(RESOURCE_BUNDLE.getString("invalidRemedialFileNbRemedialMoreLines"), nbRemedial, lineId - 1);
+                writeRemedialFileLog(lineId, message);
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        remedials.forEach(this::isValidRemedial);
         return remedials;
     }
 
+    /**
+     * Lines of the remedial file, without the last line if it is empty, like when the file was read as a whole
+     */
+    private static final class RemedialFileLines {
+
+        private final BufferedReader reader;
+
+        private String nextLine;
+
+        private RemedialFileLines(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.nextLine = reader.readLine();
+        }
+
+        private String next() throws IOException {
+            String line = nextLine;
+            if (line == null) {
+                return null;
+            }
+            nextLine = reader.readLine();
+            return nextLine == null && line.isEmpty() ? null : line;
+        }
+    }
+
     private boolean checkNumber(String number, int lineId, String message) {
         try {
             if (Integer.parseInt(number) < 0) {
@@ -267,38 +322,6 @@ public class MetrixInputAnalysis {
         return true;
     }
 
-    private void checkFile(String fileContent) {
-        checkFile(new StringReader(fileContent));
-    }
-
-    private void checkFile(Reader reader) {
-        try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-            int lineId = 1;
-            String headerLine = bufferedReader.readLine();
-            if (!checkHeader(headerLine, lineId)) {
-                return;
-            }
-            int nbRemedial = Integer.parseInt(headerLine.split(RemedialReader.COLUMN_SEPARATOR)[1]);
-
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                lineId++;
-                checkLine(line, lineId);
-                if (lineId - 1 > nbRemedial) {
-                    String message = String.format(RESOURCE_BUNDLE.getString("invalidRemedialNbRemedialLessLines"), nbRemedial);
-                    writeRemedialLog(lineId, message);
-                }
-            }
-
-            if (lineId - 1 < nbRemedial) {
-                String message = String.format(RESOURCE_BUNDLE.getString("invalidRemedialFileNbRemedialMoreLines"), nbRemedial, lineId - 1);
-                writeRemedialFileLog(lineId, message);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-    }
-
     /**
      * check remedial header NB;<nb remedials>;
      *
@@ -329,14 +352,14 @@ public class MetrixInputAnalysis {
      * constraints are optional
      *
      * @param line a line describing a remedial in remedial file
+     * @param actions the columns of the line
      * @param lineId line number in remedial file
      */
-    private void checkLine(String line, int lineId) {
+    private void checkLine(String line, String[] actions, int lineId) {
         if (checkIfErrorAtBeginningOrEnd(line, lineId)) {
             return;
         }
 
-        String[] actions = line.split(RemedialReader.COLUMN_SEPARATOR);
         if (actions.length >= RemedialReader.FIRST_ACTION_INDEX) {
             String message = String.format(RESOURCE_BUNDLE.getString("invalidRemedialFileAction"), lineId);
             if (!checkNumber(actions[1], lineId, message)) {
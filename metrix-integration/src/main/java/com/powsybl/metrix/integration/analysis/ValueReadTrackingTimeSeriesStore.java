@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.analysis;
+
+import com.powsybl.timeseries.*;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Store recording whether the values of its time series have been read, the names, metadata and versions being read
+ * without being recorded.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class ValueReadTrackingTimeSeriesStore implements ReadOnlyTimeSeriesStore {
+
+    private final ReadOnlyTimeSeriesStore store;
+
+    private final AtomicBoolean valuesRead = new AtomicBoolean();
+
+    ValueReadTrackingTimeSeriesStore(ReadOnlyTimeSeriesStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    boolean isValuesRead() {
+        return valuesRead.get();
+    }
+
+    @Override
+    public Set<String> getTimeSeriesNames(TimeSeriesFilter filter) {
+        return store.getTimeSeriesNames(filter);
+    }
+
+    @Override
+    public boolean timeSeriesExists(String timeSeriesName) {
+        return store.timeSeriesExists(timeSeriesName);
+    }
+
+    @Override
+    public Optional<TimeSeriesMetadata> getTimeSeriesMetadata(String timeSeriesName) {
+        return store.getTimeSeriesMetadata(timeSeriesName);
+    }
+
+    @Override
+    public List<TimeSeriesMetadata> getTimeSeriesMetadata(Set<String> timeSeriesNames) {
+        return store.getTimeSeriesMetadata(timeSeriesNames);
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions() {
+        return store.getTimeSeriesDataVersions();
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions(String timeSeriesName) {
+        return store.getTimeSeriesDataVersions(timeSeriesName);
+    }
+
+    @Override
+    public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version) {
+        valuesRead.set(true);
+        return store.getDoubleTimeSeries(timeSeriesName, version);
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
+        valuesRead.set(true);
+        return store.getDoubleTimeSeries(timeSeriesNames, version);
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(int version) {
+        valuesRead.set(true);
+        return store.getDoubleTimeSeries(version);
+    }
+
+    @Override
+    public Optional<StringTimeSeries> getStringTimeSeries(String timeSeriesName, int version) {
+        valuesRead.set(true);
+        return store.getStringTimeSeries(timeSeriesName, version);
+    }
+
+    @Override
+    public List<StringTimeSeries> getStringTimeSeries(Set<String> timeSeriesNames, int version) {
+        valuesRead.set(true);
+        return store.getStringTimeSeries(timeSeriesNames, version);
+    }
+
+    @Override
+    public void addListener(TimeSeriesStoreListener listener) {
+        store.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(TimeSeriesStoreListener listener) {
+        store.removeListener(listener);
+    }
+}
@@ -10,7 +10,10 @@ package com.powsybl.metrix.integration.chunk;
 import com.google.common.collect.Range;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
 
 import static com.powsybl.metrix.commons.ComputationRange.checkAndSortRanges;
 import static com.powsybl.metrix.commons.ComputationRange.checkRange;
@@ -31,20 +34,46 @@ public class ChunkCutter {
     }
 
     public ChunkCutter(List<Range<Integer>> ranges, int chunkSize) {
+        this(ranges, chunkSize, Collections.emptyNavigableSet());
+    }
+
+    /**
+     * Cut the ranges in chunks ending, when possible, just before a topology change, so that the variants sharing a
+     * topology are run by the same chunk (see {@link #splitRange(Range, int, NavigableSet)}).
+     */
+    public ChunkCutter(List<Range<Integer>> ranges, int chunkSize, NavigableSet<Integer> topologyChanges) {
         List<Range<Integer>> sortedRanges = checkAndSortRanges(ranges);
         if (chunkSize <= 0) {
             throw new IllegalArgumentException("Chunk size (" + chunkSize + ") has to be greater or equals to one");
         }
+        Objects.requireNonNull(topologyChanges);
         this.chunkSize = chunkSize;
-        sortedRanges.forEach(range -> this.ranges.addAll(splitRange(range, chunkSize)));
+        sortedRanges.forEach(range -> this.ranges.addAll(splitRange(range, chunkSize, topologyChanges)));
     }
 
     public static List<Range<Integer>> splitRange(Range<Integer> rangeToSplit, int chunkSize) {
+        return splitRange(rangeToSplit, chunkSize, Collections.emptyNavigableSet());
+    }
+
+    /**
+     * Split the range in chunks of at most chunkSize variants. A chunk is shortened to end just before the last
+     * topology change it would contain, as long as it keeps at least half of chunkSize variants.
+     */
+    public static List<Range<Integer>> splitRange(Range<Integer> rangeToSplit, int chunkSize, NavigableSet<Integer> topologyChanges) {
         List<Range<Integer>> rangeList = new ArrayList<>();
-        int firstVariant = rangeToSplit.lowerEndpoint();
         int lastVariant = rangeToSplit.upperEndpoint();
-        for (int lower = firstVariant; lower <= lastVariant; lower += chunkSize) {
-            rangeList.add(Range.closed(lower, Math.min(lower + chunkSize - 1, lastVariant)));
+        int minChunkSize = (chunkSize + 1) / 2;
+        int lower = rangeToSplit.lowerEndpoint();
+        while (lower <= lastVariant) {
+            int upper = Math.min(lower + chunkSize - 1, lastVariant);
+            if (upper < lastVariant) {
+                Integer topologyChange = topologyChanges.floor(upper + 1);
+                if (topologyChange != null && topologyChange - lower >= minChunkSize) {
+                    upper = topologyChange - 1;
+                }
+            }
+            rangeList.add(Range.closed(lower, upper));
+            lower = upper + 1;
         }
         return rangeList;
     }
@@ -24,14 +24,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-import static com.powsybl.metrix.integration.data.generator.MetrixInputDataGenerator.LODF_MATRIX_FILE_NAME;
 import static com.powsybl.metrix.integration.data.generator.MetrixInputDataGenerator.LOGS_FILE_NAME;
-import static com.powsybl.metrix.integration.data.generator.MetrixInputDataGenerator.PTDF_MATRIX_FILE_NAME;
+import static com.powsybl.metrix.integration.data.generator.MetrixInputDataGenerator.getLodfMatrixFileName;
+import static com.powsybl.metrix.integration.data.generator.MetrixInputDataGenerator.getPtdfMatrixFileName;
 import static com.powsybl.metrix.integration.timeseries.InitOptimizedTimeSeriesWriter.INPUT_OPTIMIZED_FILE_NAME;
 
 /**
@@ -55,15 +57,89 @@ public class MetrixChunk {
 
     private final MetrixChunkParam metrixChunkParam;
 
+    private final MetrixWorkerPool workerPool;
+
+    private final Executor propagationExecutor;
+
     public MetrixChunk(Network network, ComputationManager computationManager, MetrixChunkParam metrixChunkParam, MetrixConfig config, MetrixChunkLogger metrixChunkLogger) {
+        this(network, computationManager, metrixChunkParam, config, metrixChunkLogger, null);
+    }
+
+    /**
+     * @param workerPool workers running the simulator, or null to start a simulator for the chunk
+     */
+    public MetrixChunk(Network network, ComputationManager computationManager, MetrixChunkParam metrixChunkParam, MetrixConfig config, MetrixChunkLogger metrixChunkLogger,
+                       MetrixWorkerPool workerPool) {
+        this(network, computationManager, metrixChunkParam, config, metrixChunkLogger, workerPool, null);
+    }
+
+    /**
+     * @param workerPool workers running the simulator, or null to start a simulator for the chunk
+     * @param propagationExecutor executor propagating the branch tripping of the contingencies, or null to propagate
+     *                            it in the thread generating the inputs
+     */
+    public MetrixChunk(Network network, ComputationManager computationManager, MetrixChunkParam metrixChunkParam, MetrixConfig config, MetrixChunkLogger metrixChunkLogger,
+                       MetrixWorkerPool workerPool, Executor propagationExecutor) {
         this.network = Objects.requireNonNull(network);
         this.computationManager = Objects.requireNonNull(computationManager);
         this.config = Objects.requireNonNull(config);
         this.metrixChunkLogger = metrixChunkLogger;
         this.metrixChunkParam = metrixChunkParam;
+        this.workerPool = workerPool;
+        this.propagationExecutor = propagationExecutor;
     }
 
     public CompletableFuture<List<TimeSeries>> run(MetrixParameters parameters, MetrixDslData metrixDslData, MetrixVariantProvider variantProvider) {
+        return execute(parameters, metrixDslData, variantProvider, (workingDir, report) -> {
+            List<TimeSeries> results = new ArrayList<>();
+            if (report.getErrors().isEmpty()) {
+                parseResults(workingDir, results, variantProvider, metrixChunkLogger);
+            } else {
+                report.log();
+            }
+            retrieveOutputs(workingDir);
+            return results;
+        });
+    }
+
+    /**
+     * Run the chunk and hand its raw results over to the given pipeline instead of parsing them on the thread
+     * finishing the execution. The execution slot is released as soon as the raw results have been moved to the
+     * pipeline staging directory.
+     */
+    public CompletableFuture<Void> run(MetrixParameters parameters, MetrixDslData metrixDslData, MetrixVariantProvider variantProvider,
+                                       MetrixChunkResultPipeline pipeline, int chunk) {
+        Objects.requireNonNull(pipeline);
+
+        CompletableFuture<Optional<Path>> rawResults = execute(parameters, metrixDslData, variantProvider, (workingDir, report) -> {
+            if (!report.getErrors().isEmpty()) {
+                report.log();
+                retrieveOutputs(workingDir);
+                return Optional.empty();
+            }
+
+            Path rawResultDir = pipeline.reserve(metrixChunkParam.version, chunk);
+            try {
+                moveRawResults(workingDir, rawResultDir, variantProvider);
+                retrieveOutputs(workingDir);
+            } catch (IOException | RuntimeException e) {
+                pipeline.cancel(rawResultDir);
+                throw e;
+            }
+            return Optional.of(rawResultDir);
+        });
+        return pipeline.ingest(metrixChunkParam.version, chunk, rawResults, variantProvider, metrixChunkLogger);
+    }
+
+    /**
+     * Handling of the outputs of the simulator, once it has been run in the working directory
+     */
+    private interface OutputHandler<R> {
+        R handle(Path workingDir, ExecutionReport report) throws IOException;
+    }
+
+    private <R> CompletableFuture<R> execute(MetrixParameters parameters, MetrixDslData metrixDslData, MetrixVariantProvider variantProvider,
+                                             OutputHandler<R> outputHandler) {
         Objects.requireNonNull(parameters);
         Objects.requireNonNull(metrixChunkParam.contingenciesProvider);
 
@@ -75,50 +151,73 @@ public class MetrixChunk {
 
                 @Override
                 public List<CommandExecution> before(Path workingDir) throws IOException {
-                    List<CommandExecution> commands = new MetrixInputDataGenerator(config, workingDir, metrixChunkLogger).generateMetrixInputData(
+                    List<CommandExecution> commands = new MetrixInputDataGenerator(config, workingDir, metrixChunkLogger, propagationExecutor).generateMetrixInputData(
                         variantProvider, network, parameters, metrixDslData, metrixChunkParam);
                     optionalLogger.ifPresent(MetrixChunkLogger::beforeMetrixExecution);
-                    return commands;
-
+                    return executeInWorker(commands, workingDir) ? Collections.emptyList() : commands;
                 }
 
                 @Override
-                public List<TimeSeries> after(Path workingDir, ExecutionReport report) throws IOException {
-                    List<TimeSeries> results = new ArrayList<>();
-
+                public R after(Path workingDir, ExecutionReport report) throws IOException {
                     optionalLogger.ifPresent(MetrixChunkLogger::afterMetrixExecution);
-
-                    if (report.getErrors().isEmpty()) {
-                        optionalLogger.ifPresentOrElse(logger -> parseResults(workingDir, results, variantProvider, logger),
-                            () -> parseResults(workingDir, results, variantProvider));
-                    } else {
-                        report.log();
-                    }
-
-                    // Retrieve log file
-                    retrieveLogFile(workingDir);
-
-                    // Retrieve PTDF and LODF matrix files
-                    retrieveFile(workingDir, PTDF_MATRIX_FILE_NAME);
-                    retrieveFile(workingDir, LODF_MATRIX_FILE_NAME);
-
-                    // Retrieve network point file
-                    copyNetworkPointFile(workingDir);
-
-                    if (metrixChunkParam.logFileDetail != null) {
-                        int i = 0;
-                        Path sourcePath;
-                        while (Files.exists(sourcePath = workingDir.resolve(LOGS_FILE_DETAIL_PREFIX + String.format("%03d", i) + LOGS_FILE_DETAIL_SUFFIX))) {
-                            Files.copy(sourcePath, Paths.get(String.format(metrixChunkParam.logFileDetail.toString(), i)));
-                            i++;
-                        }
-                    }
-
-                    return results;
+                    return outputHandler.handle(workingDir, report);
                 }
             });
     }
 
+    /**
+     * Run the simulator command in a worker of the pool, if any.
+     *
+     * @return true if the command has been run, false if it still has to be run by the computation manager
+     */
+    private boolean executeInWorker(List<CommandExecution> commands, Path workingDir) throws IOException {
+        if (workerPool == null || commands.size() != 1 || !(commands.getFirst().getCommand() instanceof SimpleCommand command)) {
+            return false;
+        }
+        return workerPool.execute(command, workingDir);
+    }
+
+    private void retrieveOutputs(Path workingDir) throws IOException {
+        // Retrieve log file
+        retrieveLogFile(workingDir);
+
+        // Retrieve PTDF and LODF matrix files
+        retrieveFile(workingDir, getPtdfMatrixFileName(config.isBinaryResults()));
+        retrieveFile(workingDir, getLodfMatrixFileName(config.isBinaryResults()));
+
+        // Retrieve network point file
+        copyNetworkPointFile(workingDir);
+
+        if (metrixChunkParam.logFileDetail != null) {
+            int i = 0;
+            Path sourcePath;
+            while (Files.exists(sourcePath = workingDir.resolve(LOGS_FILE_DETAIL_PREFIX + String.format("%03d", i) + LOGS_FILE_DETAIL_SUFFIX))) {
+                Files.copy(sourcePath, Paths.get(String.format(metrixChunkParam.logFileDetail.toString(), i)));
+                i++;
+            }
+        }
+    }
+
+    private static void moveRawResults(Path workingDir, Path rawResultDir, MetrixVariantProvider variantProvider) throws IOException {
+        if (variantProvider == null) {
+            return;
+        }
+        int firstVariant = variantProvider.getVariantRange().lowerEndpoint();
+        int lastVariant = variantProvider.getVariantRange().upperEndpoint();
+        for (int variantNum = firstVariant; variantNum <= lastVariant; variantNum++) {
+            moveIfExists(workingDir, rawResultDir, MetrixOutputData.getFileName(variantNum));
+            moveIfExists(workingDir, rawResultDir, MetrixOutputData.getBinaryFileName(variantNum));
+        }
+        moveIfExists(workingDir, rawResultDir, INPUT_OPTIMIZED_FILE_NAME);
+    }
+
+    private static void moveIfExists(Path sourceDir, Path targetDir, String fileName) throws IOException {
+        Path source = sourceDir.resolve(fileName);
+        if (Files.exists(source)) {
+            Files.move(source, targetDir.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     private void copyNetworkPointFile(Path workingDir) throws IOException {
         if (metrixChunkParam.networkPointFile != null) {
             try (Stream<Path> paths = Files.list(workingDir)) {
@@ -151,7 +250,7 @@ public class MetrixChunk {
         }
     }
 
-    private int parseResults(Path workingDir, List<TimeSeries> results, MetrixVariantProvider variantProvider) {
+    static int parseResults(Path workingDir, List<TimeSeries> results, MetrixVariantProvider variantProvider) {
         int variantCount;
         if (variantProvider != null) {
             int firstVariant = variantProvider.getVariantRange().lowerEndpoint();
@@ -176,8 +275,15 @@ public class MetrixChunk {
         return variantCount;
     }
 
-    private void parseResults(Path workingDir, List<TimeSeries> results, MetrixVariantProvider variantProvider,
-                              MetrixChunkLogger logger) {
+    /**
+     * Parse the results, notifying the given logger, if any, before and after the parsing
+     */
+    static void parseResults(Path workingDir, List<TimeSeries> results, MetrixVariantProvider variantProvider,
+                             MetrixChunkLogger logger) {
+        if (logger == null) {
+            parseResults(workingDir, results, variantProvider);
+            return;
+        }
         logger.beforeResultParsing();
 
         int variantCount = parseResults(workingDir, results, variantProvider);
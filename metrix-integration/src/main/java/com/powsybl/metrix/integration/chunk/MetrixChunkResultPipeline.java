@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.powsybl.commons.io.FileUtil;
+import com.powsybl.metrix.integration.exceptions.MetrixException;
+import com.powsybl.metrix.integration.io.ResultListener;
+import com.powsybl.metrix.integration.network.MetrixVariantProvider;
+import com.powsybl.timeseries.TimeSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous ingestion of chunk results.
+ * <p>Solver executions only move their raw outputs to a staging directory and hand them over to this pipeline:
+ * the raw results are parsed on a dedicated thread pool, then given to the {@link ResultListener} on a storage
+ * thread. All the results of a version are stored by the same storage thread, so that a given time series never
+ * receives concurrent appends.</p>
+ * <p>The number of chunks staged but not yet stored is bounded: once the limit is reached, {@link #reserve} blocks
+ * the caller (the thread finishing the solver execution) until a chunk has been stored.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class MetrixChunkResultPipeline implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetrixChunkResultPipeline.class);
+
+    private static final String RAW_RESULT_DIR_PREFIX = "raw_results_";
+
+    private final Path stagingDir;
+
+    private final ResultListener listener;
+
+    private final Semaphore pendingChunks;
+
+    private final ExecutorService parsingExecutor;
+
+    private final List<ExecutorService> storageExecutors = new ArrayList<>();
+
+    public MetrixChunkResultPipeline(Path stagingDir, ResultListener listener, int parsingThreadCount, int storageThreadCount, int maxPendingChunks) {
+        this.stagingDir = Objects.requireNonNull(stagingDir);
+        this.listener = Objects.requireNonNull(listener);
+        if (parsingThreadCount < 1 || storageThreadCount < 1 || maxPendingChunks < 1) {
+            throw new IllegalArgumentException("Invalid result pipeline sizing (parsing threads: " + parsingThreadCount
+                    + ", storage threads: " + storageThreadCount + ", pending chunks: " + maxPendingChunks + ")");
+        }
+        this.pendingChunks = new Semaphore(maxPendingChunks);
+        this.parsingExecutor = Executors.newFixedThreadPool(parsingThreadCount, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("METRIX_RESULT_PARSING-%d")
+                .build());
+        for (int i = 0; i < storageThreadCount; i++) {
+            storageExecutors.add(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("METRIX_RESULT_STORAGE-" + i + "-%d")
+                    .build()));
+        }
+    }
+
+    /**
+     * Reserve a slot in the pipeline for the raw results of a chunk, blocking until one is available.
+     *
+     * @return the directory where the raw results of the chunk have to be moved
+     */
+    Path reserve(int version, int chunk) throws IOException {
+        try {
+            pendingChunks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for result pipeline capacity", e);
+        }
+        try {
+            return Files.createDirectories(stagingDir.resolve(RAW_RESULT_DIR_PREFIX + version + "_" + chunk));
+        } catch (IOException | RuntimeException e) {
+            pendingChunks.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Release a slot reserved with {@link #reserve} for a chunk whose raw results will never be ingested.
+     */
+    void cancel(Path rawResultDir) {
+        deleteQuietly(rawResultDir);
+        pendingChunks.release();
+    }
+
+    /**
+     * Parse and store the raw results of a chunk once the solver execution is done.
+     *
+     * @param rawResults future of the staging directory returned by {@link #reserve}, or empty if the execution
+     *                   failed and its reservation has already been cancelled
+     */
+    public CompletableFuture<Void> ingest(int version, int chunk, CompletableFuture<Optional<Path>> rawResults, MetrixVariantProvider variantProvider) {
+        return ingest(version, chunk, rawResults, variantProvider, null);
+    }
+
+    /**
+     * Parse and store the raw results of a chunk once the solver execution is done, the result parsing being notified
+     * to the given chunk logger, if any. A failed execution completes the returned future exceptionally instead of
+     * storing an empty result.
+     */
+    public CompletableFuture<Void> ingest(int version, int chunk, CompletableFuture<Optional<Path>> rawResults, MetrixVariantProvider variantProvider,
+                                          MetrixChunkLogger chunkLogger) {
+        ExecutorService storageExecutor = storageExecutors.get(Math.floorMod(version, storageExecutors.size()));
+        return rawResults
+                .thenApplyAsync(rawResultDir -> parse(version, chunk, rawResultDir.orElse(null), variantProvider, chunkLogger), parsingExecutor)
+                .thenAcceptAsync(results -> {
+                    try {
+                        listener.onChunkResult(version, chunk, results, null);
+                    } finally {
+                        pendingChunks.release();
+                    }
+                }, storageExecutor);
+    }
+
+    private List<TimeSeries> parse(int version, int chunk, Path rawResultDir, MetrixVariantProvider variantProvider, MetrixChunkLogger chunkLogger) {
+        if (rawResultDir == null) {
+            throw new MetrixException("Metrix execution of chunk " + chunk + " of version " + version + " failed");
+        }
+        List<TimeSeries> results = new ArrayList<>();
+        try {
+            MetrixChunk.parseResults(rawResultDir, results, variantProvider, chunkLogger);
+        } catch (RuntimeException e) {
+            pendingChunks.release();
+            throw new CompletionException(e);
+        } finally {
+            deleteQuietly(rawResultDir);
+        }
+        return results;
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            if (Files.exists(dir)) {
+                FileUtil.removeDir(dir);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete raw result directory '{}'", dir, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        parsingExecutor.shutdown();
+        storageExecutors.forEach(ExecutorService::shutdown);
+    }
+}
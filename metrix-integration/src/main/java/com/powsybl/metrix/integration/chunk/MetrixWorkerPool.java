@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.powsybl.computation.OutputFile;
+import com.powsybl.computation.SimpleCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Metrix simulators started in worker mode, which run the chunks one after the other instead of a simulator being
+ * started per chunk: a worker reads the network data once and keeps the network it has prepared, and its factorization,
+ * as long as the base variant and the remedial actions do not change.
+ * <p>A worker is started for the network data ({@code fort.json}) and the options of the first chunk it runs, and is
+ * reused by the following chunks having the same network data and options. The inputs of a chunk are generated as
+ * usual in its working directory, which is given to the worker with the request, so that the outputs are written
+ * there too. At most {@code workerCount} workers are alive, the idle worker used the least recently being stopped when
+ * another one has to be started.</p>
+ * <p>A chunk which cannot be run by a worker (outputs to post-process, path containing spaces, worker failure) has to
+ * be run the usual way.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class MetrixWorkerPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetrixWorkerPool.class);
+
+    private static final String WORKER_DIR_PREFIX = "metrix_worker_";
+    private static final String FORT_FILE_NAME = "fort.json";
+    private static final Pattern DICTIONARY_FILE_NAME = Pattern.compile("METRIX(.*)\\.dic");
+    private static final String ERROR_FILE_NAME = "worker_err.txt";
+    private static final String WORKER_ARG = "--worker";
+    private static final String WORKING_DIR_ARG = "--working-dir=";
+    private static final String STATUS_PREFIX = "status ";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Number of arguments of a computation, which may change from one request to the next one, the following ones
+     * being the options of the worker
+     */
+    private static final int ARGUMENT_COUNT = 5;
+
+    private final Path baseDir;
+
+    private final Path binDir;
+
+    private final int workerCount;
+
+    private final Semaphore activeWorkers;
+
+    /**
+     * Idle workers, the most recently used first
+     */
+    private final Deque<Worker> idleWorkers = new ArrayDeque<>();
+
+    private int aliveWorkerCount;
+
+    public MetrixWorkerPool(Path baseDir, Path binDir, int workerCount) {
+        this.baseDir = Objects.requireNonNull(baseDir);
+        this.binDir = Objects.requireNonNull(binDir);
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Invalid worker count " + workerCount);
+        }
+        this.workerCount = workerCount;
+        this.activeWorkers = new Semaphore(workerCount);
+    }
+
+    private static final class Worker {
+
+        private final String key;
+
+        private final Process process;
+
+        private final BufferedWriter requests;
+
+        private final BufferedReader responses;
+
+        private Worker(String key, Process process) {
+            this.key = key;
+            this.process = process;
+            this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            this.responses = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        private int request(String request) throws IOException {
+            requests.write(request);
+            requests.newLine();
+            requests.flush();
+            return readStatus();
+        }
+
+        private int readStatus() throws IOException {
+            String line;
+            while ((line = responses.readLine()) != null) {
+                if (line.startsWith(STATUS_PREFIX)) {
+                    try {
+                        return Integer.parseInt(line.substring(STATUS_PREFIX.length()).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid status line from metrix worker: " + line, e);
+                    }
+                }
+            }
+            throw new IOException("Metrix worker stopped" + (process.isAlive() ? "" : " with exit code " + process.exitValue()));
+        }
+
+        private void stop() {
+            try {
+                // an empty line ends the worker
+                requests.newLine();
+                requests.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to send the end of the requests to metrix worker", e);
+            }
+            try {
+                if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Run the given simulator command in a worker, on the inputs generated in the working directory.
+     *
+     * @return true if the command has been run, whatever the status of the computation, false if it could not be run
+     * by a worker and has to be run the usual way
+     */
+    public boolean execute(SimpleCommand command, Path workingDir) throws IOException {
+        Objects.requireNonNull(command);
+        Objects.requireNonNull(workingDir);
+
+        List<String> args = command.getArgs(0);
+        String absoluteWorkingDir = workingDir.toAbsolutePath().toString();
+        if (args.size() < ARGUMENT_COUNT
+                || WHITESPACE.matcher(absoluteWorkingDir).find()
+                || args.stream().anyMatch(arg -> WHITESPACE.matcher(arg).find())
+                || command.getOutputFiles().stream().map(OutputFile::getPostProcessor).anyMatch(Objects::nonNull)) {
+            return false;
+        }
+        List<String> options = args.subList(ARGUMENT_COUNT, args.size());
+        List<String> request = new ArrayList<>(ARGUMENT_COUNT + 1);
+        request.add(WORKING_DIR_ARG + absoluteWorkingDir);
+        request.addAll(args.subList(0, ARGUMENT_COUNT));
+        String key = command.getProgram() + " " + String.join(" ", options) + " " + digest(workingDir.resolve(FORT_FILE_NAME));
+
+        try {
+            activeWorkers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a metrix worker", e);
+        }
+        try {
+            return execute(key, command.getProgram(), options, request, workingDir);
+        } finally {
+            activeWorkers.release();
+        }
+    }
+
+    private boolean execute(String key, String program, List<String> options, List<String> request, Path workingDir) {
+        Worker worker = takeIdleWorker(key);
+        try {
+            int status;
+            if (worker != null) {
+                status = worker.request(String.join(" ", request));
+            } else {
+                worker = startWorker(key, program, options, request, workingDir);
+                status = worker.readStatus();
+            }
+            LOGGER.debug("Metrix worker computation in '{}' ended with status {}", workingDir, status);
+            releaseWorker(worker);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Metrix worker failed on '{}', the chunk is run by a new simulator", workingDir, e);
+            if (worker != null) {
+                worker.process.destroyForcibly();
+            }
+            discardWorker();
+            return false;
+        }
+    }
+
+    /**
+     * Take an idle worker with the given key, or reserve the place of a new worker, stopping the idle worker used the
+     * least recently if needed.
+     *
+     * @return the idle worker, or null if a new worker has to be started
+     */
+    private Worker takeIdleWorker(String key) {
+        Worker stoppedWorker = null;
+        synchronized (this) {
+            for (Iterator<Worker> it = idleWorkers.iterator(); it.hasNext(); ) {
+                Worker worker = it.next();
+                if (worker.key.equals(key)) {
+                    it.remove();
+                    return worker;
+                }
+            }
+            // as the active workers are fewer than the maximum, an idle worker exists if the maximum is reached
+            if (aliveWorkerCount >= workerCount) {
+                stoppedWorker = idleWorkers.removeLast();
+            } else {
+                aliveWorkerCount++;
+            }
+        }
+        if (stoppedWorker != null) {
+            stoppedWorker.stop();
+        }
+        return null;
+    }
+
+    private synchronized void releaseWorker(Worker worker) {
+        idleWorkers.addFirst(worker);
+    }
+
+    private synchronized void discardWorker() {
+        aliveWorkerCount--;
+    }
+
+    private Worker startWorker(String key, String program, List<String> options, List<String> request, Path workingDir) throws IOException {
+        // the network data and the dictionaries are read once, from the directory of the worker
+        Path workerDir = Files.createTempDirectory(baseDir, WORKER_DIR_PREFIX);
+        Files.copy(workingDir.resolve(FORT_FILE_NAME), workerDir.resolve(FORT_FILE_NAME));
+        try (Stream<Path> paths = Files.list(workingDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (DICTIONARY_FILE_NAME.matcher(path.getFileName().toString()).matches()) {
+                    Files.copy(path, workerDir.resolve(path.getFileName()));
+                }
+            }
+        }
+
+        Path programPath = binDir.resolve(program);
+        List<String> commandLine = new ArrayList<>();
+        commandLine.add(Files.isExecutable(programPath) ? programPath.toString() : program);
+        commandLine.add(WORKER_ARG);
+        commandLine.addAll(options);
+        commandLine.addAll(request);
+        ProcessBuilder processBuilder = new ProcessBuilder(commandLine)
+                .directory(workerDir.toFile())
+                .redirectError(workerDir.resolve(ERROR_FILE_NAME).toFile());
+        processBuilder.environment().merge("PATH", binDir.toString(), (path, bin) -> bin + File.pathSeparator + path);
+        LOGGER.info("Starting metrix worker in '{}'", workerDir);
+        return new Worker(key, processBuilder.start());
+    }
+
+    private static String digest(Path file) throws IOException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            try (InputStream is = new DigestInputStream(Files.newInputStream(file), messageDigest)) {
+                is.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Worker> workers;
+        synchronized (this) {
+            workers = new ArrayList<>(idleWorkers);
+            idleWorkers.clear();
+            aliveWorkerCount -= workers.size();
+        }
+        workers.forEach(Worker::stop);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.google.common.collect.Range;
+import com.powsybl.metrix.mapping.EquipmentVariable;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfigTableLoader;
+import com.powsybl.metrix.mapping.references.MappingKey;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.TimeSeriesTable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.powsybl.metrix.mapping.config.TimeSeriesMappingConfigTableLoader.buildStoreWithPlannedOutages;
+
+/**
+ * Finds the points where the network topology given by the mapping changes, i.e. where one of the time series
+ * mapped to open a breaker or to disconnect a line or a transformer (planned outages included) takes another value
+ * than at the previous point.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class TopologyChangeFinder {
+
+    private final TimeSeriesMappingConfig config;
+
+    private final ReadOnlyTimeSeriesStore store;
+
+    public TopologyChangeFinder(TimeSeriesMappingConfig config, ReadOnlyTimeSeriesStore store) {
+        this.config = Objects.requireNonNull(config);
+        this.store = Objects.requireNonNull(store);
+    }
+
+    /**
+     * Names of the time series changing the topology.
+     */
+    public Set<String> findTopologyTimeSeriesNames() {
+        Set<String> timeSeriesNames = new TreeSet<>();
+        addTimeSeriesNames(config.getBreakerToTimeSeriesMapping(), EquipmentVariable.OPEN, timeSeriesNames);
+        addTimeSeriesNames(config.getLineToTimeSeriesMapping(), EquipmentVariable.DISCONNECTED, timeSeriesNames);
+        addTimeSeriesNames(config.getTransformerToTimeSeriesMapping(), EquipmentVariable.DISCONNECTED, timeSeriesNames);
+        return timeSeriesNames;
+    }
+
+    private static void addTimeSeriesNames(Map<MappingKey, List<String>> equipmentToTimeSeries, EquipmentVariable variable,
+                                           Set<String> timeSeriesNames) {
+        equipmentToTimeSeries.forEach((key, names) -> {
+            if (key.mappingVariable() == variable) {
+                timeSeriesNames.addAll(names);
+            }
+        });
+    }
+
+    /**
+     * Points of the given ranges where the topology differs from the previous point, for at least one of the versions.
+     * The first point of each range is never a topology change.
+     */
+    public NavigableSet<Integer> findTopologyChanges(Set<Integer> versions, List<Range<Integer>> ranges) {
+        NavigableSet<Integer> topologyChanges = new TreeSet<>();
+        Set<String> timeSeriesNames = findTopologyTimeSeriesNames();
+        if (timeSeriesNames.isEmpty()) {
+            return topologyChanges;
+        }
+        TimeSeriesMappingConfigTableLoader loader = new TimeSeriesMappingConfigTableLoader(config, store);
+        for (int version : versions) {
+            ReadOnlyTimeSeriesStore storeWithPlannedOutages = buildStoreWithPlannedOutages(store, version, config.getTimeSeriesToPlannedOutagesMapping());
+            for (Range<Integer> range : ranges) {
+                TimeSeriesTable table = loader.loadToTable(version, storeWithPlannedOutages, range, timeSeriesNames);
+                for (String timeSeriesName : timeSeriesNames) {
+                    int timeSeriesNum = table.getDoubleTimeSeriesIndex(timeSeriesName);
+                    double previousValue = table.getDoubleValue(version, timeSeriesNum, range.lowerEndpoint());
+                    for (int point = range.lowerEndpoint() + 1; point <= range.upperEndpoint(); point++) {
+                        double value = table.getDoubleValue(version, timeSeriesNum, point);
+                        if (Double.compare(value, previousValue) != 0) {
+                            topologyChanges.add(point);
+                        }
+                        previousValue = value;
+                    }
+                }
+            }
+        }
+        return topologyChanges;
+    }
+}
@@ -10,13 +10,15 @@ package com.powsybl.metrix.integration.compatibility;
 import com.google.common.base.Stopwatch;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.metrix.commons.data.timeseries.FileSystemTimeSeriesStore;
-import com.powsybl.metrix.commons.data.timeseries.TimeSeriesStoreUtil;
+import com.powsybl.metrix.commons.data.timeseries.TimeSeriesCsvStreamWriter;
+import com.powsybl.metrix.commons.io.ParallelGzipOutputStream;
 import com.powsybl.metrix.integration.io.ResultListener;
 import com.powsybl.timeseries.TimeSeries;
 import com.powsybl.tools.ToolRunningContext;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
@@ -24,6 +26,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 
@@ -36,12 +39,26 @@ public class CsvResultListener implements ResultListener {
     private final FileSystemTimeSeriesStore resultStore;
     private final Stopwatch stopwatch;
     private final ToolRunningContext context;
+    private final Executor compressionExecutor;
+    private final int compressionParallelism;
 
     public CsvResultListener(Path csvResultFilePath, FileSystemTimeSeriesStore resultStore, Stopwatch stopwatch, ToolRunningContext context) {
+        this(csvResultFilePath, resultStore, stopwatch, context, null, 1);
+    }
+
+    /**
+     * @param compressionExecutor executor, owned by the caller, used to compress the CSV file in parallel, or null to
+     *                            compress it in the calling thread
+     * @param compressionParallelism maximum number of blocks compressed at once on the executor
+     */
+    public CsvResultListener(Path csvResultFilePath, FileSystemTimeSeriesStore resultStore, Stopwatch stopwatch, ToolRunningContext context,
+                             Executor compressionExecutor, int compressionParallelism) {
         this.csvResultFilePath = csvResultFilePath;
         this.resultStore = resultStore;
         this.stopwatch = stopwatch;
         this.context = context;
+        this.compressionExecutor = compressionExecutor;
+        this.compressionParallelism = compressionParallelism;
     }
 
     @Override
@@ -58,9 +75,10 @@ public class CsvResultListener implements ResultListener {
 
             context.getOutputStream().println("Writing results to CSV file...");
 
-            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
-                    new GZIPOutputStream(Files.newOutputStream(csvResultFilePath)), StandardCharsets.UTF_8))) {
-                TimeSeriesStoreUtil.writeCsv(resultStore, writer, ';', ZoneId.systemDefault());
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(createCompressedOutputStream(), StandardCharsets.UTF_8))) {
+                // spilled versions go to the local directory of the computations, as the Metrix working directories
+                Path tmpDir = context.getShortTimeExecutionComputationManager().getLocalDir();
+                new TimeSeriesCsvStreamWriter(resultStore, ';', ZoneId.systemDefault(), tmpDir).write(writer);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -69,4 +87,12 @@ public class CsvResultListener implements ResultListener {
             context.getOutputStream().println("Results written to CSV file in " + stopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms");
         }
     }
+
+    private OutputStream createCompressedOutputStream() throws IOException {
+        OutputStream os = Files.newOutputStream(csvResultFilePath);
+        if (compressionExecutor != null) {
+            return new ParallelGzipOutputStream(os, compressionExecutor, compressionParallelism);
+        }
+        return new GZIPOutputStream(os);
+    }
 }
@@ -27,6 +27,20 @@ public class MetrixConfig {
     private static final int DEFAULT_RESULT_NUMBER_LIMIT = 10000;
     private static final int DEFAULT_DEBUG_LOG_LEVEL = 0;
     private static final int DEFAULT_LOG_LEVEL = 2;
+    private static final int DEFAULT_RESULT_PARSING_THREAD_COUNT = 2;
+    private static final int DEFAULT_RESULT_STORAGE_THREAD_COUNT = 1;
+    private static final int DEFAULT_RESULT_QUEUE_SIZE = 16;
+    private static final int DEFAULT_ANALYSIS_THREAD_COUNT = 4;
+    private static final int DEFAULT_PROPAGATION_THREAD_COUNT = 4;
+    private static final boolean DEFAULT_TOPOLOGY_AWARE_CHUNKS = false;
+    private static final boolean DEFAULT_BINARY_RESULTS = false;
+    private static final boolean DEFAULT_CARRY_FORWARD_VARIANTS = false;
+    private static final int DEFAULT_WORKER_COUNT = 0;
+    private static final boolean DEFAULT_PREDICT_CONSTRAINTS = false;
+    private static final double DEFAULT_PREDICTED_CONSTRAINTS_THRESHOLD = 0.9;
+    private static final int DEFAULT_MAX_CONSTRAINTS_BY_ITERATION = 200;
+    private static final int DEFAULT_CONSTRAINTS_BY_INCIDENT = 0;
+    private static final boolean DEFAULT_ADAPTIVE_CONSTRAINTS_LIMIT = false;
 
     public static MetrixConfig load() {
         return load(PlatformConfig.defaultConfig());
@@ -44,6 +58,20 @@ public class MetrixConfig {
                 .setResultNumberLimit(moduleConfig.getIntProperty("result-limit", moduleConfig.getIntProperty("resultLimit", DEFAULT_RESULT_NUMBER_LIMIT)))
                 .setDebugLogLevel(moduleConfig.getIntProperty("debug-log-level", moduleConfig.getIntProperty("debugLogLevel", DEFAULT_DEBUG_LOG_LEVEL)))
                 .setLogLevel(moduleConfig.getIntProperty("log-level", moduleConfig.getIntProperty("logLevel", DEFAULT_LOG_LEVEL)))
+                .setResultParsingThreadCount(moduleConfig.getIntProperty("result-parsing-thread-count", DEFAULT_RESULT_PARSING_THREAD_COUNT))
+                .setResultStorageThreadCount(moduleConfig.getIntProperty("result-storage-thread-count", DEFAULT_RESULT_STORAGE_THREAD_COUNT))
+                .setResultQueueSize(moduleConfig.getIntProperty("result-queue-size", DEFAULT_RESULT_QUEUE_SIZE))
+                .setAnalysisThreadCount(moduleConfig.getIntProperty("analysis-thread-count", DEFAULT_ANALYSIS_THREAD_COUNT))
+                .setPropagationThreadCount(moduleConfig.getIntProperty("propagation-thread-count", DEFAULT_PROPAGATION_THREAD_COUNT))
+                .setTopologyAwareChunks(moduleConfig.getBooleanProperty("topology-aware-chunks", DEFAULT_TOPOLOGY_AWARE_CHUNKS))
+                .setBinaryResults(moduleConfig.getBooleanProperty("binary-results", DEFAULT_BINARY_RESULTS))
+                .setCarryForwardVariants(moduleConfig.getBooleanProperty("carry-forward-variants", DEFAULT_CARRY_FORWARD_VARIANTS))
+                .setWorkerCount(moduleConfig.getIntProperty("worker-count", DEFAULT_WORKER_COUNT))
+                .setPredictConstraints(moduleConfig.getBooleanProperty("predict-constraints", DEFAULT_PREDICT_CONSTRAINTS))
+                .setPredictedConstraintsThreshold(moduleConfig.getDoubleProperty("predicted-constraints-threshold", DEFAULT_PREDICTED_CONSTRAINTS_THRESHOLD))
+                .setMaxConstraintsByIteration(moduleConfig.getIntProperty("max-constraints-by-iteration", DEFAULT_MAX_CONSTRAINTS_BY_ITERATION))
+                .setConstraintsByIncident(moduleConfig.getIntProperty("constraints-by-incident", DEFAULT_CONSTRAINTS_BY_INCIDENT))
+                .setAdaptiveConstraintsLimit(moduleConfig.getBooleanProperty("adaptive-constraints-limit", DEFAULT_ADAPTIVE_CONSTRAINTS_LIMIT))
             );
         return metrixConfig;
     }
@@ -64,6 +92,34 @@ public class MetrixConfig {
 
     private int logLevel = DEFAULT_LOG_LEVEL;
 
+    private int resultParsingThreadCount = DEFAULT_RESULT_PARSING_THREAD_COUNT;
+
+    private int resultStorageThreadCount = DEFAULT_RESULT_STORAGE_THREAD_COUNT;
+
+    private int resultQueueSize = DEFAULT_RESULT_QUEUE_SIZE;
+
+    private int analysisThreadCount = DEFAULT_ANALYSIS_THREAD_COUNT;
+
+    private int propagationThreadCount = DEFAULT_PROPAGATION_THREAD_COUNT;
+
+    private boolean topologyAwareChunks = DEFAULT_TOPOLOGY_AWARE_CHUNKS;
+
+    private boolean binaryResults = DEFAULT_BINARY_RESULTS;
+
+    private boolean carryForwardVariants = DEFAULT_CARRY_FORWARD_VARIANTS;
+
+    private int workerCount = DEFAULT_WORKER_COUNT;
+
+    private boolean predictConstraints = DEFAULT_PREDICT_CONSTRAINTS;
+
+    private double predictedConstraintsThreshold = DEFAULT_PREDICTED_CONSTRAINTS_THRESHOLD;
+
+    private int maxConstraintsByIteration = DEFAULT_MAX_CONSTRAINTS_BY_ITERATION;
+
+    private int constraintsByIncident = DEFAULT_CONSTRAINTS_BY_INCIDENT;
+
+    private boolean adaptiveConstraintsLimit = DEFAULT_ADAPTIVE_CONSTRAINTS_LIMIT;
+
     private static int validateChunkSize(int chunkSize) {
         if (chunkSize < 1) {
             throw new IllegalArgumentException("Invalid chunk size " + chunkSize);
@@ -71,6 +127,27 @@ public class MetrixConfig {
         return chunkSize;
     }
 
+    private static int validatePositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+        return value;
+    }
+
+    private static int validateNonNegative(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+        return value;
+    }
+
+    private static double validatePredictedConstraintsThreshold(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Invalid predicted constraints threshold " + threshold);
+        }
+        return threshold;
+    }
+
     private static int validateLogLevel(int logLevel) {
         if (logLevel < 0 || logLevel > 5) {
             throw new IllegalArgumentException("Invalid loglevel " + logLevel);
@@ -150,6 +227,153 @@ public class MetrixConfig {
         return this;
     }
 
+    public int getResultParsingThreadCount() {
+        return resultParsingThreadCount;
+    }
+
+    public MetrixConfig setResultParsingThreadCount(int resultParsingThreadCount) {
+        this.resultParsingThreadCount = validatePositive("result parsing thread count", resultParsingThreadCount);
+        return this;
+    }
+
+    public int getResultStorageThreadCount() {
+        return resultStorageThreadCount;
+    }
+
+    public MetrixConfig setResultStorageThreadCount(int resultStorageThreadCount) {
+        this.resultStorageThreadCount = validatePositive("result storage thread count", resultStorageThreadCount);
+        return this;
+    }
+
+    public int getResultQueueSize() {
+        return resultQueueSize;
+    }
+
+    public MetrixConfig setResultQueueSize(int resultQueueSize) {
+        this.resultQueueSize = validatePositive("result queue size", resultQueueSize);
+        return this;
+    }
+
+    public int getAnalysisThreadCount() {
+        return analysisThreadCount;
+    }
+
+    public MetrixConfig setAnalysisThreadCount(int analysisThreadCount) {
+        this.analysisThreadCount = validatePositive("analysis thread count", analysisThreadCount);
+        return this;
+    }
+
+    public int getPropagationThreadCount() {
+        return propagationThreadCount;
+    }
+
+    public MetrixConfig setPropagationThreadCount(int propagationThreadCount) {
+        this.propagationThreadCount = validatePositive("propagation thread count", propagationThreadCount);
+        return this;
+    }
+
+    public boolean isTopologyAwareChunks() {
+        return topologyAwareChunks;
+    }
+
+    public MetrixConfig setTopologyAwareChunks(boolean topologyAwareChunks) {
+        this.topologyAwareChunks = topologyAwareChunks;
+        return this;
+    }
+
+    public boolean isBinaryResults() {
+        return binaryResults;
+    }
+
+    public MetrixConfig setBinaryResults(boolean binaryResults) {
+        this.binaryResults = binaryResults;
+        return this;
+    }
+
+    public boolean isCarryForwardVariants() {
+        return carryForwardVariants;
+    }
+
+    public MetrixConfig setCarryForwardVariants(boolean carryForwardVariants) {
+        this.carryForwardVariants = carryForwardVariants;
+        return this;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public MetrixConfig setWorkerCount(int workerCount) {
+        this.workerCount = validateNonNegative("worker count", workerCount);
+        return this;
+    }
+
+    /**
+     * Predicted constraints threshold used by the simulator when none is given
+     */
+    public static double getDefaultPredictedConstraintsThreshold() {
+        return DEFAULT_PREDICTED_CONSTRAINTS_THRESHOLD;
+    }
+
+    /**
+     * Maximum number of constraints added by iteration used by the simulator when none is given
+     */
+    public static int getDefaultMaxConstraintsByIteration() {
+        return DEFAULT_MAX_CONSTRAINTS_BY_ITERATION;
+    }
+
+    /**
+     * Number of constraints added by incident used by the simulator when none is given
+     */
+    public static int getDefaultConstraintsByIncident() {
+        return DEFAULT_CONSTRAINTS_BY_INCIDENT;
+    }
+
+    public boolean isPredictConstraints() {
+        return predictConstraints;
+    }
+
+    public MetrixConfig setPredictConstraints(boolean predictConstraints) {
+        this.predictConstraints = predictConstraints;
+        return this;
+    }
+
+    public double getPredictedConstraintsThreshold() {
+        return predictedConstraintsThreshold;
+    }
+
+    public MetrixConfig setPredictedConstraintsThreshold(double predictedConstraintsThreshold) {
+        this.predictedConstraintsThreshold = validatePredictedConstraintsThreshold(predictedConstraintsThreshold);
+        return this;
+    }
+
+    public int getMaxConstraintsByIteration() {
+        return maxConstraintsByIteration;
+    }
+
+    public MetrixConfig setMaxConstraintsByIteration(int maxConstraintsByIteration) {
+        this.maxConstraintsByIteration = validatePositive("max constraints by iteration", maxConstraintsByIteration);
+        return this;
+    }
+
+    public int getConstraintsByIncident() {
+        return constraintsByIncident;
+    }
+
+    public MetrixConfig setConstraintsByIncident(int constraintsByIncident) {
+        this.constraintsByIncident = validateNonNegative("constraints by incident", constraintsByIncident);
+        return this;
+    }
+
+    public boolean isAdaptiveConstraintsLimit() {
+        return adaptiveConstraintsLimit;
+    }
+
+    public MetrixConfig setAdaptiveConstraintsLimit(boolean adaptiveConstraintsLimit) {
+        this.adaptiveConstraintsLimit = adaptiveConstraintsLimit;
+        return this;
+    }
+
     public String logLevel() {
         int level = isDebug() ? getDebugLogLevel() : getLogLevel();
         String[] logLevels = new String[]{"trace", "debug", "info", "warning", "error", "critical"};
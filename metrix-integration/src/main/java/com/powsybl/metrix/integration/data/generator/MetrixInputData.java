@@ -26,7 +26,8 @@ import com.powsybl.metrix.integration.type.MetrixHvdcControlType;
 import com.powsybl.metrix.integration.type.MetrixHvdcRegulationType;
 import com.powsybl.metrix.integration.type.MetrixPtcControlType;
 import com.powsybl.metrix.mapping.TimeSeriesMapper;
-import org.apache.commons.lang3.ArrayUtils;
+import gnu.trove.list.array.TFloatArrayList;
+import gnu.trove.list.array.TIntArrayList;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -130,6 +131,12 @@ public class MetrixInputData {
 
     private double sumPmax = 0.d;
 
+    // Indexes computed once, looked up for each equipment
+    private Set<String> generatorsForAdequacy = Collections.emptySet();
+    private Set<String> generatorsForRedispatching = Collections.emptySet();
+    private List<String> generatorTypeList = Collections.emptyList();
+    private final Map<String, Integer> generatorTypeIndex = new HashMap<>();
+
     private static double toAdmittance(String id, final double x, final double uNom, final double nominalU) {
         double admittance = x * nominalU * nominalU / (uNom * uNom);
         if (admittance == 0) {
@@ -171,9 +178,6 @@ public class MetrixInputData {
         if (dslData == null) {
             return GeneratorAdjustmentMode.ADEQUACY_AND_REDISPATCHING;
         } else {
-            Set<String> generatorsForAdequacy = dslData.getGeneratorsForAdequacy();
-            Set<String> generatorsForRedispatching = dslData.getGeneratorsForRedispatching();
-
             if (generatorsForAdequacy.isEmpty() && generatorsForRedispatching.isEmpty()) {
                 return GeneratorAdjustmentMode.ADEQUACY_AND_REDISPATCHING;
             } else {
@@ -216,6 +220,13 @@ public class MetrixInputData {
 
         if (dslData != null) {
             sectnbse = dslData.getSectionList().size();
+            generatorsForAdequacy = dslData.getGeneratorsForAdequacy();
+            generatorsForRedispatching = dslData.getGeneratorsForRedispatching();
+        }
+
+        generatorTypeList = metrixNetwork.getGeneratorTypeList();
+        for (int i = 0; i < generatorTypeList.size(); i++) {
+            generatorTypeIndex.putIfAbsent(generatorTypeList.get(i), i);
         }
     }
 
@@ -402,9 +413,9 @@ public class MetrixInputData {
         int[] dtlowtap = new int[dtnbtrde]; // PST min tap value
         int[] dtnbtaps = new int[dtnbtrde]; // PST number of taps
         MetrixInputPhaseTapChanger metrixInputPhaseTapChanger = new MetrixInputPhaseTapChanger(dttrdequ, dtmodreg, dtvalinf, dtvalsup, dtvaldep, dtlowtap, dtnbtaps);
-        List<Integer> dtlowran = new ArrayList<>(); // PST lowerTapRange [pst, lowerTapRange, ...]
-        List<Integer> dtuppran = new ArrayList<>(); // PST upperTapRange [pst, upperTapRange, ...]
-        List<Float> dttapdep = new ArrayList<>(); // PST phasing taps
+        TIntArrayList dtlowran = new TIntArrayList(); // PST lowerTapRange [pst, lowerTapRange, ...]
+        TIntArrayList dtuppran = new TIntArrayList(); // PST upperTapRange [pst, upperTapRange, ...]
+        TFloatArrayList dttapdep = new TFloatArrayList(); // PST phasing taps
 
         // Lines
         metrixNetwork.getLineList().forEach(line -> writeLine(line, metrixInputBranch, constantLossFactor));
@@ -444,17 +455,17 @@ public class MetrixInputData {
         die.setFloatArray("DTVALDEP", dtvaldep);
         die.setIntArray("DTLOWTAP", dtlowtap);
         die.setIntArray("DTNBTAPS", dtnbtaps);
-        die.setFloatArray("DTTAPDEP", ArrayUtils.toPrimitive(dttapdep.toArray(new Float[0]), 0.000F));
+        die.setFloatArray("DTTAPDEP", dttapdep.toArray());
         if (!dtlowran.isEmpty()) {
-            die.setIntArray("DTLOWRAN", dtlowran.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DTLOWRAN", dtlowran.toArray());
         }
         if (!dtuppran.isEmpty()) {
-            die.setIntArray("DTUPPRAN", dtuppran.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DTUPPRAN", dtuppran.toArray());
         }
 
         // Disconnected branches
         if (!metrixNetwork.getDisconnectedElements().isEmpty()) {
-            List<Integer> openbran = new ArrayList<>();
+            TIntArrayList openbran = new TIntArrayList();
             for (Identifiable<?> disconnectedElement : metrixNetwork.getDisconnectedElements()) {
                 try {
                     openbran.add(metrixNetwork.getIndex(disconnectedElement));
@@ -465,7 +476,7 @@ public class MetrixInputData {
                 }
             }
             die.setInt("NBOPEBRA", openbran.size());
-            die.setIntArray("OPENBRAN", openbran.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("OPENBRAN", openbran.toArray());
         }
     }
 
@@ -482,9 +493,9 @@ public class MetrixInputData {
                                              MetrixInputBranch metrixInputBranch,
                                               MetrixInputPhaseTapChanger metrixInputPhaseTapChanger,
                                               boolean constantLossFactor,
-                                              List<Integer> dtlowran,
-                                              List<Integer> dtuppran,
-                                              List<Float> dttapdep) {
+                                              TIntArrayList dtlowran,
+                                              TIntArrayList dtuppran,
+                                              TFloatArrayList dttapdep) {
         double nominalVoltage2 = twt.getTerminal2().getVoltageLevel().getNominalV();
         double x = twt.getX();
         double r = twt.getR();
@@ -532,8 +543,8 @@ public class MetrixInputData {
 
     private MetrixPtcControlType getMetrixPtcControlType(TwoWindingsTransformer twt,
                                                          int index,
-                                                         List<Integer> dtlowran,
-                                                         List<Integer> dtuppran) {
+                                                         TIntArrayList dtlowran,
+                                                         TIntArrayList dtuppran) {
         MetrixPtcControlType mode = MetrixPtcControlType.FIXED_ANGLE_CONTROL;
         if (dslData != null) {
             mode = dslData.getPtcControl(twt.getId());
@@ -684,7 +695,7 @@ public class MetrixInputData {
         float[] trvalpmd = new float[trnbgrou];
         float[] trpuimin = new float[trnbgrou];
 
-        List<String> trnomtyp = metrixNetwork.getGeneratorTypeList();
+        List<String> trnomtyp = generatorTypeList;
         int[] trtypgrp = new int[trnbgrou];
 
         for (Generator generator : metrixNetwork.getGeneratorList()) {
@@ -706,12 +717,11 @@ public class MetrixInputData {
     }
 
     private void addGeneratorOrBatteryData(Injection<?> injection, String[] trnomgth, int[] tnneurgt, int[] trtypgrp, int[] spimpmod, float[] sppactgt, float[] trvalpmd, float[] trpuimin) {
-        List<String> trnomtyp = metrixNetwork.getGeneratorTypeList();
         int index = metrixNetwork.getIndex(injection);
         int busIndex = metrixNetwork.getIndex(injection.getTerminal().getBusBreakerView().getBus());
         trnomgth[index - 1] = injection.getId();
         tnneurgt[index - 1] = busIndex;
-        trtypgrp[index - 1] = getTrnomtyp(injection, trnomtyp);
+        trtypgrp[index - 1] = getTrnomtyp(injection);
         GeneratorAdjustmentMode adjustmentMode = getGeneratorAdjustmentMode(injection.getId());
         spimpmod[index - 1] = adjustmentMode.getType();
         sppactgt[index - 1] = (float) getTargetP(injection);
@@ -723,11 +733,11 @@ public class MetrixInputData {
         }
     }
 
-    private int getTrnomtyp(Injection<?> injection, List<String> trnomtyp) {
+    private int getTrnomtyp(Injection<?> injection) {
         if (injection instanceof Generator generator) {
-            return trnomtyp.indexOf(metrixNetwork.getGeneratorType(generator));
+            return generatorTypeIndex.getOrDefault(metrixNetwork.getGeneratorType(generator), -1);
         } else if (injection instanceof Battery) {
-            return trnomtyp.indexOf(BATTERY.name());
+            return generatorTypeIndex.getOrDefault(BATTERY.name(), -1);
         }
         throw new IllegalArgumentException("Unknown injection type: " + injection.getId() + ". Expected Type: Generator, Battery");
     }
@@ -840,15 +850,15 @@ public class MetrixInputData {
     private void writeContingenciesInMetrixDie(MetrixDie die,
                                                int indexOut,
                                                double maxGeneratorOutage,
-                                               List<Integer> dmptdefk,
+                                               TIntArrayList dmptdefk,
                                                List<String> dmnomdek,
-                                               List<Integer> dmdescrk) {
+                                               TIntArrayList dmdescrk) {
         int index = indexOut;
         die.setInt("DMNBDEFK", index);
         if (index > 0) {
-            die.setIntArray("DMPTDEFK", dmptdefk.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DMPTDEFK", dmptdefk.toArray());
             die.setStringArray("DMNOMDEK", dmnomdek.toArray(new String[0]));
-            die.setIntArray("DMDESCRK", dmdescrk.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DMDESCRK", dmdescrk.toArray());
 
             if (maxGeneratorOutage > 0.) {
                 // Power reserve for generator outage
@@ -874,7 +884,7 @@ public class MetrixInputData {
     }
 
     private double listElementsToTrip(Contingency contingency,
-                                      List<Integer> elementsToTrip) {
+                                      TIntArrayList elementsToTrip) {
         double generatorPowerLost = 0.d;
 
         for (ContingencyElement element : contingency.getElements()) {
@@ -905,13 +915,13 @@ public class MetrixInputData {
     private void writeContingencies(MetrixDie die) {
         int index = 0;
         double maxGeneratorOutage = 0.d;
-        List<Integer> dmptdefk = new ArrayList<>();
+        TIntArrayList dmptdefk = new TIntArrayList();
         List<String> dmnomdek = new ArrayList<>();
-        List<Integer> dmdescrk = new ArrayList<>();
+        TIntArrayList dmdescrk = new TIntArrayList();
 
         for (Contingency contingency : metrixNetwork.getContingencyList()) {
 
-            List<Integer> elementsToTrip = new ArrayList<>();
+            TIntArrayList elementsToTrip = new TIntArrayList();
 
             // List the elements to trip and compute the generator power lost
             double generatorPowerLost = listElementsToTrip(contingency, elementsToTrip);
@@ -977,7 +987,7 @@ public class MetrixInputData {
     }
 
     private void writeIndividualCurativePtc(Integer index, String pstId,
-                                            List<Integer> dtptdefk,
+                                            TIntArrayList dtptdefk,
                                             int[] dtnbdefk) {
         List<String> contingenciesList = dslData.getPtcContingencies(pstId);
         if (!contingenciesList.isEmpty()) {
@@ -1006,17 +1016,17 @@ public class MetrixInputData {
         }
 
         int[] dtnbdefk = new int[dtnbtrde];
-        List<Integer> dtptdefk = new ArrayList<>();
+        TIntArrayList dtptdefk = new TIntArrayList();
         curativePtcIndexes.forEach((index, pstId) -> writeIndividualCurativePtc(index, pstId, dtptdefk, dtnbdefk));
 
         if (!dtptdefk.isEmpty()) {
             die.setIntArray("DTNBDEFK", dtnbdefk);
-            die.setIntArray("DTPTDEFK", dtptdefk.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DTPTDEFK", dtptdefk.toArray());
         }
     }
 
     private void writeIndividualCurativeHvdc(Integer index, String hvdcId,
-                                             List<Integer> dcptdefk,
+                                             TIntArrayList dcptdefk,
                                              int[] dcnbdefk) {
         List<String> contingenciesList = dslData.getHvdcContingencies(hvdcId);
         if (!contingenciesList.isEmpty()) {
@@ -1045,17 +1055,17 @@ public class MetrixInputData {
         }
 
         int[] dcnbdefk = new int[dcnblies];
-        List<Integer> dcptdefk = new ArrayList<>();
+        TIntArrayList dcptdefk = new TIntArrayList();
 
         curativeHvdcIndexes.forEach((index, hvdcId) -> writeIndividualCurativeHvdc(index, hvdcId, dcptdefk, dcnbdefk));
         if (!dcptdefk.isEmpty()) {
             die.setIntArray("DCNBDEFK", dcnbdefk);
-            die.setIntArray("DCPTDEFK", dcptdefk.stream().mapToInt(i -> i).toArray());
+            die.setIntArray("DCPTDEFK", dcptdefk.toArray());
         }
     }
 
     private void writeCurativeGenerator(Integer index, String generatorId,
-                                        List<Integer> grptdefk,
+                                        TIntArrayList grptdefk,
                                         int[] grnbdefk,
                                         AtomicInteger nbCurativeGenerators) {
         List<String> contingenciesList = dslData.getGeneratorContingencies(generatorId);
@@ -1085,20 +1095,20 @@ public class MetrixInputData {
 
         if (!curativeGeneratorIndexes.isEmpty()) {
             int[] grnbdefk = new int[trnbgrou];
-            List<Integer> grptdefk = new ArrayList<>();
+            TIntArrayList grptdefk = new TIntArrayList();
             AtomicInteger nbCurativeGenerators = new AtomicInteger(0);
             curativeGeneratorIndexes.forEach((index, generatorId) -> writeCurativeGenerator(index, generatorId, grptdefk, grnbdefk, nbCurativeGenerators));
             if (!grptdefk.isEmpty()) {
                 die.setInt("GRNBCURA", nbCurativeGenerators.intValue());
                 die.setIntArray("GRNBDEFK", grnbdefk);
-                die.setIntArray("GRPTDEFK", grptdefk.stream().mapToInt(i -> i).toArray());
+                die.setIntArray("GRPTDEFK", grptdefk.toArray());
             }
         }
     }
 
     private void writeCurativeLoad(Integer index, String loadId,
-                                   List<Integer> ldptdefk,
-                                   List<Integer> ldcurper,
+                                   TIntArrayList ldptdefk,
+                                   TIntArrayList ldcurper,
                                    int[] ldnbdefk) {
         List<String> contingenciesList = dslData.getLoadContingencies(loadId);
         if (!contingenciesList.isEmpty()) {
@@ -1127,16 +1137,16 @@ public class MetrixInputData {
 
         if (!curativeLoadIds.isEmpty()) {
             int[] ldnbdefk = new int[ecnbcons];
-            List<Integer> ldptdefk = new ArrayList<>();
-            List<Integer> ldcurper = new ArrayList<>();
+            TIntArrayList ldptdefk = new TIntArrayList();
+            TIntArrayList ldcurper = new TIntArrayList();
 
             curativeLoadIds.forEach((index, loadId) -> writeCurativeLoad(index, loadId, ldptdefk, ldcurper, ldnbdefk));
 
             if (!ldptdefk.isEmpty()) {
                 die.setInt("NBLDCURA", ldcurper.size());
                 die.setIntArray("LDNBDEFK", ldnbdefk);
-                die.setIntArray("LDPTDEFK", ldptdefk.stream().mapToInt(i -> i).toArray());
-                die.setIntArray("LDCURPER", ldcurper.stream().mapToInt(i -> i).toArray());
+                die.setIntArray("LDPTDEFK", ldptdefk.toArray());
+                die.setIntArray("LDCURPER", ldcurper.toArray());
             }
         }
     }
@@ -1147,7 +1157,7 @@ public class MetrixInputData {
     }
 
     private int getContingencyFlowResults(Set<String> idList,
-                                          List<Integer> ptdefres) {
+                                          TIntArrayList ptdefres) {
         int nbdefres = 0;
         Integer indexCty;
         for (String branchId : idList) {
@@ -1156,7 +1166,7 @@ public class MetrixInputData {
                 continue;
             }
 
-            List<Integer> tmpList = new ArrayList<>();
+            TIntArrayList tmpList = new TIntArrayList();
             for (String cty : dslData.getContingencyFlowResult(branchId)) {
                 if ((indexCty = ctyIndex.get(cty)) != null) {
                     tmpList.add(indexCty);
@@ -1182,19 +1192,19 @@ public class MetrixInputData {
             Set<String> idList = dslData.getContingencyFlowResultList();
 
             if (!idList.isEmpty()) {
-                List<Integer> ptdefres = new ArrayList<>();
+                TIntArrayList ptdefres = new TIntArrayList();
                 int nbdefres = getContingencyFlowResults(idList, ptdefres);
 
                 if (nbdefres > 0) {
                     die.setInt("NBDEFRES", nbdefres);
-                    die.setIntArray("PTDEFRES", ptdefres.stream().mapToInt(i -> i).toArray());
+                    die.setIntArray("PTDEFRES", ptdefres.toArray());
                 }
             }
         }
     }
 
     private int getDetailedMarginalVariation(Set<String> idList,
-                                             List<Integer> ptvarmar) {
+                                             TIntArrayList ptvarmar) {
         int nbvarmar = 0;
         Integer indexCty;
         for (String branchId : idList) {
@@ -1203,7 +1213,7 @@ public class MetrixInputData {
                 continue;
             }
 
-            List<Integer> tmpList = new ArrayList<>();
+            TIntArrayList tmpList = new TIntArrayList();
             for (String cty : dslData.getContingencyDetailedMarginalVariations(branchId)) {
                 if ((indexCty = ctyIndex.get(cty)) != null) {
                     tmpList.add(indexCty);
@@ -1229,12 +1239,12 @@ public class MetrixInputData {
             Set<String> idList = dslData.getContingencyDetailedMarginalVariationsList();
 
             if (!idList.isEmpty()) {
-                List<Integer> ptvarmar = new ArrayList<>();
+                TIntArrayList ptvarmar = new TIntArrayList();
                 int nbvarmar = getDetailedMarginalVariation(idList, ptvarmar);
 
                 if (nbvarmar > 0) {
                     die.setInt("NBVARMAR", nbvarmar);
-                    die.setIntArray("PTVARMAR", ptvarmar.stream().mapToInt(i -> i).toArray());
+                    die.setIntArray("PTVARMAR", ptvarmar.toArray());
                 }
             }
         }
@@ -1244,7 +1254,7 @@ public class MetrixInputData {
                                      Map.Entry<String, Float> branch,
                                      int index,
                                      int[] sectnbqd,
-                                     List<Integer> secttype, List<Integer> sectnumq, List<Float> sectcoef) {
+                                     TIntArrayList secttype, TIntArrayList sectnumq, TFloatArrayList sectcoef) {
         Identifiable<?> identifiable = metrixNetwork.getNetwork().getIdentifiable(branch.getKey());
         if (identifiable != null) {
             if (identifiable instanceof Line ||
@@ -1260,7 +1270,7 @@ public class MetrixInputData {
                 }
             }
             sectnumq.add(metrixNetwork.getIndex(identifiable));
-            sectcoef.add(branch.getValue());
+            sectcoef.add(branch.getValue() != null ? branch.getValue() : 0.0F);
             sectnbqd[index]++;
         } else {
             if (LOGGER.isWarnEnabled()) {
@@ -1270,7 +1280,7 @@ public class MetrixInputData {
     }
 
     private void getSections(String[] sectnoms, float[] sectmaxn, int[] sectnbqd,
-                            List<Integer> secttype, List<Integer> sectnumq, List<Float> sectcoef) {
+                            TIntArrayList secttype, TIntArrayList sectnumq, TFloatArrayList sectcoef) {
         int index = 0;
         for (MetrixSection section : dslData.getSectionList()) {
             sectnoms[index] = replaceSpaces(section.getId());
@@ -1289,27 +1299,27 @@ public class MetrixInputData {
             float[] sectmaxn = new float[sectnbse];
             int[] sectnbqd = new int[sectnbse];
 
-            List<Integer> secttype = new ArrayList<>();
-            List<Integer> sectnumq = new ArrayList<>();
-            List<Float> sectcoef = new ArrayList<>();
+            TIntArrayList secttype = new TIntArrayList();
+            TIntArrayList sectnumq = new TIntArrayList();
+            TFloatArrayList sectcoef = new TFloatArrayList();
 
             getSections(sectnoms, sectmaxn, sectnbqd, secttype, sectnumq, sectcoef);
 
             die.setStringArray("SECTNOMS", sectnoms);
             die.setFloatArray("SECTMAXN", sectmaxn);
             die.setIntArray("SECTNBQD", sectnbqd);
-            die.setIntArray("SECTTYPE", secttype.stream().mapToInt(i -> i).toArray());
-            die.setIntArray("SECTNUMQ", sectnumq.stream().mapToInt(i -> i).toArray());
-            die.setFloatArray("SECTCOEF", ArrayUtils.toPrimitive(sectcoef.toArray(new Float[0]), 0.0F));
+            die.setIntArray("SECTTYPE", secttype.toArray());
+            die.setIntArray("SECTNUMQ", sectnumq.toArray());
+            die.setFloatArray("SECTCOEF", sectcoef.toArray());
         }
     }
 
     private <T extends AbstractMetrixGroupBinding> void getGroupBindings(Collection<T> bindings,
                                                                          List<String> gbindnom,
-                                                                         List<Integer> gbindref,
-                                                                         List<Integer> gbinddef) {
+                                                                         TIntArrayList gbindref,
+                                                                         TIntArrayList gbinddef) {
         for (AbstractMetrixGroupBinding binding : bindings) {
-            List<Integer> idList = new ArrayList<>();
+            TIntArrayList idList = new TIntArrayList();
             for (String id : binding.getIds()) {
                 try {
                     idList.add(metrixNetwork.getIndex(MetrixSubset.GROUPE, id));
@@ -1339,8 +1349,8 @@ public class MetrixInputData {
 
             if (!generatorBindings.isEmpty() || !batterybindings.isEmpty()) {
                 List<String> gbindnom = new ArrayList<>();
-                List<Integer> gbindref = new ArrayList<>();
-                List<Integer> gbinddef = new ArrayList<>();
+                TIntArrayList gbindref = new TIntArrayList();
+                TIntArrayList gbinddef = new TIntArrayList();
 
                 if (!generatorBindings.isEmpty()) {
                     getGroupBindings(generatorBindings, gbindnom, gbindref, gbinddef);
@@ -1352,17 +1362,17 @@ public class MetrixInputData {
 
                 die.setInt("NBGBINDS", gbindnom.size());
                 die.setStringArray("GBINDNOM", gbindnom.toArray(new String[0]));
-                die.setIntArray("GBINDREF", gbindref.stream().mapToInt(i -> i).toArray());
-                die.setIntArray("GBINDDEF", gbinddef.stream().mapToInt(i -> i).toArray());
+                die.setIntArray("GBINDREF", gbindref.toArray());
+                die.setIntArray("GBINDDEF", gbinddef.toArray());
             }
         }
     }
 
     private void getLoadsBindings(Collection<MetrixLoadsBinding> bindings,
                                   List<String> lbindnom,
-                                  List<Integer> lbinddef) {
+                                  TIntArrayList lbinddef) {
         for (MetrixLoadsBinding binding : bindings) {
-            List<Integer> idList = new ArrayList<>();
+            TIntArrayList idList = new TIntArrayList();
             for (String loadId : binding.getLoadsIds()) {
                 try {
                     idList.add(metrixNetwork.getIndex(MetrixSubset.LOAD, loadId));
@@ -1391,14 +1401,14 @@ public class MetrixInputData {
             if (!bindings.isEmpty()) {
 
                 List<String> lbindnom = new ArrayList<>();
-                List<Integer> lbinddef = new ArrayList<>();
+                TIntArrayList lbinddef = new TIntArrayList();
 
                 getLoadsBindings(bindings, lbindnom, lbinddef);
 
                 if (!lbindnom.isEmpty()) {
                     die.setInt("NBLBINDS", lbindnom.size());
                     die.setStringArray("LBINDNOM", lbindnom.toArray(new String[0]));
-                    die.setIntArray("LBINDDEF", lbinddef.stream().mapToInt(i -> i).toArray());
+                    die.setIntArray("LBINDDEF", lbinddef.toArray());
                 }
             }
         }
@@ -29,6 +29,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -45,25 +46,56 @@ public class MetrixInputDataGenerator {
     private static final String METRIX_LOG_LEVEL_ARG = "--log-level=";
     private static final String METRIX_PTDF_ARG = "--write-PTDF";
     private static final String METRIX_LODF_ARG = "--write-LODF";
+    private static final String METRIX_BINARY_RESULTS_ARG = "--binary-results";
+    private static final String METRIX_PREDICT_CONSTRAINTS_ARG = "--predict-constraints";
+    private static final String METRIX_PREDICTED_CONSTRAINTS_THRESHOLD_ARG = "--predicted-constraints-threshold=";
+    private static final String METRIX_MAX_CONSTRAINTS_BY_ITERATION_ARG = "--max-constraints-by-iteration=";
+    private static final String METRIX_CONSTRAINTS_BY_INCIDENT_ARG = "--constraints-by-incident=";
+    private static final String METRIX_ADAPTIVE_CONSTRAINTS_LIMIT_ARG = "--adaptive-constraints-limit";
 
     public static final String LOGS_FILE_NAME = "logs.txt";
     public static final String REMEDIAL_ACTION_FILE_NAME = "parades.csv";
     public static final String PTDF_MATRIX_FILE_NAME = "PTDF_matrix.csv";
     public static final String LODF_MATRIX_FILE_NAME = "LODF_matrix.csv";
+    public static final String PTDF_MATRIX_BINARY_FILE_NAME = "PTDF_matrix.bin";
+    public static final String LODF_MATRIX_BINARY_FILE_NAME = "LODF_matrix.bin";
 
     private final MetrixConfig config;
     private final Path workingDir;
     private final MetrixChunkLogger metrixChunkLogger;
+    private final Executor propagationExecutor;
     public final FileSystemUtils files;
 
+    public static String getPtdfMatrixFileName(boolean binary) {
+        return binary ? PTDF_MATRIX_BINARY_FILE_NAME : PTDF_MATRIX_FILE_NAME;
+    }
+
+    public static String getLodfMatrixFileName(boolean binary) {
+        return binary ? LODF_MATRIX_BINARY_FILE_NAME : LODF_MATRIX_FILE_NAME;
+    }
+
     public MetrixInputDataGenerator(MetrixConfig config, Path workingDir, MetrixChunkLogger metrixChunkLogger) {
-        this(config, workingDir, metrixChunkLogger, FileSystemUtils.defaultFiles());
+        this(config, workingDir, metrixChunkLogger, (Executor) null);
+    }
+
+    /**
+     * @param propagationExecutor executor propagating the branch tripping of the contingencies, or null to propagate
+     *                            it in the calling thread
+     */
+    public MetrixInputDataGenerator(MetrixConfig config, Path workingDir, MetrixChunkLogger metrixChunkLogger, Executor propagationExecutor) {
+        this(config, workingDir, metrixChunkLogger, propagationExecutor, FileSystemUtils.defaultFiles());
     }
 
     protected MetrixInputDataGenerator(MetrixConfig config, Path workingDir, MetrixChunkLogger metrixChunkLogger, FileSystemUtils files) {
+        this(config, workingDir, metrixChunkLogger, null, files);
+    }
+
+    private MetrixInputDataGenerator(MetrixConfig config, Path workingDir, MetrixChunkLogger metrixChunkLogger, Executor propagationExecutor,
+                                     FileSystemUtils files) {
         this.config = config;
         this.workingDir = workingDir;
         this.metrixChunkLogger = MetrixChunkLogger.neverNull(metrixChunkLogger);
+        this.propagationExecutor = propagationExecutor;
         this.files = files;
     }
 
@@ -112,9 +144,34 @@ public class MetrixInputDataGenerator {
         if (writeLodf) {
             args.add(METRIX_LODF_ARG);
         }
+        if (config.isBinaryResults()) {
+            args.add(METRIX_BINARY_RESULTS_ARG);
+        }
+        addConstraintsArgs(args);
         return args;
     }
 
+    /**
+     * Options of the constraints added by iteration, given only when they differ from the simulator defaults
+     */
+    private void addConstraintsArgs(List<String> args) {
+        if (config.isPredictConstraints()) {
+            args.add(METRIX_PREDICT_CONSTRAINTS_ARG);
+            if (config.getPredictedConstraintsThreshold() != MetrixConfig.getDefaultPredictedConstraintsThreshold()) {
+                args.add(METRIX_PREDICTED_CONSTRAINTS_THRESHOLD_ARG + config.getPredictedConstraintsThreshold());
+            }
+        }
+        if (config.getMaxConstraintsByIteration() != MetrixConfig.getDefaultMaxConstraintsByIteration()) {
+            args.add(METRIX_MAX_CONSTRAINTS_BY_ITERATION_ARG + config.getMaxConstraintsByIteration());
+        }
+        if (config.getConstraintsByIncident() != MetrixConfig.getDefaultConstraintsByIncident()) {
+            args.add(METRIX_CONSTRAINTS_BY_INCIDENT_ARG + config.getConstraintsByIncident());
+        }
+        if (config.isAdaptiveConstraintsLimit()) {
+            args.add(METRIX_ADAPTIVE_CONSTRAINTS_LIMIT_ARG);
+        }
+    }
+
     private Command command(MetrixVariantProvider.Variants variants, boolean writePtdf, boolean writeLodf, List<InputFile> inputFiles, List<OutputFile> outputFiles) {
         return new SimpleCommandBuilder()
                 .id(METRIX_COMMAND_ID)
@@ -149,7 +206,7 @@ public class MetrixInputDataGenerator {
     protected MetrixNetwork createNetwork(Path remedialActionFile, MetrixVariantProvider variantProvider, Network network,
                                           ContingenciesProvider contingenciesProvider, MetrixParameters parameters) {
         return MetrixNetwork.create(network, contingenciesProvider,
-                variantProvider != null ? variantProvider.getMappedBreakers() : null, parameters, remedialActionFile);
+                variantProvider != null ? variantProvider.getMappedBreakers() : null, parameters, remedialActionFile, propagationExecutor);
     }
 
     private void copyToInputFiles(Path remedialActionFile, List<InputFile> inputFiles) {
@@ -161,13 +218,16 @@ public class MetrixInputDataGenerator {
         List<OutputFile> outputFiles = new ArrayList<>(1 + variants.count());
         for (int variantNum = variants.firstVariant(); variantNum <= variants.lastVariant(); variantNum++) {
             outputFiles.add(new OutputFile(MetrixOutputData.getFileName(variantNum)));
+            if (config.isBinaryResults()) {
+                outputFiles.add(new OutputFile(MetrixOutputData.getBinaryFileName(variantNum)));
+            }
         }
         outputFiles.add(new OutputFile(LOGS_FILE_NAME));
         if (writePtdf) {
-            outputFiles.add(new OutputFile(PTDF_MATRIX_FILE_NAME, FilePostProcessor.FILE_GZIP));
+            outputFiles.add(new OutputFile(getPtdfMatrixFileName(config.isBinaryResults()), FilePostProcessor.FILE_GZIP));
         }
         if (writeLodf) {
-            outputFiles.add(new OutputFile(LODF_MATRIX_FILE_NAME, FilePostProcessor.FILE_GZIP));
+            outputFiles.add(new OutputFile(getLodfMatrixFileName(config.isBinaryResults()), FilePostProcessor.FILE_GZIP));
         }
         return outputFiles;
     }
@@ -216,7 +276,7 @@ public class MetrixInputDataGenerator {
     }
 
     private MetrixVariantsWriter createMetrixVariantsWriter(MetrixVariantProvider variantProvider, MetrixNetwork metrixNetwork) {
-        return new MetrixVariantsWriter(variantProvider, metrixNetwork);
+        return new MetrixVariantsWriter(variantProvider, metrixNetwork, config.isCarryForwardVariants());
     }
 
     public interface FileSystemUtils {
@@ -14,6 +14,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -183,10 +185,17 @@ public class MetrixOutputData {
         this.length = length;
     }
 
-    static String getFileName(int variantNum) {
+    public static String getFileName(int variantNum) {
         return FILE_NAME_PREFIX + "_s" + variantNum;
     }
 
+    /**
+     * Name of the file of the outage flows written in binary by the simulator, see {@link #readBinaryFlows}
+     */
+    public static String getBinaryFileName(int variantNum) {
+        return getFileName(variantNum) + ".bin";
+    }
+
     private StringResultChunk getStringTimeSeries(String prefix, String type, String id) {
         String name = prefix + id;
         return stringTimeSeries.computeIfAbsent(name, k -> {
@@ -238,7 +247,12 @@ public class MetrixOutputData {
             getDoubleTimeSeries(ERROR_CODE_NAME).insertResult(varNum - offset, ERROR_CODE);
         } else {
             try (BufferedReader reader = Files.newBufferedReader(resultFilePath, StandardCharsets.UTF_8)) {
-                read(reader, varNum);
+                Map<Integer, String> outageNames = new HashMap<>();
+                read(reader, varNum, outageNames);
+                Path binaryFilePath = workingDir.resolve(getBinaryFileName(varNum));
+                if (Files.exists(binaryFilePath)) {
+                    readBinaryFlows(ByteBuffer.wrap(Files.readAllBytes(binaryFilePath)), varNum, outageNames);
+                }
             } catch (Exception e) {
                 LOGGER.error("Error encountered while reading results for variant {}", varNum, e);
                 getDoubleTimeSeries(ERROR_CODE_NAME).insertResult(varNum - offset, ERROR_CODE);
@@ -247,9 +261,12 @@ public class MetrixOutputData {
     }
 
     public void read(BufferedReader reader, int varNum) throws IOException {
+        read(reader, varNum, new HashMap<>());
+    }
+
+    private void read(BufferedReader reader, int varNum, Map<Integer, String> outageNames) throws IOException {
         String line;
         String[] chunks;
-        Map<Integer, String> outageNames = new HashMap<>();
 
         boolean empty = true;
         while ((line = reader.readLine()) != null) {
@@ -290,6 +307,28 @@ public class MetrixOutputData {
         }
     }
 
+    /**
+     * Outage flows written in binary by the simulator instead of R3C lines: all numbers are little-endian, the branch
+     * names (int count, then int byte length and UTF-8 bytes of each name) are followed by the flows (int count, then
+     * int branch index, int outage number and double flow of each flow)
+     */
+    void readBinaryFlows(ByteBuffer buffer, int varNum, Map<Integer, String> outageNames) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        String[] branchNames = new String[buffer.getInt()];
+        for (int i = 0; i < branchNames.length; i++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            branchNames[i] = new String(name, StandardCharsets.UTF_8);
+        }
+        int flowCount = buffer.getInt();
+        for (int i = 0; i < flowCount; i++) {
+            String branchName = branchNames[buffer.getInt()];
+            int outageId = buffer.getInt();
+            String outageName = Optional.ofNullable(outageNames.get(outageId)).orElseThrow(() -> new PowsyblException(UNKNOWN_OUTAGE));
+            getDoubleTimeSeries(FLOW_NAME, BRANCH, branchName, outageName).insertResult(varNum - offset, buffer.getDouble());
+        }
+    }
+
     /**
      * Topological remedial actions
      */
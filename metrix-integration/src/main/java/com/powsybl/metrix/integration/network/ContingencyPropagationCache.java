@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.network;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Connectable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Switch;
+import com.powsybl.iidm.network.Terminal;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.metrix.integration.exceptions.MetrixException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Cache of the contingency elements extended by the branch tripping propagation, so that the topology traversals are
+ * done once for all the {@link MetrixNetwork} created from the same network topology and the same contingencies,
+ * e.g. by the analysis, the chunks of a run and the DIE tool.
+ * <p>The key is a digest of the network identification, of the topology of its working variant (switches and internal
+ * connections, buses and connection states of the terminals of the bus-breaker voltage levels) and of the contingency
+ * elements. The variant id itself is not part of the key, so variants and copies with the same topology share an
+ * entry, while any topology change, e.g. an opened switch, misses the cache.</p>
+ * <p>The cache is deliberately shared by the whole JVM, with at most {@value #MAX_ENTRIES} entries: the analysis, the
+ * chunks of a run and the tools each create their own {@link MetrixNetwork}, and successive runs on the same case reuse
+ * the propagation as well. As the key covers the topology the propagation reads, a shared entry is never stale.</p>
+ * <p>Traversals only read the topology: they are run in blocks on the executor given by the caller, e.g. a pool sized by
+ * the {@code propagation-thread-count} metrix configuration property, or in the calling thread without executor.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class ContingencyPropagationCache {
+
+    private static final int MAX_ENTRIES = 8;
+
+    /**
+     * Number of blocks of contingencies run on the executor, so that threads processing quick traversals are not left
+     * idle.
+     */
+    private static final int BLOCK_COUNT = 16;
+
+    private static final Map<String, CompletableFuture<List<List<ContingencyElement>>>> ENTRIES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<List<List<ContingencyElement>>>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ContingencyPropagationCache() {
+    }
+
+    /**
+     * Propagated elements of each contingency, in the order of the contingencies.
+     * Concurrent calls with the same key wait for the first one instead of propagating again.
+     *
+     * @param executor executor running the traversals, or null to run them in the calling thread
+     */
+    static List<List<ContingencyElement>> getPropagatedElements(Network network, List<Contingency> contingencies,
+                                                                Function<Contingency, Set<ContingencyElement>> propagation,
+                                                                Executor executor) {
+        String key = key(network, contingencies);
+        CompletableFuture<List<List<ContingencyElement>>> entry;
+        boolean owner = false;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(key);
+            if (entry == null) {
+                entry = new CompletableFuture<>();
+                ENTRIES.put(key, entry);
+                owner = true;
+            }
+        }
+        if (owner) {
+            boolean propagated = false;
+            try {
+                entry.complete(propagate(network, contingencies, propagation, executor));
+                propagated = true;
+            } finally {
+                // whatever the failure, the waiting calls are released and the following ones propagate again
+                if (!propagated) {
+                    synchronized (ENTRIES) {
+                        ENTRIES.remove(key, entry);
+                    }
+                    entry.completeExceptionally(new MetrixException("Contingency propagation failed"));
+                }
+            }
+        }
+        try {
+            return entry.get();
+        } catch (ExecutionException e) {
+            throw new MetrixException("Contingency propagation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetrixException("Contingency propagation has been interrupted!", e);
+        }
+    }
+
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+    }
+
+    private static List<List<ContingencyElement>> propagate(Network network, List<Contingency> contingencies,
+                                                            Function<Contingency, Set<ContingencyElement>> propagation,
+                                                            Executor executor) {
+        if (executor == null) {
+            return propagate(contingencies, propagation);
+        }
+        VariantManager variantManager = network.getVariantManager();
+        String variantId = variantManager.getWorkingVariantId();
+        int blockSize = Math.max(1, (contingencies.size() + BLOCK_COUNT - 1) / BLOCK_COUNT);
+        List<CompletableFuture<List<List<ContingencyElement>>>> futures = new ArrayList<>();
+        for (int start = 0; start < contingencies.size(); start += blockSize) {
+            List<Contingency> block = contingencies.subList(start, Math.min(start + blockSize, contingencies.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                if (variantManager.isVariantMultiThreadAccessAllowed()) {
+                    variantManager.setWorkingVariant(variantId);
+                }
+                return propagate(block, propagation);
+            }, executor));
+        }
+        List<List<ContingencyElement>> propagatedElements = new ArrayList<>(contingencies.size());
+        try {
+            for (CompletableFuture<List<List<ContingencyElement>>> future : futures) {
+                propagatedElements.addAll(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new MetrixException("Contingency propagation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetrixException("Contingency propagation has been interrupted!", e);
+        }
+        return propagatedElements;
+    }
+
+    private static List<List<ContingencyElement>> propagate(List<Contingency> contingencies,
+                                                            Function<Contingency, Set<ContingencyElement>> propagation) {
+        return contingencies.stream()
+            .map(contingency -> List.copyOf(propagation.apply(contingency)))
+            .toList();
+    }
+
+    static String key(Network network, List<Contingency> contingencies) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, network.getId());
+        hasher.putLong(network.getCaseDate().toInstant().toEpochMilli())
+            .putInt(network.getForecastDistance());
+        for (VoltageLevel voltageLevel : network.getVoltageLevels()) {
+            putTopology(hasher, voltageLevel);
+        }
+        for (Connectable<?> connectable : network.getConnectables()) {
+            for (Terminal terminal : connectable.getTerminals()) {
+                putTerminal(hasher, connectable, terminal);
+            }
+        }
+        hasher.putInt(contingencies.size());
+        for (Contingency contingency : contingencies) {
+            putString(hasher, contingency.getId());
+            hasher.putInt(contingency.getElements().size());
+            for (ContingencyElement element : contingency.getElements()) {
+                hasher.putInt(element.getType().ordinal());
+                putString(hasher, element.getId());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putTopology(Hasher hasher, VoltageLevel voltageLevel) {
+        putString(hasher, voltageLevel.getId());
+        hasher.putInt(voltageLevel.getTopologyKind().ordinal());
+        if (voltageLevel.getTopologyKind() == TopologyKind.NODE_BREAKER) {
+            VoltageLevel.NodeBreakerView view = voltageLevel.getNodeBreakerView();
+            for (Switch sw : view.getSwitches()) {
+                putString(hasher, sw.getId());
+                hasher.putBoolean(sw.isOpen())
+                    .putInt(view.getNode1(sw.getId()))
+                    .putInt(view.getNode2(sw.getId()));
+            }
+            for (VoltageLevel.NodeBreakerView.InternalConnection internalConnection : view.getInternalConnections()) {
+                hasher.putInt(internalConnection.getNode1()).putInt(internalConnection.getNode2());
+            }
+        } else {
+            VoltageLevel.BusBreakerView view = voltageLevel.getBusBreakerView();
+            for (Switch sw : view.getSwitches()) {
+                putString(hasher, sw.getId());
+                hasher.putBoolean(sw.isOpen());
+                putString(hasher, view.getBus1(sw.getId()).getId());
+                putString(hasher, view.getBus2(sw.getId()).getId());
+            }
+        }
+    }
+
+    /**
+     * Node of the terminals of node-breaker voltage levels, whose connection follows the switches, bus and connection
+     * state of the other ones
+     */
+    private static void putTerminal(Hasher hasher, Connectable<?> connectable, Terminal terminal) {
+        putString(hasher, connectable.getId());
+        if (terminal.getVoltageLevel().getTopologyKind() == TopologyKind.NODE_BREAKER) {
+            hasher.putInt(terminal.getNodeBreakerView().getNode());
+        } else {
+            Bus bus = terminal.getBusBreakerView().getConnectableBus();
+            putString(hasher, bus != null ? bus.getId() : "");
+            hasher.putBoolean(terminal.isConnected());
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -555,14 +556,26 @@ public class MetrixNetwork {
         }
     }
 
-    private void createContingencyList(ContingenciesProvider provider, boolean propagate) {
+    private void createContingencyList(ContingenciesProvider provider, boolean propagate, Executor propagationExecutor) {
 
         if (Objects.isNull(provider)) {
             return;
         }
 
         List<Contingency> ctyList = provider.getContingencies(network);
-        ctyList.forEach(contingency -> addContingencyToList(contingency, propagate));
+        ctyList.stream().filter(this::isValidContingency).forEach(contingencyList::add);
+        if (propagate) {
+            // replace elements with new elements from propagation
+            // this will keep the original extensions
+            List<List<ContingencyElement>> propagatedElements = ContingencyPropagationCache.getPropagatedElements(network, contingencyList,
+                contingency -> getElementsToTrip(contingency, true), propagationExecutor);
+            for (int i = 0; i < contingencyList.size(); i++) {
+                Contingency contingency = contingencyList.get(i);
+                Collection<ContingencyElement> originalElements = new ArrayList<>(contingency.getElements());
+                originalElements.forEach(contingency::removeElement);
+                propagatedElements.get(i).forEach(contingency::addElement);
+            }
+        }
 
         if (LOGGER.isDebugEnabled()) {
             String message = String.format("Cty        total = <%5d> ok = <%5d> not = <%5d>", contingencyList.size(), ctyList.size(), contingencyList.size() - ctyList.size());
@@ -570,7 +583,7 @@ public class MetrixNetwork {
         }
     }
 
-    private void addContingencyToList(Contingency contingency, boolean propagate) {
+    private boolean isValidContingency(Contingency contingency) {
         boolean ctyOk = true;
         for (ContingencyElement element : contingency.getElements()) {
             boolean elemOk = true;
@@ -585,17 +598,7 @@ public class MetrixNetwork {
                 ctyOk = false;
             }
         }
-        if (ctyOk) {
-            if (propagate) {
-                // replace elements with new elements from propagation
-                // this will keep the original extensions
-                List<ContingencyElement> extendedElements = new ArrayList<>(getElementsToTrip(contingency, true));
-                Collection<ContingencyElement> originalElements = new ArrayList<>(contingency.getElements());
-                originalElements.forEach(contingency::removeElement);
-                extendedElements.forEach(contingency::addElement);
-            }
-            contingencyList.add(contingency);
-        }
+        return ctyOk;
     }
 
     private void setSwitchRetainToFalse() {
@@ -627,6 +630,11 @@ public class MetrixNetwork {
 
     public static MetrixNetwork create(Network network, ContingenciesProvider contingenciesProvider, Set<String> mappedSwitches,
                                        MetrixParameters parameters, Path remedialActionFile) {
+        return create(network, contingenciesProvider, mappedSwitches, parameters, remedialActionFile, null);
+    }
+
+    public static MetrixNetwork create(Network network, ContingenciesProvider contingenciesProvider, Set<String> mappedSwitches,
+                                       MetrixParameters parameters, Path remedialActionFile, Executor propagationExecutor) {
         Reader reader = null;
         if (remedialActionFile != null) {
             try {
@@ -640,12 +648,22 @@ public class MetrixNetwork {
                 contingenciesProvider,
                 mappedSwitches,
                 parameters,
-                reader
+                reader,
+                propagationExecutor
         );
     }
 
     public static MetrixNetwork create(Network network, ContingenciesProvider contingenciesProvider, Set<String> mappedSwitches,
                                        MetrixParameters parameters, Reader remedialActionReader) {
+        return create(network, contingenciesProvider, mappedSwitches, parameters, remedialActionReader, null);
+    }
+
+    /**
+     * @param propagationExecutor executor propagating the branch tripping of the contingencies, or null to propagate
+     *                            it in the calling thread
+     */
+    public static MetrixNetwork create(Network network, ContingenciesProvider contingenciesProvider, Set<String> mappedSwitches,
+                                       MetrixParameters parameters, Reader remedialActionReader, Executor propagationExecutor) {
 
         Objects.requireNonNull(network);
         Objects.requireNonNull(parameters);
@@ -653,7 +671,7 @@ public class MetrixNetwork {
         MetrixNetwork metrixNetwork = new MetrixNetwork(network);
 
         // Create contingencies list
-        metrixNetwork.createContingencyList(contingenciesProvider, parameters.isPropagateBranchTripping());
+        metrixNetwork.createContingencyList(contingenciesProvider, parameters.isPropagateBranchTripping(), propagationExecutor);
 
         // Create opened and switch-retained lists (network will be modified)
         List<Remedial> remedials = RemedialReader.parseFile(remedialActionReader);
@@ -8,6 +8,7 @@
 package com.powsybl.metrix.integration.network;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Range;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.extensions.LoadDetail;
@@ -82,10 +83,40 @@ public class MetrixVariantReaderImpl implements MetrixVariantReader {
 
     private final char separator;
 
+    private final Range<Integer> variantRange;
+
+    private boolean constantProbabilityTimeSeriesChecked = false;
+
+    private final boolean carryForward;
+
+    /**
+     * Laws, without variant number and key, written or carried forward for the previous and the current variants
+     */
+    private Map<String, String> previousVariantLaws = new HashMap<>();
+    private Map<String, String> variantLaws = new HashMap<>();
+
     public MetrixVariantReaderImpl(MetrixNetwork metrixNetwork, BufferedWriter writer, char separator) {
+        this(metrixNetwork, writer, separator, null);
+    }
+
+    public MetrixVariantReaderImpl(MetrixNetwork metrixNetwork, BufferedWriter writer, char separator, Range<Integer> variantRange) {
+        this(metrixNetwork, writer, separator, variantRange, false);
+    }
+
+    /**
+     * @param variantRange range of the variants read, used to write the probabilities of the time series which are
+     *                     constant over this range only once in the base variant. If null, all the time series
+     *                     probabilities are written in each variant.
+     * @param carryForward if true, the laws identical to the ones of the previous variant are not written, the file
+     *                     header having to tell the simulator to carry them forward
+     */
+    public MetrixVariantReaderImpl(MetrixNetwork metrixNetwork, BufferedWriter writer, char separator, Range<Integer> variantRange,
+                                   boolean carryForward) {
         this.metrixNetwork = Objects.requireNonNull(metrixNetwork);
         this.writer = Objects.requireNonNull(writer);
         this.separator = separator;
+        this.variantRange = variantRange;
+        this.carryForward = carryForward;
         this.contingencyVariableProbabilities = metrixNetwork
                 .getContingencyList()
                 .stream()
@@ -148,14 +179,57 @@ public class MetrixVariantReaderImpl implements MetrixVariantReader {
     @Override
     public void onVariant(int version, int point, TimeSeriesTable table) {
         if (point != TimeSeriesMapper.CONSTANT_VARIANT_ID) {
+            if (!constantProbabilityTimeSeriesChecked) {
+                constantProbabilityTimeSeriesChecked = true;
+                writeConstantProbabilityTimeSeries(version, table);
+            }
             addContingencyProbabilityValue(contingencyVariableProbabilities, tsName -> {
                 int tsIndex = table.getDoubleTimeSeriesIndex(tsName);
                 return table.getDoubleValue(version, tsIndex, point);
             });
-            addContingencyProbabilityValue(contingencyConstantProbabilities, value -> value);
         }
     }
 
+    /**
+     * Probabilities of the time series which are constant over the variant range are written once in the base variant,
+     * which is the reference value the simulator restores after each variant, instead of being repeated in each variant.
+     * The base variant has already been written, this is done on the first variant, before any of its lines.
+     */
+    private void writeConstantProbabilityTimeSeries(int version, TimeSeriesTable table) {
+        if (variantRange == null) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        TDoubleArrayList values = new TDoubleArrayList();
+        Iterator<Map.Entry<String, List<Contingency>>> it = contingencyVariableProbabilities.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, List<Contingency>> e = it.next();
+            int tsIndex = table.getDoubleTimeSeriesIndex(e.getKey());
+            double value = table.getDoubleValue(version, tsIndex, variantRange.lowerEndpoint());
+            if (isConstant(version, table, tsIndex, value)) {
+                for (Contingency contingency : e.getValue()) {
+                    ids.add(contingency.getId());
+                    values.add(value);
+                }
+                it.remove();
+            }
+        }
+        try {
+            writeVariant(TimeSeriesMapper.CONSTANT_VARIANT_ID, "PROBABINC", ids, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isConstant(int version, TimeSeriesTable table, int tsIndex, double value) {
+        for (int point = variantRange.lowerEndpoint() + 1; point <= variantRange.upperEndpoint(); point++) {
+            if (Double.compare(table.getDoubleValue(version, tsIndex, point), value) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private <T> void addContingencyProbabilityValue(Map<T, List<Contingency>> contingencyProbabilities, Function<T, Double> getValue) {
         contingencyProbabilities.forEach((key, value) -> {
             double[] probabilityValues = new double[value.size()];
@@ -182,22 +256,55 @@ public class MetrixVariantReaderImpl implements MetrixVariantReader {
         if (ids.isEmpty()) {
             return false;
         }
-        writer.write(Integer.toString(num));
-        writer.write(separator);
-        writer.write(key);
-        writer.write(separator);
-        writer.write(Integer.toString(ids.size()));
+        StringBuilder law = new StringBuilder();
+        law.append(ids.size());
         for (int i = 0; i < ids.size(); i++) {
-            writer.write(separator);
-            writer.write(ids.get(i));
+            law.append(separator).append(ids.get(i));
             if (values != null) {
-                writer.write(separator);
-                writer.write(formatDouble(values.get(i)));
+                law.append(separator).append(formatDouble(values.get(i)));
+            }
+        }
+        law.append(separator);
+        if (isCarriedForward(num)) {
+            String lawString = law.toString();
+            variantLaws.put(key, lawString);
+            if (lawString.equals(previousVariantLaws.get(key))) {
+                return false;
             }
         }
+        writeLaw(num, key, law);
+        return true;
+    }
+
+    private void writeLaw(int num, String key, CharSequence law) throws IOException {
+        writer.write(Integer.toString(num));
+        writer.write(separator);
+        writer.write(key);
         writer.write(separator);
+        writer.append(law);
         writer.newLine();
-        return true;
+    }
+
+    private boolean isCarriedForward(int num) {
+        return carryForward && num != TimeSeriesMapper.CONSTANT_VARIANT_ID;
+    }
+
+    /**
+     * Laws of the previous variant which are not in the variant are reset to the base values
+     */
+    private boolean writeResetLaws(int num) throws IOException {
+        boolean atLeastOneChange = false;
+        for (String key : previousVariantLaws.keySet()) {
+            if (!variantLaws.containsKey(key)) {
+                writeLaw(num, key, "0" + separator);
+                atLeastOneChange = true;
+            }
+        }
+        Map<String, String> laws = previousVariantLaws;
+        previousVariantLaws = variantLaws;
+        variantLaws = laws;
+        variantLaws.clear();
+        return atLeastOneChange;
     }
 
     private boolean writeVariant(int num, String key, List<String> ids) throws IOException {
@@ -207,6 +314,10 @@ public class MetrixVariantReaderImpl implements MetrixVariantReader {
     @Override
     public void onVariantEnd(int variantNum) {
         addLoadValues();
+        if (variantNum == TimeSeriesMapper.CONSTANT_VARIANT_ID) {
+            // constant probabilities do not depend on the variant
+            addContingencyProbabilityValue(contingencyConstantProbabilities, value -> value);
+        }
         try {
             boolean atLeastOneChange = writeVariant(variantNum, "QUADIN", openBranchList);
             atLeastOneChange |= writeVariant(variantNum, "PRODIN", openGeneratorList);
@@ -216,6 +327,9 @@ public class MetrixVariantReaderImpl implements MetrixVariantReader {
             atLeastOneChange |= writeVariant(variantNum, pstIds, pstValues);
             atLeastOneChange |= writeVariant(variantNum, metrixVariableIds, metrixVariableValues);
             atLeastOneChange |= writeVariant(variantNum, "PROBABINC", contingencyIds, contingencyProbabilityValues);
+            if (isCarriedForward(variantNum)) {
+                atLeastOneChange |= writeResetLaws(variantNum);
+            }
 
             if (!atLeastOneChange && variantNum != TimeSeriesMapper.CONSTANT_VARIANT_ID) {
                 writer.write(Integer.toString(variantNum));
@@ -29,8 +29,11 @@ public class MetrixVariantsWriter {
 
     private static final char SEPARATOR = ';';
 
+    private static final String CARRY_FORWARD_KEYWORD = "CARRY";
+
     private final MetrixVariantProvider variantProvider;
     private final MetrixNetwork metrixNetwork;
+    private final boolean carryForward;
 
     public static String getMetrixKey(EquipmentVariable variable, MappableEquipmentType equipmentType) {
         return switch (equipmentType) {
@@ -102,8 +105,16 @@ public class MetrixVariantsWriter {
     }
 
     public MetrixVariantsWriter(MetrixVariantProvider variantProvider, MetrixNetwork metrixNetwork) {
+        this(variantProvider, metrixNetwork, false);
+    }
+
+    /**
+     * @param carryForward if true, each variant only gives the laws which differ from the previous variant
+     */
+    public MetrixVariantsWriter(MetrixVariantProvider variantProvider, MetrixNetwork metrixNetwork, boolean carryForward) {
         this.variantProvider = variantProvider;
         this.metrixNetwork = metrixNetwork;
+        this.carryForward = carryForward;
     }
 
     public void write(Range<Integer> variantRange, Path file, Path workingDir) throws IOException {
@@ -126,8 +137,12 @@ public class MetrixVariantsWriter {
             int variantCount = variantRange.upperEndpoint() - variantRange.lowerEndpoint() + 1;
             writer.write(Integer.toString(variantCount));
             writer.write(SEPARATOR);
+            if (carryForward) {
+                writer.write(CARRY_FORWARD_KEYWORD);
+                writer.write(SEPARATOR);
+            }
             writer.newLine();
-            variantProvider.readVariants(variantRange, new MetrixVariantReaderImpl(metrixNetwork, writer, SEPARATOR), workingDir);
+            variantProvider.readVariants(variantRange, new MetrixVariantReaderImpl(metrixNetwork, writer, SEPARATOR, variantRange, carryForward), workingDir);
         }
 
     }
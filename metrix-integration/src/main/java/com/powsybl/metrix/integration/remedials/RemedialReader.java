@@ -51,8 +51,8 @@ public final class RemedialReader {
             return bufferedReader.lines()
                     .skip(1) // skip header line
                     .map(s -> s.split(COLUMN_SEPARATOR))
-                    .filter(columns -> columns.length >= FIRST_ACTION_INDEX + 1)
-                    .map(columns -> createRemedialFromLine(columns, line.getAndIncrement()))
+                    .filter(RemedialReader::isRemedialLine)
+                    .map(columns -> createRemedial(columns, line.getAndIncrement()))
                     .toList();
         } catch (IOException e) {
             throw new UncheckedIOException("Erreur lors de la lecture des parades", e);
@@ -66,31 +66,47 @@ public final class RemedialReader {
 
     public static List<String> extractConstraintFromContingencyAndConstraint(String contingencyAndConstraint) {
         String[] nameAndConstraint = contingencyAndConstraint.split(CONSTRAINT_RESTRICTION_SEPARATOR);
+        return extractConstraints(nameAndConstraint);
+    }
+
+    private static List<String> extractConstraints(String[] nameAndConstraint) {
         return Arrays.stream(nameAndConstraint)
                 .skip(1) //skip contingency
                 .map(RemedialReader::rTrim)
                 .toList();
     }
 
-    private static Remedial createRemedialFromLine(String[] columns, int line) {
+    /**
+     * @param columns the columns of a line of the remedial file, split with {@link #COLUMN_SEPARATOR}
+     * @return true if the line describes a remedial, i.e. has at least one action
+     */
+    public static boolean isRemedialLine(String[] columns) {
+        return columns.length >= FIRST_ACTION_INDEX + 1;
+    }
+
+    /**
+     * Create the remedial described by the columns of a line accepted by {@link #isRemedialLine(String[])}.
+     */
+    public static Remedial createRemedial(String[] columns, int line) {
         // column 0 => contingency and constraints
-        String contingency = extractContingencyFromContingencyAndConstraint(columns[0]);
-        List<String> constraint = extractConstraintFromContingencyAndConstraint(columns[0]);
+        String[] nameAndConstraint = columns[0].split(CONSTRAINT_RESTRICTION_SEPARATOR);
+        String contingency = rTrim(nameAndConstraint[0]);
+        List<String> constraint = extractConstraints(nameAndConstraint);
 
         // column 1 => nb actions (unused)
         // column 2 -> n => actions
         List<String> branchToOpen = new ArrayList<>();
         List<String> branchToClose = new ArrayList<>();
-        List<String> actions = new ArrayList<>();
-        Arrays.stream(columns).skip(FIRST_ACTION_INDEX).forEach(a -> {
-            String action = rTrim(a);
+        List<String> actions = new ArrayList<>(columns.length - FIRST_ACTION_INDEX);
+        for (int i = FIRST_ACTION_INDEX; i < columns.length; i++) {
+            String action = rTrim(columns[i]);
             actions.add(action);
             if (action.startsWith(BRANCH_TO_CLOSE_SYMBOL)) {
                 branchToClose.add(action.substring(1));
             } else {
                 branchToOpen.add(action);
             }
-        });
+        }
         return new Remedial(line, contingency, constraint, branchToOpen, branchToClose, String.join(COLUMN_SEPARATOR, actions));
     }
 }
@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -23,11 +24,24 @@ public class LocalThreadExecutor<T> {
 
     private final String threadName;
 
+    private final Executor executor;
+
     public LocalThreadExecutor(String threadName) {
+        this(threadName, null);
+    }
+
+    /**
+     * @param executor executor running the tasks, the thread running a task being named after it while the task
+     *                 runs. If {@code null}, a new thread is started for each task.
+     */
+    public LocalThreadExecutor(String threadName, Executor executor) {
         if (StringUtils.isEmpty(threadName)) {
             throw new IllegalArgumentException("threadName cannot be null");
         }
         this.threadName = threadName;
+        this.executor = executor != null
+                ? r -> executor.execute(() -> runNamed(r))
+                : r -> new Thread(r, threadName + "_" + Instant.now()).start();
     }
 
     public CompletableFuture<T> supplyAsync(Supplier<T> command) {
@@ -37,7 +51,7 @@ public class LocalThreadExecutor<T> {
             long elapsed = System.currentTimeMillis() - begin;
             logExecutionTime(threadName, elapsed);
             return result;
-        }, r -> new Thread(r, threadName + "_" + Instant.now()).start());
+        }, executor);
     }
 
     public CompletableFuture<Void> runAsync(Runnable command) {
@@ -46,7 +60,18 @@ public class LocalThreadExecutor<T> {
             command.run();
             long elapsed = System.currentTimeMillis() - begin;
             logExecutionTime(threadName, elapsed);
-        }, r -> new Thread(r, threadName + "_" + Instant.now()).start());
+        }, executor);
+    }
+
+    private void runNamed(Runnable command) {
+        Thread thread = Thread.currentThread();
+        String previousName = thread.getName();
+        thread.setName(threadName + "_" + Instant.now());
+        try {
+            command.run();
+        } finally {
+            thread.setName(previousName);
+        }
     }
 
     private static void logExecutionTime(String threadName, long elapsed) {
@@ -22,6 +22,7 @@ import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -71,10 +72,38 @@ class MetrixConfigTest {
         config.setStringProperty("constant-loss-factor", "true");
         config.setStringProperty("chunk-size", "333");
         config.setStringProperty("result-limit", "20000");
+        config.setStringProperty("result-parsing-thread-count", "4");
+        config.setStringProperty("result-storage-thread-count", "3");
+        config.setStringProperty("result-queue-size", "32");
+        config.setStringProperty("analysis-thread-count", "6");
+        config.setStringProperty("propagation-thread-count", "7");
+        config.setStringProperty("topology-aware-chunks", "true");
+        config.setStringProperty("binary-results", "true");
+        config.setStringProperty("carry-forward-variants", "true");
+        config.setStringProperty("worker-count", "3");
+        config.setStringProperty("predict-constraints", "true");
+        config.setStringProperty("predicted-constraints-threshold", "0.8");
+        config.setStringProperty("max-constraints-by-iteration", "100");
+        config.setStringProperty("constraints-by-incident", "2");
+        config.setStringProperty("adaptive-constraints-limit", "true");
         MetrixConfig metrixConfig = MetrixConfig.load(platformConfig);
         assertTrue(metrixConfig.isConstantLossFactor());
         assertEquals(333, metrixConfig.getChunkSize());
         assertEquals(20000, metrixConfig.getResultNumberLimit());
+        assertEquals(4, metrixConfig.getResultParsingThreadCount());
+        assertEquals(3, metrixConfig.getResultStorageThreadCount());
+        assertEquals(32, metrixConfig.getResultQueueSize());
+        assertEquals(6, metrixConfig.getAnalysisThreadCount());
+        assertEquals(7, metrixConfig.getPropagationThreadCount());
+        assertTrue(metrixConfig.isTopologyAwareChunks());
+        assertTrue(metrixConfig.isBinaryResults());
+        assertTrue(metrixConfig.isCarryForwardVariants());
+        assertEquals(3, metrixConfig.getWorkerCount());
+        assertTrue(metrixConfig.isPredictConstraints());
+        assertEquals(0.8, metrixConfig.getPredictedConstraintsThreshold(), 0);
+        assertEquals(100, metrixConfig.getMaxConstraintsByIteration());
+        assertEquals(2, metrixConfig.getConstraintsByIncident());
+        assertTrue(metrixConfig.isAdaptiveConstraintsLimit());
     }
 
     @Test
@@ -88,5 +117,37 @@ class MetrixConfigTest {
         assertEquals(10000, metrixConfig.getResultNumberLimit());
         assertEquals(0, metrixConfig.getDebugLogLevel());
         assertEquals(2, metrixConfig.getLogLevel());
+        assertEquals(2, metrixConfig.getResultParsingThreadCount());
+        assertEquals(1, metrixConfig.getResultStorageThreadCount());
+        assertEquals(16, metrixConfig.getResultQueueSize());
+        assertEquals(4, metrixConfig.getAnalysisThreadCount());
+        assertEquals(4, metrixConfig.getPropagationThreadCount());
+        assertFalse(metrixConfig.isTopologyAwareChunks());
+        assertFalse(metrixConfig.isBinaryResults());
+        assertFalse(metrixConfig.isCarryForwardVariants());
+        assertEquals(0, metrixConfig.getWorkerCount());
+        assertFalse(metrixConfig.isPredictConstraints());
+        assertEquals(0.9, metrixConfig.getPredictedConstraintsThreshold(), 0);
+        assertEquals(200, metrixConfig.getMaxConstraintsByIteration());
+        assertEquals(0, metrixConfig.getConstraintsByIncident());
+        assertFalse(metrixConfig.isAdaptiveConstraintsLimit());
+        assertEquals(MetrixConfig.getDefaultPredictedConstraintsThreshold(), metrixConfig.getPredictedConstraintsThreshold(), 0);
+        assertEquals(MetrixConfig.getDefaultMaxConstraintsByIteration(), metrixConfig.getMaxConstraintsByIteration());
+        assertEquals(MetrixConfig.getDefaultConstraintsByIncident(), metrixConfig.getConstraintsByIncident());
+    }
+
+    @Test
+    void invalidResultPipelineConfig() {
+        MetrixConfig metrixConfig = MetrixConfig.load(platformConfig);
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setResultParsingThreadCount(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setResultStorageThreadCount(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setResultQueueSize(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setAnalysisThreadCount(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setPropagationThreadCount(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setWorkerCount(-1));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setPredictedConstraintsThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setPredictedConstraintsThreshold(1.5));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setMaxConstraintsByIteration(0));
+        assertThrows(IllegalArgumentException.class, () -> metrixConfig.setConstraintsByIncident(-1));
     }
 }
@@ -71,6 +71,49 @@ class MetrixInputDataGeneratorTest {
         assertEquals(List.of("logs.txt", "variantes.csv", "result", "2", "4", "--log-level=info", "--write-PTDF", "--write-LODF"), args);
     }
 
+    @Test
+    void getArgsWithConstraintsOptionsTest() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        //GIVEN
+        MetrixConfig config = metrixConfig()
+            .setPredictConstraints(true)
+            .setPredictedConstraintsThreshold(0.5)
+            .setMaxConstraintsByIteration(50)
+            .setConstraintsByIncident(1)
+            .setAdaptiveConstraintsLimit(true);
+        gen = new MetrixInputDataGenerator(config, Paths.get("/testOut"), null);
+
+        //WHEN
+        MetrixVariantProvider.Variants variants = new MetrixVariantProvider.Variants(2, 5);
+        Method method = MetrixInputDataGenerator.class.getDeclaredMethod("getArgs", MetrixVariantProvider.Variants.class, boolean.class, boolean.class);
+        method.setAccessible(true); // Allow to access private method
+
+        //THEN
+        Object args = method.invoke(gen, variants, false, false);
+        assertEquals(List.of("logs.txt", "variantes.csv", "result", "2", "4", "--log-level=info", "--predict-constraints",
+            "--predicted-constraints-threshold=0.5", "--max-constraints-by-iteration=50", "--constraints-by-incident=1",
+            "--adaptive-constraints-limit"), args);
+    }
+
+    @Test
+    void getArgsWithDefaultConstraintsOptionsTest() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        //GIVEN
+        MetrixConfig config = metrixConfig()
+            .setPredictConstraints(true)
+            .setPredictedConstraintsThreshold(MetrixConfig.getDefaultPredictedConstraintsThreshold())
+            .setMaxConstraintsByIteration(MetrixConfig.getDefaultMaxConstraintsByIteration())
+            .setConstraintsByIncident(MetrixConfig.getDefaultConstraintsByIncident());
+        gen = new MetrixInputDataGenerator(config, Paths.get("/testOut"), null);
+
+        //WHEN
+        MetrixVariantProvider.Variants variants = new MetrixVariantProvider.Variants(2, 5);
+        Method method = MetrixInputDataGenerator.class.getDeclaredMethod("getArgs", MetrixVariantProvider.Variants.class, boolean.class, boolean.class);
+        method.setAccessible(true); // Allow to access private method
+
+        //THEN
+        Object args = method.invoke(gen, variants, false, false);
+        assertEquals(List.of("logs.txt", "variantes.csv", "result", "2", "4", "--log-level=info", "--predict-constraints"), args);
+    }
+
     @Test
     void initMetrixInputDataGeneratorWithoutFsu() {
         // GIVEN
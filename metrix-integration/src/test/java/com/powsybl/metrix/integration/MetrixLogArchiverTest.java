@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class MetrixLogArchiverTest {
+
+    private FileSystem fileSystem;
+
+    private Path logDir;
+
+    private final List<String> appLogs = new ArrayList<>();
+
+    private final MetrixAppLogger appLogger = new MetrixAppLogger() {
+        @Override
+        public void log(String message, Object... args) {
+            appLogs.add(String.format(message, args));
+        }
+
+        @Override
+        public MetrixAppLogger tagged(String tag) {
+            return this;
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        logDir = Files.createDirectories(fileSystem.getPath("/tmp/logs"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    @Test
+    void archiveInChunkOrderTest() throws IOException {
+        Files.writeString(logDir.resolve(AbstractMetrix.getLogFileName(1, 0)), "log chunk 0");
+        Files.writeString(logDir.resolve(String.format(AbstractMetrix.getLogDetailFileNameFormat(1, 0), 0)), "detail 0 chunk 0");
+        Files.writeString(logDir.resolve(String.format(AbstractMetrix.getLogDetailFileNameFormat(1, 0), 1)), "detail 1 chunk 0");
+        Files.writeString(logDir.resolve(AbstractMetrix.getLogFileName(1, 2)), "log chunk 2");
+        Files.writeString(logDir.resolve(String.format(AbstractMetrix.getLogDetailFileNameFormat(1, 2), 0)), "detail 0 chunk 2");
+        // No log for chunk 1
+
+        Path archivePath = fileSystem.getPath("/tmp/logs.zip");
+        try (ZipOutputStream archive = new ZipOutputStream(Files.newOutputStream(archivePath));
+             MetrixLogArchiver archiver = new MetrixLogArchiver(archive, logDir, List.of(1), 0, 3, appLogger)) {
+            // Chunks done in reverse order, chunk 0 is never notified
+            archiver.chunkDone(1, 2);
+            archiver.chunkDone(1, 1);
+            archiver.finish();
+        }
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(archivePath))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(entries).containsExactly(
+                Map.entry("log_1_0.txt", "log chunk 0"),
+                Map.entry("metrix000_1_0.log", "detail 0 chunk 0"),
+                Map.entry("metrix001_1_0.log", "detail 1 chunk 0"),
+                Map.entry("log_1_2.txt", "log chunk 2"),
+                Map.entry("metrix000_1_2.log", "detail 0 chunk 2"));
+        assertThat(appLogs).isEmpty();
+    }
+}
@@ -8,6 +8,8 @@
 package com.powsybl.metrix.integration;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
 import com.powsybl.iidm.network.HvdcLine;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.serde.NetworkSerDe;
@@ -32,14 +34,21 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.powsybl.metrix.integration.AbstractCompareTxt.compareStreamTxt;
@@ -184,4 +193,41 @@ class MetrixRunResultTest {
                     new ByteArrayInputStream(actual.getBytes(StandardCharsets.UTF_8))));
         }
     }
+
+    @Test
+    void metrixBinaryFlowsResultTest() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path dir = fileSystem.getPath("/work");
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(MetrixOutputData.getFileName(3)), String.join(System.lineSeparator(),
+                "C4 ;INCIDENTS;NUMERO;TYPE;OUVRAGE;",
+                "C4 ;;    1;1;INC_1;",
+                "C4 ;;    2;1;INC_2;",
+                "C1 ;COMPTE RENDU;CODE;",
+                "C1 ;;0;"));
+
+            ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(2);
+            for (String branch : List.of("LINE_A", "LINE_B")) {
+                byte[] name = branch.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(name.length).put(name);
+            }
+            buffer.putInt(3);
+            buffer.putInt(0).putInt(1).putDouble(12.345);
+            buffer.putInt(0).putInt(2).putDouble(-1.5);
+            buffer.putInt(1).putInt(2).putDouble(0.01);
+            Files.write(dir.resolve(MetrixOutputData.getBinaryFileName(3)), Arrays.copyOf(buffer.array(), buffer.position()));
+
+            MetrixOutputData results = new MetrixOutputData(3, 1);
+            results.readFile(dir, 3);
+            List<TimeSeries> timeSeries = new ArrayList<>();
+            results.createTimeSeries(index, Collections.emptyList(), timeSeries);
+
+            Map<String, Double> flows = new HashMap<>();
+            timeSeries.stream()
+                .filter(ts -> ts.getMetadata().getName().startsWith(MetrixOutputData.FLOW_NAME))
+                .forEach(ts -> flows.put(ts.getMetadata().getName(), ((DoubleTimeSeries) ts).toArray()[3]));
+            assertEquals(Map.of("FLOW_LINE_A_INC_1", 12.345, "FLOW_LINE_A_INC_2", -1.5, "FLOW_LINE_B_INC_2", 0.01), flows);
+        }
+    }
 }
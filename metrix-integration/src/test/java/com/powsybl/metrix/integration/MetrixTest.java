@@ -23,16 +23,20 @@ import com.powsybl.metrix.commons.data.timeseries.InMemoryTimeSeriesStore;
 import com.powsybl.metrix.integration.analysis.MetrixAnalysisResult;
 import com.powsybl.metrix.integration.chunk.MetrixChunk;
 import com.powsybl.metrix.integration.chunk.MetrixChunkParam;
+import com.powsybl.metrix.integration.chunk.MetrixChunkResultPipeline;
 import com.powsybl.metrix.integration.configuration.MetrixConfig;
 import com.powsybl.metrix.integration.configuration.MetrixParameters;
 import com.powsybl.metrix.integration.configuration.MetrixRunParameters;
+import com.powsybl.metrix.integration.data.generator.MetrixOutputData;
 import com.powsybl.metrix.integration.io.MetrixConfigResult;
 import com.powsybl.metrix.integration.io.ResultListener;
 import com.powsybl.metrix.integration.network.MetrixVariantProvider;
 import com.powsybl.metrix.integration.network.MetrixVariantReader;
 import com.powsybl.metrix.mapping.MappingParameters;
 import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
+import com.powsybl.timeseries.DoubleTimeSeries;
 import com.powsybl.timeseries.InfiniteTimeSeriesIndex;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
 import com.powsybl.timeseries.TimeSeries;
 import com.powsybl.timeseries.TimeSeriesIndex;
 import org.junit.jupiter.api.AfterEach;
@@ -42,9 +46,15 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -211,4 +221,97 @@ class MetrixTest {
         assertThat(run1.get()).isNotNull();
         assertThat(run2.get()).isNotNull();
     }
+
+    @Test
+    void testMetrixChunkPipelineWithBinaryResults() throws IOException {
+        Files.createDirectories(fileSystem.getPath("/tmp", "etc"));
+        LocalComputationConfig localComputationConfig = LocalComputationConfig.load(PlatformConfig.defaultConfig(), fileSystem);
+        // the simulator writes the flows on contingencies in the binary file and the rest of the results in the text one
+        LocalCommandExecutor commandExecutor = new LocalCommandExecutor() {
+            @Override
+            public int execute(String program, List<String> args, Path outFile, Path errFile, Path workingDir, Map<String, String> env) {
+                assertThat(args).contains("--binary-results");
+                ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+                byte[] branch = "LINE_A".getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(1).putInt(branch.length).put(branch);
+                buffer.putInt(1).putInt(0).putInt(1).putDouble(12.3);
+                try {
+                    Files.writeString(workingDir.resolve(MetrixOutputData.getFileName(0)), String.join(System.lineSeparator(),
+                        "C4 ;INCIDENTS;NUMERO;TYPE;OUVRAGE;",
+                        "C4 ;;    1;1;INC_1;",
+                        "C1 ;COMPTE RENDU;CODE;",
+                        "C1 ;;0;"));
+                    Files.write(workingDir.resolve(MetrixOutputData.getBinaryFileName(0)), Arrays.copyOf(buffer.array(), buffer.position()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return 0;
+            }
+
+            @Override
+            public void stop(Path path) {
+                // Nothing to do here
+            }
+
+            @Override
+            public void stopForcibly(Path path) {
+                // Nothing to do here
+            }
+        };
+        ComputationManager computationManager = new LocalComputationManager(localComputationConfig, commandExecutor, Executors.newSingleThreadExecutor());
+
+        Network network = NetworkSerDe.read(Objects.requireNonNull(MetrixTest.class.getResourceAsStream("/simpleNetwork.xml")));
+        MetrixVariantProvider variantProvider = new MetrixVariantProvider() {
+            @Override
+            public Range<Integer> getVariantRange() {
+                return Range.closed(0, 0);
+            }
+
+            @Override
+            public TimeSeriesIndex getIndex() {
+                return RegularTimeSeriesIndex.create(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-01T00:00:00Z"), Duration.ofHours(1));
+            }
+
+            @Override
+            public Set<String> getMappedBreakers() {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public void readVariants(Range<Integer> variantReadRange, MetrixVariantReader reader, Path workingDir) {
+                // Nothing to do here
+            }
+        };
+
+        MetrixConfig metrixConfig = MetrixConfig.load();
+        metrixConfig.setHomeDir(fileSystem.getPath("/tmp"));
+        metrixConfig.setCommand("metrix-simulator");
+        metrixConfig.setBinaryResults(true);
+        MetrixChunkParam metrixChunkParam = new MetrixChunkParam.MetrixChunkParamBuilder().simpleInit(1, false, false,
+                network1 -> Collections.emptyList(), null, null, null, null).build();
+        MetrixChunk metrixChunk = new MetrixChunk(network, computationManager, metrixChunkParam, metrixConfig, null);
+
+        Map<String, double[]> flows = new HashMap<>();
+        ResultListener listener = new ResultListener() {
+            @Override
+            public void onChunkResult(int version, int chunk, List<TimeSeries> timeSeriesList, Network networkPoint) {
+                timeSeriesList.stream()
+                    .filter(ts -> ts.getMetadata().getName().startsWith(MetrixOutputData.FLOW_NAME))
+                    .forEach(ts -> flows.put(ts.getMetadata().getName(), ((DoubleTimeSeries) ts).toArray()));
+            }
+
+            @Override
+            public void onEnd() {
+                // Nothing to do here
+            }
+        };
+        Path stagingDir = Files.createDirectories(fileSystem.getPath("/staging"));
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(stagingDir, listener, 1, 1, 2)) {
+            metrixChunk.run(new MetrixParameters(), new MetrixDslData(), variantProvider, pipeline, 0).join();
+        }
+
+        // the binary file has been moved with the text one to the staging directory of the pipeline
+        assertThat(flows).containsOnlyKeys("FLOW_LINE_A_INC_1");
+        assertThat(flows.get("FLOW_LINE_A_INC_1")).containsExactly(12.3);
+    }
 }
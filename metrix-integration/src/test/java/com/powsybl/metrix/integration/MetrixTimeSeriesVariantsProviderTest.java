@@ -99,7 +99,8 @@ class MetrixTimeSeriesVariantsProviderTest {
                 TimeSeries.createDouble("variable_ts1", index, 200d, 201d),
                 TimeSeries.createDouble("constant_ts2", index, 300d, 300d),
                 TimeSeries.createDouble("variable_ts2", index, 400d, 401d),
-                TimeSeries.createDouble("variable_ts3", index, 600d, 601d)
+                TimeSeries.createDouble("variable_ts3", index, 600d, 601d),
+                TimeSeries.createDouble("constant_probability_ts", index, 0.001d, 0.001d)
         );
 
         ContingenciesProvider contingenciesProvider = n -> {
@@ -107,7 +108,9 @@ class MetrixTimeSeriesVariantsProviderTest {
             a.addExtension(Probability.class, new Probability(0.002d, null));
             Contingency b = new Contingency("b", Arrays.asList(new BranchContingency("FS.BIS1  FVALDI1  1"), new BranchContingency("FP.AND1  FVERGE1  2")));
             b.addExtension(Probability.class, new Probability(null, "variable_ts1"));
-            return Arrays.asList(a, b);
+            Contingency c = new Contingency("c", Collections.singletonList(new BranchContingency("FVALDI1  FTDPRA1  1")));
+            c.addExtension(Probability.class, new Probability(null, "constant_probability_ts"));
+            return Arrays.asList(a, b, c);
         };
 
         MetrixParameters metrixParameters = MetrixParameters.load();
@@ -138,19 +141,21 @@ class MetrixTimeSeriesVariantsProviderTest {
                 mappingConfig, metrixDslData, metrixChunkParam, variantRange, System.err);
 
         try (BufferedWriter writer = Files.newBufferedWriter(variantFile, StandardCharsets.UTF_8)) {
-            variantProvider.readVariants(Range.closed(0, 1), new MetrixVariantReaderImpl(metrixNetwork, writer, SEPARATOR), workingDir);
+            variantProvider.readVariants(Range.closed(0, 1), new MetrixVariantReaderImpl(metrixNetwork, writer, SEPARATOR, Range.closed(0, 1)), workingDir);
         }
 
         assertEquals(String.join(System.lineSeparator(),
                 "-1;QATI00MN;2;FVALDI1  FTDPRA1  1;999;FS.BIS1  FVALDI1  1;500;",
+                "-1;PROBABINC;1;a;0.002;",
+                "-1;PROBABINC;1;c;0.001;",
                 "0;PRODIM;2;FSSV.O11_G;100;FSSV.O12_G;200;",
                 "0;CONELE;4;FSSV.O11_L;300;FVALDI11_L;400;FVALDI11_L2;500;FVERGE11_L;400;",
                 "0;QATI00MN;1;FP.AND1  FVERGE1  2;600;",
-                "0;PROBABINC;2;b;200;a;0.002;",
+                "0;PROBABINC;1;b;200;",
                 "1;PRODIM;2;FSSV.O11_G;100;FSSV.O12_G;201;",
                 "1;CONELE;4;FSSV.O11_L;300;FVALDI11_L;401;FVALDI11_L2;501;FVERGE11_L;400;",
                 "1;QATI00MN;1;FP.AND1  FVERGE1  2;601;",
-                "1;PROBABINC;2;b;201;a;0.002;") + System.lineSeparator(),
+                "1;PROBABINC;1;b;201;") + System.lineSeparator(),
                 Files.readString(variantFile));
     }
 }
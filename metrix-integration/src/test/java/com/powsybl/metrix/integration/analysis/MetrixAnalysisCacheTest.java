@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.analysis;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.contingency.EmptyContingencyListProvider;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.serde.NetworkSerDe;
+import com.powsybl.metrix.commons.data.datatable.DataTableStore;
+import com.powsybl.metrix.integration.MetrixAppLogger;
+import com.powsybl.metrix.integration.network.NetworkSource;
+import com.powsybl.metrix.mapping.TimeSeriesDslLoader;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStoreCache;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeries;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.Interval;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class MetrixAnalysisCacheTest {
+
+    private static final String MAPPING_SCRIPT = "println(\"log\")";
+
+    private static final String REMEDIAL_ACTIONS = """
+        NB;1;
+        FS.BIS1_FS.BIS1_DJ_OMN;1;FP.AND1  FVERGE1  1;
+        """;
+
+    private FileSystem fileSystem;
+    private Path cacheDir;
+    private Network network;
+    private NetworkSource networkSource;
+    private final List<String> appLogs = new ArrayList<>();
+    private final MetrixAppLogger appLogger = new MetrixAppLogger() {
+        @Override
+        public void log(String message, Object... args) {
+            appLogs.add(String.format(message, args));
+        }
+
+        @Override
+        public MetrixAppLogger tagged(String tag) {
+            return this;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        cacheDir = fileSystem.getPath("/cache");
+        network = NetworkSerDe.read(Objects.requireNonNull(getClass().getResourceAsStream("/simpleNetwork.xml")));
+        networkSource = new NetworkSource() {
+            @Override
+            public Network copy() {
+                return network;
+            }
+
+            @Override
+            public void write(OutputStream os) {
+                NetworkSerDe.write(network, os);
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    private MetrixAnalysisResult runAnalysis(String mappingScript, StringWriter scriptLog) {
+        return runAnalysis(mappingScript, new ReadOnlyTimeSeriesStoreCache(), scriptLog);
+    }
+
+    private MetrixAnalysisResult runAnalysis(String mappingScript, ReadOnlyTimeSeriesStore store, StringWriter scriptLog) {
+        MetrixAnalysis metrixAnalysis = new MetrixAnalysis(networkSource, new TimeSeriesDslLoader(mappingScript), null,
+            new StringReader(REMEDIAL_ACTIONS), new EmptyContingencyListProvider(), store,
+            new DataTableStore(), appLogger, null);
+        metrixAnalysis.setScriptLogWriter(scriptLog);
+        metrixAnalysis.setAnalysisCache(new MetrixAnalysisCache(cacheDir), null);
+        return metrixAnalysis.runAnalysis("");
+    }
+
+    private List<Path> cacheEntries() throws IOException {
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            return entries.toList();
+        }
+    }
+
+    @Test
+    void cacheHitTest() throws IOException {
+        StringWriter firstScriptLog = new StringWriter();
+        MetrixAnalysisResult first = runAnalysis(MAPPING_SCRIPT, firstScriptLog);
+        assertThat(cacheEntries()).hasSize(1);
+        assertThat(appLogs).noneMatch(log -> log.contains("loaded from cache"));
+
+        StringWriter secondScriptLog = new StringWriter();
+        MetrixAnalysisResult second = runAnalysis(MAPPING_SCRIPT, secondScriptLog);
+        assertThat(appLogs).anyMatch(log -> log.contains("loaded from cache"));
+        assertThat(secondScriptLog).hasToString(firstScriptLog.toString());
+        assertThat(second.mappingConfig()).isEqualTo(first.mappingConfig());
+        assertThat(second.metrixParameters()).isEqualTo(first.metrixParameters());
+        assertThat(second.contingencies()).isEqualTo(first.contingencies());
+        assertThat(second.remedials()).isEqualTo(first.remedials());
+        assertThat(second.metrixConfigResult().getMappingTimeSeriesNodes()).isEqualTo(first.metrixConfigResult().getMappingTimeSeriesNodes());
+        assertThat(second.metrixDslData()).isNull();
+    }
+
+    @Test
+    void cacheMissOnInputChangeTest() throws IOException {
+        runAnalysis(MAPPING_SCRIPT, new StringWriter());
+        runAnalysis(MAPPING_SCRIPT + "\nprintln(\"other log\")", new StringWriter());
+        assertThat(cacheEntries()).hasSize(2);
+        assertThat(appLogs).noneMatch(log -> log.contains("loaded from cache"));
+    }
+
+    @Test
+    void invalidEntryTest() throws IOException {
+        runAnalysis(MAPPING_SCRIPT, new StringWriter());
+        Path entry = cacheEntries().get(0);
+        Files.writeString(entry.resolve("mappingConfig.json"), "{", StandardCharsets.UTF_8);
+
+        MetrixAnalysisResult result = runAnalysis(MAPPING_SCRIPT, new StringWriter());
+        assertThat(result.mappingConfig()).isNotNull();
+        assertThat(appLogs).noneMatch(log -> log.contains("loaded from cache"));
+
+        // Entry has been stored again
+        runAnalysis(MAPPING_SCRIPT, new StringWriter());
+        assertThat(appLogs).anyMatch(log -> log.contains("loaded from cache"));
+    }
+
+    @Test
+    void noCacheOnValuesReadTest() throws IOException {
+        String mappingScript = "println sum(ts['ts1'])";
+        TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-07-20T00:00:00Z"), Duration.ofDays(100));
+
+        StringWriter firstScriptLog = new StringWriter();
+        runAnalysis(mappingScript, new ReadOnlyTimeSeriesStoreCache(TimeSeries.createDouble("ts1", index, 1d, 2d, 3d)), firstScriptLog);
+        assertThat(firstScriptLog.toString()).contains("6.0");
+
+        // Same names, metadata and versions, only the values differ
+        StringWriter secondScriptLog = new StringWriter();
+        runAnalysis(mappingScript, new ReadOnlyTimeSeriesStoreCache(TimeSeries.createDouble("ts1", index, 10d, 20d, 30d)), secondScriptLog);
+        assertThat(secondScriptLog.toString()).contains("60.0");
+
+        assertThat(Files.exists(cacheDir) ? cacheEntries() : List.of()).isEmpty();
+        assertThat(appLogs).noneMatch(log -> log.contains("loaded from cache"))
+            .anyMatch(log -> log.contains("not cached"));
+    }
+}
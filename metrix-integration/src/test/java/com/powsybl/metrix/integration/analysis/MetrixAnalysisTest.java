@@ -25,7 +25,11 @@ import org.junit.jupiter.api.Test;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.FileSystem;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -33,6 +37,7 @@ import java.util.function.Consumer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -188,4 +193,42 @@ class MetrixAnalysisTest {
         String output = appLoggerOutputStream.toString();
         assertTrue(output.contains("schemaName"));
     }
+
+    @Test
+    void executorTest() throws IOException {
+        // Contingencies and remedial actions are loaded on their own network, not on the one used by the scripts
+        List<Network> networks = new CopyOnWriteArrayList<>();
+        networkSource = new NetworkSource() {
+            @Override
+            public Network copy() {
+                Network copy = NetworkSerDe.read(Objects.requireNonNull(getClass().getResourceAsStream("/simpleNetwork.xml")));
+                networks.add(copy);
+                return copy;
+            }
+
+            @Override
+            public void write(OutputStream os) {
+                // Nothing to do here
+            }
+        };
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(outputStream))) {
+            MetrixAnalysis metrixAnalysis = metrixAnalysis("println(\"log\")", "WRONG");
+            metrixAnalysis.setExecutor(command -> executor.execute(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                command.run();
+            }));
+            metrixAnalysis.setInputLogWriter(out);
+            metrixAnalysis.runAnalysis("id");
+        } finally {
+            executor.shutdown();
+        }
+        // Mapping script evaluation, then contingencies and remedial actions loading
+        assertEquals(2, threadNames.size());
+        assertEquals(2, networks.size());
+        assertNotSame(networks.get(0), networks.get(1));
+        assertFalse(outputStream.toString().isEmpty());
+    }
 }
@@ -388,4 +388,13 @@ class MetrixRemedialAnalysisTest {
                 String.join(System.lineSeparator(), "NB;1;", "ctyId;0;"),
                 "");
     }
+
+    @Test
+    void validRemedialFileTrailingEmptyLineTest() throws IOException {
+        remedialTest(
+                getBranchContingenciesProvider(),
+                getBranchMonitoringMetrixDslData(),
+                String.join(System.lineSeparator(), "NB;1;", "ctyId|FS.BIS1  FVALDI1  1;1;FP.AND1  FVERGE1  2;", "", ""),
+                "");
+    }
 }
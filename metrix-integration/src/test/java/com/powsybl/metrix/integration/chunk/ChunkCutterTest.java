@@ -12,6 +12,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -61,4 +62,19 @@ class ChunkCutterTest {
         assertEquals(Range.closed(192, 200), cutter.getChunkRange(1));
         assertEquals(List.of(Range.closed(100, 191), Range.closed(192, 200)), cutter.getRanges());
     }
+
+    @Test
+    void topologyAwareTest() {
+        // Topology changes at 7 and 14: chunks end just before them
+        ChunkCutter cutter = new ChunkCutter(List.of(Range.closed(0, 29)), 10, new TreeSet<>(List.of(7, 14)));
+        assertEquals(List.of(Range.closed(0, 6), Range.closed(7, 13), Range.closed(14, 23), Range.closed(24, 29)), cutter.getRanges());
+
+        // Topology change too close to the start of the chunk: chunk size is kept
+        cutter = new ChunkCutter(List.of(Range.closed(0, 29)), 10, new TreeSet<>(List.of(3, 12)));
+        assertEquals(List.of(Range.closed(0, 9), Range.closed(10, 19), Range.closed(20, 29)), cutter.getRanges());
+
+        // Without topology change, same chunks as the default cutting
+        assertEquals(new ChunkCutter(List.of(Range.closed(100, 200)), 92).getRanges(),
+                new ChunkCutter(List.of(Range.closed(100, 200)), 92, new TreeSet<>()).getRanges());
+    }
 }
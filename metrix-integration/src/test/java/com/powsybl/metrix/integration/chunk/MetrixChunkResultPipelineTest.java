@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.google.common.collect.Range;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.metrix.integration.exceptions.MetrixException;
+import com.powsybl.metrix.integration.io.ResultListener;
+import com.powsybl.metrix.integration.network.MetrixVariantProvider;
+import com.powsybl.metrix.integration.network.MetrixVariantReader;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeries;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.powsybl.metrix.integration.data.generator.MetrixOutputData.ERROR_CODE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class MetrixChunkResultPipelineTest {
+
+    private FileSystem fileSystem;
+
+    private Path stagingDir;
+
+    private final Map<Integer, List<TimeSeries>> storedChunks = new ConcurrentHashMap<>();
+
+    private final ResultListener listener = new ResultListener() {
+        @Override
+        public void onChunkResult(int version, int chunk, List<TimeSeries> timeSeriesList, Network networkPoint) {
+            storedChunks.put(chunk, timeSeriesList);
+        }
+
+        @Override
+        public void onEnd() {
+            // Nothing to do here
+        }
+    };
+
+    private final MetrixVariantProvider variantProvider = new MetrixVariantProvider() {
+        @Override
+        public Range<Integer> getVariantRange() {
+            return Range.closed(0, 1);
+        }
+
+        @Override
+        public TimeSeriesIndex getIndex() {
+            return RegularTimeSeriesIndex.create(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-01T01:00:00Z"), Duration.ofHours(1));
+        }
+
+        @Override
+        public Set<String> getMappedBreakers() {
+            return Set.of();
+        }
+
+        @Override
+        public void readVariants(Range<Integer> variantReadRange, MetrixVariantReader reader, Path workingDir) {
+            // Nothing to do here
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        stagingDir = Files.createDirectories(fileSystem.getPath("/tmp/staging"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    @Test
+    void ingestRawResultsTest() throws IOException {
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(stagingDir, listener, 2, 1, 1)) {
+            // No result file for any variant : error code time series
+            Path rawResultDir = pipeline.reserve(1, 0);
+            pipeline.ingest(1, 0, CompletableFuture.completedFuture(Optional.of(rawResultDir)), variantProvider).join();
+            assertThat(storedChunks.get(0)).extracting(ts -> ts.getMetadata().getName()).containsExactly(ERROR_CODE_NAME);
+            assertThat(rawResultDir).doesNotExist();
+
+            // Slot has been released, second reservation does not block
+            Path secondRawResultDir = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pipeline.reserve(1, 1));
+            pipeline.ingest(1, 1, CompletableFuture.completedFuture(Optional.of(secondRawResultDir)), variantProvider).join();
+            assertThat(storedChunks).containsOnlyKeys(0, 1);
+        }
+    }
+
+    @Test
+    void ingestFailedExecutionTest() throws IOException {
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(stagingDir, listener, 1, 1, 1)) {
+            // the failure is propagated instead of storing an empty result
+            CompletableFuture<Void> future = pipeline.ingest(1, 0, CompletableFuture.completedFuture(Optional.empty()), variantProvider);
+            CompletionException e = assertThrows(CompletionException.class, future::join);
+            assertThat(e).hasCauseInstanceOf(MetrixException.class);
+            assertThat(storedChunks).isEmpty();
+
+            // no slot had been reserved by the failed execution
+            assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pipeline.reserve(1, 1))).exists();
+        }
+    }
+
+    @Test
+    void resultParsingLoggerTest() throws IOException {
+        List<String> events = new ArrayList<>();
+        MetrixChunkLogger chunkLogger = new MetrixChunkLogger() {
+            @Override
+            public void beforeResultParsing() {
+                events.add("before");
+            }
+
+            @Override
+            public void afterResultParsing(int resultCount) {
+                events.add("after " + resultCount);
+            }
+        };
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(stagingDir, listener, 1, 1, 1)) {
+            Path rawResultDir = pipeline.reserve(1, 0);
+            pipeline.ingest(1, 0, CompletableFuture.completedFuture(Optional.of(rawResultDir)), variantProvider, chunkLogger).join();
+        }
+        assertThat(events).containsExactly("before", "after 2");
+    }
+
+    @Test
+    void cancelReleasesSlotTest() throws IOException {
+        try (MetrixChunkResultPipeline pipeline = new MetrixChunkResultPipeline(stagingDir, listener, 1, 1, 1)) {
+            Path rawResultDir = pipeline.reserve(1, 0);
+            pipeline.cancel(rawResultDir);
+            assertThat(rawResultDir).doesNotExist();
+            assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pipeline.reserve(1, 0))).exists();
+        }
+    }
+
+    @Test
+    void invalidSizingTest() {
+        assertThrows(IllegalArgumentException.class, () -> new MetrixChunkResultPipeline(stagingDir, listener, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MetrixChunkResultPipeline(stagingDir, listener, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MetrixChunkResultPipeline(stagingDir, listener, 1, 1, 0));
+    }
+}
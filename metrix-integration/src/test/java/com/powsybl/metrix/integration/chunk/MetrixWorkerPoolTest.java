@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.powsybl.computation.FilePostProcessor;
+import com.powsybl.computation.OutputFile;
+import com.powsybl.computation.SimpleCommand;
+import com.powsybl.computation.SimpleCommandBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class MetrixWorkerPoolTest {
+
+    // writes the arguments of each computation in its working directory, then its status
+    private static final String WORKER_SCRIPT = """
+        #!/bin/sh
+        compute() {
+            for arg in "$@"; do
+                case "$arg" in
+                    --working-dir=*) dir="${arg#--working-dir=}" ;;
+                esac
+            done
+            echo "$@" > "$dir/request.txt"
+            echo "status 0"
+        }
+        compute "$@"
+        while read -r line && [ -n "$line" ]; do
+            compute $line
+        done
+        """;
+
+    private static final String FAILING_SCRIPT = """
+        #!/bin/sh
+        exit 1
+        """;
+
+    @TempDir
+    private Path tmpDir;
+
+    private Path baseDir;
+
+    private Path binDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        baseDir = Files.createDirectories(tmpDir.resolve("common"));
+        binDir = Files.createDirectories(tmpDir.resolve("bin"));
+        writeScript("metrix-simulator", WORKER_SCRIPT);
+        writeScript("failing-simulator", FAILING_SCRIPT);
+    }
+
+    private void writeScript(String name, String content) throws IOException {
+        Path script = binDir.resolve(name);
+        Files.writeString(script, content);
+        assertThat(script.toFile().setExecutable(true)).isTrue();
+    }
+
+    private Path createChunkDir(String name, String network) throws IOException {
+        Path chunkDir = Files.createDirectories(tmpDir.resolve(name));
+        Files.writeString(chunkDir.resolve("fort.json"), network);
+        Files.writeString(chunkDir.resolve("METRIX.dic"), "dictionary");
+        return chunkDir;
+    }
+
+    private static SimpleCommand command(String program, List<OutputFile> outputFiles) {
+        return (SimpleCommand) new SimpleCommandBuilder()
+            .id("metrix")
+            .program(program)
+            .args(List.of("logs.txt", "variantes.csv", "result", "0", "10", "--log-level=info"))
+            .outputFiles(outputFiles)
+            .build();
+    }
+
+    private long workerCount() throws IOException {
+        try (Stream<Path> paths = Files.list(baseDir)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith("metrix_worker_")).count();
+        }
+    }
+
+    @Test
+    void reuseWorkerTest() throws IOException {
+        Path chunkDir1 = createChunkDir("chunk1", "network");
+        Path chunkDir2 = createChunkDir("chunk2", "network");
+        try (MetrixWorkerPool pool = new MetrixWorkerPool(baseDir, binDir, 2)) {
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDir1)).isTrue();
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDir2)).isTrue();
+        }
+
+        // the second chunk is run by the worker started for the first one, with the arguments of its request only
+        assertThat(workerCount()).isEqualTo(1);
+        try (Stream<Path> paths = Files.list(baseDir)) {
+            Path workerDir = paths.findFirst().orElseThrow();
+            assertThat(workerDir.resolve("fort.json")).hasContent("network");
+            assertThat(workerDir.resolve("METRIX.dic")).exists();
+        }
+        assertThat(chunkDir1.resolve("request.txt"))
+            .hasContent("--worker --log-level=info --working-dir=" + chunkDir1.toAbsolutePath() + " logs.txt variantes.csv result 0 10");
+        assertThat(chunkDir2.resolve("request.txt"))
+            .hasContent("--working-dir=" + chunkDir2.toAbsolutePath() + " logs.txt variantes.csv result 0 10");
+    }
+
+    @Test
+    void otherNetworkTest() throws IOException {
+        Path chunkDir1 = createChunkDir("chunk1", "network");
+        Path chunkDir2 = createChunkDir("chunk2", "other network");
+        try (MetrixWorkerPool pool = new MetrixWorkerPool(baseDir, binDir, 1)) {
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDir1)).isTrue();
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDir2)).isTrue();
+        }
+
+        // the first worker is stopped to start a worker reading the other network data
+        assertThat(workerCount()).isEqualTo(2);
+        assertThat(chunkDir2.resolve("request.txt")).content().startsWith("--worker ");
+    }
+
+    @Test
+    void fallbackTest() throws IOException {
+        Path chunkDir = createChunkDir("chunk", "network");
+        Path chunkDirWithSpace = createChunkDir("chunk with space", "network");
+        try (MetrixWorkerPool pool = new MetrixWorkerPool(baseDir, binDir, 1)) {
+            // outputs to post-process, spaces in the request and worker failures are left to the computation manager
+            assertThat(pool.execute(command("metrix-simulator", List.of(new OutputFile("PTDF_matrix.csv", FilePostProcessor.FILE_GZIP))), chunkDir)).isFalse();
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDirWithSpace)).isFalse();
+            assertThat(pool.execute(command("failing-simulator", List.of()), chunkDir)).isFalse();
+
+            // the place of the failed worker is available again
+            assertThat(pool.execute(command("metrix-simulator", List.of()), chunkDir)).isTrue();
+        }
+        assertThat(chunkDir.resolve("request.txt")).exists();
+        assertThat(chunkDirWithSpace.resolve("request.txt")).doesNotExist();
+    }
+}
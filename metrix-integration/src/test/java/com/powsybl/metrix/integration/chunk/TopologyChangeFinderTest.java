@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.integration.chunk;
+
+import com.google.common.collect.Range;
+import com.powsybl.metrix.mapping.EquipmentVariable;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
+import com.powsybl.metrix.mapping.references.MappingKey;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStoreCache;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeries;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.Interval;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class TopologyChangeFinderTest {
+
+    private final TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("1970-01-01T00:00:00Z/1970-01-01T07:00:00Z"), Duration.ofHours(1));
+
+    private final ReadOnlyTimeSeriesStore store = new ReadOnlyTimeSeriesStoreCache(
+            TimeSeries.createDouble("breaker", index, 0d, 0d, 1d, 1d, 1d, 1d, 0d, 0d),
+            TimeSeries.createDouble("line", index, 0d, 0d, 0d, 0d, 1d, 1d, 1d, 1d),
+            TimeSeries.createDouble("load", index, 1d, 2d, 3d, 4d, 5d, 6d, 7d, 8d));
+
+    private TimeSeriesMappingConfig createConfig() {
+        TimeSeriesMappingConfig config = new TimeSeriesMappingConfig();
+        config.setBreakerToTimeSeriesMapping(Map.of(new MappingKey(EquipmentVariable.OPEN, "b1"), List.of("breaker")));
+        config.setLineToTimeSeriesMapping(Map.of(new MappingKey(EquipmentVariable.DISCONNECTED, "l1"), List.of("line")));
+        config.setLoadToTimeSeriesMapping(Map.of(new MappingKey(EquipmentVariable.P0, "ld1"), List.of("load")));
+        return config;
+    }
+
+    @Test
+    void findTopologyChangesTest() {
+        TopologyChangeFinder finder = new TopologyChangeFinder(createConfig(), store);
+        assertThat(finder.findTopologyTimeSeriesNames()).containsExactly("breaker", "line");
+        assertThat(finder.findTopologyChanges(Set.of(1), List.of(Range.closed(0, 7)))).containsExactly(2, 4, 6);
+        // A change at the first point of a range is not reported
+        assertThat(finder.findTopologyChanges(Set.of(1), List.of(Range.closed(0, 1), Range.closed(4, 7)))).containsExactly(6);
+    }
+
+    @Test
+    void noTopologyTimeSeriesTest() {
+        TimeSeriesMappingConfig config = new TimeSeriesMappingConfig();
+        config.setLoadToTimeSeriesMapping(Map.of(new MappingKey(EquipmentVariable.P0, "ld1"), List.of("load")));
+        assertThat(new TopologyChangeFinder(config, store).findTopologyChanges(Set.of(1), List.of(Range.closed(0, 7)))).isEmpty();
+    }
+}
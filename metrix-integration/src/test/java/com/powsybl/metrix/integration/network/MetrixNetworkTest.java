@@ -13,6 +13,8 @@ import com.powsybl.contingency.BoundaryLineContingency;
 import com.powsybl.contingency.BranchContingency;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.contingency.GeneratorContingency;
 import com.powsybl.contingency.TieLineContingency;
 import com.powsybl.iidm.network.Battery;
 import com.powsybl.iidm.network.BoundaryLine;
@@ -21,7 +23,9 @@ import com.powsybl.iidm.network.Switch;
 import com.powsybl.iidm.network.SwitchKind;
 import com.powsybl.iidm.network.TopologyKind;
 import com.powsybl.iidm.network.TopologyLevel;
+import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
 import com.powsybl.iidm.serde.ExportOptions;
 import com.powsybl.iidm.serde.NetworkSerDe;
@@ -35,8 +39,15 @@ import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -336,6 +347,92 @@ class MetrixNetworkTest {
         return network;
     }
 
+    @Test
+    void testPropagatedContingenciesCache() {
+        ContingenciesProvider contingenciesProvider = networkLocal -> List.of(
+            new Contingency("a", Collections.singletonList(new BranchContingency("LINE_S2S3"))),
+            new Contingency("b", List.of(new BranchContingency("LINE_S3S4"), new GeneratorContingency("GH1"))),
+            new Contingency("c", Collections.singletonList(new BranchContingency("UNKNOWN"))));
+        MetrixParameters parameters = new MetrixParameters().setPropagateBranchTripping(true);
+
+        ContingencyPropagationCache.clear();
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        List<Contingency> expected = contingenciesProvider.getContingencies(network).subList(0, 2);
+        MetrixNetwork reference = MetrixNetwork.create(FourSubstationsNodeBreakerFactory.create());
+        Map<String, Set<ContingencyElement>> expectedElements = expected.stream()
+            .collect(Collectors.toMap(Contingency::getId, contingency -> reference.getElementsToTrip(contingency, true)));
+
+        // Second network with the same topology is propagated from the cache
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Contingency> contingencies;
+        try {
+            contingencies = MetrixNetwork.create(network, contingenciesProvider, null, parameters, (Path) null, executor).getContingencyList();
+        } finally {
+            executor.shutdown();
+        }
+        List<Contingency> cachedContingencies = MetrixNetwork.create(FourSubstationsNodeBreakerFactory.create(), contingenciesProvider, null, parameters, (Path) null)
+            .getContingencyList();
+        for (List<Contingency> list : List.of(contingencies, cachedContingencies)) {
+            assertThat(list).extracting(Contingency::getId).containsExactly("a", "b");
+            list.forEach(contingency -> assertThat(contingency.getElements()).containsExactlyInAnyOrderElementsOf(expectedElements.get(contingency.getId())));
+        }
+
+        // Propagation follows the topology changes
+        Network openedNetwork = FourSubstationsNodeBreakerFactory.create();
+        openedNetwork.getSwitch("S3VL1_LINES3S4_BREAKER").setOpen(true);
+        MetrixNetwork openedReference = MetrixNetwork.create(openedNetwork);
+        Contingency b = MetrixNetwork.create(openedNetwork, contingenciesProvider, null, parameters, (Path) null).getContingencyList().get(1);
+        assertThat(b.getElements()).containsExactlyInAnyOrderElementsOf(openedReference.getElementsToTrip(expected.get(1), true));
+    }
+
+    @Test
+    void testPropagatedContingenciesCacheMiss() {
+        ContingencyPropagationCache.clear();
+        List<Contingency> contingencies = List.of(new Contingency("b", Collections.singletonList(new BranchContingency("LINE_S3S4"))));
+        AtomicInteger propagationCount = new AtomicInteger();
+        Function<Contingency, Set<ContingencyElement>> propagation = contingency -> {
+            propagationCount.incrementAndGet();
+            return new HashSet<>(contingency.getElements());
+        };
+
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        ContingencyPropagationCache.getPropagatedElements(network, contingencies, propagation, null);
+        ContingencyPropagationCache.getPropagatedElements(FourSubstationsNodeBreakerFactory.create(), contingencies, propagation, null);
+        assertThat(propagationCount).hasValue(1);
+
+        // An opened switch misses the cache
+        network.getSwitch("S3VL1_LINES3S4_BREAKER").setOpen(true);
+        ContingencyPropagationCache.getPropagatedElements(network, contingencies, propagation, null);
+        assertThat(propagationCount).hasValue(2);
+
+        // while another variant with the same topology hits it
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "opened");
+        network.getVariantManager().setWorkingVariant("opened");
+        ContingencyPropagationCache.getPropagatedElements(network, contingencies, propagation, null);
+        assertThat(propagationCount).hasValue(2);
+    }
+
+    @Test
+    void testPropagatedContingenciesCacheKey() {
+        List<Contingency> contingencies = List.of(new Contingency("a", Collections.singletonList(new BranchContingency("NHV1_NHV2_1"))));
+        Network network = EurostagTutorialExample1Factory.create();
+        String key = ContingencyPropagationCache.key(network, contingencies);
+        assertThat(ContingencyPropagationCache.key(EurostagTutorialExample1Factory.create(), contingencies)).isEqualTo(key);
+
+        // Connection states of the terminals of bus-breaker voltage levels are part of the topology
+        network.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+        String disconnectedKey = ContingencyPropagationCache.key(network, contingencies);
+        assertThat(disconnectedKey).isNotEqualTo(key);
+        network.getLine("NHV1_NHV2_1").getTerminal1().connect();
+        assertThat(ContingencyPropagationCache.key(network, contingencies)).isEqualTo(key);
+
+        // as well as the buses the terminals are connected to
+        network.getVoltageLevel("VLGEN").getBusBreakerView().newBus().setId("NGEN2").add();
+        String newBusKey = ContingencyPropagationCache.key(network, contingencies);
+        network.getGenerator("GEN").getTerminal().getBusBreakerView().setConnectableBus("NGEN2");
+        assertThat(ContingencyPropagationCache.key(network, contingencies)).isNotEqualTo(newBusKey);
+    }
+
     private static void createSwitch(VoltageLevel vl, String id, SwitchKind kind, int node1, int node2) {
         vl.getNodeBreakerView().newSwitch()
             .setId(id)
@@ -8,9 +8,11 @@
 package com.powsybl.metrix.integration.network;
 
 import com.google.common.collect.Range;
+import com.powsybl.iidm.network.Generator;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.impl.VariantManagerHolder;
 import com.powsybl.metrix.integration.MetrixSubset;
+import com.powsybl.metrix.mapping.EquipmentVariable;
 import com.powsybl.timeseries.RegularTimeSeriesIndex;
 import com.powsybl.timeseries.TimeSeriesIndex;
 import org.apache.commons.io.IOUtils;
@@ -77,6 +79,31 @@ class MetrixVariantsWriterTest {
         );
     }
 
+    @Test
+    void carryForwardTest() throws IOException {
+        MetrixNetwork network = mock(MetrixNetwork.class);
+        Generator g1 = mock(Generator.class);
+        when(g1.getId()).thenReturn("g1");
+        when(g1.getTargetP()).thenReturn(100d);
+        double[] targetP = {150d, 150d, 100d, 150d};
+
+        StringWriter writer = new StringWriter();
+        try (BufferedWriter bufferedWriter = new BufferedWriter(writer)) {
+            MetrixVariantReaderImpl reader = new MetrixVariantReaderImpl(network, bufferedWriter, ';', Range.closed(0, 3), true);
+            for (int i = 0; i < targetP.length; i++) {
+                reader.onVariantStart(i);
+                reader.onEquipmentVariant(g1, EquipmentVariable.TARGET_P, targetP[i]);
+                reader.onVariantEnd(i);
+            }
+        }
+        assertEquals(String.join(System.lineSeparator(),
+                "0;PRODIM;1;g1;150;",
+                "1;",
+                "2;PRODIM;0;",
+                "3;PRODIM;1;g1;150;") + System.lineSeparator(),
+                writer.toString());
+    }
+
     abstract static class AbstractNetworkImplTest implements Network, VariantManagerHolder {
 
     }
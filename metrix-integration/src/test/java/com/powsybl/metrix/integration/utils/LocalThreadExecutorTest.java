@@ -19,6 +19,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,4 +54,18 @@ class LocalThreadExecutorTest {
         tName.join();
         assertThat(atomicBoolean).isTrue();
     }
+
+    @Test
+    @Timeout(1)
+    void testSupplyAsyncOnExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "pool"));
+        try {
+            String threadName = new LocalThreadExecutor<String>("TName", executor).supplyAsync(() -> Thread.currentThread().getName()).join();
+            assertThat(threadName).startsWith("TName_");
+            // Thread name is restored once the task is done
+            assertThat(CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).join()).isEqualTo("pool");
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
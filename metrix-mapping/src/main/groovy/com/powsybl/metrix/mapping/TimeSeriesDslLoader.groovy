@@ -85,6 +85,10 @@ class TimeSeriesDslLoader {
         this(Files.newBufferedReader(path), path.getFileName().toString())
     }
 
+    String getScriptText() {
+        return dslSrc.getScriptText()
+    }
+
     protected List<String> getStaticStars() {
         List<String> staticStars = new ArrayList<>()
         staticStars.add(equipmentGroupTypes)
@@ -133,20 +137,21 @@ class TimeSeriesDslLoader {
             bus != null && bus.isInMainConnectedComponent()
         }
 
-        def generatorsFilteringContext = network.getGenerators().findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
-        def batteriesFilteringContext = network.getBatteries().findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
-        def loadsFilteringContext = network.getLoads().findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
-        def boundaryLinesFilteringContext = network.getBoundaryLines().findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
-        def hvdcLinesFilteringContext = network.getHvdcLines().collect { hvdcLine -> new FilteringContext(hvdcLine) }
-        def lccConverterStationsFilteringContext = network.getLccConverterStations().collect { converter -> new FilteringContext(converter) }
-        def vscConverterStationsFilteringContext = network.getVscConverterStations().collect { converter -> new FilteringContext(converter) }
-        def transformersFilteringContext = network.getTwoWindingsTransformers().collect { transformer -> new FilteringContext(transformer) }
-        def linesFilteringContext = network.getLines().collect { line -> new FilteringContext(line) }
-        def phaseTapChangersFilteringContext = network.getTwoWindingsTransformers().findAll {transformer -> transformer.hasPhaseTapChanger() }
+        NetworkIndex networkIndex = NetworkIndex.of(network)
+        def generatorsFilteringContext = networkIndex.getEquipments(MappableEquipmentType.GENERATOR).findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
+        def batteriesFilteringContext = networkIndex.getEquipments(MappableEquipmentType.BATTERY).findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
+        def loadsFilteringContext = networkIndex.getEquipments(MappableEquipmentType.LOAD).findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
+        def boundaryLinesFilteringContext = networkIndex.getEquipments(MappableEquipmentType.BOUNDARY_LINE).findAll(mappeable).collect { injection -> new FilteringContext((Injection) injection) }
+        def hvdcLinesFilteringContext = networkIndex.getEquipments(MappableEquipmentType.HVDC_LINE).collect { hvdcLine -> new FilteringContext(hvdcLine) }
+        def lccConverterStationsFilteringContext = networkIndex.getEquipments(MappableEquipmentType.LCC_CONVERTER_STATION).collect { converter -> new FilteringContext(converter) }
+        def vscConverterStationsFilteringContext = networkIndex.getEquipments(MappableEquipmentType.VSC_CONVERTER_STATION).collect { converter -> new FilteringContext(converter) }
+        def transformersFilteringContext = networkIndex.getEquipments(MappableEquipmentType.TRANSFORMER).collect { transformer -> new FilteringContext(transformer) }
+        def linesFilteringContext = networkIndex.getEquipments(MappableEquipmentType.LINE).collect { line -> new FilteringContext(line) }
+        def phaseTapChangersFilteringContext = networkIndex.getEquipments(MappableEquipmentType.PHASE_TAP_CHANGER)
                 .collect { transformer -> new FilteringContext((TwoWindingsTransformer) transformer) }
-        def ratioTapChangersFilteringContext = network.getTwoWindingsTransformers().findAll {transformer -> transformer.hasRatioTapChanger() }
+        def ratioTapChangersFilteringContext = networkIndex.getEquipments(MappableEquipmentType.RATIO_TAP_CHANGER)
                 .collect { transformer -> new FilteringContext((TwoWindingsTransformer) transformer) }
-        def switchesFilteringContext = network.getSwitchStream().collect { s -> new FilteringContext(s) }
+        def switchesFilteringContext = networkIndex.getEquipments(MappableEquipmentType.SWITCH).collect { s -> new FilteringContext(s) }
 
         // parameters
         binding.parameters = { Closure<Void> closure ->
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping;
+
+import com.powsybl.commons.extensions.AbstractExtension;
+import com.powsybl.iidm.network.*;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Immutable index of the mappable equipments of a network, shared by all the components mapping time series on the
+ * network, so that the equipments are listed and located once.
+ * <p>Each equipment gets a dense number, in the order of the network, equipments of the same type being contiguous.
+ * The index only holds data which does not depend on the network variant: identifiables, types, voltage levels and
+ * substations. It is kept in an extension of the network, so that it does not outlive it, dropped when an equipment is
+ * created or removed, and built again on next use. The tap changers, which may be added to a transformer without any
+ * creation event, are looked up on each use.</p>
+ * <p>The extension registers a listener on the network to drop the index, removed with the extension. The extension
+ * has no serializer: it is neither written nor copied with the network, the copies building their own index.</p>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class NetworkIndex {
+
+    public static final int UNKNOWN_NUM = -1;
+
+    /**
+     * Types indexed by the network index, the tap changer types being subsets of the transformers
+     */
+    private static final List<MappableEquipmentType> INDEXED_TYPES = List.of(
+        MappableEquipmentType.GENERATOR,
+        MappableEquipmentType.BATTERY,
+        MappableEquipmentType.LOAD,
+        MappableEquipmentType.BOUNDARY_LINE,
+        MappableEquipmentType.HVDC_LINE,
+        MappableEquipmentType.LCC_CONVERTER_STATION,
+        MappableEquipmentType.VSC_CONVERTER_STATION,
+        MappableEquipmentType.TRANSFORMER,
+        MappableEquipmentType.LINE,
+        MappableEquipmentType.SWITCH);
+
+    /**
+     * Extension holding the index of a network, built under the lock of the holder so that networks are indexed
+     * concurrently
+     */
+    private static final class Holder extends AbstractExtension<Network> {
+
+        private final NetworkListener listener = new DefaultNetworkListener() {
+            @Override
+            public void onCreation(Identifiable<?> identifiable) {
+                invalidate();
+            }
+
+            @Override
+            public void afterRemoval(String id) {
+                invalidate();
+            }
+        };
+
+        private NetworkIndex index;
+
+        @Override
+        public String getName() {
+            return "metrixNetworkIndex";
+        }
+
+        @Override
+        public void setExtendable(Network network) {
+            Network previousNetwork = getExtendable();
+            super.setExtendable(network);
+            if (previousNetwork != null) {
+                previousNetwork.removeListener(listener);
+            }
+            if (network != null) {
+                network.addListener(listener);
+            }
+        }
+
+        private synchronized NetworkIndex getIndex() {
+            if (index == null) {
+                index = new NetworkIndex(getExtendable());
+            }
+            return index;
+        }
+
+        private synchronized void invalidate() {
+            index = null;
+        }
+    }
+
+    /**
+     * Lock of the holder creation only, the index being built under the lock of its holder
+     */
+    private static final Object HOLDER_LOCK = new Object();
+
+    private final Identifiable<?>[] identifiables;
+
+    private final MappableEquipmentType[] types;
+
+    private final VoltageLevel[] voltageLevels;
+
+    private final Substation[] substations;
+
+    private final Map<String, Integer> numsById;
+
+    private final Map<MappableEquipmentType, List<Identifiable<?>>> identifiablesByType = new EnumMap<>(MappableEquipmentType.class);
+
+    /**
+     * Index of the network, built on first use
+     */
+    public static NetworkIndex of(Network network) {
+        Objects.requireNonNull(network);
+        Holder holder;
+        synchronized (HOLDER_LOCK) {
+            holder = network.getExtension(Holder.class);
+            if (holder == null) {
+                holder = new Holder();
+                network.addExtension(Holder.class, holder);
+            }
+        }
+        return holder.getIndex();
+    }
+
+    private NetworkIndex(Network network) {
+        List<Identifiable<?>> identifiableList = new ArrayList<>();
+        List<MappableEquipmentType> typeList = new ArrayList<>();
+        for (MappableEquipmentType type : INDEXED_TYPES) {
+            List<Identifiable<?>> equipments = getNetworkEquipments(network, type).toList();
+            identifiableList.addAll(equipments);
+            equipments.forEach(equipment -> typeList.add(type));
+            identifiablesByType.put(type, equipments);
+        }
+
+        int count = identifiableList.size();
+        identifiables = identifiableList.toArray(new Identifiable<?>[0]);
+        types = typeList.toArray(new MappableEquipmentType[0]);
+        voltageLevels = new VoltageLevel[count];
+        substations = new Substation[count];
+        numsById = HashMap.newHashMap(count);
+        for (int num = 0; num < count; num++) {
+            Identifiable<?> identifiable = identifiables[num];
+            numsById.put(identifiable.getId(), num);
+            VoltageLevel voltageLevel = null;
+            if (identifiable instanceof Injection<?> injection) {
+                voltageLevel = injection.getTerminal().getVoltageLevel();
+            } else if (identifiable instanceof Switch sw) {
+                voltageLevel = sw.getVoltageLevel();
+            }
+            if (voltageLevel != null) {
+                voltageLevels[num] = voltageLevel;
+                substations[num] = voltageLevel.getNullableSubstation();
+            }
+        }
+    }
+
+    private static Stream<? extends Identifiable<?>> getNetworkEquipments(Network network, MappableEquipmentType type) {
+        return switch (type) {
+            case GENERATOR -> network.getGeneratorStream();
+            case BATTERY -> network.getBatteryStream();
+            case LOAD -> network.getLoadStream();
+            case BOUNDARY_LINE -> network.getBoundaryLineStream();
+            case HVDC_LINE -> network.getHvdcLineStream();
+            case LCC_CONVERTER_STATION -> network.getLccConverterStationStream();
+            case VSC_CONVERTER_STATION -> network.getVscConverterStationStream();
+            case TRANSFORMER -> network.getTwoWindingsTransformerStream();
+            case LINE -> network.getLineStream();
+            case SWITCH -> network.getSwitchStream();
+            default -> throw new IllegalStateException("Unexpected indexed type " + type);
+        };
+    }
+
+    public int size() {
+        return identifiables.length;
+    }
+
+    /**
+     * Number of the equipment, or {@link #UNKNOWN_NUM} if it is not a mappable equipment of the network
+     */
+    public int getNum(String id) {
+        return numsById.getOrDefault(id, UNKNOWN_NUM);
+    }
+
+    public Identifiable<?> getIdentifiable(int num) {
+        return identifiables[num];
+    }
+
+    /**
+     * Mappable equipment of the network with the given id, or null if there is none
+     */
+    public Identifiable<?> getIdentifiable(String id) {
+        int num = getNum(id);
+        return num == UNKNOWN_NUM ? null : identifiables[num];
+    }
+
+    public MappableEquipmentType getType(int num) {
+        return types[num];
+    }
+
+    /**
+     * Voltage level of an injection or of a switch, null for the other equipments
+     */
+    public VoltageLevel getVoltageLevel(int num) {
+        return voltageLevels[num];
+    }
+
+    /**
+     * Substation of an injection or of a switch, null for the other equipments or if the voltage level has no substation
+     */
+    public Substation getSubstation(int num) {
+        return substations[num];
+    }
+
+    /**
+     * Equipments of the given type, in the order of the network
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Identifiable<?>> List<T> getEquipments(MappableEquipmentType type) {
+        return switch (type) {
+            case PHASE_TAP_CHANGER -> (List<T>) getTransformers(TwoWindingsTransformer::hasPhaseTapChanger);
+            case RATIO_TAP_CHANGER -> (List<T>) getTransformers(TwoWindingsTransformer::hasRatioTapChanger);
+            default -> (List<T>) identifiablesByType.get(type);
+        };
+    }
+
+    private List<TwoWindingsTransformer> getTransformers(Predicate<TwoWindingsTransformer> filter) {
+        return identifiablesByType.get(MappableEquipmentType.TRANSFORMER).stream()
+            .map(TwoWindingsTransformer.class::cast)
+            .filter(filter)
+            .toList();
+    }
+}
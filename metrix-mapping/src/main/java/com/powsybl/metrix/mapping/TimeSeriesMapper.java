@@ -69,7 +69,13 @@ public class TimeSeriesMapper {
         private final EquipmentTimeSeriesMap timeSeriesToLccConverterStationsMapping = new EquipmentTimeSeriesMap();
         private final EquipmentTimeSeriesMap timeSeriesToVscConverterStationsMapping = new EquipmentTimeSeriesMap();
         private final EquipmentTimeSeriesMap timeSeriesToLinesMapping = new EquipmentTimeSeriesMap();
-        private Map<IndexedName, Set<MappingKey>> equipmentTimeSeries;
+        private Map<IndexedName, List<MappedVariable>> equipmentTimeSeries;
+    }
+
+    /**
+     * Equipment and variable of an equipment time series, resolved once before mapping the points
+     */
+    private record MappedVariable(Identifiable<?> identifiable, MappingVariable variable) {
     }
 
     public TimeSeriesMapper(TimeSeriesMappingConfig config, TimeSeriesMapperParameters parameters, Network network, TimeSeriesMappingLogger timeSeriesMappingLogger) {
@@ -342,16 +348,16 @@ public class TimeSeriesMapper {
     }
 
     private void identifyConstantEquipmentTimeSeries(int version,
-                                            Map<IndexedName, Set<MappingKey>> sourceTimeSeries,
-                                            Map<IndexedName, Set<MappingKey>> constantTimeSeries,
-                                            Map<IndexedName, Set<MappingKey>> variableTimeSeries) {
-        sourceTimeSeries.forEach((indexedName, mappingKeys) -> {
+                                            Map<IndexedName, List<MappedVariable>> sourceTimeSeries,
+                                            Map<IndexedName, List<MappedVariable>> constantTimeSeries,
+                                            Map<IndexedName, List<MappedVariable>> variableTimeSeries) {
+        sourceTimeSeries.forEach((indexedName, mappedVariables) -> {
             int timeSeriesNum = indexedName.num();
             if (table.getStdDev(version, timeSeriesNum) < EPSILON_COMPARISON) { // std dev == 0 means time-series is constant
                 LOGGER.debug("Equipment time-series '{}' is constant", indexedName.name());
-                constantTimeSeries.put(indexedName, mappingKeys);
+                constantTimeSeries.put(indexedName, mappedVariables);
             } else {
-                variableTimeSeries.put(indexedName, mappingKeys);
+                variableTimeSeries.put(indexedName, mappedVariables);
             }
         });
     }
@@ -458,11 +464,20 @@ public class TimeSeriesMapper {
         context.timeSeriesToLccConverterStationsMapping.convertToEquipmentTimeSeriesMap(config.getTimeSeriesToLccConverterStationsMapping(), table, network, config);
         context.timeSeriesToVscConverterStationsMapping.convertToEquipmentTimeSeriesMap(config.getTimeSeriesToVscConverterStationsMapping(), table, network, config);
         context.timeSeriesToLinesMapping.convertToEquipmentTimeSeriesMap(config.getTimeSeriesToLinesMapping(), table, network, config);
+        NetworkIndex networkIndex = NetworkIndex.of(network);
         context.equipmentTimeSeries = config.getTimeSeriesToEquipment().entrySet().stream()
-                .collect(Collectors.toMap(e -> new IndexedName(e.getKey(), table.getDoubleTimeSeriesIndex(e.getKey())), Map.Entry::getValue, (x, y) -> y, LinkedHashMap::new));
+                .collect(Collectors.toMap(e -> new IndexedName(e.getKey(), table.getDoubleTimeSeriesIndex(e.getKey())),
+                    e -> e.getValue().stream().map(key -> new MappedVariable(getIdentifiable(networkIndex, key.id()), key.mappingVariable())).toList(),
+                    (x, y) -> y, LinkedHashMap::new));
         return context;
     }
 
+    private Identifiable<?> getIdentifiable(NetworkIndex networkIndex, String id) {
+        Identifiable<?> identifiable = networkIndex.getIdentifiable(id);
+        // equipments which are not mapped by the time series mapping, e.g. tie lines, are not indexed
+        return identifiable != null ? identifiable : network.getIdentifiable(id);
+    }
+
     private void initConstantAndVariableMapperContext(int version, MapperContext context, MapperContext constantTimeSeriesContext, MapperContext variableTimeSeriesContext) {
         // Load mappings are always variable time series to ensure data consistency (p0/LoadDetail)
         variableTimeSeriesContext.timeSeriesToLoadsMapping.init(context.timeSeriesToLoadsMapping);
@@ -684,13 +699,13 @@ public class TimeSeriesMapper {
     }
 
     private void mapEquipmentToNetwork(int version, int point,
-                                       Map<IndexedName, Set<MappingKey>> equipmentTimeSeries) {
-        for (Map.Entry<IndexedName, Set<MappingKey>> e : equipmentTimeSeries.entrySet()) {
+                                       Map<IndexedName, List<MappedVariable>> equipmentTimeSeries) {
+        for (Map.Entry<IndexedName, List<MappedVariable>> e : equipmentTimeSeries.entrySet()) {
             String timeSeriesName = e.getKey().name();
             int timeSeriesNum = e.getKey().num();
             double timeSeriesValue = table.getDoubleValue(version, timeSeriesNum, point);
-            for (MappingKey equipment : e.getValue()) {
-                checker.timeSeriesMappedToEquipment(point, timeSeriesName, network.getIdentifiable(equipment.id()), equipment.mappingVariable(), timeSeriesValue);
+            for (MappedVariable equipment : e.getValue()) {
+                checker.timeSeriesMappedToEquipment(point, timeSeriesName, equipment.identifiable(), equipment.variable(), timeSeriesValue);
             }
         }
     }
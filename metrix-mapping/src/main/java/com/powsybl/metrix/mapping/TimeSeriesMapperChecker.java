@@ -129,7 +129,7 @@ public class TimeSeriesMapperChecker extends MultipleTimeSeriesMapperObserver {
             .forEach(e -> ((HvdcLine) (e.getKey())).getExtension(HvdcOperatorActivePowerRange.class)
                 .setOprFromCS2toCS1((float) Math.abs(e.getValue().getLimit())));
 
-        super.timeSeriesMappingStart(point, index);
+        super.timeSeriesMappingStart(version, point, index);
         this.index = index;
         if (point != TimeSeriesMapper.CONSTANT_VARIANT_ID) {
             identifiableToConstantMappedPowers.forEach((key, value) -> identifiableToMappedPower.put(key, new MappedPower(value)));
@@ -155,7 +155,7 @@ public class TimeSeriesMapperChecker extends MultipleTimeSeriesMapperObserver {
         targetPTimeSeriesToEquipments.clear();
         setpointTimeSeriesToEquipments.clear();
 
-        super.timeSeriesMappingEnd(point, index, balance);
+        super.timeSeriesMappingEnd(version, point, index, balance);
     }
 
     @Override
@@ -250,7 +250,7 @@ public class TimeSeriesMapperChecker extends MultipleTimeSeriesMapperObserver {
             if (!TimeSeriesMapper.isPowerVariable(variable)) {
                 // For power values, observers will be notified later after correction
                 // For other values, observers are notified immediately
-                super.timeSeriesMappedToEquipment(point, timeSeriesName, identifiable, variable, equipmentValue);
+                super.timeSeriesMappedToEquipment(version, point, timeSeriesName, identifiable, variable, equipmentValue);
             }
         }
     }
@@ -303,7 +303,7 @@ public class TimeSeriesMapperChecker extends MultipleTimeSeriesMapperObserver {
             default -> throw new AssertionError("Unsupported equipment type for id " + identifiable.getId());
         };
         mappedPower.setP(value);
-        super.timeSeriesMappedToEquipment(point, timeSeriesName != null ? timeSeriesName : "", identifiable, TimeSeriesMapper.getPowerVariable(identifiable), value);
+        super.timeSeriesMappedToEquipment(version, point, timeSeriesName != null ? timeSeriesName : "", identifiable, TimeSeriesMapper.getPowerVariable(identifiable), value);
     }
 
     private double correctMappedPowerGenerator(int point, Generator generator, MappedPower mappedPower) {
@@ -29,6 +29,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Paul Bui-Quang {@literal <paul.buiquang at rte-france.com>}
@@ -62,15 +63,47 @@ public class BalanceSummary extends DefaultTimeSeriesMapperObserver {
 
     private PrintStream out = null;
 
-    private double balanceValue = 0;
-    private double constantBalanceValue = 0;
-
-    Set<String> loadIds = new HashSet<>();
+    /**
+     * Balance of the versions being mapped by version number, merged in the shared table and statistics at the end of
+     * the version, so that versions may be mapped concurrently.
+     */
+    private final Map<Integer, VersionBalance> versionBalances = new ConcurrentHashMap<>();
 
     private record BalanceConfig(char separator, DateTimeFormatter dateTimeFormatter) {
     }
 
-    private BalanceContext context;
+    private static final class VersionBalance {
+
+        private final BalanceContext context;
+
+        private double balanceValue = 0;
+        private double constantBalanceValue = 0;
+
+        /**
+         * Loads without load detail whose p0 has already been counted at the current point
+         */
+        private final Set<Load> loads = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private TimeSeriesIndex index;
+        private double[] values = new double[0];
+        private final BitSet points = new BitSet();
+
+        private VersionBalance(BalanceContext context) {
+            this.context = context;
+        }
+
+        private void putValue(int point, TimeSeriesIndex index, double value) {
+            if (this.index == null) {
+                this.index = index;
+                values = new double[index.getPointCount()];
+            }
+            if (point >= values.length) {
+                values = Arrays.copyOf(values, Math.max(point + 1, 2 * values.length));
+            }
+            values[point] = value;
+            points.set(point);
+        }
+    }
 
     public BalanceSummary(PrintStream out) {
         this.out = Objects.requireNonNull(out);
@@ -80,22 +113,34 @@ public class BalanceSummary extends DefaultTimeSeriesMapperObserver {
     }
 
     public static boolean isInjection(Identifiable<?> identifiable, MappingVariable variable) {
-        if (identifiable instanceof Injection) {
-            return switch (identifiable) {
-                case Generator ignored -> variable == EquipmentVariable.TARGET_P;
-                case Load ignored -> variable == EquipmentVariable.P0 || variable == EquipmentVariable.FIXED_ACTIVE_POWER || variable == EquipmentVariable.VARIABLE_ACTIVE_POWER;
-                case BoundaryLine ignored -> variable == EquipmentVariable.P0;
-                default -> false;
-            };
+        return getInjectionSign(identifiable, variable) != 0;
+    }
+
+    /**
+     * Sign of the mapped value in the balance: 1 for a generator production, -1 for a consumption and 0 if the variable
+     * is not an injection. The variable is tested first, so that most of the non injection mappings are classified
+     * without testing the equipment type.
+     */
+    private static int getInjectionSign(Identifiable<?> identifiable, MappingVariable variable) {
+        if (variable == EquipmentVariable.TARGET_P) {
+            return identifiable instanceof Generator ? 1 : 0;
+        } else if (variable == EquipmentVariable.P0) {
+            return identifiable instanceof Load || identifiable instanceof BoundaryLine ? -1 : 0;
+        } else if (variable == EquipmentVariable.FIXED_ACTIVE_POWER || variable == EquipmentVariable.VARIABLE_ACTIVE_POWER) {
+            return identifiable instanceof Load ? -1 : 0;
         }
-        return false;
+        return 0;
     }
 
     public double getInjection(Identifiable<?> identifiable, MappingVariable variable) {
+        return getInjection(getVersionBalance(), identifiable, variable);
+    }
+
+    private static double getInjection(VersionBalance balance, Identifiable<?> identifiable, MappingVariable variable) {
         if (identifiable instanceof Injection<?> injection) {
             return switch (injection) {
                 case Generator generator -> generator.getTargetP();
-                case Load load -> getLoad(variable, load);
+                case Load load -> getLoad(balance, variable, load);
                 case BoundaryLine boundaryLine -> -boundaryLine.getP0();
                 default -> 0;
             };
@@ -103,7 +148,7 @@ public class BalanceSummary extends DefaultTimeSeriesMapperObserver {
         return 0;
     }
 
-    private double getLoad(MappingVariable variable, Load load) {
+    private static double getLoad(VersionBalance balance, MappingVariable variable, Load load) {
         // in case of scaling down error on fixedActivePower + variableActivePower, don't count p0 twice
         if (variable == EquipmentVariable.P0) {
             return -load.getP0();
@@ -111,16 +156,14 @@ public class BalanceSummary extends DefaultTimeSeriesMapperObserver {
             LoadDetail loadDetail = load.getExtension(LoadDetail.class);
             if (loadDetail != null) {
                 return -loadDetail.getFixedActivePower();
-            } else if (!loadIds.contains(load.getId())) {
-                loadIds.add(load.getId());
+            } else if (balance.loads.add(load)) {
                 return -load.getP0();
             }
         } else if (variable == EquipmentVariable.VARIABLE_ACTIVE_POWER) {
             LoadDetail loadDetail = load.getExtension(LoadDetail.class);
             if (loadDetail != null) {
                 return -loadDetail.getVariableActivePower();
-            } else if (!loadIds.contains(load.getId())) {
-                loadIds.add(load.getId());
+            } else if (balance.loads.add(load)) {
                 return -load.getP0();
             }
         }
@@ -136,48 +179,116 @@ public class BalanceSummary extends DefaultTimeSeriesMapperObserver {
         if (out != null) {
             out.println("Version " + version);
         }
-        this.context = new BalanceContext(version);
+        versionBalances.put(version, new VersionBalance(new BalanceContext(version)));
+    }
+
+    private VersionBalance getVersionBalance(int version) {
+        VersionBalance balance = versionBalances.get(version);
+        if (balance == null) {
+            throw new IllegalStateException("Version " + version + " is not being mapped");
+        }
+        return balance;
+    }
+
+    /**
+     * Balance of the version being mapped, for the notifications without version, which are only supported when a
+     * single version is being mapped
+     */
+    private VersionBalance getVersionBalance() {
+        Iterator<VersionBalance> it = versionBalances.values().iterator();
+        if (!it.hasNext()) {
+            throw new IllegalStateException("No version is being mapped");
+        }
+        VersionBalance balance = it.next();
+        if (it.hasNext()) {
+            throw new IllegalStateException("Several versions are being mapped, the version has to be given");
+        }
+        return balance;
     }
 
     @Override
     public void versionEnd(int version) {
-        statsPerVersion.add(context);
+        VersionBalance balance = getVersionBalance(version);
+        versionBalances.remove(version);
+        BalanceContext context = balance.context;
+        synchronized (table) {
+            for (int point = balance.points.nextSetBit(0); point >= 0; point = balance.points.nextSetBit(point + 1)) {
+                table.put(balance.index.getInstantAt(point), context.getVersion(), balance.values[point]);
+            }
+            // keep the statistics in version order whatever the order in which versions end
+            int position = 0;
+            while (position < statsPerVersion.size() && statsPerVersion.get(position).getVersion() <= context.getVersion()) {
+                position++;
+            }
+            statsPerVersion.add(position, context);
+        }
         if (out != null) {
             double average = context.getAverage();
             out.println("Balance summary: min=" + formatDouble(context.getBalanceMin()) + " MWh, max=" + formatDouble(context.getBalanceMax())
                     + " MWh, average=" + formatDouble(average) + " MWh");
         }
-        this.context = null;
     }
 
     @Override
     public void timeSeriesMappingStart(int point, TimeSeriesIndex index) {
-        balanceValue = 0;
-        loadIds.clear();
+        resetBalance(getVersionBalance());
+    }
+
+    @Override
+    public void timeSeriesMappingStart(int version, int point, TimeSeriesIndex index) {
+        resetBalance(getVersionBalance(version));
+    }
+
+    private static void resetBalance(VersionBalance balance) {
+        balance.balanceValue = 0;
+        balance.loads.clear();
     }
 
     @Override
     public void timeSeriesMappedToEquipment(int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
-        if (isInjection(identifiable, variable)) {
-            if (!Double.isNaN(equipmentValue)) {
-                balanceValue += (isPositiveInjection(identifiable) ? 1 : -1) * equipmentValue;
-            } else {
-                // scaling down is not ok, keep base case values
-                balanceValue += getInjection(identifiable, variable);
-            }
+        int sign = getInjectionSign(identifiable, variable);
+        if (sign != 0) {
+            addInjection(getVersionBalance(), sign, identifiable, variable, equipmentValue);
+        }
+    }
+
+    @Override
+    public void timeSeriesMappedToEquipment(int version, int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
+        int sign = getInjectionSign(identifiable, variable);
+        if (sign != 0) {
+            addInjection(getVersionBalance(version), sign, identifiable, variable, equipmentValue);
+        }
+    }
+
+    private static void addInjection(VersionBalance balance, int sign, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
+        if (!Double.isNaN(equipmentValue)) {
+            balance.balanceValue += sign * equipmentValue;
+        } else {
+            // scaling down is not ok, keep base case values
+            balance.balanceValue += getInjection(balance, identifiable, variable);
         }
     }
 
     @Override
     public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
-        balanceValue += balance; // add base case values for unmapped equipments
+        timeSeriesMappingEnd(getVersionBalance(), point, index, balance);
+    }
+
+    @Override
+    public void timeSeriesMappingEnd(int version, int point, TimeSeriesIndex index, double balance) {
+        timeSeriesMappingEnd(getVersionBalance(version), point, index, balance);
+    }
+
+    private void timeSeriesMappingEnd(VersionBalance versionBalanceValue, int point, TimeSeriesIndex index, double balance) {
+        versionBalanceValue.balanceValue += balance; // add base case values for unmapped equipments
 
         if (point == TimeSeriesMapper.CONSTANT_VARIANT_ID) {
-            constantBalanceValue = balanceValue;
+            versionBalanceValue.constantBalanceValue = versionBalanceValue.balanceValue;
         } else {
-            balanceValue += constantBalanceValue;
-            context.updateValue(balanceValue);
-            table.put(index.getInstantAt(point), context.getVersion(), balanceValue);
+            double balanceValue = versionBalanceValue.balanceValue + versionBalanceValue.constantBalanceValue;
+            versionBalanceValue.balanceValue = balanceValue;
+            versionBalanceValue.context.updateValue(balanceValue);
+            versionBalanceValue.putValue(point, index, balanceValue);
             if (out != null) {
                 out.println("Balance at " + index.getInstantAt(point) + ": " + String.format(Locale.US, "%.1f", balanceValue));
             }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dictionary of the ids of a mapping configuration: each id is stored once and numbered, so that the collections of
+ * the configuration only hold numbers.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class EquipmentIdDictionary {
+
+    static final int UNKNOWN_NUM = -1;
+
+    private final List<String> ids = new ArrayList<>();
+
+    private final Map<String, Integer> nums = new HashMap<>();
+
+    /**
+     * Number of the id, added to the dictionary if needed
+     */
+    int intern(String id) {
+        Objects.requireNonNull(id);
+        Integer num = nums.get(id);
+        if (num == null) {
+            num = ids.size();
+            ids.add(id);
+            nums.put(id, num);
+        }
+        return num;
+    }
+
+    /**
+     * Number of the id, or {@link #UNKNOWN_NUM} if it is not in the dictionary
+     */
+    int getNum(Object id) {
+        Integer num = nums.get(id);
+        return num != null ? num : UNKNOWN_NUM;
+    }
+
+    String getId(int num) {
+        return ids.get(num);
+    }
+}
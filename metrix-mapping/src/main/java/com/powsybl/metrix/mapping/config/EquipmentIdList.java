@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping.config;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * List of ids stored as an array of their numbers in the dictionary of the configuration.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class EquipmentIdList extends AbstractList<String> implements RandomAccess {
+
+    private final EquipmentIdDictionary dictionary;
+
+    private int[] nums;
+
+    private int size = 0;
+
+    EquipmentIdList(EquipmentIdDictionary dictionary) {
+        this(dictionary, 1);
+    }
+
+    private EquipmentIdList(EquipmentIdDictionary dictionary, int capacity) {
+        this.dictionary = Objects.requireNonNull(dictionary);
+        this.nums = new int[capacity];
+    }
+
+    static EquipmentIdList copyOf(EquipmentIdDictionary dictionary, Collection<String> ids) {
+        EquipmentIdList list = new EquipmentIdList(dictionary, Math.max(1, ids.size()));
+        list.addAll(ids);
+        return list;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        return dictionary.getId(nums[index]);
+    }
+
+    @Override
+    public String set(int index, String id) {
+        Objects.checkIndex(index, size);
+        String previous = dictionary.getId(nums[index]);
+        nums[index] = dictionary.intern(id);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, String id) {
+        Objects.checkIndex(index, size + 1);
+        int num = dictionary.intern(id);
+        if (size == nums.length) {
+            nums = Arrays.copyOf(nums, Math.max(1, 2 * size));
+        }
+        System.arraycopy(nums, index, nums, index + 1, size - index);
+        nums[index] = num;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        Objects.checkIndex(index, size);
+        String previous = dictionary.getId(nums[index]);
+        System.arraycopy(nums, index + 1, nums, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int num = dictionary.getNum(o);
+        if (num != EquipmentIdDictionary.UNKNOWN_NUM) {
+            for (int i = 0; i < size; i++) {
+                if (nums[i] == num) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
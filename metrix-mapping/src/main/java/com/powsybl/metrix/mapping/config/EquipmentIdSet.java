@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping.config;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Set of ids stored as a bitset of their numbers in the dictionary of the configuration.
+ * Ids are iterated in the order of the dictionary.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class EquipmentIdSet extends AbstractSet<String> {
+
+    private final EquipmentIdDictionary dictionary;
+
+    private final BitSet nums = new BitSet();
+
+    private int size = 0;
+
+    EquipmentIdSet(EquipmentIdDictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary);
+    }
+
+    @Override
+    public boolean add(String id) {
+        int num = dictionary.intern(id);
+        if (nums.get(num)) {
+            return false;
+        }
+        nums.set(num);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        int num = dictionary.getNum(o);
+        return num != EquipmentIdDictionary.UNKNOWN_NUM && nums.get(num);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int num = dictionary.getNum(o);
+        if (num == EquipmentIdDictionary.UNKNOWN_NUM || !nums.get(num)) {
+            return false;
+        }
+        nums.clear(num);
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        nums.clear();
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = nums.nextSetBit(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public String next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = nums.nextSetBit(next + 1);
+                return dictionary.getId(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                nums.clear(last);
+                size--;
+                last = -1;
+            }
+        };
+    }
+}
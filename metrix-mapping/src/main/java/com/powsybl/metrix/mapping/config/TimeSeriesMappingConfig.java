@@ -7,12 +7,17 @@
  */
 package com.powsybl.metrix.mapping.config;
 
+import com.powsybl.iidm.network.Battery;
+import com.powsybl.iidm.network.BoundaryLine;
 import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Generator;
 import com.powsybl.iidm.network.Injection;
 import com.powsybl.iidm.network.Load;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.extensions.LoadDetail;
 import com.powsybl.metrix.commons.MappingVariable;
+import com.powsybl.metrix.mapping.MappableEquipmentType;
+import com.powsybl.metrix.mapping.NetworkIndex;
 import com.powsybl.metrix.mapping.references.DistributionKey;
 import com.powsybl.metrix.mapping.references.MappingKey;
 import com.powsybl.timeseries.ast.NodeCalc;
@@ -33,6 +38,9 @@ import java.util.stream.Collectors;
  */
 public class TimeSeriesMappingConfig {
 
+    // Ids of the equipments and time series stored once, numbered for the compact collections below
+    private final EquipmentIdDictionary equipmentIds = new EquipmentIdDictionary();
+
     // Distribution keys
     protected final Map<MappingKey, DistributionKey> distributionKeys = new HashMap<>();
 
@@ -88,40 +96,40 @@ public class TimeSeriesMappingConfig {
     protected final Map<String, Set<String>> loadGroupToTimeSeriesMapping = new LinkedHashMap<>();
 
     // Unmapped equipments
-    protected final Set<String> unmappedGenerators = new HashSet<>();
-    protected final Set<String> unmappedBatteries = new HashSet<>();
-    protected final Set<String> unmappedLoads = new HashSet<>();
-    protected final Set<String> unmappedFixedActivePowerLoads = new HashSet<>();
-    protected final Set<String> unmappedVariableActivePowerLoads = new HashSet<>();
-    protected final Set<String> unmappedBoundaryLines = new HashSet<>();
-    protected final Set<String> unmappedHvdcLines = new HashSet<>();
-    protected final Set<String> unmappedPhaseTapChangers = new HashSet<>();
-    protected final Set<String> unmappedMinPGenerators = new HashSet<>();
-    protected final Set<String> unmappedMaxPGenerators = new HashSet<>();
-    protected final Set<String> unmappedMinPBatteries = new HashSet<>();
-    protected final Set<String> unmappedMaxPBatteries = new HashSet<>();
-    protected final Set<String> unmappedMinPHvdcLines = new HashSet<>();
-    protected final Set<String> unmappedMaxPHvdcLines = new HashSet<>();
+    protected final Set<String> unmappedGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedFixedActivePowerLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedVariableActivePowerLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedBoundaryLines = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedHvdcLines = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedPhaseTapChangers = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMinPGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMaxPGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMinPBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMaxPBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMinPHvdcLines = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> unmappedMaxPHvdcLines = new EquipmentIdSet(equipmentIds);
 
     // Equipments to ignore concerning unmapped equipments
-    protected final Set<String> ignoredUnmappedGenerators = new HashSet<>();
-    protected final Set<String> ignoredUnmappedBatteries = new HashSet<>();
-    protected final Set<String> ignoredUnmappedLoads = new HashSet<>();
-    protected final Set<String> ignoredUnmappedBoundaryLines = new HashSet<>();
-    protected final Set<String> ignoredUnmappedHvdcLines = new HashSet<>();
-    protected final Set<String> ignoredUnmappedPhaseTapChangers = new HashSet<>();
+    protected final Set<String> ignoredUnmappedGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> ignoredUnmappedBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> ignoredUnmappedLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> ignoredUnmappedBoundaryLines = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> ignoredUnmappedHvdcLines = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> ignoredUnmappedPhaseTapChangers = new EquipmentIdSet(equipmentIds);
 
     // Disconnected equipments
-    protected final Set<String> disconnectedGenerators = new HashSet<>();
-    protected final Set<String> disconnectedBatteries = new HashSet<>();
-    protected final Set<String> disconnectedLoads = new HashSet<>();
-    protected final Set<String> disconnectedBoundaryLines = new HashSet<>();
+    protected final Set<String> disconnectedGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> disconnectedBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> disconnectedLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> disconnectedBoundaryLines = new EquipmentIdSet(equipmentIds);
 
     // Out of main Cc equipments
-    protected final Set<String> outOfMainCcGenerators = new HashSet<>();
-    protected final Set<String> outOfMainCcBatteries = new HashSet<>();
-    protected final Set<String> outOfMainCcLoads = new HashSet<>();
-    protected final Set<String> outOfMainCcBoundaryLines = new HashSet<>();
+    protected final Set<String> outOfMainCcGenerators = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> outOfMainCcBatteries = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> outOfMainCcLoads = new EquipmentIdSet(equipmentIds);
+    protected final Set<String> outOfMainCcBoundaryLines = new EquipmentIdSet(equipmentIds);
 
     // Planned outages
     protected final Map<String, Set<String>> timeSeriesToPlannedOutagesMapping = new LinkedHashMap<>();
@@ -308,17 +316,15 @@ public class TimeSeriesMappingConfig {
     }
 
     protected void init(Network network) {
-        network.getGenerators().forEach(generator -> init(generator, unmappedGenerators, disconnectedGenerators, outOfMainCcGenerators));
-        network.getBatteries().forEach(battery -> init(battery, unmappedBatteries, disconnectedBatteries, outOfMainCcBatteries));
-        network.getLoads().forEach(load -> init(load, unmappedLoads, disconnectedLoads, outOfMainCcLoads));
-        network.getBoundaryLines().forEach(boundaryLine -> init(boundaryLine, unmappedBoundaryLines, disconnectedBoundaryLines, outOfMainCcBoundaryLines));
-        network.getHvdcLines().forEach(hvdcLine -> unmappedHvdcLines.add(hvdcLine.getId()));
-        network.getTwoWindingsTransformers().forEach(transformer -> {
-            if (transformer.hasPhaseTapChanger()) {
-                unmappedPhaseTapChangers.add(transformer.getId());
-            }
-        });
-        network.getLoads().forEach(load -> init(load, unmappedFixedActivePowerLoads, unmappedVariableActivePowerLoads));
+        NetworkIndex networkIndex = NetworkIndex.of(network);
+        networkIndex.<Generator>getEquipments(MappableEquipmentType.GENERATOR).forEach(generator -> init(generator, unmappedGenerators, disconnectedGenerators, outOfMainCcGenerators));
+        networkIndex.<Battery>getEquipments(MappableEquipmentType.BATTERY).forEach(battery -> init(battery, unmappedBatteries, disconnectedBatteries, outOfMainCcBatteries));
+        List<Load> loads = networkIndex.getEquipments(MappableEquipmentType.LOAD);
+        loads.forEach(load -> init(load, unmappedLoads, disconnectedLoads, outOfMainCcLoads));
+        networkIndex.<BoundaryLine>getEquipments(MappableEquipmentType.BOUNDARY_LINE).forEach(boundaryLine -> init(boundaryLine, unmappedBoundaryLines, disconnectedBoundaryLines, outOfMainCcBoundaryLines));
+        networkIndex.getEquipments(MappableEquipmentType.HVDC_LINE).forEach(hvdcLine -> unmappedHvdcLines.add(hvdcLine.getId()));
+        networkIndex.getEquipments(MappableEquipmentType.PHASE_TAP_CHANGER).forEach(transformer -> unmappedPhaseTapChangers.add(transformer.getId()));
+        loads.forEach(load -> init(load, unmappedFixedActivePowerLoads, unmappedVariableActivePowerLoads));
         unmappedMinPGenerators.addAll(unmappedGenerators);
         unmappedMaxPGenerators.addAll(unmappedGenerators);
         unmappedMinPBatteries.addAll(unmappedBatteries);
@@ -330,6 +336,17 @@ public class TimeSeriesMappingConfig {
     public TimeSeriesMappingConfig() {
     }
 
+    /**
+     * New empty list of ids, sharing the dictionary of the configuration
+     */
+    List<String> newEquipmentIdList() {
+        return new EquipmentIdList(equipmentIds);
+    }
+
+    private void putAllEquipmentIdLists(Map<MappingKey, List<String>> target, Map<MappingKey, List<String>> map) {
+        map.forEach((key, ids) -> target.put(key, EquipmentIdList.copyOf(equipmentIds, ids)));
+    }
+
     public TimeSeriesMappingConfig(Network network) {
         init(network);
     }
@@ -349,51 +366,51 @@ public class TimeSeriesMappingConfig {
 
     // Time series to equipments
     public void setTimeSeriesToGeneratorsMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToGeneratorsMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToGeneratorsMapping, map);
     }
 
     public void setTimeSeriesToBatteriesMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToBatteriesMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToBatteriesMapping, map);
     }
 
     public void setTimeSeriesToLoadsMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToLoadsMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToLoadsMapping, map);
     }
 
     public void setTimeSeriesToBoundaryLinesMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToBoundaryLinesMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToBoundaryLinesMapping, map);
     }
 
     public void setTimeSeriesToHvdcLinesMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToHvdcLinesMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToHvdcLinesMapping, map);
     }
 
     public void setTimeSeriesToPhaseTapChangersMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToPhaseTapChangersMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToPhaseTapChangersMapping, map);
     }
 
     public void setTimeSeriesToBreakersMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToBreakersMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToBreakersMapping, map);
     }
 
     public void setTimeSeriesToTransformersMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToTransformersMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToTransformersMapping, map);
     }
 
     public void setTimeSeriesToLinesMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToLinesMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToLinesMapping, map);
     }
 
     public void setTimeSeriesToRatioTapChangersMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToRatioTapChangersMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToRatioTapChangersMapping, map);
     }
 
     public void setTimeSeriesToLccConverterStationsMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToLccConverterStationsMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToLccConverterStationsMapping, map);
     }
 
     public void setTimeSeriesToVscConverterStationsMapping(Map<MappingKey, List<String>> map) {
-        timeSeriesToVscConverterStationsMapping.putAll(map);
+        putAllEquipmentIdLists(timeSeriesToVscConverterStationsMapping, map);
     }
 
     public Map<MappingKey, List<String>> getTimeSeriesToGeneratorsMapping() {
@@ -446,51 +463,51 @@ public class TimeSeriesMappingConfig {
 
     // Equipment to time series
     public void setGeneratorToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        generatorToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(generatorToTimeSeriesMapping, map);
     }
 
     public void setBatteryToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        batteryToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(batteryToTimeSeriesMapping, map);
     }
 
     public void setLoadToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        loadToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(loadToTimeSeriesMapping, map);
     }
 
     public void setBoundaryLineToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        boundaryLineToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(boundaryLineToTimeSeriesMapping, map);
     }
 
     public void setHvdcLineToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        hvdcLineToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(hvdcLineToTimeSeriesMapping, map);
     }
 
     public void setPhaseTapChangerToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        phaseTapChangerToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(phaseTapChangerToTimeSeriesMapping, map);
     }
 
     public void setBreakerToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        breakerToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(breakerToTimeSeriesMapping, map);
     }
 
     public void setTransformerToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        transformerToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(transformerToTimeSeriesMapping, map);
     }
 
     public void setLineToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        lineToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(lineToTimeSeriesMapping, map);
     }
 
     public void setRatioTapChangerToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        ratioTapChangerToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(ratioTapChangerToTimeSeriesMapping, map);
     }
 
     public void setLccConverterStationToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        lccConverterStationToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(lccConverterStationToTimeSeriesMapping, map);
     }
 
     public void setVscConverterStationToTimeSeriesMapping(Map<MappingKey, List<String>> map) {
-        vscConverterStationToTimeSeriesMapping.putAll(map);
+        putAllEquipmentIdLists(vscConverterStationToTimeSeriesMapping, map);
     }
 
     public Map<MappingKey, List<String>> getGeneratorToTimeSeriesMapping() {
@@ -28,7 +28,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,8 +56,8 @@ public class TimeSeriesMappingConfigLoader implements DefaultGenericMetadata {
         this.existingTimeSeriesNames = existingTimeSeriesNames;
     }
 
-    private static List<String> getMultimapValue(Map<MappingKey, List<String>> multimap, MappingKey key) {
-        return multimap.computeIfAbsent(key, k -> new LinkedList<>());
+    private List<String> getMultimapValue(Map<MappingKey, List<String>> multimap, MappingKey key) {
+        return multimap.computeIfAbsent(key, k -> config.newEquipmentIdList());
     }
 
     private static <K, V> Stream<K> keys(Map<K, V> map, V value) {
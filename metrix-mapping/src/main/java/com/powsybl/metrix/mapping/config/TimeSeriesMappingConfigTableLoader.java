@@ -9,6 +9,7 @@ package com.powsybl.metrix.mapping.config;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Range;
+import com.powsybl.metrix.commons.data.timeseries.NodeCalcDag;
 import com.powsybl.metrix.commons.data.timeseries.TimeSeriesStoreUtil;
 import com.powsybl.metrix.mapping.exception.TimeSeriesMappingException;
 import com.powsybl.metrix.mapping.references.TimeSeriesDistributionKey;
@@ -69,17 +70,22 @@ public class TimeSeriesMappingConfigTableLoader {
         }
         List<DoubleTimeSeries> timeSeriesToAddToTable = new ArrayList<>(loadedTimeSeries);
         ReadOnlyTimeSeriesStore storeCache = new ReadOnlyTimeSeriesStoreCache(loadedTimeSeries);
-        TimeSeriesNameResolver resolver = new FromStoreTimeSeriesNameResolver(storeCache, version);
 
-        // add calculated time series
+        // add calculated time series, the subexpressions they share being evaluated once
+        Map<String, NodeCalc> usedNodes = new LinkedHashMap<>();
         for (String mappedTimeSeriesName : usedTimeSeriesNames) {
             NodeCalc nodeCalc = config.timeSeriesNodes.get(mappedTimeSeriesName);
             if (nodeCalc != null) {
-                CalculatedTimeSeries timeSeries = new CalculatedTimeSeries(mappedTimeSeriesName, nodeCalc);
-                timeSeries.setTimeSeriesNameResolver(resolver);
-                timeSeriesToAddToTable.add(timeSeries);
+                usedNodes.put(mappedTimeSeriesName, nodeCalc);
             }
         }
+        NodeCalcDag nodeCalcDag = new NodeCalcDag(usedNodes);
+        TimeSeriesNameResolver resolver = nodeCalcDag.createResolver(new FromStoreTimeSeriesNameResolver(storeCache, version));
+        for (String mappedTimeSeriesName : usedNodes.keySet()) {
+            CalculatedTimeSeries timeSeries = new CalculatedTimeSeries(mappedTimeSeriesName, nodeCalcDag.getNodeCalc(mappedTimeSeriesName));
+            timeSeries.setTimeSeriesNameResolver(resolver);
+            timeSeriesToAddToTable.add(timeSeries);
+        }
 
         table.load(version, timeSeriesToAddToTable);
 
@@ -7,6 +7,8 @@
  */
 package com.powsybl.metrix.mapping.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -22,23 +24,29 @@ import com.powsybl.timeseries.json.TimeSeriesJsonModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Marianne Funfrock {@literal <marianne.funfrock at rte-france.com>}
@@ -49,7 +57,13 @@ public class TimeSeriesMappingConfigJson {
     private static final long DESERIALIZATION_EXTENDED_MAX_STACK_SIZE = 4096000L;
     public static final String INVALID_TIME_SERIES_MAPPING_CONFIG_JSON = "Invalid time series mapping config JSON";
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * Suffix of the files written and read as gzip compressed JSON
+     */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    private static final ObjectMapper TIME_SERIES_NODES_MAPPER = JsonUtil.createObjectMapper()
+        .registerModule(new TimeSeriesJsonModule());
 
     protected final TimeSeriesMappingConfig config;
 
@@ -65,6 +79,29 @@ public class TimeSeriesMappingConfigJson {
         writeJson(generator, config);
     }
 
+    /**
+     * Write the configuration to a file, streamed without building the whole JSON in memory.
+     * The file is gzip compressed if its name ends with {@link #GZIP_EXTENSION}.
+     */
+    public static void writeJson(Path file, TimeSeriesMappingConfig config) {
+        Objects.requireNonNull(file);
+        try (OutputStream os = newOutputStream(file);
+             JsonGenerator generator = new JsonFactory().createGenerator(os, JsonEncoding.UTF8)) {
+            new TimeSeriesMappingConfigJson(config).toJson(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static OutputStream newOutputStream(Path file) throws IOException {
+        OutputStream os = new BufferedOutputStream(Files.newOutputStream(file));
+        return isGzip(file) ? new GZIPOutputStream(os) : os;
+    }
+
+    private static boolean isGzip(Path file) {
+        return file.getFileName().toString().endsWith(GZIP_EXTENSION);
+    }
+
     public void writeJson(JsonGenerator generator, TimeSeriesMappingConfig config) {
         Objects.requireNonNull(generator);
         try {
@@ -178,12 +215,7 @@ public class TimeSeriesMappingConfigJson {
     }
 
     static void writeStringSet(JsonGenerator generator, String fieldName, Set<String> values) throws IOException {
-        generator.writeFieldName(fieldName);
-        generator.writeStartArray();
-        for (String id : values) {
-            generator.writeString(id);
-        }
-        generator.writeEndArray();
+        writeStringArray(generator, fieldName, values);
     }
 
     static void writeTimeSeriesToPlannedOutagesMap(JsonGenerator generator, Map<String, Set<String>> plannedOutagesMap) {
@@ -254,8 +286,7 @@ public class TimeSeriesMappingConfigJson {
                 generator.writeStartObject();
                 generator.writeFieldName(JsonFieldName.MAPPING_KEY.getFieldName());
                 MappingKey.writeJson(generator, e.getKey());
-                generator.writeFieldName(JsonFieldName.MAPPING_LIST.getFieldName());
-                mapper.writeValue(generator, e.getValue());
+                writeStringArray(generator, JsonFieldName.MAPPING_LIST.getFieldName(), e.getValue());
                 generator.writeEndObject();
             }
             generator.writeEndArray();
@@ -268,13 +299,21 @@ public class TimeSeriesMappingConfigJson {
         Objects.requireNonNull(generator);
         Objects.requireNonNull(mappingSet);
         try {
-            generator.writeFieldName(fieldName.getFieldName());
-            mapper.writeValue(generator, mappingSet);
+            writeStringArray(generator, fieldName.getFieldName(), mappingSet);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private static void writeStringArray(JsonGenerator generator, String fieldName, Collection<String> values) throws IOException {
+        generator.writeFieldName(fieldName);
+        generator.writeStartArray();
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
     void writeMappingKeySet(JsonGenerator generator, JsonFieldName jsonFieldName, Set<MappingKey> mappingSet) {
         Objects.requireNonNull(generator);
         Objects.requireNonNull(mappingSet);
@@ -316,11 +355,9 @@ public class TimeSeriesMappingConfigJson {
     void writeTimeSeriesNodes(JsonGenerator generator, Map<String, NodeCalc> timeSeriesNodes) {
         Objects.requireNonNull(generator);
         Objects.requireNonNull(timeSeriesNodes);
-        ObjectMapper timeSeriesMapper = JsonUtil.createObjectMapper()
-            .registerModule(new TimeSeriesJsonModule());
         try {
             generator.writeFieldName(JsonFieldName.TIME_SERIES_NODES.getFieldName());
-            timeSeriesMapper.writeValue(generator, timeSeriesNodes);
+            TIME_SERIES_NODES_MAPPER.writeValue(generator, timeSeriesNodes);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -330,14 +367,24 @@ public class TimeSeriesMappingConfigJson {
         return JsonUtil.parseJson(reader, TimeSeriesMappingConfigJson::parseJsonWithExtendedThreadStackSize);
     }
 
+    /**
+     * Read the configuration from a file, gzip compressed if its name ends with {@link #GZIP_EXTENSION}
+     */
     public static TimeSeriesMappingConfig parseJson(Path file) {
-        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        try (BufferedReader reader = newReader(file)) {
             return TimeSeriesMappingConfigJson.parseJson(reader);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private static BufferedReader newReader(Path file) throws IOException {
+        if (isGzip(file)) {
+            return new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
     public static TimeSeriesMappingConfig parseJsonWithExtendedThreadStackSize(JsonParser parser) {
         AtomicReference<TimeSeriesMappingConfig> result = new AtomicReference<>(null);
         Thread extendedStackSizeThread = new Thread(null, null, "MappingConfigDeserialization", DESERIALIZATION_EXTENDED_MAX_STACK_SIZE) {
@@ -365,9 +412,10 @@ public class TimeSeriesMappingConfigJson {
         Objects.requireNonNull(parser);
         try {
             JsonToken token;
-            ObjectMapper mapper = new ObjectMapper();
             if ((token = parser.nextToken()) == JsonToken.START_ARRAY) {
-                return mapper.readValue(parser, TypeFactory.defaultInstance().constructCollectionType(Set.class, String.class));
+                Set<String> set = new LinkedHashSet<>();
+                parseStringArray(parser, set);
+                return set;
             }
             throw new TimeSeriesException("Unexpected JSON token: " + token);
         } catch (IOException e) {
@@ -408,16 +456,28 @@ public class TimeSeriesMappingConfigJson {
         }
     }
 
+    /**
+     * Read the strings of an array, the parser being on the start of the array
+     */
+    private static void parseStringArray(JsonParser parser, Collection<String> values) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw new TimeSeriesException("Unexpected JSON token: " + token);
+            }
+            values.add(parser.getText());
+        }
+    }
+
     static MappingKey parseMappingKeyFieldName(JsonParser parser, List<String> mappingList) throws IOException {
         String fieldName = parser.currentName();
-        ObjectMapper mapper = new ObjectMapper();
         MappingKey newMappingKey = null;
         switch (JsonFieldName.nameOf(fieldName)) {
             case MAPPING_KEY -> newMappingKey = MappingKey.parseJson(parser);
             case MAPPING_LIST -> {
                 if (parser.nextToken() == JsonToken.START_ARRAY) {
                     assert mappingList != null;
-                    mappingList.addAll(mapper.readValue(parser, TypeFactory.defaultInstance().constructCollectionType(List.class, String.class)));
+                    parseStringArray(parser, mappingList);
                 }
             }
             default -> throw new IllegalStateException(getUnexpectedFieldName(fieldName));
@@ -434,7 +494,7 @@ public class TimeSeriesMappingConfigJson {
             JsonToken token;
             while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
                 switch (token) {
-                    case START_OBJECT -> mappingList = new LinkedList<>();
+                    case START_OBJECT -> mappingList = new ArrayList<>();
                     case FIELD_NAME -> {
                         MappingKey newMappingKey = parseMappingKeyFieldName(parser, mappingList);
                         mappingKey = newMappingKey != null ? newMappingKey : mappingKey;
@@ -494,10 +554,8 @@ public class TimeSeriesMappingConfigJson {
         Objects.requireNonNull(parser);
         Map<String, NodeCalc> map = new HashMap<>();
         try {
-            ObjectMapper mapper = JsonUtil.createObjectMapper()
-                .registerModule(new TimeSeriesJsonModule());
             if (parser.nextToken() == JsonToken.START_OBJECT) {
-                map.putAll(mapper.readValue(parser, TypeFactory.defaultInstance().constructMapType(Map.class, String.class, NodeCalc.class)));
+                map.putAll(TIME_SERIES_NODES_MAPPER.readValue(parser, TypeFactory.defaultInstance().constructMapType(Map.class, String.class, NodeCalc.class)));
             }
             return map;
         } catch (IOException e) {
@@ -71,4 +71,19 @@ public class MultipleTimeSeriesMapperObserver implements TimeSeriesMapperObserve
     public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
         observers.forEach(o -> o.timeSeriesMappingEnd(point, index, balance));
     }
+
+    @Override
+    public void timeSeriesMappingStart(int version, int point, TimeSeriesIndex index) {
+        observers.forEach(o -> o.timeSeriesMappingStart(version, point, index));
+    }
+
+    @Override
+    public void timeSeriesMappedToEquipment(int version, int point, String timeSeriesName, Identifiable<?> identifiable, MappingVariable variable, double equipmentValue) {
+        observers.forEach(o -> o.timeSeriesMappedToEquipment(version, point, timeSeriesName, identifiable, variable, equipmentValue));
+    }
+
+    @Override
+    public void timeSeriesMappingEnd(int version, int point, TimeSeriesIndex index, double balance) {
+        observers.forEach(o -> o.timeSeriesMappingEnd(version, point, index, balance));
+    }
 }
@@ -9,6 +9,7 @@ package com.powsybl.metrix.mapping.timeseries;
 
 import com.powsybl.iidm.network.Identifiable;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.metrix.mapping.NetworkIndex;
 import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
 import com.powsybl.metrix.mapping.exception.TimeSeriesMappingException;
 import com.powsybl.metrix.mapping.references.DistributionKey;
@@ -40,15 +41,20 @@ public class EquipmentTimeSeriesMap {
     }
 
     public List<MappedEquipment> mapEquipments(MappingKey key, List<String> equipmentIds, Network network, TimeSeriesMappingConfig config) {
+        NetworkIndex networkIndex = NetworkIndex.of(network);
         return equipmentIds.stream().map(equipmentId -> {
-            Identifiable<?> identifiable = getIdentifiable(network, equipmentId);
+            Identifiable<?> identifiable = getIdentifiable(networkIndex, network, equipmentId);
             DistributionKey distributionKey = config.getDistributionKey(new MappingKey(key.mappingVariable(), equipmentId));
             return new MappedEquipment(identifiable, distributionKey);
         }).toList();
     }
 
-    private static Identifiable<?> getIdentifiable(Network network, String equipmentId) {
-        Identifiable<?> identifiable = network.getIdentifiable(equipmentId);
+    private static Identifiable<?> getIdentifiable(NetworkIndex networkIndex, Network network, String equipmentId) {
+        Identifiable<?> identifiable = networkIndex.getIdentifiable(equipmentId);
+        if (identifiable == null) {
+            // equipments which are not indexed, e.g. tie lines, are looked up in the network
+            identifiable = network.getIdentifiable(equipmentId);
+        }
         // check equipment exists
         if (identifiable == null) {
             throw new TimeSeriesMappingException("'" + equipmentId + "' not found");
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.TwoWindingsTransformer;
+import com.powsybl.iidm.serde.NetworkSerDe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class NetworkIndexTest {
+
+    private Network network;
+
+    @BeforeEach
+    void setUp() {
+        network = NetworkSerDe.read(Objects.requireNonNull(getClass().getResourceAsStream("/simpleNetwork.xml")));
+    }
+
+    @Test
+    void indexTest() {
+        NetworkIndex networkIndex = NetworkIndex.of(network);
+        assertSame(networkIndex, NetworkIndex.of(network));
+        // the index is held by the network, so that it is collected with it
+        assertNotNull(network.getExtensionByName("metrixNetworkIndex"));
+
+        int num = networkIndex.getNum("FSSV.O11_G");
+        assertNotEquals(NetworkIndex.UNKNOWN_NUM, num);
+        assertSame(network.getGenerator("FSSV.O11_G"), networkIndex.getIdentifiable(num));
+        assertSame(network.getGenerator("FSSV.O11_G"), networkIndex.getIdentifiable("FSSV.O11_G"));
+        assertEquals(MappableEquipmentType.GENERATOR, networkIndex.getType(num));
+        assertEquals("FSSV.O1", networkIndex.getVoltageLevel(num).getId());
+        assertEquals("FSSV.", networkIndex.getSubstation(num).getId());
+
+        int transformerNum = networkIndex.getNum("FP.AND1  FTDPRA1  1");
+        assertEquals(MappableEquipmentType.TRANSFORMER, networkIndex.getType(transformerNum));
+        assertNull(networkIndex.getVoltageLevel(transformerNum));
+        assertEquals(1, networkIndex.getEquipments(MappableEquipmentType.PHASE_TAP_CHANGER).size());
+
+        assertEquals(NetworkIndex.UNKNOWN_NUM, networkIndex.getNum("FP.AN"));
+        assertNull(networkIndex.getIdentifiable("unknown"));
+
+        assertEquals(network.getGeneratorCount(), networkIndex.getEquipments(MappableEquipmentType.GENERATOR).size());
+        assertEquals(network.getLoadCount(), networkIndex.getEquipments(MappableEquipmentType.LOAD).size());
+        assertEquals(network.getSwitchCount(), networkIndex.getEquipments(MappableEquipmentType.SWITCH).size());
+        assertEquals(network.getIdentifiables().stream()
+                .filter(identifiable -> networkIndex.getNum(identifiable.getId()) != NetworkIndex.UNKNOWN_NUM)
+                .count(), networkIndex.size());
+    }
+
+    @Test
+    void invalidationTest() {
+        NetworkIndex networkIndex = NetworkIndex.of(network);
+        network.getLoad("FVALDI11_L2").remove();
+
+        NetworkIndex updatedNetworkIndex = NetworkIndex.of(network);
+        assertNotSame(networkIndex, updatedNetworkIndex);
+        assertEquals(NetworkIndex.UNKNOWN_NUM, updatedNetworkIndex.getNum("FVALDI11_L2"));
+        Identifiable<?> load = updatedNetworkIndex.getIdentifiable("FVALDI11_L");
+        assertSame(network.getLoad("FVALDI11_L"), load);
+    }
+
+    @Test
+    void serializationTest() {
+        NetworkIndex networkIndex = NetworkIndex.of(network);
+
+        // the index is neither written nor copied with the network
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        NetworkSerDe.write(network, os);
+        assertFalse(os.toString(StandardCharsets.UTF_8).contains("metrixNetworkIndex"));
+        Network copy = NetworkSerDe.copy(network);
+        assertNull(copy.getExtensionByName("metrixNetworkIndex"));
+        assertEquals(network.getLoadCount(), copy.getLoadCount());
+
+        NetworkIndex copyIndex = NetworkIndex.of(copy);
+        assertEquals(networkIndex.size(), copyIndex.size());
+        assertSame(copy.getGenerator("FSSV.O11_G"), copyIndex.getIdentifiable("FSSV.O11_G"));
+
+        // each network drops its own index only
+        copy.getLoad("FVALDI11_L2").remove();
+        assertSame(networkIndex, NetworkIndex.of(network));
+        assertNotSame(copyIndex, NetworkIndex.of(copy));
+    }
+
+    @Test
+    void tapChangerTest() {
+        NetworkIndex networkIndex = NetworkIndex.of(network);
+        TwoWindingsTransformer transformer = network.getTwoWindingsTransformer("FP.AND1  FTDPRA1  1");
+        assertEquals(1, networkIndex.getEquipments(MappableEquipmentType.RATIO_TAP_CHANGER).size());
+
+        // removing a tap changer does not remove any equipment: the index is kept but follows the tap changers
+        transformer.getRatioTapChanger().remove();
+        assertSame(networkIndex, NetworkIndex.of(network));
+        assertTrue(networkIndex.getEquipments(MappableEquipmentType.RATIO_TAP_CHANGER).isEmpty());
+        assertEquals(1, networkIndex.getEquipments(MappableEquipmentType.PHASE_TAP_CHANGER).size());
+    }
+}
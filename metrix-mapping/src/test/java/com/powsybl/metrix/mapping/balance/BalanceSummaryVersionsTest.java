@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping.balance;
+
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.metrix.mapping.EquipmentVariable;
+import com.powsybl.metrix.mapping.TimeSeriesMapper;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.Interval;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class BalanceSummaryVersionsTest {
+
+    private final TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T02:00:00Z"), Duration.ofHours(1));
+
+    private void mapVersion(BalanceSummary balanceSummary, int version, Generator generator, Load load, CountDownLatch latch) throws InterruptedException {
+        balanceSummary.timeSeriesMappingStart(version, TimeSeriesMapper.CONSTANT_VARIANT_ID, index);
+        balanceSummary.timeSeriesMappedToEquipment(version, TimeSeriesMapper.CONSTANT_VARIANT_ID, "load", load, EquipmentVariable.P0, 100);
+        balanceSummary.timeSeriesMappingEnd(version, TimeSeriesMapper.CONSTANT_VARIANT_ID, index, 10);
+        latch.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int point = 0; point < 3; point++) {
+            balanceSummary.timeSeriesMappingStart(version, point, index);
+            balanceSummary.timeSeriesMappedToEquipment(version, point, "generator", generator, EquipmentVariable.TARGET_P, version * 100.0 + point);
+            // not an injection
+            balanceSummary.timeSeriesMappedToEquipment(version, point, "generator", generator, EquipmentVariable.MIN_P, 1000);
+            balanceSummary.timeSeriesMappingEnd(version, point, index, 0);
+        }
+        balanceSummary.versionEnd(version);
+    }
+
+    @Test
+    void concurrentVersionsTest() throws Exception {
+        Generator generator = mock(Generator.class);
+        Load load = mock(Load.class);
+        when(load.getP0()).thenReturn(100.0);
+
+        BalanceSummary balanceSummary = new BalanceSummary();
+        // versions are started by another thread than the one mapping them
+        balanceSummary.versionStart(1);
+        balanceSummary.versionStart(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> version2 = executor.submit(() -> {
+                mapVersion(balanceSummary, 2, generator, load, latch);
+                return null;
+            });
+            Future<?> version1 = executor.submit(() -> {
+                mapVersion(balanceSummary, 1, generator, load, latch);
+                return null;
+            });
+            version1.get(10, TimeUnit.SECONDS);
+            version2.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertArrayEquals(new double[] {10, 11, 12}, balanceSummary.getValuesSortedByInstantByVersion(1));
+        assertArrayEquals(new double[] {110, 111, 112}, balanceSummary.getValuesSortedByInstantByVersion(2));
+
+        StringWriter stats = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(stats)) {
+            balanceSummary.writeCsv(writer);
+        }
+        assertEquals(String.join(System.lineSeparator(),
+                "Version;Min;Max;Sum;Mean",
+                "1;10;12;33;11",
+                "2;110;112;333;111",
+                ""), stats.toString());
+    }
+
+    @Test
+    void versionNotGivenTest() {
+        Generator generator = mock(Generator.class);
+        BalanceSummary balanceSummary = new BalanceSummary();
+        assertThrows(IllegalStateException.class, () -> balanceSummary.timeSeriesMappingStart(0, index));
+
+        // without version, the notifications go to the single version being mapped
+        balanceSummary.versionStart(1);
+        balanceSummary.timeSeriesMappingStart(0, index);
+        balanceSummary.timeSeriesMappedToEquipment(0, "generator", generator, EquipmentVariable.TARGET_P, 5);
+        balanceSummary.timeSeriesMappingEnd(0, index, 1);
+
+        balanceSummary.versionStart(2);
+        assertThrows(IllegalStateException.class, () -> balanceSummary.timeSeriesMappingStart(1, index));
+        assertThrows(IllegalStateException.class, () -> balanceSummary.versionEnd(3));
+        balanceSummary.versionEnd(2);
+        balanceSummary.versionEnd(1);
+        assertArrayEquals(new double[] {6}, balanceSummary.getValuesSortedByInstantByVersion(1));
+    }
+}
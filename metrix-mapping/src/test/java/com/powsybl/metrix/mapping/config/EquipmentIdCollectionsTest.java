@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, RTE (https://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.metrix.mapping.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+class EquipmentIdCollectionsTest {
+
+    private final EquipmentIdDictionary dictionary = new EquipmentIdDictionary();
+
+    @Test
+    void setTest() {
+        EquipmentIdSet set = new EquipmentIdSet(dictionary);
+        assertTrue(set.add("g1"));
+        assertTrue(set.add("g2"));
+        assertFalse(set.add("g1"));
+        assertTrue(set.addAll(Set.of("g3")));
+        assertEquals(3, set.size());
+        assertEquals(Set.of("g1", "g2", "g3"), set);
+        assertEquals(Set.of("g1", "g2", "g3").hashCode(), set.hashCode());
+
+        assertTrue(set.contains("g2"));
+        assertFalse(set.contains("unknown"));
+        assertFalse(set.remove("unknown"));
+        assertTrue(set.remove("g2"));
+        assertFalse(set.contains("g2"));
+        assertEquals(List.of("g1", "g3"), List.copyOf(set));
+
+        Iterator<String> it = set.iterator();
+        it.next();
+        it.remove();
+        assertEquals(Set.of("g3"), set);
+
+        // ids are shared with the other collections of the configuration
+        EquipmentIdSet other = new EquipmentIdSet(dictionary);
+        other.add("g2");
+        assertEquals(1, dictionary.getNum("g2"));
+        assertFalse(set.contains("g2"));
+    }
+
+    @Test
+    void listTest() {
+        EquipmentIdList list = EquipmentIdList.copyOf(dictionary, List.of("l1", "l2"));
+        list.add("l3");
+        list.addFirst("l0");
+        assertEquals(List.of("l0", "l1", "l2", "l3"), list);
+        assertEquals("l0", list.getFirst());
+
+        assertTrue(list.remove("l2"));
+        assertFalse(list.remove("unknown"));
+        assertEquals(List.of("l0", "l1", "l3"), list);
+        assertEquals(List.of("l0", "l1", "l3").hashCode(), list.hashCode());
+
+        assertEquals("l1", list.set(1, "l4"));
+        assertEquals(List.of("l0", "l4", "l3"), list);
+        assertEquals(2, list.indexOf("l3"));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+}
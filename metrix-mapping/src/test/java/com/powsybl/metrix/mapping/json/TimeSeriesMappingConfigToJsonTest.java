@@ -8,6 +8,8 @@
 package com.powsybl.metrix.mapping.json;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
 import com.google.common.collect.ImmutableSet;
 import com.powsybl.metrix.mapping.EquipmentVariable;
 import com.powsybl.metrix.mapping.OtherVariable;
@@ -20,11 +22,16 @@ import com.powsybl.timeseries.ast.NodeCalc;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Paul Bui-Quang {@literal <paul.buiquang at rte-france.com>}
@@ -330,4 +337,18 @@ class TimeSeriesMappingConfigToJsonTest {
         TimeSeriesMappingConfig config2 = TimeSeriesMappingConfigJson.parseJson(json);
         assertEquals(config, config2);
     }
+
+    @Test
+    void testJsonFile() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path jsonFile = fileSystem.getPath("/mappingConfig.json");
+            TimeSeriesMappingConfigJson.writeJson(jsonFile, config);
+            assertEquals(config, TimeSeriesMappingConfigJson.parseJson(jsonFile));
+
+            Path gzipFile = fileSystem.getPath("/mappingConfig.json" + TimeSeriesMappingConfigJson.GZIP_EXTENSION);
+            TimeSeriesMappingConfigJson.writeJson(gzipFile, config);
+            assertEquals(config, TimeSeriesMappingConfigJson.parseJson(gzipFile));
+            assertTrue(Files.size(gzipFile) < Files.size(jsonFile));
+        }
+    }
 }
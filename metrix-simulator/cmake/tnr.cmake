@@ -37,12 +37,25 @@ function(check_files files_ expected_files_)
     endforeach()
 endfunction()
 
-if (WITH_LODF_PTDF)
-    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS} --write-PTDF --write-LODF  RESULT_VARIABLE cmd_result)
+separate_arguments(EXTRA_OPTIONS_LIST UNIX_COMMAND "${EXTRA_OPTIONS}")
+if (WORKER_SPLIT)
+    # the following variants are requested to the worker on its standard input, in the working directory of the test
+    math(EXPR nb_requested "${NB_TESTS} - ${WORKER_SPLIT}")
+    file(WRITE ${WORKING_DIR}/requests.txt
+        "--working-dir=${WORKING_DIR} metrixOut.txt VariantSet.csv out ${WORKER_SPLIT} ${nb_requested}\n\n")
+    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${WORKER_SPLIT} --worker ${EXTRA_OPTIONS_LIST}
+        INPUT_FILE ${WORKING_DIR}/requests.txt OUTPUT_VARIABLE worker_output RESULT_VARIABLE cmd_result)
+    string(REGEX MATCHALL "status [0-9-]+" worker_status "${worker_output}")
+    list(LENGTH worker_status nb_status)
+    if(NOT nb_status EQUAL 2)
+        message(FATAL_ERROR "Worker answered " ${nb_status} " status instead of 2: " ${worker_output})
+    endif()
+elseif (WITH_LODF_PTDF)
+    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS} --write-PTDF --write-LODF ${EXTRA_OPTIONS_LIST}  RESULT_VARIABLE cmd_result)
 elseif(ALL_OUTPUTS)
-    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS} --all-outputs  RESULT_VARIABLE cmd_result)
+    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS} --all-outputs ${EXTRA_OPTIONS_LIST}  RESULT_VARIABLE cmd_result)
 else()
-    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS}  RESULT_VARIABLE cmd_result)
+    execute_process(COMMAND ${EXE} metrixOut.txt VariantSet.csv out 0 ${NB_TESTS} ${EXTRA_OPTIONS_LIST}  RESULT_VARIABLE cmd_result)
 endif()
 if(cmd_result)
     message(FATAL_ERROR "Error running: ${EXE} returns " ${cmd_result})
@@ -195,6 +195,30 @@ public:
      */
     Logger& log(severity::level lvl, const std::string& filepath, int line, TargetOutput target);
 
+    /**
+     * @brief Redirect the following result logs to another file
+     *
+     * The pending log is written in the previous file before it is closed
+     *
+     * @param[in] filepath the path of the new result file
+     */
+    void changeResultFile(const std::string& filepath);
+
+    /**
+     * @brief Redirect the following developer logs to other files
+     *
+     * The pending records are written in the previous files before they are closed. The new files are numbered from 0
+     * again.
+     *
+     * @param[in] filepath the path of the new developer file, before numbering
+     */
+    void changeDevFile(const std::string& filepath);
+
+    /**
+     * @brief Write the pending logs in the result file and in the developer file
+     */
+    void flush();
+
     template<class T>
     friend Logger& operator<<(Logger& logger, const T& element);
 
@@ -256,6 +280,11 @@ private:
     void logImplDev() const;
     void logImplResult();
 
+    /**
+     * @brief Add the sink of the developer file, numbered with the pattern computed from the given path
+     */
+    void addDevFileSink(const std::string& filepath);
+
     /**
      * @brief Constructor
      *
@@ -268,6 +297,7 @@ private:
 
     // underlying loggers
     std::unique_ptr<logger_src> logger_;
+    boost::shared_ptr<async_sink_file> sinkFile_;
     std::ofstream resultFileStream_ = std::ofstream(config.resultFilepath);
 
     // thread management
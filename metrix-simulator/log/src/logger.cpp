@@ -105,18 +105,7 @@ std::string Logger::computeDevfilePattern(const std::string& filepath)
 Logger::Logger() : timer_(context_)
 {
     // file synk
-    auto file_pattern = computeDevfilePattern(config.devFilepath);
-    auto backend = boost::make_shared<sinks::text_file_backend>(keywords::file_name = file_pattern,
-                                                                keywords::auto_flush = true,
-                                                                keywords::rotation_size = 5 * 1024 * 1024 // 5Mo
-    );
-
-    auto sink_file = boost::make_shared<async_sink_file>(backend);
-
-    sink_file->set_filter(std::bind(&Logger::check, this, std::placeholders::_1));
-    sink_file->set_formatter(std::bind(&Logger::formatter, this, std::placeholders::_1, std::placeholders::_2));
-
-    core::get()->add_sink(sink_file);
+    addDevFileSink(config.devFilepath);
 
     // stream synk
     if (config.printLog) {
@@ -138,6 +127,22 @@ Logger::Logger() : timer_(context_)
     }));
 }
 
+void Logger::addDevFileSink(const std::string& filepath)
+{
+    auto file_pattern = computeDevfilePattern(filepath);
+    auto backend = boost::make_shared<sinks::text_file_backend>(keywords::file_name = file_pattern,
+                                                                keywords::auto_flush = true,
+                                                                keywords::rotation_size = 5 * 1024 * 1024 // 5Mo
+    );
+
+    sinkFile_ = boost::make_shared<async_sink_file>(backend);
+
+    sinkFile_->set_filter(std::bind(&Logger::check, this, std::placeholders::_1));
+    sinkFile_->set_formatter(std::bind(&Logger::formatter, this, std::placeholders::_1, std::placeholders::_2));
+
+    core::get()->add_sink(sinkFile_);
+}
+
 Logger& Logger::instance()
 {
     static Logger logger_instance;
@@ -205,6 +210,41 @@ void Logger::logImpl()
     logInfo_.reset();
 }
 
+void Logger::changeResultFile(const std::string& filepath)
+{
+    std::unique_lock<std::mutex> lock(mutex_);
+    logImpl();
+    logInfo_.reset();
+
+    resultFileStream_.close();
+    config.resultFilepath = filepath;
+    resultFileStream_.open(filepath);
+}
+
+void Logger::changeDevFile(const std::string& filepath)
+{
+    std::unique_lock<std::mutex> lock(mutex_);
+    logImpl();
+    logInfo_.reset();
+
+    // the previous sink writes its pending records before its file is closed
+    core::get()->remove_sink(sinkFile_);
+    sinkFile_->stop();
+    sinkFile_->flush();
+
+    config.devFilepath = filepath;
+    addDevFileSink(filepath);
+}
+
+void Logger::flush()
+{
+    std::unique_lock<std::mutex> lock(mutex_);
+    logImpl();
+
+    resultFileStream_.flush();
+    sinkFile_->flush();
+}
+
 void Logger::formatter(const record_view& view, formatting_ostream& os) const
 {
     static constexpr size_t nb_char_time_formatted = 25; // format Www Mmm dd hh:mm:ss yyyy + EOL
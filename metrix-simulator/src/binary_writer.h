@@ -0,0 +1,81 @@
+//
+// Copyright (c) 2026, RTE (http://www.rte-france.com)
+// See AUTHORS.txt
+// All rights reserved.
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, you can obtain one at http://mozilla.org/MPL/2.0/.
+// SPDX-License-Identifier: MPL-2.0
+//
+
+#pragma once
+
+#include "err/IoDico.h"
+#include "err/error.h"
+
+#include <cstdint>
+#include <cstdio>
+#include <cstdlib>
+#include <cstring>
+#include <string>
+
+/**
+ * @brief Value as read back from a text results file, where it is written with the given number of decimals
+ *
+ * Binary results hold the same values as the text ones, the rounding of printf being kept.
+ */
+inline double roundAsText(double value, int decimals)
+{
+    char text[512];
+    snprintf(text, sizeof(text), "%.*f", decimals, value);
+    return std::strtod(text, nullptr);
+}
+
+/**
+ * @brief Buffer of a binary results file, written in one go
+ *
+ * All numbers are little-endian, strings are written as their number of bytes (int32) followed by their UTF-8 bytes.
+ */
+class BinaryWriter
+{
+public:
+    void reserve(size_t size) { buffer_.reserve(size); }
+
+    void appendInt(int32_t value) { appendBytes(static_cast<uint32_t>(value), sizeof(value)); }
+
+    void appendDouble(double value)
+    {
+        uint64_t bits;
+        std::memcpy(&bits, &value, sizeof(bits));
+        appendBytes(bits, sizeof(bits));
+    }
+
+    void appendString(const std::string& value)
+    {
+        appendInt(static_cast<int32_t>(value.size()));
+        buffer_.append(value);
+    }
+
+    void append(const BinaryWriter& other) { buffer_.append(other.buffer_); }
+
+    void write(const std::string& filepath) const
+    {
+        FILE* file = fopen(filepath.c_str(), "wb");
+        if (file == nullptr) {
+            throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", filepath));
+        }
+        fwrite(buffer_.data(), 1, buffer_.size(), file);
+        fclose(file);
+    }
+
+private:
+    void appendBytes(uint64_t value, size_t nb_bytes)
+    {
+        for (size_t i = 0; i < nb_bytes; ++i) {
+            buffer_.push_back(static_cast<char>((value >> (8 * i)) & 0xFF));
+        }
+    }
+
+private:
+    std::string buffer_;
+};
@@ -25,6 +25,7 @@
 #include <iostream>
 #include <map>
 #include <memory>
+#include <set>
 #include <sstream>
 #include <string>
 #include <tuple>
@@ -205,6 +206,23 @@ public:
     vector<int> pbComplementDeLaBase_;              // defini dans pne ou spx
     vector<double> pbCoutsMarginauxDesContraintes_; // defini dans pne ou spx
     vector<double> pbCoutsReduits_;                 // defini dans pne ou spx
+
+    // Identite d'une contrainte du probleme : type, element surveille, incident et sens pour les coupes, valeurs par
+    // defaut pour les contraintes de base, qui ne dependent que de leur position
+    using IdentiteContrainte = std::tuple<int, int, int, bool>;
+
+    // Base optimale d'un probleme deja resolu, pour le demarrage a chaud du simplexe (option --warm-start)
+    struct BaseSimplexe {
+        int numVariante = -1;
+        int nbVariables = 0;
+        vector<IdentiteContrainte> contraintes;
+        vector<int> positionDeLaVariable;
+        vector<int> complementDeLaBase;
+    };
+    BaseSimplexe derniereBase_; // base du dernier probleme resolu
+    // bases des problemes resolus pour le paquet de variantes courant, par nombre de variables et contraintes
+    std::map<std::pair<int, vector<IdentiteContrainte>>, BaseSimplexe> basesParContraintes_;
+
     vector<TypeCoupes> pbTypeContrainte_;           // type de la coupe surete N : 1, surete N-1 Ligne : 2,
     // surete N-1 Groupe : 3, surete N-K : 4, autre : 5
     // pour ajouter des coupes
@@ -256,6 +274,41 @@ public:
 
     std::map<ListeQuadsIncident, MATRICE*> jacIncidentsModifies_;
 
+    // Solutions de H x = b pour le declenchement d'un quadripole, b valant e_mk (g_mk) ou u2Yij e_mk (lambda) : elles
+    // sont partagees par les incidents et parades declenchant le meme quadripole, et conservees par topologie (cle
+    // des paquets de variantes) pour les paquets et les calculs suivants de meme topologie
+    enum class SecondMembreQuad { GMK, LAMBDA };
+    using CleTopologie = vector<int>; // numeros des quadripoles ouverts par le paquet de variantes, tries
+    struct SolutionsTopologie {
+        std::map<int, vector<double>> gmk;    // g_mk = H^(-1) e_mk, par numero de quadripole
+        std::map<int, vector<double>> lambda; // lambda = H^(-1) u2Yij e_mk, par numero de quadripole
+        std::map<int, int> noeudsBilan;       // noeuds bilan par zone synchrone de la topologie
+        unsigned long utilisation = 0;        // numero du dernier calcul de coefficients de report l'utilisant
+    };
+    std::map<CleTopologie, SolutionsTopologie> solutionsParTopologie_;
+    SolutionsTopologie* solutionsCourantes_ = nullptr;
+    size_t tailleSolutionsQuads_ = 0; // nombre de valeurs conservees, toutes topologies confondues
+    unsigned long nbCalculsReport_ = 0;
+
+    // Mise a jour de rang faible (Sherman-Morrison-Woodbury) des solutions de la topologie de base pour la topologie
+    // courante : H_T = H - A Y A^T, A ayant une colonne e_mk par quadripole ouvert et Y leurs admittances u2Yij
+    struct MiseAJourTopologie {
+        vector<std::shared_ptr<Quadripole>> quads; // quadripoles ouverts par rapport a la topologie de base
+        vector<const vector<double>*> z;           // colonnes de H^(-1) A, solutions g_mk de la topologie de base
+        vector<double> m;                          // factorisation LU de Y^(-1) - A^T H^(-1) A, par lignes
+        vector<size_t> pivots;
+    };
+    boost::optional<MiseAJourTopologie> miseAJourTopologie_;
+
+    // Contraintes (element surveille, numero d'incident) ajoutees pour la variante precedente, ajoutees des la 1ere
+    // iteration si elles sont proches de leur seuil, et pour la variante courante (option --predict-constraints)
+    std::set<std::pair<const ElementASurveiller*, int>> contraintesPredites_;
+    std::set<std::pair<const ElementASurveiller*, int>> contraintesVariante_;
+    unsigned int nbContraintesPredites_ = 0;
+
+    // Nombre max de contraintes ajoutees par iteration pour la variante courante (option --adaptive-constraints-limit)
+    unsigned int limiteContraintesIteration_ = 0;
+
     unsigned int numMicroIteration_ = 0; // iterations correspondant au contraintes ajoutees pour une variante (1,2,...)
     int resolutionProbleme();            // resolution de tous les problemes modifies par variante
     int metrix2Assess(const std::shared_ptr<Variante>& var, const vector<double>& theta, int status);
@@ -265,7 +318,15 @@ public:
     bool calculVariationsMarginales(FILE* fr, const std::map<std::shared_ptr<Incident>, int>& incidentsContraignants);
     static double round(double x, double prec); // utiliser pour arrondir les calculs
     Calculer(Reseau& res, MapQuadinVar& variantesOrdonnees);
+    ~Calculer();
+    Calculer(const Calculer&) = delete;
+    Calculer& operator=(const Calculer&) = delete;
+    int preparerProbleme();      // factorisation de la jacobienne et allocation du probleme, une fois par reseau
+    void libererFactorisation(); // liberation de la jacobienne factorisee, qui sera refaite au prochain calcul
     int PneSolveur(TypeDeSolveur typeSolveur, const std::shared_ptr<Variante>& varianteCourante);
+    vector<IdentiteContrainte> identitesContraintes() const;
+    bool preparerDemarrageAChaud(const std::shared_ptr<Variante>& varianteCourante);
+    void sauvegarderBase(const std::shared_ptr<Variante>& varianteCourante);
     void comput_ParticipationGrp(const std::shared_ptr<Incident>& icdt) const;
     void fixerVariablesEntieres(); // Fixe les variables entieres pour lancement avec SPX
 
@@ -335,9 +396,33 @@ public:
     double transitSurQuad(const std::shared_ptr<Quadripole>& quad,
                           std::shared_ptr<Incident> icdt,
                           const vector<double>& theta);
+
+    // Termes du transit apres incident qui ne dependent pas de l'ouvrage surveille : ils sont calcules une fois par
+    // incident au lieu d'une fois par ouvrage surveille et par incident
+    struct TransitsIncident {
+        std::shared_ptr<Incident> incidentInitial;
+        std::shared_ptr<Incident> icdt;       // incident modifie si l'incident rompt la connexite
+        bool nonConnexe = false;              // poche perdue avec conso ou prod : transits calcules sur la poche
+        vector<double> puissancesQuads;       // transits N des lignes puis des couplages fermes de l'incident
+        vector<std::pair<int, double>> prodPerdueGroupes; // indice dans l'incident et production perdue
+        vector<std::pair<int, double>> prodPerdueLccs;    // indice dans l'incident et puissance perdue
+        vector<std::pair<int, double>> varPuissTdFictifs; // indice du TD fictif et variation de puissance
+    };
+    void preparerTransitsIncident(const std::shared_ptr<Incident>& icdt,
+                                  const vector<double>& theta,
+                                  TransitsIncident& transits) const;
+    double transitSurQuad(const std::shared_ptr<Quadripole>& quad,
+                          const TransitsIncident& transits,
+                          const vector<double>& theta);
+    TransitsIncident transitsIncident_; // pour transitSurQuad hors boucle sur les incidents
     double transitSurQuadIncidentNonConnexe(const std::shared_ptr<Quadripole>& quad,
                                             const std::shared_ptr<Incident>& icdt) const;
     void choixContraintesAajouter();
+    bool contraintePredite(const std::shared_ptr<ElementASurveiller>& elemAS,
+                           int numInc,
+                           double transit,
+                           double maxT,
+                           double minT) const;
     int ajoutContraintes(bool& existe_contrainte_active,
                          int& nbNewContreParVariante,
                          const vector<double>& secondMembreFixe,
@@ -385,8 +470,14 @@ public:
 
     // Calcul des coefs de repport et des coefs d'influencement
     //********************************************************
-    int calculReportInfluencement();
+    int calculReportInfluencement(const Quadripole::SetQuadripoleSortedByName& quads);
     int calculCoefsReport(std::shared_ptr<Incident> icdt);
+    void preparerSolutionsQuads(const Quadripole::SetQuadripoleSortedByName& quads);
+    void preparerMiseAJourTopologie(const Quadripole::SetQuadripoleSortedByName& quads);
+    bool appliquerMiseAJourTopologie(SecondMembreQuad type, int numQuad, vector<double>& secondMembre) const;
+    bool reserverSolutionsQuads(size_t nbValeurs);
+    static size_t taille(const SolutionsTopologie& solutions);
+    int resoudreSystemeQuad(SecondMembreQuad type, int numQuad, vector<double>& secondMembre);
     int calculCoefsInfluencement(const std::shared_ptr<Incident>& icdt);
     int calculInitCoefs(std::shared_ptr<Incident> icdt) const;
     int calculReportLcc(const std::shared_ptr<Incident>& inc) const;
@@ -394,6 +485,7 @@ public:
     int resetCoefs(std::shared_ptr<Incident> icdt) const;
     void resetCoeffQuadsN() const;
     int calculerCoeffEnN(const std::shared_ptr<Quadripole>& quad);
+    int calculerCoeffEnN(const std::shared_ptr<Quadripole>& quad, MATRICE* jacFactorisee) const;
     int calculCoeffReportTD();
     int calculReportGroupesEtConsos();
     double hij(int lig, int col);
@@ -25,6 +25,7 @@
 #include <cmath>
 #include <iomanip>
 #include <iostream>
+#include <map>
 #include <sstream>
 #include <string>
 #include <vector>
@@ -1957,121 +1958,163 @@ double Calculer::transitSurQuad(const std::shared_ptr<Quadripole>& quad,
                                 std::shared_ptr<Incident> icdt,
                                 const std::vector<double>& theta)
 {
-    auto incidentInitial = icdt;
-    if (icdt && icdt->pochePerdue_) {
+    if (!icdt) {
+        return quad->u2Yij_ * (theta[quad->norqua_->num_] - theta[quad->nexqua_->num_]);
+    }
+
+    preparerTransitsIncident(icdt, theta, transitsIncident_);
+    return transitSurQuad(quad, transitsIncident_, theta);
+}
+
+void Calculer::preparerTransitsIncident(const std::shared_ptr<Incident>& icdt,
+                                        const std::vector<double>& theta,
+                                        TransitsIncident& transits) const
+{
+    transits.incidentInitial = icdt;
+    transits.icdt = icdt;
+    transits.nonConnexe = false;
+    transits.puissancesQuads.clear();
+    transits.prodPerdueGroupes.clear();
+    transits.prodPerdueLccs.clear();
+    transits.varPuissTdFictifs.clear();
+
+    if (icdt->pochePerdue_) {
         if (icdt->pochePerdue_->pocheAvecConsoProd_) {
-            return transitSurQuadIncidentNonConnexe(quad, icdt);
+            transits.nonConnexe = true;
+            return;
+        }
+
+        transits.icdt = icdt->pochePerdue_->incidentModifie_;
+        if (!transits.icdt) {
+            return;
+        }
+    }
+
+    const auto& icdtModifie = transits.icdt;
+
+    for (int i_q = 0; i_q < icdtModifie->nbLignes_; ++i_q) {
+        const auto& quad2 = icdtModifie->listeQuads_[i_q];
+        transits.puissancesQuads.push_back(quad2->u2Yij_ * (theta[quad2->norqua_->num_] - theta[quad2->nexqua_->num_]));
+    }
+    for (int i_q = 0; i_q < icdtModifie->nbCouplagesFermes_; ++i_q) {
+        const auto& quad2 = icdtModifie->listeCouplagesFermes_[i_q];
+        transits.puissancesQuads.push_back(quad2->u2Yij_ * (theta[quad2->norqua_->num_] - theta[quad2->nexqua_->num_]));
+    }
+
+    for (int i_p = 0; i_p < icdtModifie->nbGroupes_; ++i_p) {
+        const auto& grpe = icdtModifie->listeGroupes_[i_p];
+        if (!grpe->etat_) {
+            continue;
+        }
+
+        double prodPerdue = grpe->prod_;
+        if (grpe->prodAjust_ == Groupe::OUI_HR_AR || grpe->prodAjust_ == Groupe::OUI_AR) {
+            int numVarGrp = grpe->numVarGrp_;
+            prodPerdue += pbX_[numVarGrp] - pbX_[numVarGrp + 1];
         }
+        transits.prodPerdueGroupes.emplace_back(i_p, prodPerdue);
+    }
+
+    for (int i_q = 0; i_q < icdtModifie->nbLccs_; ++i_q) {
+        const auto& hvdc = icdtModifie->listeLccs_[i_q];
+        if (!hvdc->connecte()) {
+            continue;
+        }
+        transits.prodPerdueLccs.emplace_back(i_q, hvdc->puiCons_ + pbX_[hvdc->numVar_] - pbX_[hvdc->numVar_ + 1]);
+    }
+
+    for (int i_p = 0; i_p < res_.nbCCEmulAC_; ++i_p) {
+        const auto& tdfictif = res_.TDFictifs_[i_p];
+        if (pbX_[tdfictif->numVarEntiere_] > 0.5) {
+            double varPuiss = pbX_[tdfictif->numVar_] - pbX_[tdfictif->numVar_ + 1];
+            if (varPuiss != 0.) {
+                transits.varPuissTdFictifs.emplace_back(i_p, varPuiss);
+            }
+        }
+    }
+}
 
-        icdt = icdt->pochePerdue_->incidentModifie_;
+double Calculer::transitSurQuad(const std::shared_ptr<Quadripole>& quad,
+                                const TransitsIncident& transits,
+                                const std::vector<double>& theta)
+{
+    if (transits.nonConnexe) {
+        return transitSurQuadIncidentNonConnexe(quad, transits.incidentInitial);
     }
 
+    const auto& icdt = transits.icdt;
+    const auto& puissancesQuads = transits.puissancesQuads;
+
     double tranN = quad->u2Yij_ * (theta[quad->norqua_->num_] - theta[quad->nexqua_->num_]);
 
     if (!icdt) {
         return tranN;
     }
 
-
     // Traitement de l'incident
     double variationTranSurIncident = 0.;
 
-    double puissance = 0.;
     int numQuadSurveille = quad->num_;
 
     for (int i_q = 0; i_q < icdt->nbLignes_; ++i_q) {
-        const auto& quad2 = icdt->listeQuads_[i_q];
         // verification sur la presence du quad dans l'incident
-        if (quad2->num_ == quad->num_) {
+        if (icdt->listeQuads_[i_q]->num_ == numQuadSurveille) {
             return 0.;
         }
-        puissance = quad2->u2Yij_ * (theta[quad2->norqua_->num_] - theta[quad2->nexqua_->num_]);
-        variationTranSurIncident += puissance * icdt->rho_[i_q][numQuadSurveille];
+        variationTranSurIncident += puissancesQuads[i_q] * icdt->rho_[i_q][numQuadSurveille];
     }
 
     for (int i_q = 0; i_q < icdt->nbCouplagesFermes_; ++i_q) {
-        const auto& quad2 = icdt->listeCouplagesFermes_[i_q];
-        // verification sur la presence du quad dans l'incident
-        puissance = quad2->u2Yij_ * (theta[quad2->norqua_->num_] - theta[quad2->nexqua_->num_]);
-        variationTranSurIncident += puissance * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
+        variationTranSurIncident += puissancesQuads[icdt->nbLignes_ + i_q]
+                                    * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
     }
 
-    if (icdt->nbGroupes_ >= 1) {
-        int nbQuadsInc = icdt->nbLignes_ + icdt->nbCouplagesFermes_;
-        for (int i_p = 0; i_p < icdt->nbGroupes_; ++i_p) {
-            const auto& grpe = icdt->listeGroupes_[i_p];
-            if (!grpe->etat_) {
-                continue;
-            }
-
-            double prodPerdue = grpe->prod_;
-            if (grpe->prodAjust_ == Groupe::OUI_HR_AR || grpe->prodAjust_ == Groupe::OUI_AR) {
-                int numVarGrp = grpe->numVarGrp_;
-                prodPerdue += pbX_[numVarGrp] - pbX_[numVarGrp + 1];
-            }
+    int nbQuadsInc = icdt->nbLignes_ + icdt->nbCouplagesFermes_;
+    for (const auto& prodPerdueGroupe : transits.prodPerdueGroupes) {
+        int i_p = prodPerdueGroupe.first;
 
-            // si incident ligne/groupe combine
-            double rhoInc = 0.;
-            for (int i_q = 0; i_q < icdt->nbLignes_; ++i_q) {
-                const auto& quad2 = icdt->listeQuads_[i_q];
-                rhoInc += icdt->rho_[nbQuadsInc + i_p][quad2->num_] * icdt->rho_[i_q][numQuadSurveille];
-            }
-            for (int i_q = 0; i_q < icdt->nbCouplagesFermes_; ++i_q) {
-                const auto& quad2 = icdt->listeCouplagesFermes_[i_q];
-                rhoInc += icdt->rho_[nbQuadsInc + i_p][quad2->num_]
-                          * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
-            }
-
-            variationTranSurIncident -= prodPerdue * (icdt->rho_[nbQuadsInc + i_p][numQuadSurveille] + rhoInc);
+        // si incident ligne/groupe combine
+        double rhoInc = 0.;
+        for (int i_q = 0; i_q < icdt->nbLignes_; ++i_q) {
+            const auto& quad2 = icdt->listeQuads_[i_q];
+            rhoInc += icdt->rho_[nbQuadsInc + i_p][quad2->num_] * icdt->rho_[i_q][numQuadSurveille];
+        }
+        for (int i_q = 0; i_q < icdt->nbCouplagesFermes_; ++i_q) {
+            const auto& quad2 = icdt->listeCouplagesFermes_[i_q];
+            rhoInc += icdt->rho_[nbQuadsInc + i_p][quad2->num_] * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
         }
-    }
-
-    if (icdt->nbLccs_ >= 1) {
-        for (int i_q = 0; i_q < icdt->nbLccs_; ++i_q) { // ATTENTION AU SIGNE -
-            const auto& hvdc = icdt->listeLccs_[i_q];
-            if (!hvdc->connecte()) {
-                continue;
-            }
 
-            double rhoInc
-                = icdt->rho_[icdt->nbLignes_ + icdt->nbCouplagesFermes_ + icdt->nbGroupes_ + i_q][numQuadSurveille];
-            double prodPerdue = hvdc->puiCons_ + pbX_[hvdc->numVar_] - pbX_[hvdc->numVar_ + 1];
+        variationTranSurIncident -= prodPerdueGroupe.second * (icdt->rho_[nbQuadsInc + i_p][numQuadSurveille] + rhoInc);
+    }
 
-            variationTranSurIncident += prodPerdue * rhoInc;
-            // Pour info, rhoInc contient la combinaison du report ligne/HVDC
-        }
+    for (const auto& prodPerdueLcc : transits.prodPerdueLccs) { // ATTENTION AU SIGNE -
+        // Pour info, rhoInc contient la combinaison du report ligne/HVDC
+        double rhoInc = icdt->rho_[nbQuadsInc + icdt->nbGroupes_ + prodPerdueLcc.first][numQuadSurveille];
+        variationTranSurIncident += prodPerdueLcc.second * rhoInc;
     }
 
     // Annulation de l'action des TD fictifs en N
-    for (int i_p = 0; i_p < res_.nbCCEmulAC_; ++i_p) {
-        double varPuiss = 0.;
+    for (const auto& varPuissTdFictif : transits.varPuissTdFictifs) {
+        double varPuiss = varPuissTdFictif.second;
+        const std::vector<double>& rho = res_.TDFictifs_[varPuissTdFictif.first]->rho_;
+        variationTranSurIncident += varPuiss * rho[numQuadSurveille];
 
-        const auto& tdfictif = res_.TDFictifs_[i_p];
-        if (pbX_[tdfictif->numVarEntiere_] > 0.5) {
-            varPuiss = pbX_[tdfictif->numVar_] - pbX_[tdfictif->numVar_ + 1];
-
-            if (varPuiss != 0.) {
-                const std::vector<double>& rho = tdfictif->rho_;
-                variationTranSurIncident += varPuiss * rho[numQuadSurveille];
-
-                for (int i_q = 0; i_q < icdt->nbLignes_; ++i_q) {
-                    const auto& quad2 = icdt->listeQuads_[i_q];
-                    variationTranSurIncident += rho[quad2->num_] * varPuiss * icdt->rho_[i_q][numQuadSurveille];
-                }
-                for (int i_q = 0; i_q < icdt->nbCouplagesFermes_; ++i_q) {
-                    const auto& quad2 = icdt->listeCouplagesFermes_[i_q];
-                    variationTranSurIncident += rho[quad2->num_] * varPuiss
-                                                * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
-                }
-            }
+        for (int i_q = 0; i_q < icdt->nbLignes_; ++i_q) {
+            const auto& quad2 = icdt->listeQuads_[i_q];
+            variationTranSurIncident += rho[quad2->num_] * varPuiss * icdt->rho_[i_q][numQuadSurveille];
+        }
+        for (int i_q = 0; i_q < icdt->nbCouplagesFermes_; ++i_q) {
+            const auto& quad2 = icdt->listeCouplagesFermes_[i_q];
+            variationTranSurIncident += rho[quad2->num_] * varPuiss
+                                        * icdt->rho_[icdt->nbLignes_ + i_q][numQuadSurveille];
         }
     }
 
     double varTdSecondOrdre = 0.;
     double variationTdCuratif = 0.;
 
-    if (incidentInitial->incidentATraiterEncuratif_) {
-        for (const auto& elem : incidentInitial->listeElemCur_) {
+    if (transits.incidentInitial->incidentATraiterEncuratif_) {
+        for (const auto& elem : transits.incidentInitial->listeElemCur_) {
             traiterCuratif(elem, icdt, numQuadSurveille, variationTdCuratif, varTdSecondOrdre);
         }
     }
@@ -2223,7 +2266,9 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
                 elemAS->depassementEnN_ = std::max(minT - tran, 0.);
             }
 
-            if (elemAS->depassementEnN_ <= config::constants::acceptable_diff) {
+            bool predite = elemAS->depassementEnN_ <= config::constants::acceptable_diff
+                           && contraintePredite(elemAS, SITU_N, tran, maxT, minT);
+            if (elemAS->depassementEnN_ <= config::constants::acceptable_diff && !predite) {
                 continue;
             }
 
@@ -2254,6 +2299,9 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
             ctre->ecrireContrainte_ = true;
             ctre->numVarActivation_ = -1;
             nbCtr_++;
+            if (predite) {
+                nbContraintesPredites_++;
+            }
 
         } // End detection contraintes en N
     }
@@ -2264,6 +2312,7 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
 
     bool premierIncidentValide = true;
     bool incidentAvecContrainte;
+    TransitsIncident transits;
 
     for (auto icdtIt = res_.incidentsEtParades_.cbegin();
          icdtIt != res_.incidentsEtParades_.cend() && nbCtr_ < icdtQdt_.size();
@@ -2299,6 +2348,8 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
             }
         }
 
+        preparerTransitsIncident(icdt, secondMembre, transits);
+
         std::shared_ptr<Quadripole> quad;
         for (auto elemASIt = res_.elementsASurveillerNk_.cbegin();
              elemASIt != res_.elementsASurveillerNk_.cend() && nbCtr_ < icdtQdt_.size();
@@ -2329,7 +2380,7 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
 
                 quadFictif |= (quad->typeQuadripole_ == Quadripole::QUADRIPOLE_EMULATION_AC);
 
-                transNew += coeff * transitSurQuad(quad, icdt, secondMembre);
+                transNew += coeff * transitSurQuad(quad, transits, secondMembre);
 
             } // boucle sur les quadripoles de l'element a surveiller
 
@@ -2411,13 +2462,16 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
             }
 
             // Y a-t-il une contrainte sur cet element a surveiller et sur cet incident ?
-            if (ecart <= config::constants::acceptable_diff) {
+            bool predite = ecart <= config::constants::acceptable_diff
+                           && contraintePredite(elemAS, icdt->num_, transNew, maxT, minT);
+            if (ecart <= config::constants::acceptable_diff && !predite) {
                 continue;
             }
 
             // gain de temps : permet de ne pas trop rentrer des contraintes redondantes
             // on n'ajoute pas les contraintes N-k qui seront resolues en N
-            if (!quadFictif && elemAS->survMaxN_ == ElementASurveiller::SURVEILLE && ecart <= elemAS->depassementEnN_) {
+            if (!predite && !quadFictif && elemAS->survMaxN_ == ElementASurveiller::SURVEILLE
+                && ecart <= elemAS->depassementEnN_) {
                 LOG(debug) << metrix::log::verbose_constraints << "Contrainte N-k pour " << elemAS->nom_ << " sur icdt "
                            << icdt->nom_ << " masquee par contrainte N";
                 continue;
@@ -2443,6 +2497,9 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
             nbCtr_++;
             existe_contrainte_active = true;
             incidentAvecContrainte = true;
+            if (predite) {
+                nbContraintesPredites_++;
+            }
 
             LOG(debug) << ctre->toString() << " Ecart : " << c_fmt("%.3f", ctre->ecart_);
 
@@ -2498,9 +2555,28 @@ int Calculer::detectionContraintes(const std::vector<double>& secondMembre /*pha
     return METRIX_PAS_PROBLEME;
 }
 
+bool Calculer::contraintePredite(const std::shared_ptr<ElementASurveiller>& elemAS,
+                                 int numInc,
+                                 double transit,
+                                 double maxT,
+                                 double minT) const
+{
+    // Seule la 1ere iteration d'une variante est concernee : ensuite, le probleme contient deja ses contraintes
+    if (numMicroIteration_ != 1
+        || contraintesPredites_.find(std::make_pair(elemAS.get(), numInc)) == contraintesPredites_.end()) {
+        return false;
+    }
+    double seuil = config::inputConfiguration().predictedConstraintsThreshold();
+    if (transit >= 0) {
+        return maxT != config::constants::valdef && transit >= seuil * maxT;
+    }
+    return minT != -config::constants::valdef && transit <= seuil * minT;
+}
+
 void Calculer::calculerFluxNk(const std::vector<double>& secondMembre)
 {
     double transNew;
+    TransitsIncident transits;
 
     for (const auto& icdt : res_.incidentsEtParades_) {
         if (!icdt->validite_) {
@@ -2527,6 +2603,8 @@ void Calculer::calculerFluxNk(const std::vector<double>& secondMembre)
             }
         }
 
+        preparerTransitsIncident(icdt, secondMembre, transits);
+
         for (int j = 0; j < res_.nbQuadResultNk_; ++j) {
             const auto& elemAS = res_.elementsAvecResultatNk_[j];
 
@@ -2542,7 +2620,7 @@ void Calculer::calculerFluxNk(const std::vector<double>& secondMembre)
                     continue; // on ne calcule pas les ouvrages ouverts sauf s'ils sont refermes par une parade
                 }
 
-                transNew += coeff * transitSurQuad(quad, icdt, secondMembre);
+                transNew += coeff * transitSurQuad(quad, transits, secondMembre);
 
             } // boucle sur les quadripoles de l'element a surveiller
 
@@ -2816,6 +2894,11 @@ int Calculer::ajouterVariableEntiere(int num, double cost)
 
 
 int Calculer::calculerCoeffEnN(const std::shared_ptr<Quadripole>& quad)
+{
+    return calculerCoeffEnN(quad, jacFactorisee_);
+}
+
+int Calculer::calculerCoeffEnN(const std::shared_ptr<Quadripole>& quad, MATRICE* jacFactorisee) const
 {
     int codeRetour = 1;
     std::vector<double>& b1 = quad->coeffN_;
@@ -2824,7 +2907,7 @@ int Calculer::calculerCoeffEnN(const std::shared_ptr<Quadripole>& quad)
     // calcul des deux colonnes : quad->norqua_->num et quad->nexqua_->num_ de l'inverse
     b1[quad->norqua_->num_] = quad->u2Yij_;
     b1[quad->nexqua_->num_] = -quad->u2Yij_;
-    LU_LuSolv(jacFactorisee_, &b1[0], &codeRetour, nullptr, 0, 0.0);
+    LU_LuSolv(jacFactorisee, &b1[0], &codeRetour, nullptr, 0, 0.0);
 
     // Attention il ne faut donc pas les prendre en compte
     // la sensibilite du transit aux ref de phase.
@@ -3600,17 +3683,31 @@ int Calculer::ajoutContraintes(bool& existe_contrainte_active,
         return METRIX_PROBLEME;
     }
 
-    if (nombreDeContraintesMicroIteration > config::constants::nb_max_contraints_by_iteration) {
+    // Avec l'option --adaptive-constraints-limit, la limite est propre a la variante et doublee a chaque fois
+    // qu'elle est atteinte : les variantes tres contraintes convergent en moins d'iterations
+    unsigned int limiteContraintes = config::inputConfiguration().adaptiveConstraintsLimit()
+                                         ? limiteContraintesIteration_
+                                         : config::inputConfiguration().maxConstraintsByIteration();
+    if (nombreDeContraintesMicroIteration > limiteContraintes) {
         if (config::configuration().computationType() == config::Configuration::ComputationType::OPF
             || config::configuration().computationType() == config::Configuration::ComputationType::OPF_WITH_OVERLOAD) {
             // En mode OPF, on supprime les contraintes redondantes
             if (numMicroIteration_ <= 5) {
                 choixContraintesAajouter();
-                nombreDeContraintesMicroIteration = config::constants::nb_max_contraints_by_iteration;
+                nombreDeContraintesMicroIteration = limiteContraintes;
+                if (config::inputConfiguration().adaptiveConstraintsLimit()) {
+                    limiteContraintesIteration_ = std::min(2 * limiteContraintes, config::constants::nb_max_constraints);
+                }
             }
         }
     }
 
+    // Nombre de contraintes ajoutees par incident sans parade, limite par l'option --constraints-by-incident : les
+    // contraintes etant triees par ecart decroissant, les plus violees sont ajoutees et les autres sont detectees
+    // de nouveau a l'iteration suivante si elles le sont encore
+    unsigned int nbMaxContraintesParIncident = config::inputConfiguration().constraintsByIncident();
+    std::map<int, unsigned int> nbContraintesParIncident;
+
     FILE* fr = nullptr;
     if (config::inputConfiguration().writeConstraintsFile()) {
         std::stringstream ss;
@@ -3636,6 +3733,11 @@ int Calculer::ajoutContraintes(bool& existe_contrainte_active,
 
         const auto& icdt = contrainte->icdt_;
 
+        bool limiteeParIncident = nbMaxContraintesParIncident > 0 && (!icdt || icdt->parades_.empty());
+        if (limiteeParIncident && nbContraintesParIncident[contrainte->numInc()] >= nbMaxContraintesParIncident) {
+            continue;
+        }
+
         // C'est la premiere contrainte d'un incident avec parades : ajout de toutes les parades dans le probleme
         if (icdt && !icdt->parades_.empty() && !icdt->paradesActivees_) {
             std::vector<std::shared_ptr<Incident>> paradesAjoutees;
@@ -3977,6 +4079,9 @@ int Calculer::ajoutContraintes(bool& existe_contrainte_active,
                 // existe_contrainte_active = true;
                 cptAll++; // compteur par microiteration
                 existe_contrainte_active = true;
+                if (limiteeParIncident) {
+                    nbContraintesParIncident[contrainte->numInc()]++;
+                }
             } else if (codeRet == METRIX_CONTRAINTE_IGNOREE) {
                 LOG(debug) << metrix::log::verbose_constraints << "Contrainte ignoree : " << contrainte->toString();
             } else {
@@ -4004,6 +4109,10 @@ int Calculer::ajoutContraintes(bool& existe_contrainte_active,
 
         cpt++; // compteur par microiteration
 
+        if (config::inputConfiguration().predictConstraints()) {
+            contraintesVariante_.emplace(contrainte->elemAS_.get(), contrainte->numInc());
+        }
+
     } // fin de la boucle sur les contraintes a ajouter dans le probleme SPX
 
     LOG_ALL(info) << err::ioDico().msg("INFOContraintesAjoutee", c_fmt("%d", cptAll));
@@ -8,6 +8,7 @@
 // SPDX-License-Identifier: MPL-2.0
 //
 
+#include "binary_writer.h"
 #include "calcul.h"
 #include "config/configuration.h"
 #include "config/constants.h"
@@ -25,11 +26,15 @@
 #include <algorithm>
 #include <array>
 #include <cmath>
+#include <exception>
 #include <fstream> //attention
 #include <iomanip>
 #include <iostream>
+#include <memory>
 #include <sstream>
 #include <string>
+#include <thread>
+#include <utility>
 #include <vector>
 
 using cte::c_fmt;
@@ -189,31 +194,13 @@ int Calculer::resolutionProbleme()
     bool relance = false;
     tauxPertes_ = res_.coeff_pertes_;
 
-    // MODELISATION DODU
-    status = initJacobienne();
-    if (status != METRIX_PAS_PROBLEME) {
-        LOG_ALL(error) << "probleme dans initJacobienne";
-        return METRIX_PROBLEME;
-    }
-    status = construireJacobienne();
-    if (status != METRIX_PAS_PROBLEME) {
-        LOG_ALL(error) << "probleme dans construireJacobienne";
-        return METRIX_PROBLEME;
-    }
-
-    // Factoriser la jacobienne c'est la meme pour tout le probleme
-    jacFactorisee_ = LU_Factorisation(&jac_);
-    if (jac_.ProblemeDeFactorisation != NON_LU) {
-        LOG_ALL(error) << "probleme lors de la factorisation: LU factorization code = " << jac_.ProblemeDeFactorisation;
-        return METRIX_PROBLEME;
-    }
-
-    // Initialisation
-    // Allocation et initialisation des tables
-    status = allocationProblemeDodu();
-    if (status != METRIX_PAS_PROBLEME) {
-        LOG_ALL(error) << "Probleme lors de l'allocation des contraintes ou des variables";
-        return METRIX_PROBLEME;
+    // The factorized jacobian and the problem allocations only depend on the network: they are kept from one
+    // computation to the next one on the same network (worker mode)
+    if (jacFactorisee_ == nullptr) {
+        status = preparerProbleme();
+        if (status != METRIX_PAS_PROBLEME) {
+            return status;
+        }
     }
 
     // 2-parcourir toutes les variantes
@@ -259,13 +246,17 @@ int Calculer::resolutionProbleme()
             jacIncidentsModifies_.clear();
         }
 
+        // Les bases des variantes du paquet precedent ne servent pas pour une autre topologie
+        derniereBase_ = BaseSimplexe();
+        basesParContraintes_.clear();
+
         // LODFs (line outage distribution factors) and PTDFs (power transfer distrbution factors) assessment and print
         //*******************************************************
         // LODFs assessment and print:
-        status = calculReportInfluencement();
+        status = calculReportInfluencement(quads);
 
         // PTDFs assessment and print:
-        string PTDFfileName = "PTDF_matrix.csv";
+        string PTDFfileName = config::inputConfiguration().binaryResults() ? "PTDF_matrix.bin" : "PTDF_matrix.csv";
         if (config::inputConfiguration().writePTDFfile()) {
             assessAndPrintPTDF(PTDFfileName);
         }
@@ -280,6 +271,12 @@ int Calculer::resolutionProbleme()
             LOG_RES() << "---------------------";
             LOG_RES() << "---------------------\n";
 
+            // With several threads, random draws of the variant only depend on its number, whatever the variants
+            // solved before and the thread solving it. With one thread, the historical single sequence is kept.
+            if (config::inputConfiguration().nbThreads() > 1) {
+                Reseau::initialiserAleatoire(varianteCourante_->num_);
+            }
+
             // Update of the remaining elements of the network for each variant
             status = res_.modifReseau(varianteCourante_);
 
@@ -311,7 +308,7 @@ int Calculer::resolutionProbleme()
 
                 if (status == METRIX_PROBLEME) {
                     LOG_ALL(error) << "probleme dans resolutionUnProblemeDodu";
-                    LU_LibererMemoireLU(jacFactorisee_);
+                    libererFactorisation();
                     return METRIX_PROBLEME;
                 }
 
@@ -348,7 +345,7 @@ int Calculer::resolutionProbleme()
             if (res_.resetReseau(varianteCourante_, (nbCalculs > 0)) != METRIX_PAS_PROBLEME) {
                 LOG_ALL(error) << "probleme lors de la modification de reseau par la variante numero : "
                                << varianteCourante_->num_;
-                LU_LibererMemoireLU(jacFactorisee_);
+                libererFactorisation();
                 return METRIX_PROBLEME;
             }
         } // fin variantes de même clé
@@ -380,11 +377,52 @@ int Calculer::resolutionProbleme()
         }
     } // fin des variantes de l'ensemble de la map
 
-    LU_LibererMemoireLU(jacFactorisee_);
+    return METRIX_PAS_PROBLEME;
+}
 
+int Calculer::preparerProbleme()
+{
+    // MODELISATION DODU
+    int status = initJacobienne();
+    if (status != METRIX_PAS_PROBLEME) {
+        LOG_ALL(error) << "probleme dans initJacobienne";
+        return METRIX_PROBLEME;
+    }
+    status = construireJacobienne();
+    if (status != METRIX_PAS_PROBLEME) {
+        LOG_ALL(error) << "probleme dans construireJacobienne";
+        return METRIX_PROBLEME;
+    }
+
+    // Factoriser la jacobienne c'est la meme pour tout le probleme
+    jacFactorisee_ = LU_Factorisation(&jac_);
+    if (jac_.ProblemeDeFactorisation != NON_LU) {
+        LOG_ALL(error) << "probleme lors de la factorisation: LU factorization code = " << jac_.ProblemeDeFactorisation;
+        libererFactorisation();
+        return METRIX_PROBLEME;
+    }
+
+    // Initialisation
+    // Allocation et initialisation des tables
+    status = allocationProblemeDodu();
+    if (status != METRIX_PAS_PROBLEME) {
+        LOG_ALL(error) << "Probleme lors de l'allocation des contraintes ou des variables";
+        libererFactorisation();
+        return METRIX_PROBLEME;
+    }
     return METRIX_PAS_PROBLEME;
 }
 
+void Calculer::libererFactorisation()
+{
+    if (jacFactorisee_ != nullptr) {
+        LU_LibererMemoireLU(jacFactorisee_);
+        jacFactorisee_ = nullptr;
+    }
+}
+
+Calculer::~Calculer() { libererFactorisation(); }
+
 
 int Calculer::PneSolveur(TypeDeSolveur typeSolveur, const std::shared_ptr<Variante>& varianteCourante)
 {
@@ -506,7 +544,8 @@ int Calculer::PneSolveur(TypeDeSolveur typeSolveur, const std::shared_ptr<Varian
         pb_.ACoupes = nullptr;                          /*&pbACoupes_[0];*/
 
         pb_.Contexte = SIMPLEXE_SEUL;
-        pb_.BaseDeDepartFournie = NON_SPX;                            // OUI_SPX ;//(pas de demarrage a chaud!!)
+        bool demarrageAChaud = preparerDemarrageAChaud(varianteCourante);
+        pb_.BaseDeDepartFournie = demarrageAChaud ? OUI_SPX : NON_SPX;
         pb_.NombreDeContraintesCoupes = pbNombreDeContraintesCoupes_; // nombre de coupes
         pb_.PositionDeLaVariable = &pbPositionDeLaVariable_[0];       // size = nb_variables (demarage a chaud!!)
         pb_.NbVarDeBaseComplementaires = pbNbVarDeBaseComplementaires_;
@@ -518,10 +557,20 @@ int Calculer::PneSolveur(TypeDeSolveur typeSolveur, const std::shared_ptr<Varian
         }
 
         solver_.solve(&pb_);
+        if (demarrageAChaud && pb_.ExistenceDUneSolution != OUI_SPX) {
+            // Echec a partir de la base fournie : on relance sans base de depart
+            LOG(debug) << "Warm start failed for variant " << varianteCourante->num_ << ", solving from scratch";
+            solver_.free();
+            pbNbVarDeBaseComplementaires_ = 0;
+            pb_.NbVarDeBaseComplementaires = 0;
+            pb_.BaseDeDepartFournie = NON_SPX;
+            solver_.solve(&pb_);
+        }
         pbNbVarDeBaseComplementaires_ = pb_.NbVarDeBaseComplementaires;
         pbExistenceDUneSolution_ = pb_.ExistenceDUneSolution;
 
         if (pbExistenceDUneSolution_ == OUI_SPX) {
+            sauvegarderBase(varianteCourante);
             LOG_ALL(info) << err::ioDico().msg(
                 "INFOSolOptTrouve", c_fmt("%d", varianteCourante->num_), c_fmt("%d", pbExistenceDUneSolution_));
         } else {
@@ -539,6 +588,86 @@ int Calculer::PneSolveur(TypeDeSolveur typeSolveur, const std::shared_ptr<Varian
     return METRIX_PAS_PROBLEME;
 }
 
+vector<Calculer::IdentiteContrainte> Calculer::identitesContraintes() const
+{
+    vector<IdentiteContrainte> identites;
+    identites.reserve(pbNombreDeContraintes_);
+    for (int i = 0; i < pbNombreDeContraintes_; ++i) {
+        std::shared_ptr<Contrainte> ctr = static_cast<size_t>(i) < pbContraintes_.size() ? pbContraintes_[i] : nullptr;
+        if (ctr) {
+            identites.emplace_back(ctr->type_, static_cast<int>(ctr->elemAS_->num_), ctr->numInc(), ctr->ctrSup_);
+        } else {
+            identites.emplace_back(Contrainte::CONTRAINTE_NON_DEF, -1, -1, false);
+        }
+    }
+    return identites;
+}
+
+bool Calculer::preparerDemarrageAChaud(const std::shared_ptr<Variante>& varianteCourante)
+{
+    if (!config::inputConfiguration().warmStart()) {
+        return false;
+    }
+
+    auto contraintes = identitesContraintes();
+
+    // 1- Un probleme avec les memes variables et les memes contraintes (memes ouvrages surveilles sur les memes
+    // incidents) a deja ete resolu pour le paquet de variantes courant : sa base est reprise telle quelle, les
+    // variantes d'un meme paquet ne different en general que par les injections
+    auto baseIt = basesParContraintes_.find(std::make_pair(pbNombreDeVariables_, contraintes));
+    if (baseIt != basesParContraintes_.end()) {
+        const auto& base = baseIt->second;
+        std::copy(base.positionDeLaVariable.begin(), base.positionDeLaVariable.end(), pbPositionDeLaVariable_.begin());
+        std::copy(base.complementDeLaBase.begin(), base.complementDeLaBase.end(), pbComplementDeLaBase_.begin());
+        pbNbVarDeBaseComplementaires_ = static_cast<int>(base.complementDeLaBase.size());
+        return true;
+    }
+
+    // 2- Le probleme precedent de la variante a ete complete par des variables et des contraintes, ses contraintes
+    // etant en tete de celles du probleme courant : les variables ajoutees sont hors base sur une de leurs bornes, les
+    // variables d'ecart des contraintes ajoutees sont en base
+    const auto& contraintesPrecedentes = derniereBase_.contraintes;
+    if (derniereBase_.numVariante == varianteCourante->num_ && derniereBase_.nbVariables <= pbNombreDeVariables_
+        && contraintesPrecedentes.size() <= contraintes.size()
+        && std::equal(contraintesPrecedentes.begin(), contraintesPrecedentes.end(), contraintes.begin())) {
+        std::copy(derniereBase_.positionDeLaVariable.begin(),
+                  derniereBase_.positionDeLaVariable.end(),
+                  pbPositionDeLaVariable_.begin());
+        std::copy(
+            derniereBase_.complementDeLaBase.begin(), derniereBase_.complementDeLaBase.end(), pbComplementDeLaBase_.begin());
+        int nbVarDeBaseComplementaires = static_cast<int>(derniereBase_.complementDeLaBase.size());
+        for (int i = static_cast<int>(contraintesPrecedentes.size()); i < pbNombreDeContraintes_; ++i) {
+            pbComplementDeLaBase_[nbVarDeBaseComplementaires++] = i;
+        }
+        pbNbVarDeBaseComplementaires_ = nbVarDeBaseComplementaires;
+        return true;
+    }
+
+    return false;
+}
+
+void Calculer::sauvegarderBase(const std::shared_ptr<Variante>& varianteCourante)
+{
+    if (!config::inputConfiguration().warmStart()) {
+        return;
+    }
+
+    derniereBase_.numVariante = varianteCourante->num_;
+    derniereBase_.nbVariables = pbNombreDeVariables_;
+    derniereBase_.contraintes = identitesContraintes();
+    derniereBase_.positionDeLaVariable.assign(pbPositionDeLaVariable_.begin(),
+                                              pbPositionDeLaVariable_.begin() + pbNombreDeVariables_);
+    derniereBase_.complementDeLaBase.assign(pbComplementDeLaBase_.begin(),
+                                            pbComplementDeLaBase_.begin() + pbNbVarDeBaseComplementaires_);
+
+    auto cle = std::make_pair(pbNombreDeVariables_, derniereBase_.contraintes);
+    if (basesParContraintes_.size() >= config::constants::nb_max_warm_start_bases
+        && basesParContraintes_.count(cle) == 0) {
+        basesParContraintes_.clear();
+    }
+    basesParContraintes_[cle] = derniereBase_;
+}
+
 int Calculer::resolutionUnProblemeDodu(const std::shared_ptr<Variante>& varianteCourante)
 {
     // Ce programme :
@@ -552,15 +681,19 @@ int Calculer::resolutionUnProblemeDodu(const std::shared_ptr<Variante>& variante
 
     // initialisation/ reset d'une variante a l autre
     // la totalite du second monbre sum(P0)-sum(conso)+sum(Ph-Pb)+Delestage
-    static vector<double> secondMembre(res_.nbNoeuds_);
+    static thread_local vector<double> secondMembre(res_.nbNoeuds_);
 
     // partie independante des variables pbX_ : sum(P0)-sum(conso)
-    static vector<double> secondMembreFixe(res_.nbNoeuds_);
+    static thread_local vector<double> secondMembreFixe(res_.nbNoeuds_);
 
     bool existe_contrainte_active = true;
 
     numMicroIteration_ = 0;
     nbElmdeMatrContraint_ = 0;
+    contraintesPredites_.swap(contraintesVariante_);
+    contraintesVariante_.clear();
+    nbContraintesPredites_ = 0;
+    limiteContraintesIteration_ = config::inputConfiguration().maxConstraintsByIteration();
     pbNbVarDeBaseComplementaires_ = 0;
     pbNombreDeContraintes_ = 0;
 
@@ -750,10 +883,10 @@ int Calculer::resolutionUnProblemeDodu(const std::shared_ptr<Variante>& variante
         if (config::inputConfiguration().checkConstraintLevel()
             == config::InputConfiguration::CheckConstraintLevel::EVERY_INCIDENT) {
             if (!existe_contrainte_active) {
-                static vector<double> injectionSNodales(res_.nbNoeuds_, 0.);
+                static thread_local vector<double> injectionSNodales(res_.nbNoeuds_, 0.);
 
                 // partie independante des variables pbX_ : sum(P0)-sum(conso)
-                static vector<double> secMembFixe(res_.nbNoeuds_, 0.);
+                static thread_local vector<double> secMembFixe(res_.nbNoeuds_, 0.);
 
                 for (auto icdtIt = res_.incidentsEtParades_.cbegin(); icdtIt != res_.incidentsEtParades_.end();
                      ++icdtIt) {
@@ -775,6 +908,10 @@ int Calculer::resolutionUnProblemeDodu(const std::shared_ptr<Variante>& variante
         }
     }
 
+    LOG(info) << "Variante " << varianteCourante->num_ << " : " << numMicroIteration_ << " iterations, "
+              << nbNewContreParVariante << " contraintes ajoutees dont " << nbContraintesPredites_
+              << " predites d'apres la variante precedente";
+
     printFctObj(true);
     calculerFluxNk(secondMembre);
     metrix2Assess(varianteCourante, secondMembre, status);
@@ -782,7 +919,7 @@ int Calculer::resolutionUnProblemeDodu(const std::shared_ptr<Variante>& variante
     return METRIX_PAS_PROBLEME;
 }
 
-int Calculer::calculReportInfluencement()
+int Calculer::calculReportInfluencement(const Quadripole::SetQuadripoleSortedByName& quads)
 {
     // Assessment of the LODF and distribution factors
 
@@ -807,6 +944,7 @@ int Calculer::calculReportInfluencement()
         time(&start);
 
         calculReportLccs();
+        preparerSolutionsQuads(quads);
 
         for (const auto& icdt : res_.incidentsEtParades_) {
             if (!icdt->validite_) {
@@ -843,7 +981,7 @@ int Calculer::calculReportInfluencement()
         calculCoeffReportTD();
         res_.calculerCoeffReport_ = false;
 
-        string LODFfileName = "LODF_matrix.csv";
+        string LODFfileName = config::inputConfiguration().binaryResults() ? "LODF_matrix.bin" : "LODF_matrix.csv";
         printLODF(LODFfileName, config::inputConfiguration().writeLODFfile());
     }
     
@@ -1020,11 +1158,8 @@ void Calculer::assessAndPrintPTDF(const string& PTDFfileName)
 {
     // print PTDFs matrix
     // ------------------------
-    FILE* file = fopen(PTDFfileName.c_str(), "w+");
-    if (file == nullptr) {
-        throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", PTDFfileName));
-    }
     LOG(debug) << "PTDF matrix creation";
+    const bool binaire = config::inputConfiguration().binaryResults();
     vector<string> noms;
     noms.resize(res_.nbVarGroupes_ + res_.nbVarConsos_);
     for (auto& elem : res_.groupes_) {
@@ -1038,44 +1173,133 @@ void Calculer::assessAndPrintPTDF(const string& PTDFfileName)
         }
     }
 
-    fprintf(file, "BRANCH;");
+    // colonnes : noeud de l'injection, ou noeuds extremite et origine pour une HVDC
+    vector<string> nomsColonnes;
+    vector<std::pair<int, int>> noeudsColonnes;
     for (int i = 0; i < pbNombreDeVariables_; i++) {
         if (i < res_.nbVarGroupes_) {
-            fprintf(file, "%s;", noms[i].c_str());
+            nomsColonnes.push_back(noms[i]);
+            noeudsColonnes.emplace_back(numSupportEtat_[i], -1);
             i++;
         } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_) {
-            fprintf(file, "%s;", noms[i].c_str());
+            nomsColonnes.push_back(noms[i]);
+            noeudsColonnes.emplace_back(numSupportEtat_[i], -1);
         } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_ + res_.nbVarTd_) {
             // do nothing
         } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_ + res_.nbVarTd_ + res_.nbVarCc_) {
-            fprintf(file, "%s;", res_.lccParIndice_[numSupportEtat_[i]]->nom_.c_str());
+            const auto& lcc = res_.lccParIndice_[numSupportEtat_[i]];
+            nomsColonnes.push_back(lcc->nom_);
+            noeudsColonnes.emplace_back(lcc->nexqua_->num_, lcc->norqua_->num_);
             i++;
         }
     }
-    fprintf(file, "\n");
 
     resetCoeffQuadsN();
     Quadripole::SetQuadripoleSortedByName quadSet(res_.quadsSurv_.begin(), res_.quadsSurv_.end());
-    for (const auto& quad : quadSet) {
-        calculerCoeffEnN(quad);
-        fprintf(file, "%s;", quad->nom_.c_str());
-        for (int i = 0; i < pbNombreDeVariables_; i++) {
-            if (i < res_.nbVarGroupes_) {
-                fprintf(file, "%f;", quad->coeffN_[numSupportEtat_[i]]);
-                i++;
-            } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_) {
-                fprintf(file, "%f;", quad->coeffN_[numSupportEtat_[i]]);
-            } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_ + res_.nbVarTd_) {
-                // do nothing
-            } else if (i < res_.nbVarGroupes_ + res_.nbVarConsos_ + res_.nbVarTd_ + res_.nbVarCc_) {
-                fprintf(file,
-                        "%f;",
-                        quad->coeffN_[res_.lccParIndice_[numSupportEtat_[i]]->nexqua_->num_]
-                            - quad->coeffN_[res_.lccParIndice_[numSupportEtat_[i]]->norqua_->num_]);
-                i++;
+    vector<std::shared_ptr<Quadripole>> quads(quadSet.begin(), quadSet.end());
+
+    // Les lignes de la matrice sont calculees par blocs contigus, un par thread, chaque thread resolvant avec sa propre
+    // factorisation de la jacobienne
+    auto nbBlocs = static_cast<unsigned int>(
+        std::max(std::min(quads.size(), static_cast<size_t>(config::inputConfiguration().nbThreads())), size_t{1}));
+    vector<string> blocsTexte(nbBlocs);
+    vector<BinaryWriter> blocsBinaires(nbBlocs);
+    auto calculerBloc = [&](unsigned int numBloc, MATRICE* jacFactorisee) {
+        size_t debut = quads.size() * numBloc / nbBlocs;
+        size_t fin = quads.size() * (numBloc + 1) / nbBlocs;
+        for (size_t q = debut; q < fin; ++q) {
+            const auto& quad = quads[q];
+            calculerCoeffEnN(quad, jacFactorisee);
+            if (binaire) {
+                blocsBinaires[numBloc].appendString(quad->nom_);
+            } else {
+                blocsTexte[numBloc] += quad->nom_ + ";";
+            }
+            for (const auto& noeuds : noeudsColonnes) {
+                double ptdf = noeuds.second == -1 ? quad->coeffN_[noeuds.first]
+                                                  : quad->coeffN_[noeuds.first] - quad->coeffN_[noeuds.second];
+                if (binaire) {
+                    blocsBinaires[numBloc].appendDouble(roundAsText(ptdf, 6));
+                } else {
+                    blocsTexte[numBloc] += c_fmt("%f;", ptdf);
+                }
+            }
+            if (!binaire) {
+                blocsTexte[numBloc] += "\n";
             }
         }
-        fprintf(file, "\n");
+    };
+
+    // Factorisations des autres blocs, liberees dans tous les cas
+    struct LibererFactorisation {
+        void operator()(MATRICE* jac) const { LU_LibererMemoireLU(jac); }
+    };
+    vector<std::unique_ptr<MATRICE, LibererFactorisation>> jacFactorisees;
+    jacFactorisees.reserve(nbBlocs - 1);
+    for (unsigned int numBloc = 1; numBloc < nbBlocs; ++numBloc) {
+        jacFactorisees.emplace_back(LU_Factorisation(&jac_));
+        if (jac_.ProblemeDeFactorisation != NON_LU) {
+            throw ErrorI(err::ioDico().msg("ERRCalcInterne"));
+        }
+    }
+
+    // L'erreur d'un bloc est relancee une fois tous les threads termines
+    vector<std::exception_ptr> erreurs(nbBlocs);
+    auto calculerBlocProtege = [&calculerBloc, &erreurs](unsigned int numBloc, MATRICE* jacFactorisee) {
+        try {
+            calculerBloc(numBloc, jacFactorisee);
+        } catch (...) {
+            erreurs[numBloc] = std::current_exception();
+        }
+    };
+    vector<std::thread> threads;
+    threads.reserve(nbBlocs - 1);
+    try {
+        for (unsigned int numBloc = 1; numBloc < nbBlocs; ++numBloc) {
+            threads.emplace_back(calculerBlocProtege, numBloc, jacFactorisees[numBloc - 1].get());
+        }
+    } catch (...) {
+        // echec de creation d'un thread : attente des threads deja lances
+        for (auto& thread : threads) {
+            thread.join();
+        }
+        throw;
+    }
+    calculerBlocProtege(0, jacFactorisee_);
+    for (auto& thread : threads) {
+        thread.join();
+    }
+    for (const auto& erreur : erreurs) {
+        if (erreur) {
+            std::rethrow_exception(erreur);
+        }
+    }
+
+    if (binaire) {
+        BinaryWriter writer;
+        writer.appendInt(static_cast<int32_t>(nomsColonnes.size()));
+        for (const auto& nom : nomsColonnes) {
+            writer.appendString(nom);
+        }
+        writer.appendInt(static_cast<int32_t>(quads.size()));
+        for (const auto& bloc : blocsBinaires) {
+            writer.append(bloc);
+        }
+        writer.write(PTDFfileName);
+        return;
+    }
+
+    FILE* file = fopen(PTDFfileName.c_str(), "w+");
+    if (file == nullptr) {
+        throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", PTDFfileName));
+    }
+    fprintf(file, "BRANCH;");
+    for (const auto& nom : nomsColonnes) {
+        fprintf(file, "%s;", nom.c_str());
+    }
+    fprintf(file, "\n");
+    for (const auto& bloc : blocsTexte) {
+        fwrite(bloc.data(), 1, bloc.size(), file);
     }
     fclose(file);
 }
@@ -1085,13 +1309,10 @@ void Calculer::printLODF(const string& LODFfileName, bool writeLODFfile) const
     if (writeLODFfile) {
         // print Line Outage Distribution Factors matrix
         // ------------------------------
-        FILE* file = fopen(LODFfileName.c_str(), "w+");
-        if (file == nullptr) {
-            throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", LODFfileName));
-        }
         LOG_ALL(debug) << "LODF matrix creation";
+        const bool binaire = config::inputConfiguration().binaryResults();
 
-        fprintf(file, "BRANCH;");
+        vector<string> nomsColonnes;
         vector<std::shared_ptr<Incident>> listeInc;
         for (auto& elem : res_.incidents_) {
             auto& inc = elem.second;
@@ -1103,19 +1324,49 @@ void Calculer::printLODF(const string& LODFfileName, bool writeLODFfile) const
             listeInc.push_back(inc);
 
             if (inc->nbLignes_ + inc->nbLccs_ == 1) {
-                fprintf(file, "%s;", elem.first.c_str());
+                nomsColonnes.push_back(elem.first);
             } else {
                 for (int i = 0; i < inc->nbLignes_; i++) {
-                    fprintf(file, "%s_%s;", elem.first.c_str(), inc->listeQuads_[i]->nom_.c_str());
+                    nomsColonnes.push_back(elem.first + "_" + inc->listeQuads_[i]->nom_);
                 }
                 for (int i = 0; i < inc->nbLccs_; i++) {
-                    fprintf(file, "%s_%s;", elem.first.c_str(), inc->listeLccs_[i]->nom_.c_str());
+                    nomsColonnes.push_back(elem.first + "_" + inc->listeLccs_[i]->nom_);
                 }
             }
         }
-        fprintf(file, "\n");
 
         Quadripole::SetQuadripoleSortedByName quadSet(res_.quadsSurv_.begin(), res_.quadsSurv_.end());
+
+        if (binaire) {
+            BinaryWriter writer;
+            writer.reserve(quadSet.size() * nomsColonnes.size() * sizeof(double));
+            writer.appendInt(static_cast<int32_t>(nomsColonnes.size()));
+            for (const auto& nom : nomsColonnes) {
+                writer.appendString(nom);
+            }
+            writer.appendInt(static_cast<int32_t>(quadSet.size()));
+            for (const auto& quad : quadSet) {
+                writer.appendString(quad->nom_);
+                for (auto& inc : listeInc) {
+                    for (int i = 0; i < inc->nbLignes_ + inc->nbLccs_; i++) {
+                        writer.appendDouble(roundAsText(inc->rho_[i][quad->num_], 4));
+                    }
+                }
+            }
+            writer.write(LODFfileName);
+            return;
+        }
+
+        FILE* file = fopen(LODFfileName.c_str(), "w+");
+        if (file == nullptr) {
+            throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", LODFfileName));
+        }
+        fprintf(file, "BRANCH;");
+        for (const auto& nom : nomsColonnes) {
+            fprintf(file, "%s;", nom.c_str());
+        }
+        fprintf(file, "\n");
+
         for (const auto& quad : quadSet) {
             int numQuad = quad->num_;
             fprintf(file, "%s;", quad->nom_.c_str());
@@ -10,6 +10,7 @@
 
 #include "calcul.h"
 #include "config/constants.h"
+#include "config/input_configuration.h"
 #include "cte.h"
 #include "err/IoDico.h"
 #include "err/error.h"
@@ -18,6 +19,7 @@
 #include "status.h"
 #include "variante.h"
 
+#include <algorithm>
 #include <cmath>
 #include <iostream>
 #include <sstream>
@@ -117,7 +119,7 @@ int Calculer::calculCoefsReport(std::shared_ptr<Incident> icdt)
             }
             /* fin correction */
 
-            LU_LuSolv(jacFactorisee_, &g_mk[0], &codeRet, nullptr, 0, 0.0); // hij
+            codeRet = resoudreSystemeQuad(SecondMembreQuad::GMK, qdt->num_, g_mk); // hij
             if (codeRet != 0) {
                 LOG_ALL(error) << err::ioDico().msg("ERRCalcInterne") << " probleme lors de la resolution du systeme";
                 return METRIX_PROBLEME;
@@ -144,7 +146,7 @@ int Calculer::calculCoefsReport(std::shared_ptr<Incident> icdt)
             // derivee, ou sensibilite, de l incident par rapport aux injections nodales
             icdt->lambda_[0][qdt->norqua_->num_] = qdt->u2Yij_;
             icdt->lambda_[0][qdt->nexqua_->num_] = -qdt->u2Yij_;
-            LU_LuSolv(jacFactorisee_, &icdt->lambda_[0][0], &codeRet, nullptr, 0, 0.0);
+            resoudreSystemeQuad(SecondMembreQuad::LAMBDA, qdt->num_, icdt->lambda_[0]);
 
             // mise a zero des sensibilite aux noeuds bilan
             // cf. note Description generale Metrix pour justification
@@ -206,7 +208,7 @@ int Calculer::calculCoefsReport(std::shared_ptr<Incident> icdt)
                 if (!res_.noeuds_[k]->bilan_) {
                     g_mk[i][k] = -1.0;
                 }
-                LU_LuSolv(jacFactorisee_, &g_mk[i][0], &codeRet, nullptr, 0, 0.0);
+                resoudreSystemeQuad(SecondMembreQuad::GMK, qdt->num_, g_mk[i]);
             }
 
             // pour les couplages a fermer
@@ -311,7 +313,7 @@ int Calculer::calculCoefsReport(std::shared_ptr<Incident> icdt)
                 // derivee, ou sensibilite, de l incident par rapport aux injections nodales
                 icdt->lambda_[i][qdt->norqua_->num_] = qdt->u2Yij_;
                 icdt->lambda_[i][qdt->nexqua_->num_] = -qdt->u2Yij_;
-                LU_LuSolv(jacFactorisee_, &icdt->lambda_[i][0], &codeRet, nullptr, 0, 0.0);
+                resoudreSystemeQuad(SecondMembreQuad::LAMBDA, qdt->num_, icdt->lambda_[i]);
 
                 // mise a zero des sensibilite aux noeuds bilan
                 // cf. note Description generale Metrix pour justification
@@ -328,6 +330,214 @@ int Calculer::calculCoefsReport(std::shared_ptr<Incident> icdt)
     return METRIX_PAS_PROBLEME;
 }
 
+void Calculer::preparerSolutionsQuads(const Quadripole::SetQuadripoleSortedByName& quads)
+{
+    // Les solutions dependent seulement de la jacobienne, donc de la topologie : celles d'un paquet de variantes de
+    // meme cle, calcule precedemment (calcul precedent d'un worker), sont reprises telles quelles
+    CleTopologie cle;
+    for (const auto& quad : quads) {
+        cle.push_back(static_cast<int>(quad->num_));
+    }
+    std::sort(cle.begin(), cle.end());
+
+    auto& solutions = solutionsParTopologie_[cle];
+    if (solutions.noeudsBilan != res_.numNoeudBilanParZone_) {
+        // topologie calculee avec d'autres noeuds bilan (lors d'un calcul precedent) : les solutions sont refaites
+        tailleSolutionsQuads_ -= taille(solutions);
+        solutions.gmk.clear();
+        solutions.lambda.clear();
+        solutions.noeudsBilan = res_.numNoeudBilanParZone_;
+    }
+    solutions.utilisation = ++nbCalculsReport_;
+    solutionsCourantes_ = &solutions;
+
+    if (!config::inputConfiguration().lowRankReportUpdates()) {
+        miseAJourTopologie_ = boost::none;
+        return;
+    }
+    if (cle.empty()) {
+        // Les solutions des quadripoles ouverts par les autres paquets servent a leur mise a jour de rang faible
+        miseAJourTopologie_ = boost::none;
+        for (const auto& elem : variantesOrdonnees_) {
+            for (const auto& quad : elem.first) {
+                vector<double> g_mk(res_.nbNoeuds_, 0.0);
+                if (!quad->norqua_->bilan_) {
+                    g_mk[quad->norqua_->num_] = 1.0;
+                }
+                if (!quad->nexqua_->bilan_) {
+                    g_mk[quad->nexqua_->num_] = -1.0;
+                }
+                resoudreSystemeQuad(SecondMembreQuad::GMK, quad->num_, g_mk);
+            }
+        }
+    } else {
+        preparerMiseAJourTopologie(quads);
+    }
+}
+
+size_t Calculer::taille(const SolutionsTopologie& solutions)
+{
+    size_t nbValeurs = 0;
+    for (const auto& elem : solutions.gmk) {
+        nbValeurs += elem.second.size();
+    }
+    for (const auto& elem : solutions.lambda) {
+        nbValeurs += elem.second.size();
+    }
+    return nbValeurs;
+}
+
+void Calculer::preparerMiseAJourTopologie(const Quadripole::SetQuadripoleSortedByName& quads)
+{
+    // H_T = H - A Y A^T, donc H_T^(-1) b = x + Z w avec x = H^(-1) b, Z = H^(-1) A et (Y^(-1) - A^T Z) w = A^T x
+    // (formule de Sherman-Morrison-Woodbury) : la mise a jour d'une solution de la topologie de base coute k
+    // produits par noeud, k etant le nombre de quadripoles ouverts, au lieu d'une resolution du systeme complet
+    miseAJourTopologie_ = boost::none;
+    auto base = solutionsParTopologie_.find(CleTopologie());
+    if (base == solutionsParTopologie_.end() || base->second.noeudsBilan != res_.numNoeudBilanParZone_) {
+        return;
+    }
+
+    MiseAJourTopologie miseAJour;
+    for (const auto& quad : quads) {
+        auto z = base->second.gmk.find(quad->num_);
+        if (z == base->second.gmk.end() || fabs(quad->u2Yij_) <= config::constants::threshold_not_connex) {
+            return;
+        }
+        miseAJour.quads.push_back(quad);
+        miseAJour.z.push_back(&z->second);
+    }
+
+    size_t k = miseAJour.quads.size();
+    miseAJour.m.assign(k * k, 0.0);
+    for (size_t i = 0; i < k; ++i) {
+        const auto& quad = miseAJour.quads[i];
+        for (size_t j = 0; j < k; ++j) {
+            const auto& z = *miseAJour.z[j];
+            double aTz = (quad->norqua_->bilan_ ? 0.0 : z[quad->norqua_->num_])
+                         - (quad->nexqua_->bilan_ ? 0.0 : z[quad->nexqua_->num_]);
+            miseAJour.m[i * k + j] = (i == j ? 1.0 / quad->u2Yij_ : 0.0) - aTz;
+        }
+    }
+
+    // factorisation LU avec pivot partiel ; une matrice singuliere (topologie non connexe) garde la resolution
+    miseAJour.pivots.resize(k);
+    auto& m = miseAJour.m;
+    for (size_t col = 0; col < k; ++col) {
+        size_t pivot = col;
+        for (size_t lig = col + 1; lig < k; ++lig) {
+            if (fabs(m[lig * k + col]) > fabs(m[pivot * k + col])) {
+                pivot = lig;
+            }
+        }
+        if (fabs(m[pivot * k + col]) <= config::constants::threshold_not_connex) {
+            return;
+        }
+        miseAJour.pivots[col] = pivot;
+        if (pivot != col) {
+            for (size_t j = 0; j < k; ++j) {
+                std::swap(m[col * k + j], m[pivot * k + j]);
+            }
+        }
+        for (size_t lig = col + 1; lig < k; ++lig) {
+            m[lig * k + col] /= m[col * k + col];
+            for (size_t j = col + 1; j < k; ++j) {
+                m[lig * k + j] -= m[lig * k + col] * m[col * k + j];
+            }
+        }
+    }
+    miseAJourTopologie_ = std::move(miseAJour);
+}
+
+bool Calculer::appliquerMiseAJourTopologie(SecondMembreQuad type, int numQuad, vector<double>& secondMembre) const
+{
+    const auto& base = solutionsParTopologie_.at(CleTopologie());
+    const auto& solutions = type == SecondMembreQuad::GMK ? base.gmk : base.lambda;
+    auto x = solutions.find(numQuad);
+    if (x == solutions.end()) {
+        return false;
+    }
+
+    const auto& miseAJour = *miseAJourTopologie_;
+    size_t k = miseAJour.quads.size();
+    vector<double> w(k);
+    for (size_t i = 0; i < k; ++i) {
+        const auto& quad = miseAJour.quads[i];
+        w[i] = (quad->norqua_->bilan_ ? 0.0 : x->second[quad->norqua_->num_])
+               - (quad->nexqua_->bilan_ ? 0.0 : x->second[quad->nexqua_->num_]);
+    }
+    const auto& m = miseAJour.m;
+    for (size_t col = 0; col < k; ++col) {
+        std::swap(w[col], w[miseAJour.pivots[col]]);
+        for (size_t lig = col + 1; lig < k; ++lig) {
+            w[lig] -= m[lig * k + col] * w[col];
+        }
+    }
+    for (size_t col = k; col-- > 0;) {
+        for (size_t j = col + 1; j < k; ++j) {
+            w[col] -= m[col * k + j] * w[j];
+        }
+        w[col] /= m[col * k + col];
+    }
+
+    secondMembre = x->second;
+    for (size_t j = 0; j < k; ++j) {
+        const auto& z = *miseAJour.z[j];
+        for (size_t n = 0; n < secondMembre.size(); ++n) {
+            secondMembre[n] += w[j] * z[n];
+        }
+    }
+    return true;
+}
+
+bool Calculer::reserverSolutionsQuads(size_t nbValeurs)
+{
+    // Les solutions des topologies utilisees le moins recemment sont liberees, sauf celles de la topologie de base
+    // qui servent aux mises a jour de rang faible
+    size_t tailleMax = static_cast<size_t>(config::inputConfiguration().reportCacheSize()) * (1 << 20)
+                       / sizeof(double);
+    while (tailleSolutionsQuads_ + nbValeurs > tailleMax) {
+        auto ancienne = solutionsParTopologie_.end();
+        for (auto it = solutionsParTopologie_.begin(); it != solutionsParTopologie_.end(); ++it) {
+            if (!it->first.empty() && &it->second != solutionsCourantes_
+                && (ancienne == solutionsParTopologie_.end() || it->second.utilisation < ancienne->second.utilisation)) {
+                ancienne = it;
+            }
+        }
+        if (ancienne == solutionsParTopologie_.end()) {
+            return false;
+        }
+        tailleSolutionsQuads_ -= taille(ancienne->second);
+        solutionsParTopologie_.erase(ancienne);
+    }
+    tailleSolutionsQuads_ += nbValeurs;
+    return true;
+}
+
+int Calculer::resoudreSystemeQuad(SecondMembreQuad type, int numQuad, vector<double>& secondMembre)
+{
+    // Le second membre d'un quadripole est le meme pour tous les incidents : la solution deja calculee pour la
+    // topologie est reprise telle quelle, les coefficients de report sont donc identiques a ceux d'une resolution
+    // par incident
+    auto& solutions = type == SecondMembreQuad::GMK ? solutionsCourantes_->gmk : solutionsCourantes_->lambda;
+    auto it = solutions.find(numQuad);
+    if (it != solutions.end()) {
+        secondMembre = it->second;
+        return 0;
+    }
+
+    int codeRet = 0;
+    if (!miseAJourTopologie_ || !appliquerMiseAJourTopologie(type, numQuad, secondMembre)) {
+        LU_LuSolv(jacFactorisee_, &secondMembre[0], &codeRet, nullptr, 0, 0.0);
+        if (codeRet != 0) {
+            return codeRet;
+        }
+    }
+    if (reserverSolutionsQuads(secondMembre.size())) {
+        solutions[numQuad] = secondMembre;
+    }
+    return codeRet;
+}
 
 int Calculer::calculReportLccs()
 {
@@ -11,6 +11,7 @@
 #pragma once
 
 #include <cmath>
+#include <cstddef>
 
 // Traces PNE/SPX
 #define TRACES_PNE NON_PNE   /*NON_PNE*/
@@ -40,6 +41,14 @@ constexpr unsigned int nb_max_constraints
     = 5000; // nombre max de contraintes ajoutees pour le simplexe au total lors de la resolution
 constexpr unsigned int nb_max_contraints_by_iteration
     = 200; // Limitation du nombre de contraintes par itération (y compris parades)
+constexpr double default_predicted_constraints_threshold
+    = 0.9; // part du seuil par defaut a partir de laquelle une contrainte predite est ajoutee des la 1ere iteration
+constexpr unsigned int nb_max_warm_start_bases
+    = 16; // nombre max de bases conservees pour le demarrage a chaud du simplexe
+constexpr std::size_t result_file_buffer_size
+    = 8 << 20; // taille du tampon d'ecriture d'un fichier de resultats, ecrit en une fois s'il est plus petit
+constexpr unsigned int default_report_cache_size
+    = 128; // taille max par defaut (Mo) des solutions conservees pour les coefficients de report
 
 constexpr unsigned int factor_max_size_dodu = 3;     // ce coeff *nbQuadripole = taille du vecteur de contrainte (DODU)
 constexpr unsigned int nb_ouvrages_by_incident = 10; // nombre max d ouvrage par incident
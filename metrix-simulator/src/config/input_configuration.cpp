@@ -21,6 +21,7 @@ InputConfiguration::InputConfiguration(const std::string& filepath_error,
                                        const std::string& filepath_variant,
                                        const std::string& filepath_results,
                                        const std::string& filepath_parades,
+                                       const std::string& working_dir,
                                        unsigned int first_variant,
                                        unsigned int nb_variant,
                                        bool print_log,
@@ -34,11 +35,23 @@ InputConfiguration::InputConfiguration(const std::string& filepath_error,
                                        bool compare_load_flow_report,
                                        bool ignore_incident_group_absent,
                                        bool use_all_outputs,
-                                       bool export_mps_file) :
+                                       bool export_mps_file,
+                                       unsigned int nb_threads,
+                                       bool warm_start,
+                                       bool worker,
+                                       bool binary_results,
+                                       bool predict_constraints,
+                                       unsigned int max_constraints_by_iteration,
+                                       unsigned int report_cache_size,
+                                       bool low_rank_report_updates,
+                                       double predicted_constraints_threshold,
+                                       unsigned int constraints_by_incident,
+                                       bool adaptive_constraints_limit) :
     filepathError_{filepath_error},
     filepathVariant_{filepath_variant},
     filepathResults_{filepath_results},
     filepathParades_{filepath_parades},
+    workingDir_{working_dir},
     firstVariant_{first_variant},
     nbVariant_{nb_variant},
     printLog_{print_log},
@@ -52,7 +65,18 @@ InputConfiguration::InputConfiguration(const std::string& filepath_error,
     compareLoadFlowReport_{compare_load_flow_report},
     ignoreIncidentGroupAbsent_{ignore_incident_group_absent},
     useAllOutputs_{use_all_outputs},
-    exportMPSFile_{export_mps_file}
+    exportMPSFile_{export_mps_file},
+    nbThreads_{nb_threads},
+    warmStart_{warm_start},
+    worker_{worker},
+    binaryResults_{binary_results},
+    predictConstraints_{predict_constraints},
+    maxConstraintsByIteration_{max_constraints_by_iteration},
+    reportCacheSize_{report_cache_size},
+    lowRankReportUpdates_{low_rank_report_updates},
+    predictedConstraintsThreshold_{predicted_constraints_threshold},
+    constraintsByIncident_{constraints_by_incident},
+    adaptiveConstraintsLimit_{adaptive_constraints_limit}
 {
 }
 
@@ -39,6 +39,7 @@ public:
                        const std::string& filepath_variant,
                        const std::string& filepath_results,
                        const std::string& filepath_parades,
+                       const std::string& working_dir,
                        unsigned int first_variant,
                        unsigned int nb_variant,
                        bool print_log,
@@ -52,12 +53,24 @@ public:
                        bool compare_load_flow_report,
                        bool ignore_incident_group_absent,
                        bool use_all_outputs,
-                       bool export_mps_file);
+                       bool export_mps_file,
+                       unsigned int nb_threads,
+                       bool warm_start,
+                       bool worker,
+                       bool binary_results,
+                       bool predict_constraints,
+                       unsigned int max_constraints_by_iteration,
+                       unsigned int report_cache_size,
+                       bool low_rank_report_updates,
+                       double predicted_constraints_threshold,
+                       unsigned int constraints_by_incident,
+                       bool adaptive_constraints_limit);
 
     const std::string& filepathError() const { return filepathError_; }
     const std::string& filepathVariant() const { return filepathVariant_; }
     const std::string& filepathResults() const { return filepathResults_; }
     const std::string& filepathParades() const { return filepathParades_; }
+    const std::string& workingDir() const { return workingDir_; }
     unsigned int firstVariant() const { return firstVariant_; }
     unsigned int nbVariant() const { return nbVariant_; }
     bool printLog() const { return printLog_; }
@@ -72,12 +85,24 @@ public:
     bool ignoreIncidentGroupAbsent() const { return ignoreIncidentGroupAbsent_; }
     bool useAllOutputs() const { return useAllOutputs_; }
     bool exportMPSFile() const { return exportMPSFile_; }
+    unsigned int nbThreads() const { return nbThreads_; }
+    bool warmStart() const { return warmStart_; }
+    bool worker() const { return worker_; }
+    bool binaryResults() const { return binaryResults_; }
+    bool predictConstraints() const { return predictConstraints_; }
+    unsigned int maxConstraintsByIteration() const { return maxConstraintsByIteration_; }
+    unsigned int reportCacheSize() const { return reportCacheSize_; }
+    bool lowRankReportUpdates() const { return lowRankReportUpdates_; }
+    double predictedConstraintsThreshold() const { return predictedConstraintsThreshold_; }
+    unsigned int constraintsByIncident() const { return constraintsByIncident_; }
+    bool adaptiveConstraintsLimit() const { return adaptiveConstraintsLimit_; }
 
 private:
     std::string filepathError_;
     std::string filepathVariant_;
     std::string filepathResults_;
     std::string filepathParades_;
+    std::string workingDir_;
     unsigned int firstVariant_ = 0;
     unsigned int nbVariant_ = 0;
     bool printLog_ = false;
@@ -92,6 +117,17 @@ private:
     bool ignoreIncidentGroupAbsent_ = false;
     bool useAllOutputs_ = false;
     bool exportMPSFile_ = false;
+    unsigned int nbThreads_ = 1;
+    bool warmStart_ = false;
+    bool worker_ = false;
+    bool binaryResults_ = false;
+    bool predictConstraints_ = false;
+    unsigned int maxConstraintsByIteration_ = 0;
+    unsigned int reportCacheSize_ = 0;
+    bool lowRankReportUpdates_ = false;
+    double predictedConstraintsThreshold_ = 0.;
+    unsigned int constraintsByIncident_ = 0;
+    bool adaptiveConstraintsLimit_ = false;
 };
 
 void configureInputConfiguration(InputConfiguration&& config);
@@ -11,19 +11,26 @@
 #include "variant_configuration.h"
 
 #include "configuration.h"
-#include "converter.h"
 #include "parametres.h"
 #include <err/IoDico.h>
 #include <err/error.h>
 #include <metrix/log.h>
 
+#include <cerrno>
+#include <cstdlib>
 #include <cstring>
 #include <fstream>
-#include <sstream>
+#include <ios>
+#include <limits>
+#include <set>
+#include <stdexcept>
 
 namespace config
 {
-auto VariantConfiguration::variante(int num) -> boost::optional<std::reference_wrapper<const VariantConfig>>
+/// @brief Keyword of the first line of a file whose variants carry forward the laws of the previous variant
+static const char* const carry_forward_keyword = "CARRY";
+
+auto VariantConfiguration::variante(int num) const -> boost::optional<std::reference_wrapper<const VariantConfig>>
 {
     if (config_.count(num) > 0) {
         return boost::make_optional<std::reference_wrapper<const VariantConfig>>(config_.at(num));
@@ -166,74 +173,108 @@ VariantConfiguration::VariantConfiguration(const std::string& pathname) :
             "PROBABINC",
             std::bind(&VariantConfiguration::processProbaInc, this, std::placeholders::_1, std::placeholders::_2))}
 {
-    std::ifstream fic(pathname);
-    if (!fic) {
-        throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", pathname));
-    }
-
-    std::string line;
-    std::string sub_line;
-    std::istringstream iss;
-    iss.exceptions(std::ifstream::eofbit | std::ifstream::badbit);
+    std::string content = readFile(pathname);
+    const char* current = content.c_str();
+    const char* end = current + content.size();
+
+    // Lines are read in place in the content of the file
+    const char* line_begin = current;
+    auto next_line = [&current, &line_begin, end]() {
+        line_begin = current;
+        auto eol = static_cast<const char*>(std::memchr(line_begin, '\n', static_cast<size_t>(end - line_begin)));
+        if (eol == nullptr) {
+            eol = end;
+            current = end;
+        } else {
+            current = eol + 1;
+        }
+        return FieldReader(line_begin, eol);
+    };
 
     try {
         // Number of tirages
-        if (!getline(fic, line)) {
+        if (current == end) {
             throw ErrorI(err::ioDico().msg("ERRLectureFichier", pathname));
         }
-        iss.str(line);
-        getline(iss, sub_line, ';');
-        if (sub_line != "NT") {
+        FieldReader first_line = next_line();
+        if (first_line.next() != "NT") {
             throw ErrorI(err::ioDico().msg("ERRMotCleNbVar", pathname));
         }
-        getline(iss, sub_line, ';');
-        auto nb_tirages = convert::toInt(sub_line);
+        auto nb_tirages = first_line.nextInt();
+
+        // With the carry forward keyword, a variant only gives the laws which differ from the previous variant of
+        // the file: the laws of the previous variant which are not given again are applied to the variant, and a law
+        // without variation resets the key to the base values. Lines of such a variant must be consecutive.
+        bool carry_forward = !first_line.empty() && first_line.next() == carry_forward_keyword;
 
         LOG(debug) << metrix::log::verbose_config << "nb max tirages = " << nb_tirages;
 
+        // laws in effect, by key, keys given by the current variant and variants already read
+        std::map<std::string, std::vector<FieldReader>> carried_laws;
+        std::set<std::string> variant_keys;
+        std::set<int> read_variants;
+
         // parse lines
-        while (!fic.eof()) {
-            if (!getline(fic, line)) {
-                if (!fic.eof()) {
-                    throw ErrorI(err::ioDico().msg("ERRLectureFichier", pathname));
-                }
+        VariantConfig* variant = nullptr;
+        auto end_variant = [this, &variant, &carried_laws, &variant_keys]() {
+            if (variant == nullptr || variant->num == variant_base) {
                 return;
             }
+            for (const auto& law : carried_laws) {
+                if (variant_keys.count(law.first) > 0) {
+                    continue;
+                }
+                for (auto line : law.second) {
+                    processLaw(*variant, law.first, line);
+                }
+            }
+            variant_keys.clear();
+        };
+        while (current != end) {
+            FieldReader reader = next_line();
 
             // variant index
-            iss.str(line);
-            getline(iss, sub_line, ';');
-            int numvar = convert::toInt(sub_line);
+            int numvar = reader.nextInt();
+            if (numvar == variant_base) {
+                base_lines_.append(line_begin, current);
+            }
 
-            auto& variant = config_[numvar]; // create new variant or continue the previous one
-            variant.num = numvar;
+            // the lines of a variant are usually consecutive
+            if (variant == nullptr || variant->num != numvar) {
+                if (carry_forward) {
+                    end_variant();
+                    // the carried laws would otherwise be applied again to the lines of a variant read before
+                    if (numvar != variant_base && !read_variants.insert(numvar).second) {
+                        throw ErrorI(err::ioDico().msg("ERRVarianteNonConsecutive", std::to_string(numvar), pathname));
+                    }
+                }
+                variant = &config_[numvar]; // create new variant or continue the previous one
+                variant->num = numvar;
+            }
 
             // key
             // loi vide de numero différent de -1, on la stocke dans la map
-            if (iss.rdbuf()->in_avail() == 0) {
+            if (reader.empty()) {
                 continue;
             }
-            std::string key;
-            getline(iss, key, ';');
+            std::string key = reader.next();
             if (key.empty()) {
                 continue;
             }
 
-            // number of variations by law
-            getline(iss, sub_line, ';');
-            auto nb_variations = convert::toInt(sub_line);
-            if (nb_variations == 0) {
-                continue;
-            }
-
-            if (line_processors_.count(key) == 0) {
-                throw ErrorI(err::ioDico().msg("ERRTypeLoiInconnu", key));
+            if (carry_forward && variant->num != variant_base) {
+                // the law replaces the one of the previous variant
+                auto& laws = carried_laws[key];
+                if (variant_keys.insert(key).second) {
+                    laws.clear();
+                }
+                laws.push_back(reader);
             }
-            auto processor = line_processors_.at(key);
 
-            for (int j = 0; j < nb_variations; j++) {
-                processor(variant, iss);
-            }
+            processLaw(*variant, key, reader);
+        }
+        if (carry_forward) {
+            end_variant();
         }
     } catch (const std::ios_base::failure& e) {
         LOG(error) << e.what();
@@ -250,10 +291,107 @@ VariantConfiguration::VariantConfiguration(const std::string& pathname) :
     }
 }
 
-void VariantConfiguration::processGroup(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processLaw(VariantConfig& variant, const std::string& key, FieldReader& reader) const
+{
+    // number of variations by law
+    auto nb_variations = reader.nextInt();
+    if (nb_variations == 0) {
+        return;
+    }
+
+    auto processor = line_processors_.find(key);
+    if (processor == line_processors_.end()) {
+        throw ErrorI(err::ioDico().msg("ERRTypeLoiInconnu", key));
+    }
+
+    for (int j = 0; j < nb_variations; j++) {
+        processor->second(variant, reader);
+    }
+}
+
+std::string VariantConfiguration::readFile(const std::string& pathname)
+{
+    std::ifstream fic(pathname);
+    if (!fic) {
+        throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", pathname));
+    }
+
+    // the whole file is read at once, the size on disk being an upper bound of the number of characters read
+    fic.seekg(0, std::ios::end);
+    auto size = fic.tellg();
+    fic.seekg(0, std::ios::beg);
+    if (size < 0 || !fic) {
+        throw ErrorI(err::ioDico().msg("ERRLectureFichier", pathname));
+    }
+
+    std::string content(static_cast<size_t>(size), '\0');
+    fic.read(&content[0], size);
+    if (fic.bad()) {
+        throw ErrorI(err::ioDico().msg("ERRLectureFichier", pathname));
+    }
+    content.resize(static_cast<size_t>(fic.gcount()));
+
+    return content;
+}
+
+auto VariantConfiguration::FieldReader::nextField() -> std::pair<const char*, const char*>
+{
+    auto separator = static_cast<const char*>(std::memchr(current_, ';', static_cast<size_t>(end_ - current_)));
+    if (separator == nullptr) {
+        // same failure as the one of the stream used to read the line
+        throw std::ios_base::failure("field not terminated by a semicolon");
+    }
+
+    auto field = std::make_pair(current_, separator);
+    current_ = separator + 1;
+    return field;
+}
+
+std::string VariantConfiguration::FieldReader::next()
+{
+    auto field = nextField();
+    return std::string(field.first, field.second);
+}
+
+int VariantConfiguration::FieldReader::nextInt()
+{
+    auto field = nextField();
+
+    // the conversion stops at the semicolon terminating the field
+    char* conversion_end = nullptr;
+    errno = 0;
+    long value = std::strtol(field.first, &conversion_end, 10);
+    if (conversion_end == field.first) {
+        throw ErrorI(err::ioDico().msg("ERRFormatNombre", std::string(field.first, field.second)));
+    }
+    if (errno == ERANGE || value < std::numeric_limits<int>::min() || value > std::numeric_limits<int>::max()) {
+        throw std::out_of_range("stoi");
+    }
+
+    return static_cast<int>(value);
+}
+
+double VariantConfiguration::FieldReader::nextDouble()
+{
+    auto field = nextField();
+
+    // the conversion stops at the semicolon terminating the field
+    char* conversion_end = nullptr;
+    errno = 0;
+    double value = std::strtod(field.first, &conversion_end);
+    if (conversion_end == field.first) {
+        throw ErrorI(err::ioDico().msg("ERRFormatNombre", std::string(field.first, field.second)));
+    }
+    if (errno == ERANGE) {
+        throw std::out_of_range("stod");
+    }
+
+    return value;
+}
+
+void VariantConfiguration::processGroup(VariantConfig& variant, FieldReader& reader) const
 {
-    std::string sub_line;
-    getline(iss, sub_line, ';');
+    auto sub_line = reader.next();
     rtrim(sub_line);
 
     variant.unavailableGroups.push_back(sub_line);
@@ -261,72 +399,65 @@ void VariantConfiguration::processGroup(VariantConfig& variant, std::istringstre
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : group " << sub_line << " unavailable";
 }
 
-std::tuple<std::string, double> VariantConfiguration::extractDouble(std::istringstream& iss)
+std::tuple<std::string, double> VariantConfiguration::extractDouble(FieldReader& reader)
 {
-    std::string sub_line;
-    getline(iss, sub_line, ';');
-    auto name = sub_line;
+    auto name = reader.next();
     rtrim(name);
 
-    getline(iss, sub_line, ';');
-    auto value = convert::toDouble(sub_line);
+    auto value = reader.nextDouble();
 
     return std::make_tuple(name, value);
 }
 
-std::tuple<std::string, int> VariantConfiguration::extractInt(std::istringstream& iss)
+std::tuple<std::string, int> VariantConfiguration::extractInt(FieldReader& reader)
 {
-    std::string sub_line;
-    getline(iss, sub_line, ';');
-    auto name = sub_line;
+    auto name = reader.next();
     rtrim(name);
 
-    getline(iss, sub_line, ';');
-    auto value = convert::toInt(sub_line);
+    auto value = reader.nextInt();
 
     return std::make_tuple(name, value);
 }
 
-void VariantConfiguration::processConso(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processConso(VariantConfig& variant, FieldReader& reader) const
 {
-    auto conso = extractDouble(iss);
+    auto conso = extractDouble(reader);
     variant.consos.push_back(conso);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : conso " << std::get<NAME>(conso)
                << " with value " << std::get<VALUE>(conso);
 }
 
-void VariantConfiguration::processImposedGroup(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processImposedGroup(VariantConfig& variant, FieldReader& reader) const
 {
-    auto group = extractDouble(iss);
+    auto group = extractDouble(reader);
     variant.groups.push_back(group);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : group " << std::get<NAME>(group)
                << " is imposed at value " << std::get<VALUE>(group);
 }
 
-void VariantConfiguration::processGroupPmax(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processGroupPmax(VariantConfig& variant, FieldReader& reader) const
 {
-    auto group = extractDouble(iss);
+    auto group = extractDouble(reader);
     variant.pmaxGroups.push_back(group);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : group " << std::get<NAME>(group)
                << " at Pmax value " << std::get<VALUE>(group);
 }
 
-void VariantConfiguration::processGroupPmin(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processGroupPmin(VariantConfig& variant, FieldReader& reader) const
 {
-    auto group = extractDouble(iss);
+    auto group = extractDouble(reader);
     variant.pminGroups.push_back(group);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : group " << std::get<NAME>(group)
                << " at Pmin value " << std::get<VALUE>(group);
 }
 
-void VariantConfiguration::processLine(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processLine(VariantConfig& variant, FieldReader& reader) const
 {
-    std::string sub_line;
-    getline(iss, sub_line, ';');
+    auto sub_line = reader.next();
     rtrim(sub_line);
 
     variant.unavailableLines.push_back(sub_line);
@@ -334,64 +465,63 @@ void VariantConfiguration::processLine(VariantConfig& variant, std::istringstrea
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : line " << sub_line << " unavailable";
 }
 
-void VariantConfiguration::processHVDCPmax(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processHVDCPmax(VariantConfig& variant, FieldReader& reader) const
 {
-    auto line = extractDouble(iss);
+    auto line = extractDouble(reader);
     variant.pmaxHvdc.push_back(line);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : line " << std::get<NAME>(line)
                << " Pmax at " << std::get<VALUE>(line);
 }
 
-void VariantConfiguration::processHVDCPmin(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processHVDCPmin(VariantConfig& variant, FieldReader& reader) const
 {
-    auto line = extractDouble(iss);
+    auto line = extractDouble(reader);
     variant.pminHvdc.push_back(line);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : line " << std::get<NAME>(line)
                << " Pmin at " << std::get<VALUE>(line);
 }
 
-void VariantConfiguration::processHVDCPower(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processHVDCPower(VariantConfig& variant, FieldReader& reader) const
 {
-    auto line = extractDouble(iss);
+    auto line = extractDouble(reader);
     variant.powerHvdc.push_back(line);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : line " << std::get<NAME>(line)
                << " power at " << std::get<VALUE>(line);
 }
 
-void VariantConfiguration::processTDPhasing(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processTDPhasing(VariantConfig& variant, FieldReader& reader) const
 {
-    auto td = extractInt(iss);
+    auto td = extractInt(reader);
     variant.tdPhasing.push_back(td);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : TD " << std::get<NAME>(td)
                << " phasing at " << std::get<VALUE>(td);
 }
 
-void VariantConfiguration::processCostConso(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processCostConso(VariantConfig& variant, FieldReader& reader) const
 {
-    auto conso = extractDouble(iss);
+    auto conso = extractDouble(reader);
     variant.deleteConsosCosts.push_back(conso);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : conso " << std::get<NAME>(conso)
                << " delete cost at " << std::get<VALUE>(conso);
 }
 
-void VariantConfiguration::processBalancesConsumption(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processBalancesConsumption(VariantConfig& variant, FieldReader& reader) const
 {
-    auto region = extractDouble(iss);
+    auto region = extractDouble(reader);
     variant.balancesConso.push_back(region);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : region " << std::get<NAME>(region)
                << ", balance objective by consumption value at" << std::get<VALUE>(region);
 }
 
-void VariantConfiguration::processRandomGroups(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processRandomGroups(VariantConfig& variant, FieldReader& reader) const
 {
-    std::string sub_line;
-    getline(iss, sub_line, ';');
+    auto sub_line = reader.next();
     rtrim(sub_line);
     variant.randomGroups.push_back(sub_line);
 
@@ -400,18 +530,18 @@ void VariantConfiguration::processRandomGroups(VariantConfig& variant, std::istr
 }
 
 
-void VariantConfiguration::processBalancesProduction(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processBalancesProduction(VariantConfig& variant, FieldReader& reader) const
 {
-    auto region = extractDouble(iss);
+    auto region = extractDouble(reader);
     variant.balancesProd.push_back(region);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : region " << std::get<NAME>(region)
                << ", balance objective by production value at" << std::get<VALUE>(region);
 }
 
-void VariantConfiguration::processProbaInc(VariantConfig& variant, std::istringstream& iss) const
+void VariantConfiguration::processProbaInc(VariantConfig& variant, FieldReader& reader) const
 {
-    auto incident = extractDouble(iss);
+    auto incident = extractDouble(reader);
     variant.probas.push_back(incident);
 
     LOG(debug) << metrix::log::verbose_config << "Variant " << variant.num << " : incident " << std::get<NAME>(incident)
@@ -420,9 +550,9 @@ void VariantConfiguration::processProbaInc(VariantConfig& variant, std::istrings
 
 void VariantConfiguration::processCost(VariantConfig::CostType cost_type,
                                        VariantConfig& variant,
-                                       std::istringstream& iss) const
+                                       FieldReader& reader) const
 {
-    auto group = extractDouble(iss);
+    auto group = extractDouble(reader);
     variant.costs[cost_type].push_back(group);
 
     std::string cost_str;
@@ -442,9 +572,9 @@ void VariantConfiguration::processCost(VariantConfig::CostType cost_type,
 
 void VariantConfiguration::processThreshold(VariantConfig::Threshold threshold,
                                             VariantConfig& variant,
-                                            std::istringstream& iss) const
+                                            FieldReader& reader) const
 {
-    auto quad = extractDouble(iss);
+    auto quad = extractDouble(reader);
     variant.tresholds[threshold].push_back(quad);
 
     std::string str;
@@ -14,9 +14,9 @@
 
 #include <functional>
 #include <map>
-#include <sstream>
 #include <string>
 #include <tuple>
+#include <utility>
 #include <vector>
 
 namespace config
@@ -93,7 +93,7 @@ public:
      * @param num variant number
      * @returns variant configuration, if variant number exists
      */
-    boost::optional<std::reference_wrapper<const VariantConfig>> variante(int num);
+    boost::optional<std::reference_wrapper<const VariantConfig>> variante(int num) const;
 
     /**
      * @brief Retrieve all variants
@@ -102,41 +102,104 @@ public:
      */
     const VariantMap& variants() const { return config_; }
 
+    /**
+     * @brief Retrieve the lines of the base variant, as written in the file
+     *
+     * @returns the lines of the base variant, empty if the file has no base variant
+     */
+    const std::string& baseLines() const { return base_lines_; }
+
 private:
-    using Processor = std::function<void(VariantConfig&, std::istringstream&)>;
+    /**
+     * @brief Reader of the fields of a line of the file, each field being terminated by a semicolon
+     *
+     * Fields are read in place in the file content, without copy
+     */
+    class FieldReader
+    {
+    public:
+        FieldReader(const char* begin, const char* end) : current_{begin}, end_{end} {}
+
+        /**
+         * @brief Checks if the whole line has been read
+         */
+        bool empty() const { return current_ == end_; }
+
+        /**
+         * @brief Read the next field
+         *
+         * @throw std::ios_base::failure if the field is not terminated by a semicolon
+         */
+        std::string next();
+
+        /**
+         * @brief Read the next field as an integer, with the same conversion as std::stoi
+         *
+         * @throw std::ios_base::failure if the field is not terminated by a semicolon
+         * @throw ERRFormatNombre message if the field is not a number
+         */
+        int nextInt();
+
+        /**
+         * @brief Read the next field as a double, with the same conversion as std::stod
+         *
+         * @throw std::ios_base::failure if the field is not terminated by a semicolon
+         * @throw ERRFormatNombre message if the field is not a number
+         */
+        double nextDouble();
+
+    private:
+        std::pair<const char*, const char*> nextField();
+
+    private:
+        const char* current_;
+        const char* end_;
+    };
 
+    using Processor = std::function<void(VariantConfig&, FieldReader&)>;
 
 private:
-    static std::tuple<std::string, double> extractDouble(std::istringstream& iss);
-    static std::tuple<std::string, int> extractInt(std::istringstream& iss);
+    static std::string readFile(const std::string& pathname);
+    static std::tuple<std::string, double> extractDouble(FieldReader& reader);
+    static std::tuple<std::string, int> extractInt(FieldReader& reader);
 
 private:
-    void processGroup(VariantConfig& variant, std::istringstream& iss) const;
-    void processConso(VariantConfig& variant, std::istringstream& iss) const;
-    void processCostConso(VariantConfig& variant, std::istringstream& iss) const;
-    void processImposedGroup(VariantConfig& variant, std::istringstream& iss) const;
-    void processGroupPmax(VariantConfig& variant, std::istringstream& iss) const;
-    void processGroupPmin(VariantConfig& variant, std::istringstream& iss) const;
+    /**
+     * @brief Apply a law to a variant
+     *
+     * @param variant the variant to modify
+     * @param key the key of the law
+     * @param reader the reader of the line, positioned on the number of variations of the law
+     */
+    void processLaw(VariantConfig& variant, const std::string& key, FieldReader& reader) const;
+
+    void processGroup(VariantConfig& variant, FieldReader& reader) const;
+    void processConso(VariantConfig& variant, FieldReader& reader) const;
+    void processCostConso(VariantConfig& variant, FieldReader& reader) const;
+    void processImposedGroup(VariantConfig& variant, FieldReader& reader) const;
+    void processGroupPmax(VariantConfig& variant, FieldReader& reader) const;
+    void processGroupPmin(VariantConfig& variant, FieldReader& reader) const;
 
-    void processCost(VariantConfig::CostType cost_type, VariantConfig& variant, std::istringstream& iss) const;
+    void processCost(VariantConfig::CostType cost_type, VariantConfig& variant, FieldReader& reader) const;
 
-    void processLine(VariantConfig& variant, std::istringstream& iss) const;
-    void processHVDCPmax(VariantConfig& variant, std::istringstream& iss) const;
-    void processHVDCPmin(VariantConfig& variant, std::istringstream& iss) const;
-    void processHVDCPower(VariantConfig& variant, std::istringstream& iss) const;
-    void processTDPhasing(VariantConfig& variant, std::istringstream& iss) const;
+    void processLine(VariantConfig& variant, FieldReader& reader) const;
+    void processHVDCPmax(VariantConfig& variant, FieldReader& reader) const;
+    void processHVDCPmin(VariantConfig& variant, FieldReader& reader) const;
+    void processHVDCPower(VariantConfig& variant, FieldReader& reader) const;
+    void processTDPhasing(VariantConfig& variant, FieldReader& reader) const;
 
-    void processThreshold(VariantConfig::Threshold threshold, VariantConfig& variant, std::istringstream& iss) const;
+    void processThreshold(VariantConfig::Threshold threshold, VariantConfig& variant, FieldReader& reader) const;
 
-    void processBalancesConsumption(VariantConfig& variant, std::istringstream& iss) const;
-    void processBalancesProduction(VariantConfig& variant, std::istringstream& iss) const;
-    void processProbaInc(VariantConfig& variant, std::istringstream& iss) const;
+    void processBalancesConsumption(VariantConfig& variant, FieldReader& reader) const;
+    void processBalancesProduction(VariantConfig& variant, FieldReader& reader) const;
+    void processProbaInc(VariantConfig& variant, FieldReader& reader) const;
 
-    void processRandomGroups(VariantConfig& variant, std::istringstream& iss) const;
+    void processRandomGroups(VariantConfig& variant, FieldReader& reader) const;
 
 private:
     const std::map<std::string, Processor>
         line_processors_; ///< map containing all functions to process each type of data read in the file
     VariantMap config_;   ///< map of variants
+    std::string base_lines_; ///< lines of the base variant, to check if two files have the same base variant
 };
 } // namespace config
\ No newline at end of file
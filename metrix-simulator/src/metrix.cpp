@@ -24,12 +24,19 @@
 #include "status.h"
 #include <metrix/log.h>
 
+#include <boost/filesystem.hpp>
+
 #include <algorithm>
+#include <cstddef>
 #include <cstdio>
 #include <cstdlib>
 #include <ctime>
+#include <fstream>
 #include <iostream>
+#include <iterator>
+#include <memory>
 #include <string>
+#include <thread>
 #include <vector>
 
 using std::cerr;
@@ -48,6 +55,360 @@ static void print_help(const char* program_name, const options::Options& options
     }
 }
 
+/**
+ * Apply the base variant to the network, without possibility to go back
+ */
+static void appliquerVarianteBase(Reseau& res, const config::VariantConfiguration& variant_config)
+{
+    auto base = variant_config.variante(config::VariantConfiguration::variant_base);
+    if (base) {
+        // base variant is applied to network base without possibility to go back
+        res.updateBase(base->get());
+    } else {
+        LOG(debug) << "No base change in variants";
+    }
+
+    // Double-check connexity in case the base variant broke connexite
+    if (!res.connexite()) {
+        LOG(warning) << "Base variant broke the connexity";
+    }
+}
+
+/**
+ * Add a "do nothing" parade on the incidents with curative actions but without parade
+ */
+static void ajouterParadesNeRienFaire(Reseau& res)
+{
+    for (auto icdtIt = res.incidents_.cbegin(); icdtIt != res.incidents_.end(); ++icdtIt) {
+        auto& inc = icdtIt->second;
+
+        if (!inc->listeElemCur_.empty() && inc->parades_.empty()) {
+            auto paradeNRF = res.ajouteParadeNeRienFaire(inc);
+            // On echange les listes
+            inc->listeElemCur_.swap(paradeNRF->listeElemCur_);
+            inc->lccElemCur_.swap(paradeNRF->lccElemCur_);
+            inc->tdFictifsElemCur_.swap(paradeNRF->tdFictifsElemCur_);
+
+            if (!paradeNRF->tdFictifsElemCur_.empty()) {
+                // duplicate fictive curative corresponding to AC emulating on father incident
+                for (auto it = paradeNRF->tdFictifsElemCur_.cbegin(); it != paradeNRF->tdFictifsElemCur_.end(); ++it) {
+                    auto elemCur = std::make_shared<ElementCuratifTD>(it->second->td_);
+                    inc->listeElemCur_.push_back(elemCur);
+                    inc->tdFictifsElemCur_.insert(
+                        std::pair<std::shared_ptr<Quadripole>, std::shared_ptr<ElementCuratifTD>>(it->first, elemCur));
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Number of threads solving the variants: debug outputs written in files shared by all the variants require a
+ * sequential resolution
+ */
+static unsigned int nbThreadsResolution(const MapQuadinVar& variantesOrdonnees)
+{
+    const auto& input_config = config::inputConfiguration();
+    if (input_config.writeConstraintsFile() || input_config.writePTDFfile() || input_config.writeLODFfile()
+        || input_config.exportMPSFile()) {
+        return 1;
+    }
+    size_t nbVariantes = 0;
+    for (const auto& pair : variantesOrdonnees) {
+        nbVariantes += pair.second.size();
+    }
+    return static_cast<unsigned int>(std::min(static_cast<size_t>(input_config.nbThreads()), nbVariantes));
+}
+
+/**
+ * Keep only the variants solved by the given thread.
+ *
+ * Variants are taken in the order of the map, which only depends on the names of the quadripoles modified by each
+ * set of variants and is therefore the same for all threads, and split in contiguous slices, so that each thread
+ * modifies and refactorizes the jacobian for as few sets of variants as possible.
+ */
+static void selectionnerVariantes(MapQuadinVar& variantesOrdonnees, unsigned int numThread, unsigned int nbThreads)
+{
+    size_t nbVariantes = 0;
+    for (const auto& pair : variantesOrdonnees) {
+        nbVariantes += pair.second.size();
+    }
+    size_t debut = nbVariantes * numThread / nbThreads;
+    size_t fin = nbVariantes * (numThread + 1) / nbThreads;
+
+    size_t index = 0;
+    for (auto mapVar = variantesOrdonnees.begin(); mapVar != variantesOrdonnees.end();) {
+        auto& variantes = mapVar->second;
+        size_t debutPaquet = index;
+        size_t finPaquet = index + variantes.size();
+        index = finPaquet;
+        if (finPaquet <= debut || debutPaquet >= fin) {
+            mapVar = variantesOrdonnees.erase(mapVar);
+            continue;
+        }
+        auto first = variantes.begin() + static_cast<std::ptrdiff_t>(std::max(debut, debutPaquet) - debutPaquet);
+        auto last = variantes.begin() + static_cast<std::ptrdiff_t>(std::min(fin, finPaquet) - debutPaquet);
+        variantes = std::vector<std::shared_ptr<Variante>>(first, last);
+        ++mapVar;
+    }
+}
+
+/**
+ * Numbers of the variants solved by the given thread
+ */
+static std::vector<int> numerosVariantes(const MapQuadinVar& variantesOrdonnees, unsigned int numThread, unsigned int nbThreads)
+{
+    MapQuadinVar variantesThread = variantesOrdonnees;
+    selectionnerVariantes(variantesThread, numThread, nbThreads);
+    std::vector<int> numeros;
+    for (const auto& pair : variantesThread) {
+        for (const auto& variante : pair.second) {
+            numeros.push_back(variante->num_);
+        }
+    }
+    return numeros;
+}
+
+/**
+ * Solve the variants on several threads.
+ *
+ * Variants are modified in place in the network and the jacobian, so each thread needs its own working copy of the
+ * network: the other threads build it from the data read once in the configuration and the variant and parade files
+ * parsed once by the calling thread. The variants are split between the threads once, on the network of the calling
+ * thread, and each other thread only builds the variants it solves. The first slice is solved by the calling thread
+ * on the network already read. Results are written in one file per variant and do not depend on the number of
+ * threads, as the random generator is then seeded by variant.
+ */
+static int resolutionParallele(Reseau& res,
+                               MapQuadinVar& variantesOrdonnees,
+                               const config::VariantConfiguration& variant_config,
+                               const config::ParadesConfiguration* parades_config,
+                               unsigned int nbThreads)
+{
+    LOG_ALL(info) << "Resolution of the variants on " << nbThreads << " threads";
+
+    std::vector<std::vector<int>> numerosParThread(nbThreads);
+    for (unsigned int numThread = 1; numThread < nbThreads; ++numThread) {
+        numerosParThread[numThread] = numerosVariantes(variantesOrdonnees, numThread, nbThreads);
+    }
+
+    std::vector<int> status(nbThreads, METRIX_PROBLEME);
+    std::vector<std::thread> threads;
+    threads.reserve(nbThreads - 1);
+    for (unsigned int numThread = 1; numThread < nbThreads; ++numThread) {
+        threads.emplace_back([&variant_config, parades_config, numThread, &numerosParThread, &status]() {
+            try {
+                Reseau resThread;
+                resThread.lireDonnees();
+                appliquerVarianteBase(resThread, variant_config);
+
+                MapQuadinVar variantesThread;
+                for (int numero : numerosParThread[numThread]) {
+                    resThread.updateVariant(variantesThread, variant_config.variants().at(numero));
+                }
+                if (parades_config != nullptr) {
+                    resThread.updateParades(*parades_config);
+                }
+                if (config::configuration().useItam()) {
+                    ajouterParadesNeRienFaire(resThread);
+                }
+
+                Calculer comput(resThread, variantesThread);
+                status[numThread] = comput.resolutionProbleme();
+            } catch (const std::exception& e) {
+                LOG_ALL(error) << "Not recoverable error in thread " << numThread << ": " << e.what();
+            }
+        });
+    }
+
+    try {
+        selectionnerVariantes(variantesOrdonnees, 0, nbThreads);
+        Calculer comput(res, variantesOrdonnees);
+        status[0] = comput.resolutionProbleme();
+    } catch (const std::exception& e) {
+        LOG_ALL(error) << "Not recoverable error in thread 0: " << e.what();
+    }
+
+    for (auto& thread : threads) {
+        thread.join();
+    }
+
+    for (int threadStatus : status) {
+        if (threadStatus != METRIX_PAS_PROBLEME) {
+            return threadStatus;
+        }
+    }
+    return METRIX_PAS_PROBLEME;
+}
+
+/**
+ * Log the arguments of the current computation
+ */
+static void journaliserArguments()
+{
+    const auto& input_config = config::inputConfiguration();
+
+    LOG(info) << "Arguments metrix: "
+              << err::ioDico().msg("INFOCommande",
+                                   input_config.filepathError(),
+                                   input_config.filepathVariant(),
+                                   cte::c_fmt("%u", input_config.firstVariant()),
+                                   cte::c_fmt("%u", input_config.nbVariant()));
+
+    LOG_ALL(info) << "Use dictionnary file " << err::ioDico().filename();
+}
+
+/**
+ * Move to the working directory of the current computation, or back to the launch directory if none is given, so that
+ * the relative paths of the arguments and the written files are resolved against it
+ */
+static void changerRepertoireTravail(const boost::filesystem::path& repertoireLancement)
+{
+    const auto& workingDir = config::inputConfiguration().workingDir();
+    boost::filesystem::current_path(workingDir.empty() ? repertoireLancement : boost::filesystem::path(workingDir));
+}
+
+/**
+ * Network prepared for the computations, from the data read once in the configuration, the base variant and the
+ * parades, with the solver of its variants.
+ *
+ * In worker mode, it is kept from one computation to the next one as long as the base variant and the parades do not
+ * change, as they are applied irreversibly to the network: the network is then read and the jacobian factorized once.
+ */
+struct ReseauPrepare {
+    std::unique_ptr<Reseau> res;
+    std::string lignesVarianteBase;
+    std::string contenuParades;
+    MapQuadinVar variantesOrdonnees;
+    std::unique_ptr<Calculer> comput; // declared last, as it references the network and the variants
+
+    void reset()
+    {
+        comput.reset();
+        variantesOrdonnees.clear();
+        res.reset();
+    }
+};
+
+/**
+ * Content of a file, empty if the file cannot be read
+ */
+static std::string lireContenu(const std::string& pathname)
+{
+    std::ifstream file(pathname, std::ios::binary);
+    return std::string(std::istreambuf_iterator<char>(file), std::istreambuf_iterator<char>());
+}
+
+/**
+ * Solve the variants given by the input configuration, on the network prepared by the previous computation if it
+ * can be reused
+ *
+ * @returns the resolution status
+ */
+static int calculerVariantes(ReseauPrepare& prepare)
+{
+    const auto& input_config = config::inputConfiguration();
+
+    // Lecture des parametres
+    //----------------------
+    time_t start;
+    time_t end;
+    time_t lect;
+    double dif;
+    time(&start);
+
+    int status = -1;
+
+    try {
+        config::VariantConfiguration variant_config(input_config.filepathVariant());
+
+        // check first variante
+        if (!variant_config.variante(input_config.firstVariant())) {
+            throw ErrorI(err::ioDico().msg("ERRPremiereVarIntrouvable", input_config.filepathVariant()));
+        }
+
+        bool lf = config::configuration().computationType() == config::Configuration::ComputationType::LOAD_FLOW;
+        std::string contenuParades = lf ? std::string() : lireContenu(input_config.filepathParades());
+        bool reutilise = prepare.res && prepare.lignesVarianteBase == variant_config.baseLines()
+                         && prepare.contenuParades == contenuParades;
+        if (reutilise) {
+            LOG(debug) << "Same base variant and parades as the previous computation: network reused";
+        } else {
+            prepare.reset();
+            prepare.res.reset(new Reseau());
+            prepare.lignesVarianteBase = variant_config.baseLines();
+            prepare.contenuParades = contenuParades;
+
+            // Lecture des donnees
+            prepare.res->lireDonnees();
+            appliquerVarianteBase(*prepare.res, variant_config);
+        }
+        Reseau& res = *prepare.res;
+
+        // Construction des variantes
+        // To gain computation time, we gather variantes that generates the same topology, i.e. modifiy the same set
+        // of quadripoles
+        time(&lect);
+        prepare.variantesOrdonnees.clear();
+        res.updateVariants(prepare.variantesOrdonnees, variant_config);
+        time(&end);
+        dif = difftime(end, lect);
+
+        LOG(debug) << "Reading time for variantes: " << dif;
+
+        std::unique_ptr<config::ParadesConfiguration> parades_config;
+        if (!lf) {
+            parades_config.reset(new config::ParadesConfiguration(input_config.filepathParades()));
+            if (!reutilise) {
+                res.updateParades(*parades_config);
+            }
+
+            time(&lect);
+            dif = difftime(lect, end);
+
+            LOG(debug) << "Reading time for parades: " << dif;
+        }
+
+        if (!reutilise && config::configuration().useItam()) {
+            // Ajout d'une parade "ne rien faire" sur les incidents avec curatif mais sans parade
+            ajouterParadesNeRienFaire(res);
+        }
+
+        // Resolution du probleme
+        unsigned int nbThreads = nbThreadsResolution(prepare.variantesOrdonnees);
+        if (nbThreads > 1) {
+            status = resolutionParallele(
+                res, prepare.variantesOrdonnees, variant_config, parades_config.get(), nbThreads);
+        } else {
+            if (!prepare.comput) {
+                prepare.comput.reset(new Calculer(res, prepare.variantesOrdonnees));
+            }
+
+            // Lancement du calcul
+            status = prepare.comput->resolutionProbleme();
+        }
+
+        if (status != METRIX_PAS_PROBLEME) {
+            throw ErrorI(err::ioDico().msg("ERRResolProbleme"));
+        }
+    } catch (const err::Error& e) {
+        LOG_ALL(error) << "Not recoverable error: " << e.what();
+        // exceptions during computation are considered normal behaviour for the code (TNR)
+    }
+
+    if (status != METRIX_PAS_PROBLEME) {
+        // the network may not have been restored after the failure
+        prepare.reset();
+    }
+
+    time(&end);
+    dif = difftime(end, start);
+
+    LOG(info) << "Execution time: " << dif << metrix::log::sync;
+
+    return status;
+}
+
 int main(int argc, char* argv[])
 {
     try {
@@ -81,6 +442,10 @@ int main(int argc, char* argv[])
 
         const auto& input_config = config::inputConfiguration();
 
+        // the network data and the dictionaries are read from the launch directory
+        const auto repertoireLancement = boost::filesystem::current_path();
+        changerRepertoireTravail(repertoireLancement);
+
         // configure metrix log
         // other than critical level logs are forbidden before this point, because the logger is not configured yet
 
@@ -98,118 +463,40 @@ int main(int argc, char* argv[])
 
         LOG(info) << "Run \"" << argv[0] << "\" " << version_def.toString();
 
-        LOG(info) << "Arguments metrix: "
-                  << err::ioDico().msg("INFOCommande",
-                                       input_config.filepathError(),
-                                       input_config.filepathVariant(),
-                                       cte::c_fmt("%u", input_config.firstVariant()),
-                                       cte::c_fmt("%u", input_config.nbVariant()));
-
-        LOG_ALL(info) << "Use dictionnary file " << err::ioDico().filename();
-
-        // Lecture des parametres
-        //----------------------
-        time_t start;
-        time_t end;
-        time_t lect;
-        double dif;
-        time(&start);
-
-        int status = -1;
-        Reseau res;
-
-        try {
-            // Lecture des donnees
-            res.lireDonnees();
-            time(&lect);
-
-            config::VariantConfiguration variant_config(input_config.filepathVariant());
-            
-            // check first variante
-            if (!variant_config.variante(input_config.firstVariant())) {
-                throw ErrorI(err::ioDico().msg("ERRPremiereVarIntrouvable", input_config.filepathVariant()));
-            }
-
-            auto base = variant_config.variante(config::VariantConfiguration::variant_base);
-            if (base) {
-                // base variant is applied to network base without possibility to go back
-                res.updateBase(base->get());
-            } else {
-                LOG(debug) << "No base change in variants";
-            }
-
-            // Double-check connexity in case the base variant broke connexite
-            if (!res.connexite()) {
-                LOG(warning) << "Base variant broke the connexity";
-            }
-
-            // Construction des variantes
-            // To gain computation time, we gather variantes that generates the same topology, i.e. modifiy the same set
-            // of quadripoles
-            MapQuadinVar variantesOrdonnees;
-            res.updateVariants(variantesOrdonnees, variant_config);
-            time(&end);
-            dif = difftime(end, lect);
-
-            LOG(debug) << "Reading time for variantes: " << dif;
-
-            if (config::configuration().computationType() != config::Configuration::ComputationType::LOAD_FLOW) {
-                config::ParadesConfiguration parades_config(input_config.filepathParades());
-                res.updateParades(parades_config);
-
-                time(&lect);
-                dif = difftime(lect, end);
-
-                LOG(debug) << "Reading time for parades: " << dif;
-            }
-
-            if (config::configuration().useItam()) {
-                // Ajout d'une parade "ne rien faire" sur les incidents avec curatif mais sans parade
-                for (auto icdtIt = res.incidents_.cbegin(); icdtIt != res.incidents_.end(); ++icdtIt) {
-                    auto& inc = icdtIt->second;
-
-                    if (!inc->listeElemCur_.empty() && inc->parades_.empty()) {
-                        auto paradeNRF = res.ajouteParadeNeRienFaire(inc);
-                        // On echange les listes
-                        inc->listeElemCur_.swap(paradeNRF->listeElemCur_);
-                        inc->lccElemCur_.swap(paradeNRF->lccElemCur_);
-                        inc->tdFictifsElemCur_.swap(paradeNRF->tdFictifsElemCur_);
-
-                        if (!paradeNRF->tdFictifsElemCur_.empty()) {
-                            // duplicate fictive curative corresponding to AC emulating on father incident
-                            for (auto it = paradeNRF->tdFictifsElemCur_.cbegin();
-                                 it != paradeNRF->tdFictifsElemCur_.end();
-                                 ++it) {
-                                auto elemCur = std::make_shared<ElementCuratifTD>(it->second->td_);
-                                inc->listeElemCur_.push_back(elemCur);
-                                inc->tdFictifsElemCur_.insert(
-                                    std::pair<std::shared_ptr<Quadripole>, std::shared_ptr<ElementCuratifTD>>(it->first,
-                                                                                                              elemCur));
-                            }
-                        }
-                    }
+        journaliserArguments();
+        ReseauPrepare prepare;
+        int status = calculerVariantes(prepare);
+
+        if (input_config.worker()) {
+            // The following computations reuse the data already read and, when possible, the network already prepared:
+            // one request per line, until an empty line
+            metrix::log::Logger::instance().flush();
+            std::cout << "status " << status << std::endl;
+
+            std::string request;
+            while (std::getline(std::cin, request) && !request.empty()) {
+                try {
+                    options.parse_request(request);
+                    changerRepertoireTravail(repertoireLancement);
+                    auto& logger = metrix::log::Logger::instance();
+                    logger.changeResultFile(input_config.filepathError());
+                    logger.changeDevFile(
+                        boost::filesystem::absolute(
+                            boost::filesystem::path(metrix::log::Logger::config.devFilepath).filename())
+                            .string());
+                    journaliserArguments();
+                    status = calculerVariantes(prepare);
+                } catch (const err::Error& e) {
+                    LOG_ALL(error) << e.what() << metrix::log::sync;
+                    status = METRIX_PROBLEME;
+                } catch (const boost::filesystem::filesystem_error& e) {
+                    LOG_ALL(error) << e.what() << metrix::log::sync;
+                    status = METRIX_PROBLEME;
                 }
+                metrix::log::Logger::instance().flush();
+                std::cout << "status " << status << std::endl;
             }
-
-            // Resolution du probleme
-            Calculer comput(res, variantesOrdonnees);
-
-
-            // Lancement du calcul
-            status = comput.resolutionProbleme();
-
-            if (status != METRIX_PAS_PROBLEME) {
-                throw ErrorI(err::ioDico().msg("ERRResolProbleme"));
-            }
-        } catch (const err::Error& e) {
-            LOG_ALL(error) << "Not recoverable error: " << e.what();
-            // exceptions during computation are considered normal behaviour for the code (TNR)
         }
-
-        time(&end);
-        dif = difftime(end, start);
-
-        LOG(info) << "Execution time: " << dif << metrix::log::sync;
     } catch (const std::exception& e) {
         std::cerr << e.what(); // add to cerr also because print on stdout is disabled by default and exception can
                                // occurs before logger initialization
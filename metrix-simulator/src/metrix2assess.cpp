@@ -8,6 +8,7 @@
 // SPDX-License-Identifier: MPL-2.0
 //
 
+#include "binary_writer.h"
 #include "calcul.h"
 #include "config/configuration.h"
 #include "config/constants.h"
@@ -22,6 +23,7 @@
 #include "variante.h"
 
 #include <cmath>
+#include <cstdint>
 #include <cstdio>
 #include <iostream>
 #include <algorithm>
@@ -69,6 +71,48 @@ static void print_threats(FILE* file,
     fprintf(file, "\n");
 }
 
+/**
+ * @brief Flows on contingencies (R3C) written in a binary file, instead of the text results file
+ *
+ * All numbers are little-endian. The file contains the number of branches (int32) followed by their names (int32
+ * number of bytes and UTF-8 bytes), then the number of flows (int32) followed by the flows: index of the branch in the
+ * previous list (int32), number of the contingency in C4 section (int32) and flow (double, rounded as in the text
+ * results file).
+ */
+class BinaryFlows
+{
+public:
+    void addBranch(const string& name) { branches_.push_back(name); }
+
+    void addFlow(int num_incident, double flow)
+    {
+        flows_.emplace_back(static_cast<int>(branches_.size()) - 1, num_incident, flow);
+    }
+
+    void write(const string& filepath) const
+    {
+        BinaryWriter writer;
+        writer.reserve(sizeof(int32_t) * 2 + branches_.size() * 2 * sizeof(int32_t)
+                       + flows_.size() * (2 * sizeof(int32_t) + sizeof(double)));
+
+        writer.appendInt(static_cast<int32_t>(branches_.size()));
+        for (const auto& branch : branches_) {
+            writer.appendString(branch);
+        }
+        writer.appendInt(static_cast<int32_t>(flows_.size()));
+        for (const auto& flow : flows_) {
+            writer.appendInt(std::get<0>(flow));
+            writer.appendInt(std::get<1>(flow));
+            writer.appendDouble(std::get<2>(flow));
+        }
+        writer.write(filepath);
+    }
+
+private:
+    vector<string> branches_;
+    vector<tuple<int32_t, int32_t, double>> flows_;
+};
+
 static std::string computeC2IncidentName(const std::shared_ptr<Incident>& inc)
 {
     string nomInc = inc->nom_;
@@ -199,6 +243,32 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
     if (fr == nullptr) {
         throw ErrorI(err::ioDico().msg("ERRPbOuvertureFic", nom1));
     }
+    // Les resultats sont accumules dans un grand tampon : le fichier est ecrit en une fois s'il est plus petit.
+    // Le tampon est reutilise d'une variante a l'autre, le fichier etant toujours ferme avant de sortir.
+    static thread_local vector<char> tampon(config::constants::result_file_buffer_size);
+    setvbuf(fr, tampon.data(), _IOFBF, tampon.size());
+
+    // Transits sur incidents en binaire, le fichier binaire est toujours ecrit pour que son absence soit une erreur
+    const bool binaire = config::inputConfiguration().binaryResults();
+    BinaryFlows transitsBinaires;
+    auto fermer = [&fr, &var, &binaire, &transitsBinaires]() {
+        if (fr != nullptr) {
+            fclose(fr);
+            fr = nullptr;
+        }
+        if (binaire) {
+            transitsBinaires.write(
+                c_fmt("%s_s%d.bin", config::inputConfiguration().filepathResults().c_str(), var->num_));
+        }
+    };
+    // Apres une erreur, l'echec de l'ecriture du fichier binaire est journalise sans masquer l'erreur d'origine
+    auto fermerApresErreur = [&fermer]() {
+        try {
+            fermer();
+        } catch (const std::exception& e) {
+            LOG_ALL(error) << e.what();
+        }
+    };
 
     try {
         if (config::inputConfiguration().useAllOutputs()) {
@@ -242,7 +312,7 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
         if (status != METRIX_PAS_PROBLEME) {
             fprintf(fr, "C1 ;COMPTE RENDU;CODE;\n");
             fprintf(fr, "C1 ;;%d;\n", status);
-            fclose(fr);
+            fermer();
             return METRIX_PAS_PROBLEME; // pour continuer les autres variantes
                                         // mais ne pas ecrire de resultats pour cette variante sans sol
         }
@@ -357,7 +427,7 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
                        == config::Configuration::ComputationType::OPF_WITH_OVERLOAD)
             && pbNombreDeContraintes_ > 0) {
             if (!calculVariationsMarginales(fr, incidentsContraignants)) {
-                fclose(fr);
+                fermer();
                 return METRIX_PAS_PROBLEME; // pour continuer les autres variantes
                                             // mais ne pas ecrire de resultats pour cette variante sans sol
             }
@@ -928,10 +998,15 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
         // ecriture : R3C (transits sur incidents)
         //------------------------------------
         if (!res_.transitsSurDefauts_.empty()) {
-            fprintf(fr, "R3C ;PAR LIGNE;LIGNE;INCIDENT;TRANSIT;\n");
+            if (!binaire) {
+                fprintf(fr, "R3C ;PAR LIGNE;LIGNE;INCIDENT;TRANSIT;\n");
+            }
             for (const auto& def : res_.transitsSurDefauts_) {
                 const auto& quad = def.first;
                 const auto& listeIcdt = def.second;
+                if (binaire) {
+                    transitsBinaires.addBranch(quad->nom_);
+                }
                 for (const auto& icdt : listeIcdt) {
                     if (icdt->validite_) {
                         double transit = 0.;
@@ -951,6 +1026,11 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
                         if (fabs(transit) < EPSILON_SORTIES) {
                             transit = 0.0;
                         }
+                        if (binaire) {
+                            transitsBinaires.addFlow(incidentsContraignants.find(icdt)->second,
+                                                     roundAsText(transit, 1));
+                            continue;
+                        }
                         fprintf(fr,
                                 "R3C ;;%s;%d;%.1f\n",
                                 quad->nom_.c_str(),
@@ -1428,14 +1508,14 @@ int Calculer::metrix2Assess(const std::shared_ptr<Variante>& var, const vector<d
         fprintf(fr, "C1 ;;%d;\n", status);
     } catch (const std::exception& e) {
         LOG_ALL(error) << e.what();
-        fclose(fr);
+        fermerApresErreur();
         return -METRIX_PROBLEME;
     } catch (...) {
         LOG_ALL(error) << "exception inconnue";
-        fclose(fr);
+        fermerApresErreur();
         return -METRIX_PROBLEME;
     }
-    fclose(fr);
+    fermer();
     return METRIX_PAS_PROBLEME;
 }
 
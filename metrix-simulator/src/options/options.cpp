@@ -19,6 +19,9 @@
 
 #include <cctype>
 #include <cstdlib>
+#include <iterator>
+#include <sstream>
+#include <vector>
 
 namespace po = boost::program_options;
 
@@ -127,7 +130,6 @@ const std::map<std::string, metrix::log::severity::level> Options::severities_ =
 
 Options::Options()
 {
-    po::options_description hidden;
     desc_.add_options()("help,h", "Display help message")(
         "log-level",
         po::value<ParsedLogLevel>(), // cannot bind directly to config because of structure ParsedLogLevel that cannot
@@ -169,10 +171,55 @@ Options::Options()
         "all-outputs",
         po::bool_switch(&config_.allOutputs)->default_value(false),
         "Display all values in results files")(
-        "mps-file", po::bool_switch(&config_.exportMPSFile)->default_value(false), "Export MPS file");
+        "mps-file", po::bool_switch(&config_.exportMPSFile)->default_value(false), "Export MPS file")(
+        "nb-threads",
+        po::value<int>(&config_.nbThreads)->default_value(1),
+        "Number of threads solving the variants in parallel, each one on its own copy of the network, or computing "
+        "the PTDF matrix when it is written (default 1)")(
+        "warm-start",
+        po::bool_switch(&config_.warmStart)->default_value(false),
+        "Start the simplex from the basis of a previously solved problem of the same variant group")(
+        "worker",
+        po::bool_switch(&config_.worker)->default_value(false),
+        "After the first computation, read the arguments of the following ones on standard input, one computation "
+        "per line, until an empty line")(
+        "binary-results",
+        po::bool_switch(&config_.binaryResults)->default_value(false),
+        "Write the flows on contingencies (R3C) in a binary file <resultsFilepath>_s<variant>.bin instead of the "
+        "results file, and the PTDF and LODF matrices in PTDF_matrix.bin and LODF_matrix.bin")(
+        "predict-constraints",
+        po::bool_switch(&config_.predictConstraints)->default_value(false),
+        "Add from the first iteration of a variant the constraints added for the previous variant, when they are "
+        "still close to their threshold")(
+        "predicted-constraints-threshold",
+        po::value<double>(&config_.predictedConstraintsThreshold)
+            ->default_value(config::constants::default_predicted_constraints_threshold, "0.9"),
+        "Part of its threshold from which the flow of a predicted constraint is close enough to add the constraint "
+        "(between 0 excluded and 1)")(
+        "max-constraints-by-iteration",
+        po::value<int>(&config_.maxConstraintsByIteration)
+            ->default_value(static_cast<int>(config::constants::nb_max_contraints_by_iteration)),
+        "Maximum number of constraints added by iteration in OPF modes, when the redundant constraints are removed")(
+        "constraints-by-incident",
+        po::value<int>(&config_.constraintsByIncident)->default_value(0),
+        "Maximum number of constraints added by iteration for the same incident without remedial action, the most "
+        "violated first (0 for no limit)")(
+        "adaptive-constraints-limit",
+        po::bool_switch(&config_.adaptiveConstraintsLimit)->default_value(false),
+        "Double for the following iterations of a variant the maximum number of constraints added by iteration "
+        "each time it is reached")(
+        "report-cache-size",
+        po::value<int>(&config_.reportCacheSize)
+            ->default_value(static_cast<int>(config::constants::default_report_cache_size)),
+        "Maximum size in MB of the solutions kept to compute the line outage distribution factors of the following "
+        "variant groups and computations with the same topology (0 to disable)")(
+        "low-rank-report-updates",
+        po::bool_switch(&config_.lowRankReportUpdates)->default_value(false),
+        "Compute the line outage distribution factors of a variant group opening branches by a low-rank update of "
+        "the ones of the base topology, when they are kept (may change the last digits of the factors)");
 
     // These options will not be displayed as program options but as arguments of the program (see display description)
-    hidden.add_options()(
+    arguments_.add_options()(
         "errorFilepath", po::value<std::string>(&config_.filepathError)->required(), "Error file pathname")(
         "variantFilepath", po::value<std::string>(&config_.filepathVariant)->required(), "Variant file pathname")(
         "resultsFilepath", po::value<std::string>(&config_.filepathResults)->required(), "Output file pathname")(
@@ -182,10 +229,17 @@ Options::Options()
         po::value<std::string>(&config_.filepathParades)->default_value("parades.csv"),
         "Parades file pathname");
 
-    auto test = hidden.find("paradesFilepath", true).description();
+    auto test = arguments_.find("paradesFilepath", true).description();
+
+    // These options may also be given by each request of a worker
+    request_.add_options()("working-dir",
+                           po::value<std::string>(&config_.workingDir)->default_value(""),
+                           "Directory in which the computation is run, the relative paths of the arguments and the "
+                           "written files being resolved against it (default: the current directory)");
+    desc_.add(request_);
 
     allOptions_.add(desc_);
-    allOptions_.add(hidden);
+    allOptions_.add(arguments_);
 
     // Order of the program's arguments is the order of declaration
     positional_.add("errorFilepath", 1);
@@ -204,6 +258,21 @@ void Options::update_configuration() const
     if (config_.nbVariant <= 0) {
         throw ErrorI(err::ioDico().msg("ERRNbVariants"));
     }
+    if (config_.nbThreads <= 0) {
+        throw ErrorI(err::ioDico().msg("ERRNbThreads"));
+    }
+    if (config_.predictedConstraintsThreshold <= 0. || config_.predictedConstraintsThreshold > 1.) {
+        throw ErrorI(err::ioDico().msg("ERRSeuilContraintesPredites"));
+    }
+    if (config_.maxConstraintsByIteration <= 0) {
+        throw ErrorI(err::ioDico().msg("ERRNbMaxContraintesIteration"));
+    }
+    if (config_.constraintsByIncident < 0) {
+        throw ErrorI(err::ioDico().msg("ERRNbContraintesIncident"));
+    }
+    if (config_.reportCacheSize < 0) {
+        throw ErrorI(err::ioDico().msg("ERRTailleCacheReport"));
+    }
 
     std::vector<metrix::log::Verbose> verboses;
     if (config_.verboseConfig) {
@@ -217,6 +286,7 @@ void Options::update_configuration() const
                                                                    config_.filepathVariant,
                                                                    config_.filepathResults,
                                                                    config_.filepathParades,
+                                                                   config_.workingDir,
                                                                    static_cast<unsigned int>(config_.firstVariant),
                                                                    static_cast<unsigned int>(config_.nbVariant),
                                                                    config_.printLog,
@@ -230,7 +300,20 @@ void Options::update_configuration() const
                                                                    config_.compareLoadFlowReport,
                                                                    config_.ignoreIncidentGroupAbsent,
                                                                    config_.allOutputs,
-                                                                   config_.exportMPSFile));
+                                                                   config_.exportMPSFile,
+                                                                   static_cast<unsigned int>(config_.nbThreads),
+                                                                   config_.warmStart,
+                                                                   config_.worker,
+                                                                   config_.binaryResults,
+                                                                   config_.predictConstraints,
+                                                                   static_cast<unsigned int>(
+                                                                       config_.maxConstraintsByIteration),
+                                                                   static_cast<unsigned int>(config_.reportCacheSize),
+                                                                   config_.lowRankReportUpdates,
+                                                                   config_.predictedConstraintsThreshold,
+                                                                   static_cast<unsigned int>(
+                                                                       config_.constraintsByIncident),
+                                                                   config_.adaptiveConstraintsLimit));
 }
 
 auto Options::parse(int argc, char** argv) -> std::tuple<bool, Request>
@@ -265,6 +348,24 @@ auto Options::parse(int argc, char** argv) -> std::tuple<bool, Request>
     }
 }
 
+void Options::parse_request(const std::string& request)
+{
+    std::istringstream iss(request);
+    std::vector<std::string> args{std::istream_iterator<std::string>(iss), std::istream_iterator<std::string>()};
+
+    try {
+        po::variables_map vm;
+        po::options_description requestOptions;
+        requestOptions.add(arguments_).add(request_);
+        po::store(po::command_line_parser(args).options(requestOptions).positional(positional_).run(), vm);
+        po::notify(vm);
+    } catch (const po::error& e) {
+        throw ErrorI(err::ioDico().msg("ERRRequeteWorker", request, e.what()));
+    }
+
+    update_configuration();
+}
+
 std::string Options::desc() const { return make_usage_string(basename(config_.programName), desc_, positional_); }
 
 std::string Options::basename(const std::string& filepath)
@@ -10,6 +10,7 @@
 
 #pragma once
 
+#include "config/constants.h"
 #include "config/input_configuration.h"
 #include <metrix/log.h>
 
@@ -54,6 +55,16 @@ public:
      */
     std::tuple<bool, Request> parse(int argc, char** argv);
 
+    /**
+     * @brief Parse the arguments of a computation requested to a worker
+     *
+     * The request contains the program arguments and the request options, separated by spaces, and replaces the ones
+     * of the previous computation. The other options are kept.
+     *
+     * @throw IoDico exception if the request is invalid
+     */
+    void parse_request(const std::string& request);
+
     /**
      * @brief Update global input configuration with temporary
      *
@@ -84,6 +95,7 @@ private:
         std::string filepathVariant;
         std::string filepathResults;
         std::string filepathParades;
+        std::string workingDir;
         int firstVariant = -1;
         int nbVariant = -1;
         bool printLog = false;
@@ -100,6 +112,17 @@ private:
         bool ignoreIncidentGroupAbsent = false;
         bool allOutputs = false;
         bool exportMPSFile = false;
+        int nbThreads = 1;
+        bool warmStart = false;
+        bool worker = false;
+        bool binaryResults = false;
+        bool predictConstraints = false;
+        double predictedConstraintsThreshold = config::constants::default_predicted_constraints_threshold;
+        int maxConstraintsByIteration = static_cast<int>(config::constants::nb_max_contraints_by_iteration);
+        int constraintsByIncident = 0;
+        bool adaptiveConstraintsLimit = false;
+        int reportCacheSize = static_cast<int>(config::constants::default_report_cache_size);
+        bool lowRankReportUpdates = false;
     };
 
 private:
@@ -114,6 +137,9 @@ private:
 private:
     boost::program_options::options_description allOptions_;
     boost::program_options::options_description desc_ = boost::program_options::options_description("Metrix options");
+    boost::program_options::options_description arguments_;
+    boost::program_options::options_description request_
+        = boost::program_options::options_description("Request options");
     boost::program_options::positional_options_description positional_;
 
     TemporaryInputConfiguration config_;
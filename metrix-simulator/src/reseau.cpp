@@ -50,10 +50,16 @@ using std::string;
 using std::vector;
 
 
-std::mt19937 Reseau::random;
+thread_local std::mt19937 Reseau::random;
 
 int Reseau::myRandom(int i) { return random() % i; }
 
+void Reseau::initialiserAleatoire(int numVariante)
+{
+    // the base variant keeps the historical seed of the single sequence
+    random.seed(static_cast<std::mt19937::result_type>(numVariante + 2));
+}
+
 bool compareGroupeHausse(const std::shared_ptr<Groupe>& grp1, const std::shared_ptr<Groupe>& grp2)
 {
     return (grp1->coutHausseHR_ < grp2->coutHausseHR_);
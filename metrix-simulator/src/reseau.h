@@ -573,7 +573,7 @@ class Reseau
     };
 
 public:
-    Reseau() { random.seed(1); };
+    Reseau() { initialiserAleatoire(-1); };
 
     void updateBase(const config::VariantConfiguration::VariantConfig& config);
     void updateVariants(MapQuadinVar& mapping, const config::VariantConfiguration& config);
@@ -716,6 +716,14 @@ public:
 
     static int myRandom(int i);
 
+    /**
+     * Seed the random generator of the current thread for the given variant (-1 for the base variant), so that the
+     * draws of a variant do not depend on the variants solved before it, nor on the thread solving it.
+     * Only used per variant when several threads are requested: with one thread, the variants share the historical
+     * sequence seeded by the constructor.
+     */
+    static void initialiserAleatoire(int numVariante);
+
 private:
     std::shared_ptr<TransformateurDephaseur> creerTD(const std::shared_ptr<Quadripole>& quadVrai,
                                                      int numTd,
@@ -741,7 +749,8 @@ private:
                      bool detailsNonConnexite); /*allows to determine the treatment to be done for the contingencies and
                                                    remedial actions responisble for a connectedness break */
     // For reproductible random between platforms
-    static std::mt19937 random;
+    // One generator per thread, seeded by the constructor and, with several threads, for each variant
+    static thread_local std::mt19937 random;
 };
 
 
@@ -0,0 +1,96 @@
+//
+// Copyright (c) 2026, RTE (http://www.rte-france.com)
+// See AUTHORS.txt
+// All rights reserved.
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, you can obtain one at http://mozilla.org/MPL/2.0/.
+// SPDX-License-Identifier: MPL-2.0
+//
+
+/**
+ * @file Benchmark of the parsing of a variants file
+ *
+ * Usage: variant-configuration-benchmark [<variantFilepath>] [<numberRuns>]
+ *
+ * Without variants file, a file representative of a chunk of a computation (base variant with thresholds, then
+ * variants modifying consumptions, groups and lines) is generated in the working directory.
+ */
+
+#include "config/variant_configuration.h"
+#include "err/IoDico.h"
+#include "err/error.h"
+#include <metrix/log.h>
+
+#include <algorithm>
+#include <chrono>
+#include <cstdlib>
+#include <fstream>
+#include <iostream>
+#include <string>
+
+static constexpr int nb_variants = 2000;
+static constexpr int nb_quads = 5000;
+static constexpr int nb_consos = 3000;
+static constexpr int nb_groups = 500;
+
+static void writeLaw(std::ofstream& file, int num, const std::string& key, const std::string& prefix, int nb)
+{
+    file << num << ';' << key << ';' << nb << ';';
+    for (int i = 0; i < nb; ++i) {
+        file << prefix << i << ';' << (i % 97) * 1.25 + num << ';';
+    }
+    file << '\n';
+}
+
+static std::string generateVariantFile()
+{
+    const std::string filepath = "variantes_benchmark.csv";
+    std::ofstream file(filepath);
+
+    file << "NT;" << nb_variants << ";\n";
+    writeLaw(file, -1, "QATI00MN", "QUAD_", nb_quads);
+    writeLaw(file, -1, "QATI5MNS", "QUAD_", nb_quads);
+    for (int num = 0; num < nb_variants; ++num) {
+        writeLaw(file, num, "CONELE", "CONSO_", nb_consos);
+        writeLaw(file, num, "PRODIM", "GROUP_", nb_groups);
+        file << num << ";QUADIN;2;QUAD_" << num % nb_quads << ";QUAD_" << (num + 1) % nb_quads << ";\n";
+    }
+
+    return filepath;
+}
+
+int main(int argc, char* argv[])
+{
+    try {
+        const char* dicoPath = getenv("METRIX_ETC") != nullptr ? getenv("METRIX_ETC") : ".";
+        err::IoDico::configure(dicoPath);
+        err::ioDico().add("METRIX");
+
+        metrix::log::Logger::config.loggerLevel = metrix::log::severity::info;
+
+        std::string filepath = argc > 1 ? argv[1] : generateVariantFile();
+        int nb_runs = argc > 2 ? std::atoi(argv[2]) : 5;
+
+        double min_duration = -1.;
+        double total_duration = 0.;
+        size_t nb_parsed_variants = 0;
+        for (int run = 0; run < nb_runs; ++run) {
+            auto start = std::chrono::steady_clock::now();
+            config::VariantConfiguration variant_config(filepath);
+            std::chrono::duration<double, std::milli> duration = std::chrono::steady_clock::now() - start;
+
+            nb_parsed_variants = variant_config.variants().size();
+            total_duration += duration.count();
+            min_duration = min_duration < 0 ? duration.count() : std::min(min_duration, duration.count());
+        }
+
+        std::cout << filepath << ": " << nb_parsed_variants << " variants parsed in " << min_duration << " ms (min), "
+                  << total_duration / std::max(nb_runs, 1) << " ms (mean) over " << nb_runs << " runs" << std::endl;
+    } catch (const std::exception& e) {
+        std::cerr << e.what() << std::endl;
+        return EXIT_FAILURE;
+    }
+
+    return EXIT_SUCCESS;
+}
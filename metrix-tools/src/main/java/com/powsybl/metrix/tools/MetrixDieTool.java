@@ -8,6 +8,7 @@
 package com.powsybl.metrix.tools;
 
 import com.google.auto.service.AutoService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.dsl.GroovyDslContingenciesProvider;
 import com.powsybl.iidm.network.ImportConfig;
@@ -28,6 +29,8 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Marianne Funfrock {@literal <marianne.funfrock at rte-france.com>}
@@ -152,7 +155,15 @@ public class MetrixDieTool implements Tool {
         context.getOutputStream().println("Writing DIE ...");
 
         // write DIE
-        new MetrixInputData(MetrixNetwork.create(network, contingenciesProvider, null, parameters, remedialActionFile), metrixDslData, parameters)
-                .write(outputDir, true, config.isConstantLossFactor());
+        try (ExecutorService propagationExecutor = parameters.isPropagateBranchTripping()
+                ? Executors.newFixedThreadPool(config.getPropagationThreadCount(), new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("METRIX_PROPAGATION-%d")
+                        .build())
+                : null) {
+            new MetrixInputData(MetrixNetwork.create(network, contingenciesProvider, null, parameters, remedialActionFile, propagationExecutor),
+                    metrixDslData, parameters)
+                    .write(outputDir, true, config.isConstantLossFactor());
+        }
     }
 }
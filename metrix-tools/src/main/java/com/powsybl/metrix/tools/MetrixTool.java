@@ -9,6 +9,7 @@ package com.powsybl.metrix.tools;
 
 import com.google.auto.service.AutoService;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.EmptyContingencyListProvider;
 import com.powsybl.contingency.dsl.GroovyDslContingenciesProvider;
@@ -21,8 +22,10 @@ import com.powsybl.metrix.commons.data.timeseries.InMemoryTimeSeriesStore;
 import com.powsybl.metrix.integration.Metrix;
 import com.powsybl.metrix.integration.MetrixAppLogger;
 import com.powsybl.metrix.integration.analysis.MetrixAnalysis;
+import com.powsybl.metrix.integration.analysis.MetrixAnalysisCache;
 import com.powsybl.metrix.integration.analysis.MetrixAnalysisResult;
 import com.powsybl.metrix.integration.compatibility.CsvResultListener;
+import com.powsybl.metrix.integration.configuration.MetrixConfig;
 import com.powsybl.metrix.integration.configuration.MetrixRunParameters;
 import com.powsybl.metrix.integration.network.NetworkSource;
 import com.powsybl.metrix.mapping.TimeSeriesDslLoader;
@@ -46,6 +49,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.zip.ZipOutputStream;
@@ -64,6 +69,7 @@ public class MetrixTool implements Tool {
     private static final String CSV_RESULTS_FILE = "csv-results-file";
     private static final String CHUNK_SIZE = "chunk-size";
     private static final String LOG_ARCHIVE = "log-archive";
+    private static final String ANALYSIS_CACHE_DIR = "analysis-cache-dir";
 
     @Override
     public Command getCommand() {
@@ -170,6 +176,12 @@ public class MetrixTool implements Tool {
                         .argName("FILE")
                         .desc("name of gzip file containing execution logs")
                         .build());
+                options.addOption(Option.builder()
+                        .longOpt(ANALYSIS_CACHE_DIR)
+                        .desc("directory where analysis results are cached between runs")
+                        .hasArg()
+                        .argName("DIR")
+                        .build());
                 options.addOption(Option.builder()
                         .longOpt("write-ptdf")
                         .desc("write ptdf matrix")
@@ -302,6 +314,13 @@ public class MetrixTool implements Tool {
 
         FileSystemTimeSeriesStore resultStore = new FileSystemTimeSeriesStore(context.getFileSystem().getPath("metrix_results_" + UUID.randomUUID()));
         DataTableStore dataTableStore = new DataTableStore();
+        // single pool of the tool, used by the analysis and to compress the CSV results
+        int threadCount = MetrixConfig.load().getAnalysisThreadCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("METRIX_TOOL-%d")
+                        .build());
 
         try (ZipOutputStream logArchive = createLogArchive(line, context, versions)) {
             ComputationRange computationRange = new ComputationRange(versions, firstVariant, variantCount);
@@ -309,13 +328,19 @@ public class MetrixTool implements Tool {
             TimeSeriesDslLoader timeSeriesDslLoader = new TimeSeriesDslLoader(mappingReader);
             MetrixAnalysis metrixAnalysis = new MetrixAnalysis(networkSource, timeSeriesDslLoader, metrixDslReader, remedialActionsReaderForAnalysis, contingenciesProvider,
                     store, dataTableStore, logger, computationRange);
+            metrixAnalysis.setExecutor(executor);
+            if (line.hasOption(ANALYSIS_CACHE_DIR)) {
+                metrixAnalysis.setAnalysisCache(new MetrixAnalysisCache(context.getFileSystem().getPath(line.getOptionValue(ANALYSIS_CACHE_DIR))),
+                        contingenciesFile != null ? Files.readString(contingenciesFile) : null);
+            }
             MetrixAnalysisResult analysisResult = metrixAnalysis.runAnalysis("extern tool");
             new Metrix(remedialActionsReaderForRun, store, resultStore, logArchive, context, logger, analysisResult)
-                    .run(runParameters, new CsvResultListener(csvResultFilePath, resultStore, stopwatch, context), null);
+                    .run(runParameters, new CsvResultListener(csvResultFilePath, resultStore, stopwatch, context, executor, threadCount), null);
 
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } finally {
+            executor.shutdown();
             resultStore.delete();
         }
 